@@ -283,34 +283,44 @@ void sendSectionRawFlow() {
 }
 
 void sendDetectorData() {
-	jfloatArray jDetectorValueArray = joe.env->NewFloatArray(NUMDETECTORCAPABILITIES);
-	jfloat *detectorValueArray = (jfloat *)malloc(NUMDETECTORCAPABILITIES * sizeof(jfloat));
-	int status = 0;
-
-	/* bertragen der Messwerte der Detektoren */
 	int numDetectors = AKIDetGetNumberDetectors();
+	if (numDetectors <= 0) {
+		return;
+	}
+
+	/* Messwerte aller Detektoren werden gesammelt und in einem Aufruf an Java bertragen */
+	jintArray jDetectorIdArray = joe.env->NewIntArray(numDetectors);
+	jfloatArray jDetectorValueArray = joe.env->NewFloatArray(numDetectors * NUMDETECTORCAPABILITIES);
+	jint *detectorIdArray = (jint *)malloc(numDetectors * sizeof(jint));
+	jfloat *detectorValueArray = (jfloat *)malloc(numDetectors * NUMDETECTORCAPABILITIES * sizeof(jfloat));
+
 	for (int i = 0; i < numDetectors; i++) {
 		int detectorId = AKIDetGetIdDetector(i);
+		jfloat *values = detectorValueArray + i * NUMDETECTORCAPABILITIES;
+		detectorIdArray[i] = (jint)detectorId;
 
 		// 1: Count, 2: Presence, 3: Speed, 4: Occupied Time Percentage, 5: Headway, 6: Density, 7: EquippedVehicle
-		detectorValueArray[0] = (float)AKIDetGetCounterCyclebyId(detectorId, 0);
-		detectorValueArray[1] = (float)AKIDetGetPresenceCyclebyId(detectorId, 0);
-		detectorValueArray[2] = AKIDetGetSpeedCyclebyId(detectorId, 0);
-		detectorValueArray[3] = AKIDetGetTimeOccupedCyclebyId(detectorId, 0);
-		detectorValueArray[4] = AKIDetGetHeadwayCyclebyId(detectorId, 0);
-		detectorValueArray[5] = AKIDetGetDensityCyclebyId(detectorId, 0);
-		detectorValueArray[6] = (float)AKIDetGetNbVehsEquippedInDetectionCyclebyId(detectorId, 0);
-		detectorValueArray[7] = (float)AKIDetGetNbintervalsOccupedCyclebyId(detectorId, 0);
-
-		joe.env->SetFloatArrayRegion(jDetectorValueArray, 0, NUMDETECTORCAPABILITIES, detectorValueArray);
-		status = (int)joe.env->CallIntMethod(javaController, javaMethods->getMethodID(JM_SET_DETECTOR_VALUE), (jint)detectorId, jDetectorValueArray);
+		values[0] = (float)AKIDetGetCounterCyclebyId(detectorId, 0);
+		values[1] = (float)AKIDetGetPresenceCyclebyId(detectorId, 0);
+		values[2] = AKIDetGetSpeedCyclebyId(detectorId, 0);
+		values[3] = AKIDetGetTimeOccupedCyclebyId(detectorId, 0);
+		values[4] = AKIDetGetHeadwayCyclebyId(detectorId, 0);
+		values[5] = AKIDetGetDensityCyclebyId(detectorId, 0);
+		values[6] = (float)AKIDetGetNbVehsEquippedInDetectionCyclebyId(detectorId, 0);
+		values[7] = (float)AKIDetGetNbintervalsOccupedCyclebyId(detectorId, 0);
+	}
 
-		if (status < 0) {
-			AKIPrintString("Fehler bei der bertragung der Detektoren.");
-		}
+	joe.env->SetIntArrayRegion(jDetectorIdArray, 0, numDetectors, detectorIdArray);
+	joe.env->SetFloatArrayRegion(jDetectorValueArray, 0, numDetectors * NUMDETECTORCAPABILITIES, detectorValueArray);
+	int status = (int)joe.env->CallIntMethod(javaController, javaMethods->getMethodID(JM_SET_DETECTOR_VALUES), jDetectorIdArray, jDetectorValueArray);
+
+	if (status < 0) {
+		AKIPrintString("Fehler bei der bertragung der Detektoren.");
 	}
 
+	free(detectorIdArray);
 	free(detectorValueArray);
+	joe.env->DeleteLocalRef(jDetectorIdArray);
 	joe.env->DeleteLocalRef(jDetectorValueArray);
 }
 
@@ -738,6 +748,18 @@ int lanesFunction(JavaOTCEnvironment joe) {
 	return 0;
 }
 
+jintArray newJIntArray(const std::vector<jint>& values) {
+	jintArray array = joe.env->NewIntArray((jsize)values.size());
+	joe.env->SetIntArrayRegion(array, 0, (jsize)values.size(), values.data());
+	return array;
+}
+
+jfloatArray newJFloatArray(const std::vector<jfloat>& values) {
+	jfloatArray array = joe.env->NewFloatArray((jsize)values.size());
+	joe.env->SetFloatArrayRegion(array, 0, (jsize)values.size(), values.data());
+	return array;
+}
+
 int getStatisticalData(float time) {
 	int sectionInId, sectionOutId;
 	char message[200];
@@ -748,7 +770,10 @@ int getStatisticalData(float time) {
 		joe.env->CallVoidMethod(javaController, javaMethods->getMethodID(JM_RESET_STATISTICS_TIME), (jfloat)time);
 	}
 
-	// get statistical data for turnings
+	// get statistical data for turnings, collected column-wise and sent to Java in one call
+	std::vector<jint> inIds, outIds, flows;
+	std::vector<jfloat> travelTimes, delayTimes, stopTimes, queueLengths, numStops, speeds, speedDeviations, maxQueues;
+
 	int numJunctions = ECIGetNumberJunctions();
 	for (int junctionIter = 0; junctionIter < numJunctions; junctionIter++) {
 		int junctionId = ECIGetJunctionId(junctionIter);
@@ -762,19 +787,57 @@ int getStatisticalData(float time) {
 
 				StructAkiEstadTurning turningData = AKIEstGetParcialStatisticsTurning(sectionInId, sectionOutId, 0, 0);
 				if (turningData.report == 0) {
-					int status = joe.env->CallIntMethod(javaController, javaMethods->getMethodID(JM_ADD_TURNING_RAW_STATISTICAL_DATA), (jint)turningData.IdSectionFrom, (jint)turningData.IdSectionTo,
-						(jfloat)time, (jint)turningData.Flow, (jfloat)turningData.TTa, (jfloat)turningData.DTa, (jfloat)turningData.STa, (jfloat)turningData.LongQueueAvg,
-						(jfloat)turningData.NumStops, (jfloat)turningData.Sa, (jfloat)turningData.Sd, (jfloat)turningData.LongQueueMax);
-
-					if (status != 0) {
-						sprintf_s(message, "Fehler (%d): Statistische Daten fr Junction %d, Signal Group %d, Turning %d\n", status, junctionId, sigGrpIter, turningIter);
-						AKIPrintString(message);
-					}
+					inIds.push_back((jint)turningData.IdSectionFrom);
+					outIds.push_back((jint)turningData.IdSectionTo);
+					flows.push_back((jint)turningData.Flow);
+					travelTimes.push_back((jfloat)turningData.TTa);
+					delayTimes.push_back((jfloat)turningData.DTa);
+					stopTimes.push_back((jfloat)turningData.STa);
+					queueLengths.push_back((jfloat)turningData.LongQueueAvg);
+					numStops.push_back((jfloat)turningData.NumStops);
+					speeds.push_back((jfloat)turningData.Sa);
+					speedDeviations.push_back((jfloat)turningData.Sd);
+					maxQueues.push_back((jfloat)turningData.LongQueueMax);
 				}
 			}
 		}
 	}
 
+	int numRows = (int)inIds.size();
+	if (numRows > 0) {
+		jintArray jInIds = newJIntArray(inIds);
+		jintArray jOutIds = newJIntArray(outIds);
+		jintArray jFlows = newJIntArray(flows);
+		jfloatArray jTravelTimes = newJFloatArray(travelTimes);
+		jfloatArray jDelayTimes = newJFloatArray(delayTimes);
+		jfloatArray jStopTimes = newJFloatArray(stopTimes);
+		jfloatArray jQueueLengths = newJFloatArray(queueLengths);
+		jfloatArray jNumStops = newJFloatArray(numStops);
+		jfloatArray jSpeeds = newJFloatArray(speeds);
+		jfloatArray jSpeedDeviations = newJFloatArray(speedDeviations);
+		jfloatArray jMaxQueues = newJFloatArray(maxQueues);
+
+		int status = joe.env->CallIntMethod(javaController, javaMethods->getMethodID(JM_ADD_TURNING_RAW_STATISTICAL_DATA_BATCH), jInIds, jOutIds,
+			(jfloat)time, jFlows, jTravelTimes, jDelayTimes, jStopTimes, jQueueLengths, jNumStops, jSpeeds, jSpeedDeviations, jMaxQueues);
+
+		if (status != 0) {
+			sprintf_s(message, "Fehler (%d): Statistische Daten fr %d Turnings\n", status, numRows);
+			AKIPrintString(message);
+		}
+
+		joe.env->DeleteLocalRef(jInIds);
+		joe.env->DeleteLocalRef(jOutIds);
+		joe.env->DeleteLocalRef(jFlows);
+		joe.env->DeleteLocalRef(jTravelTimes);
+		joe.env->DeleteLocalRef(jDelayTimes);
+		joe.env->DeleteLocalRef(jStopTimes);
+		joe.env->DeleteLocalRef(jQueueLengths);
+		joe.env->DeleteLocalRef(jNumStops);
+		joe.env->DeleteLocalRef(jSpeeds);
+		joe.env->DeleteLocalRef(jSpeedDeviations);
+		joe.env->DeleteLocalRef(jMaxQueues);
+	}
+
 	return getReturnValue();
 }
 
@@ -12,6 +12,7 @@ void JavaMethods::initAllMethodIDs() {
 	this->_availableMethods[JM_SET_TIME] = new JMethodObj(JM_SET_TIME, JM_SET_TIME_SIG, instance_method);
 	this->_availableMethods[JM_GET_ROUTING_DATA] = new JMethodObj(JM_GET_ROUTING_DATA, JM_GET_ROUTING_DATA_SIG, instance_method);
 	this->_availableMethods[JM_SET_DETECTOR_VALUE] = new JMethodObj(JM_SET_DETECTOR_VALUE, JM_SET_DETECTOR_VALUE_SIG, instance_method);
+	this->_availableMethods[JM_SET_DETECTOR_VALUES] = new JMethodObj(JM_SET_DETECTOR_VALUES, JM_SET_DETECTOR_VALUES_SIG, instance_method);
 	this->_availableMethods[JM_READY_FOR_FINISH] = new JMethodObj(JM_READY_FOR_FINISH, JM_READY_FOR_FINISH_SIG, instance_method);
 	this->_availableMethods[JM_ADD_CENTROID] = new JMethodObj(JM_ADD_CENTROID, JM_ADD_CENTROID_SIG, instance_method);
 	this->_availableMethods[JM_SET_SIMULATION_STEP_SIZE] = new JMethodObj(JM_SET_SIMULATION_STEP_SIZE, JM_SET_SIMULATION_STEP_SIZE_SIG, static_method);
@@ -38,6 +39,7 @@ void JavaMethods::initAllMethodIDs() {
 	this->_availableMethods[JM_FINALIZE_INIT] = new JMethodObj(JM_FINALIZE_INIT, JM_FINALIZE_INIT_SIG, instance_method);
 	this->_availableMethods[JM_RESET_STATISTICS_TIME] = new JMethodObj(JM_RESET_STATISTICS_TIME, JM_RESET_STATISTICS_TIME_SIG, instance_method);
 	this->_availableMethods[JM_ADD_TURNING_RAW_STATISTICAL_DATA] = new JMethodObj(JM_ADD_TURNING_RAW_STATISTICAL_DATA, JM_ADD_TURNING_RAW_STATISTICAL_DATA_SIG, instance_method);
+	this->_availableMethods[JM_ADD_TURNING_RAW_STATISTICAL_DATA_BATCH] = new JMethodObj(JM_ADD_TURNING_RAW_STATISTICAL_DATA_BATCH, JM_ADD_TURNING_RAW_STATISTICAL_DATA_BATCH_SIG, instance_method);
 	this->_availableMethods[JM_ADD_SECTION_RAW_FLOW] = new JMethodObj(JM_ADD_SECTION_RAW_FLOW, JM_ADD_SECTION_RAW_FLOW_SIG, instance_method);
 	this->_availableMethods[JM_SET_PUBLIC_TRANSPORT_DATA] = new JMethodObj(JM_SET_PUBLIC_TRANSPORT_DATA, JM_SET_PUBLIC_TRANSPORT_DATA_SIG, instance_method);
 	this->_availableMethods[JM_SET_PUBLIC_TRANSPORT_DETECTORS] = new JMethodObj(JM_SET_PUBLIC_TRANSPORT_DETECTORS, JM_SET_PUBLIC_TRANSPORT_DETECTORS_SIG, instance_method);
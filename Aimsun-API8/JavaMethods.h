@@ -17,6 +17,9 @@
 #define JM_SET_DETECTOR_VALUE "setDetectorValue"
 #define JM_SET_DETECTOR_VALUE_SIG "(I[F)I"
 
+#define JM_SET_DETECTOR_VALUES "setDetectorValues"
+#define JM_SET_DETECTOR_VALUES_SIG "([I[F)I"
+
 #define JM_GENERATE_FTC_FOR_JUNCTION "generateFTCforJunction"
 #define JM_GENERATE_FTC_FOR_JUNCTION_SIG "(I[I[F)V"
 
@@ -101,6 +104,9 @@
 #define JM_ADD_TURNING_RAW_STATISTICAL_DATA "addTurningRawStatisticalData"
 #define JM_ADD_TURNING_RAW_STATISTICAL_DATA_SIG "(IIFIFFFFFFFF)I"
 
+#define JM_ADD_TURNING_RAW_STATISTICAL_DATA_BATCH "addTurningRawStatisticalDataBatch"
+#define JM_ADD_TURNING_RAW_STATISTICAL_DATA_BATCH_SIG "([I[IF[I[F[F[F[F[F[F[F[F)I"
+
 #define JM_ADD_SECTION_RAW_FLOW "addSectionRawFlow"
 #define JM_ADD_SECTION_RAW_FLOW_SIG "(II)I"
 
@@ -0,0 +1,216 @@
+package benchmarks;
+
+import de.dfg.oc.otc.config.DefaultParams;
+import de.dfg.oc.otc.layer0.tlc.TLCTypes;
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import de.dfg.oc.otc.manager.OTCManager;
+import de.dfg.oc.otc.manager.OTCNode;
+import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
+import de.dfg.oc.otc.manager.aimsun.Section;
+import de.dfg.oc.otc.manager.aimsun.TrafficType;
+import de.dfg.oc.otc.manager.aimsun.Turning;
+import tests.evaluation.aid.AIDTrafficDataReader;
+import tests.testNetworks.Manhattan6NodeRegional;
+import tests.testNetworks.SimpleJunction;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Networks and traffic data shared by the benchmarks. The networks are
+ * created by the {@link OTCManager} singleton, so each benchmark runs in a
+ * forked JVM of its own.
+ */
+public final class Fixtures {
+    /**
+     * Station and day of the bundled AID traffic data used by default.
+     */
+    public static final String STATION = "I35E - 2442";
+    public static final String FIRST_DAY = "20130601";
+    /**
+     * Number of signal groups of a {@link SimpleJunction} with four arms,
+     * i.e. the length of its situations.
+     */
+    public static final int SIMPLE_JUNCTION_SIGNAL_GROUPS = 12;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Returns the manager without GUI (it is only created if nobody observes
+     * the manager) and without incident detection, whose algorithms load
+     * their training data from files that are not part of the repository.
+     */
+    public static OTCManager getManager() {
+        DefaultParams.AID_ACTIVE = false;
+
+        final OTCManager manager = OTCManager.getInstance();
+        manager.addObserver((observable, argument) -> {
+        });
+        return manager;
+    }
+
+    /**
+     * Disconnects the manager from the RMI registry, whose threads would
+     * otherwise keep the forked JVM alive after the benchmark.
+     */
+    public static void release() {
+        OTCManager.getInstance().disconnectRegistry();
+    }
+
+    /**
+     * Creates a single junction (see {@link SimpleJunction}).
+     *
+     * @param arms number of arms
+     */
+    public static AimsunNetwork createSimpleJunction(final int arms) {
+        final OTCManager manager = getManager();
+        new SimpleJunction().create(arms);
+        return manager.getNetwork();
+    }
+
+    /**
+     * Creates a random fixed time controller for the junction of a
+     * {@link SimpleJunction} with four arms, which uses the phases 1 to 4
+     * (one per arm). Green times are indexed by phase id.
+     */
+    public static TrafficLightControllerParameters createSimpleJunctionAction(final Random random) {
+        final float[] greenTimes = new float[43];
+        for (int phase = 0; phase < 4; phase++) {
+            greenTimes[phase] = 10 + random.nextInt(31);
+        }
+        return new TrafficLightControllerParameters(TLCTypes.FIXEDTIME, new int[]{1, 1, 2, 3, 4}, greenTimes,
+                new String[0], new boolean[4]);
+    }
+
+    /**
+     * Creates a random situation (flow per signal group) for the junction of
+     * a {@link SimpleJunction} with four arms.
+     */
+    public static float[] createSimpleJunctionSituation(final Random random) {
+        final float[] situation = new float[SIMPLE_JUNCTION_SIGNAL_GROUPS];
+        for (int i = 0; i < situation.length; i++) {
+            situation[i] = random.nextInt(300);
+        }
+        return situation;
+    }
+
+    /**
+     * Creates the network of six junctions and ten centroids (see
+     * {@link Manhattan6NodeRegional}) with a routing component of the given
+     * protocol at each junction. The network runs for 750 seconds in which
+     * the turnings get statistical data, so the nodes know their turning
+     * flows and the routing components find valid link costs. The data is
+     * generated with a fixed seed, so all runs use the same flows.
+     *
+     * @param routingProtocol name of a {@link de.dfg.oc.otc.routing.ProtocolType}
+     */
+    public static AimsunNetwork createManhattan(final String routingProtocol) {
+        // Read when the nodes are created
+        DefaultParams.ROUTING_PROTOCOL = routingProtocol;
+
+        final OTCManager manager = getManager();
+        final Manhattan6NodeRegional network = new Manhattan6NodeRegional() {
+            {
+                rand.reSeed(1);
+            }
+        };
+        network.create();
+        setTurningLanes(manager);
+
+        for (int step = 0; step < 1000; step++) {
+            network.incrementTime();
+            if (step % 10 == 0) {
+                network.generateFlowForTurnings(manager.getTime());
+            }
+        }
+        return manager.getNetwork();
+    }
+
+    /**
+     * The test networks don't assign lanes to the turnings. Distributes the
+     * turnings of each incoming section over its lanes, as Aimsun does when
+     * the network is loaded.
+     */
+    private static void setTurningLanes(final OTCManager manager) {
+        final Map<Integer, Integer> turningsPerSection = new HashMap<>();
+        for (OTCNode node : manager.getNetwork().getNodes()) {
+            for (Turning turning : node.getJunction().getTurnings(TrafficType.ALL)) {
+                final Section inSection = turning.getInSection();
+                final int turningNumber = turningsPerSection.merge(inSection.getId(), 1, Integer::sum);
+                final int lane = (turningNumber - 1) % Math.max(inSection.getNumberOfLanes(), 1) + 1;
+                manager.setTurningLanes(inSection.getId(), turning.getOutSection().getId(), lane, lane, 1, 1);
+            }
+        }
+    }
+
+    /**
+     * Reads a day of the bundled AID traffic data (see
+     * {@link AIDTrafficDataReader#readDataArrayFromFile(String)}).
+     *
+     * @param station folder of the detector station
+     * @param day     file name without extension (yyyyMMdd)
+     * @return {@link AIDTrafficDataReader#SITUATION_LENGTH} values per five
+     * minutes interval
+     */
+    public static double[] readTrafficData(final String station, final String day) {
+        final Path file = getTrafficDataFolder().resolve(station).resolve(day + ".csv");
+        final double[] data = AIDTrafficDataReader.readDataArrayFromFile(file.toString());
+        if (data.length == 0) {
+            throw new IllegalStateException("No traffic data in " + file.toAbsolutePath());
+        }
+        return data;
+    }
+
+    /**
+     * Reads consecutive days of the bundled AID traffic data as detector
+     * values, one per five minutes interval.
+     *
+     * @param station  folder of the detector station
+     * @param firstDay index of the first day, 0 is {@link #FIRST_DAY}
+     * @param days     number of days
+     */
+    public static List<DetectorDataValue> readDetectorData(final String station, final int firstDay, final int days) {
+        final List<DetectorDataValue> values = new ArrayList<>(days * AIDTrafficDataReader.NUMBER_DATA_PER_DAY);
+        final LocalDate first = LocalDate.parse(FIRST_DAY, DateTimeFormatter.BASIC_ISO_DATE);
+        for (int day = firstDay; day < firstDay + days; day++) {
+            final double[] data = readTrafficData(station, first.plusDays(day).format(DateTimeFormatter.BASIC_ISO_DATE));
+            for (int i = 0; i < data.length; i += AIDTrafficDataReader.SITUATION_LENGTH) {
+                final float[] detectorValues = new float[DetectorCapabilities.NUM];
+                detectorValues[DetectorCapabilities.COUNT] = (float) data[i + AIDTrafficDataReader.FLOW];
+                detectorValues[DetectorCapabilities.SPEED] = (float) data[i + AIDTrafficDataReader.SPEED];
+                detectorValues[DetectorCapabilities.OCCUPANCY] = (float) data[i + AIDTrafficDataReader.OCCUPANCY];
+                detectorValues[DetectorCapabilities.HEADWAY] = (float) data[i + AIDTrafficDataReader.HEADWAY];
+                detectorValues[DetectorCapabilities.DENSITY] = (float) data[i + AIDTrafficDataReader.DENSITY];
+
+                final float time = values.size() * 300;
+                // Label 0 marks a congestion
+                values.add(new DetectorDataValue(time, detectorValues, data[i + AIDTrafficDataReader.LABEL] == 0));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the folder of the AID traffic data, {@code ../TrafficData} when
+     * run from the {@code Java} folder like the tests, otherwise
+     * {@code TrafficData}.
+     */
+    private static Path getTrafficDataFolder() {
+        final Path fromJavaFolder = Paths.get("..", "TrafficData", "AID Traffic Data");
+        if (new File(fromJavaFolder.toString()).isDirectory()) {
+            return fromJavaFolder;
+        }
+        return Paths.get("TrafficData", "AID Traffic Data");
+    }
+}
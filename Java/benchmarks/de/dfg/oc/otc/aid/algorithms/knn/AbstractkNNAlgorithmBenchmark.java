@@ -0,0 +1,72 @@
+package de.dfg.oc.otc.aid.algorithms.knn;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Neighbour queries of the kNN incident detection on a training set of the
+ * bundled AID traffic data. The queries are the values of the following day.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbstractkNNAlgorithmBenchmark {
+    private static final String GROUP = "benchmark";
+
+    /**
+     * Number of days in the training set (288 values per day).
+     */
+    @Param({"7", "28"})
+    private int trainingDays;
+
+    private KNNAlgorithm algorithm;
+    private List<KNNDetectorDataValue> trainingSet;
+    private List<DetectorDataValue> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        trainingSet = new ArrayList<>();
+        for (DetectorDataValue value : Fixtures.readDetectorData(Fixtures.STATION, 0, trainingDays)) {
+            trainingSet.add(new KNNDetectorDataValue(value, value.isCongested()));
+        }
+        queries = Fixtures.readDetectorData(Fixtures.STATION, trainingDays, 1);
+
+        algorithm = new KNNAlgorithm();
+        algorithm.addTrainingSet(GROUP, trainingSet);
+    }
+
+    @Benchmark
+    public List<KNNNeighbor> nearestNeighbors() {
+        next = (next + 1) % queries.size();
+        return algorithm.getKNearestNeighbors(GROUP, queries.get(next), algorithm.k);
+    }
+
+    /**
+     * Neighbours of a training value, as needed by the fuzzy kNN for the
+     * membership of each neighbour.
+     */
+    @Benchmark
+    public List<KNNNeighbor> nearestNeighborsOfTrainingValue() {
+        next = (next + 1) % trainingSet.size();
+        return algorithm.getKNearestNeighborsOfTrainingValue(GROUP, trainingSet.get(next), algorithm.k);
+    }
+}
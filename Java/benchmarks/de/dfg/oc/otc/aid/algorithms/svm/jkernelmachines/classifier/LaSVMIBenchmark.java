@@ -0,0 +1,114 @@
+package de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.classifier;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.kernel.typed.DoubleGaussL2;
+import de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.type.TrainingSample;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tests.evaluation.aid.AIDTrafficDataReader.ClassLabels;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training and prediction of the SVM incident detection with its default
+ * parameters (see {@link de.dfg.oc.otc.aid.algorithms.svm.SVM#getParameters()}):
+ * the feature vector contains the speeds of the last eight intervals of the
+ * bundled AID traffic data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LaSVMIBenchmark {
+    private static final int TIME_STEPS_BACKWARD = 8;
+    private static final int TRAINING_DAYS = 7;
+    private static final int BUDGET = 1000;
+
+    private List<TrainingSample<double[]>> trainingSamples;
+    private List<TrainingSample<double[]>> samples;
+    private LaSVMI<double[]> svm;
+    private LaSVMI<double[]> onlineSVM;
+    private int next;
+
+    private static LaSVMI<double[]> createSVM() {
+        final DoubleGaussL2 kernel = new DoubleGaussL2();
+        kernel.setGamma(0.1);
+        final LaSVMI<double[]> svm = new LaSVMI<>(kernel);
+        svm.setC(1.0);
+        svm.setBudget(BUDGET);
+        svm.setRemovalPolicy(LaSVMI.RemovalPolicy.SMALLEST_ALPHA);
+        svm.setKernelCacheSize(64L * 1024 * 1024);
+        return svm;
+    }
+
+    private static List<TrainingSample<double[]>> createSamples(final List<DetectorDataValue> values) {
+        final List<TrainingSample<double[]>> samples = new ArrayList<>(values.size());
+        for (int i = TIME_STEPS_BACKWARD - 1; i < values.size(); i++) {
+            final double[] speeds = new double[TIME_STEPS_BACKWARD];
+            for (int j = 0; j < TIME_STEPS_BACKWARD; j++) {
+                speeds[j] = values.get(i - j).getValues()[DetectorCapabilities.SPEED];
+            }
+
+            final ClassLabels label = values.get(i).isCongested() ? ClassLabels.CONGESTION : ClassLabels.NO_CONGESTION;
+            samples.add(new TrainingSample<>(speeds, label.getLabel()));
+        }
+        return samples;
+    }
+
+    @Setup
+    public void setUp() {
+        trainingSamples = createSamples(Fixtures.readDetectorData(Fixtures.STATION, 0, TRAINING_DAYS));
+        samples = createSamples(Fixtures.readDetectorData(Fixtures.STATION, TRAINING_DAYS, TRAINING_DAYS));
+
+        svm = createSVM();
+        svm.train(trainingSamples);
+
+        onlineSVM = createSVM();
+        onlineSVM.train(trainingSamples);
+    }
+
+    private TrainingSample<double[]> nextSample() {
+        next = (next + 1) % samples.size();
+        return samples.get(next);
+    }
+
+    /**
+     * Training on a week of data, as done when the SVM is created.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LaSVMI<double[]> train() {
+        final LaSVMI<double[]> trained = createSVM();
+        trained.train(trainingSamples);
+        return trained;
+    }
+
+    /**
+     * Online learning of one value of the following week, the number of
+     * support vectors is limited by the budget.
+     */
+    @Benchmark
+    public int trainOnline() {
+        onlineSVM.train(nextSample());
+        return onlineSVM.getNumberOfSamples();
+    }
+
+    @Benchmark
+    public double valueOf() {
+        return svm.valueOf(nextSample().sample);
+    }
+}
@@ -0,0 +1,90 @@
+package de.dfg.oc.otc.layer1.controller.xcscic.interpolation.components.interpolants;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.layer1.controller.xcscic.Classifier;
+import de.dfg.oc.otc.layer1.controller.xcscic.ClassifierSet;
+import de.dfg.oc.otc.layer1.controller.xcscic.SignalGroupComparator;
+import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.InterpolationComponentException;
+import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.Situation;
+import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.components.interpolants.values.InterpolationValue;
+import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
+import de.dfg.oc.otc.manager.aimsun.SignalGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpolation of an XCS-CIC population by inverse distance weighting for
+ * the junction of a {@link tests.testNetworks.SimpleJunction} with four arms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IDWInterpolantBenchmark {
+    private static final int NUM_QUERIES = 64;
+
+    /**
+     * Number of classifiers in the population.
+     */
+    @Param({"50", "200"})
+    private int populationSize;
+
+    private IDWInterpolant interpolant;
+    private ClassifierSet population;
+    private Situation[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final AimsunNetwork network = Fixtures.createSimpleJunction(4);
+        final List<SignalGroup> signalGroups = network.getJunction(1).getSignalGroups();
+
+        final Random random = new Random(1);
+        population = new ClassifierSet();
+        for (int i = 0; i < populationSize; i++) {
+            population.add(new Classifier(Fixtures.createSimpleJunctionSituation(random),
+                    Fixtures.createSimpleJunctionAction(random), random.nextFloat() * 100));
+        }
+
+        queries = new Situation[NUM_QUERIES];
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final float[] flows = Fixtures.createSimpleJunctionSituation(random);
+            final TreeMap<SignalGroup, Double> flowsOfSignalGroups = new TreeMap<>(new SignalGroupComparator());
+            for (int j = 0; j < flows.length; j++) {
+                flowsOfSignalGroups.put(signalGroups.get(j), (double) flows[j]);
+            }
+            queries[i] = new Situation(flowsOfSignalGroups, null);
+        }
+
+        interpolant = new IDWInterpolant();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.release();
+    }
+
+    @Benchmark
+    public InterpolationValue interpolate() throws InterpolationComponentException {
+        next = (next + 1) % NUM_QUERIES;
+        return interpolant.interpolate(queries[next], population);
+    }
+}
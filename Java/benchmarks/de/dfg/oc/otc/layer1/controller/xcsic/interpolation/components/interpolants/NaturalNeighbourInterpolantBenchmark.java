@@ -0,0 +1,140 @@
+package de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants;
+
+import de.dfg.oc.otc.layer0.tlc.TLCTypes;
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import de.dfg.oc.otc.layer1.controller.xcsic.SignalGroupComparator;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationComponentException;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.InterpolationValue;
+import de.dfg.oc.otc.manager.aimsun.SignalGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpolation by natural neighbours compared with inverse distance
+ * weighting on the same sampling points. The sampling points contain the
+ * corners of the box of all flows, so each query point is inside the mesh of
+ * the {@link NaturalNeighbourInterpolant}. The number of sampling points is
+ * limited by {@code InterpolationConstants.p_max} (200 by default).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NaturalNeighbourInterpolantBenchmark {
+    private static final int NUM_QUERIES = 64;
+    private static final double MAX_FLOW = 300;
+
+    @Param({"INVERSE_DISTANCE_WEIGHTING", "NATURAL_NEIGHBOUR"})
+    private InterpolantType interpolantType;
+
+    /**
+     * Number of signal groups of the situations.
+     */
+    @Param({"2", "3"})
+    private int dimensions;
+
+    /**
+     * Number of sampling points.
+     */
+    @Param({"50", "200"})
+    private int numSamplingPoints;
+
+    private AbstractInterpolationTechnique interpolant;
+    private Situation[] sites;
+    private TrafficLightControllerParameters[] actions;
+    private Situation[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException, InterpolationComponentException {
+        final Constructor<SignalGroup> signalGroupConstructor = SignalGroup.class.getDeclaredConstructor(int.class);
+        signalGroupConstructor.setAccessible(true);
+        final SignalGroup[] signalGroups = new SignalGroup[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            signalGroups[i] = signalGroupConstructor.newInstance(i + 1);
+        }
+
+        final Random random = new Random(1);
+        sites = new Situation[numSamplingPoints];
+        actions = new TrafficLightControllerParameters[numSamplingPoints];
+        final int corners = 1 << dimensions;
+        for (int i = 0; i < numSamplingPoints; i++) {
+            final double[] flows = new double[dimensions];
+            for (int j = 0; j < dimensions; j++) {
+                flows[j] = i < corners ? (i >> j & 1) * MAX_FLOW : random.nextDouble() * MAX_FLOW;
+            }
+            sites[i] = createSituation(signalGroups, flows);
+            actions[i] = createAction(random);
+        }
+
+        queries = new Situation[NUM_QUERIES];
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final double[] flows = new double[dimensions];
+            for (int j = 0; j < dimensions; j++) {
+                flows[j] = random.nextDouble() * MAX_FLOW;
+            }
+            queries[i] = createSituation(signalGroups, flows);
+        }
+
+        interpolant = interpolantType.create();
+        for (int i = 0; i < numSamplingPoints; i++) {
+            interpolant.addNewSite(sites[i], new Object[]{actions[i]});
+        }
+    }
+
+    private static Situation createSituation(final SignalGroup[] signalGroups, final double[] flows) {
+        final TreeMap<SignalGroup, Double> flowsOfSignalGroups = new TreeMap<>(new SignalGroupComparator());
+        for (int i = 0; i < flows.length; i++) {
+            flowsOfSignalGroups.put(signalGroups[i], flows[i]);
+        }
+        return new Situation(flowsOfSignalGroups, null);
+    }
+
+    private TrafficLightControllerParameters createAction(final Random random) {
+        final float[] greenTimes = new float[dimensions];
+        final int[] ids = new int[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            greenTimes[i] = 10 + random.nextInt(31);
+            ids[i] = i + 1;
+        }
+        return new TrafficLightControllerParameters(TLCTypes.FIXEDTIME, ids, greenTimes, new String[0],
+                new boolean[dimensions]);
+    }
+
+    @Benchmark
+    public InterpolationValue interpolate() throws InterpolationComponentException {
+        next = (next + 1) % NUM_QUERIES;
+        return interpolant.interpolate(queries[next]);
+    }
+
+    /**
+     * Removes a sampling point and adds it again, as the interpolation
+     * component does when the population changes.
+     */
+    @Benchmark
+    public int replaceSite() throws InterpolationComponentException {
+        // Not a corner, which would shrink the mesh
+        next = (next + 1) % (numSamplingPoints - (1 << dimensions));
+        final int site = (1 << dimensions) + next;
+        interpolant.removeSite(sites[site]);
+        interpolant.addNewSite(sites[site], new Object[]{actions[site]});
+        return interpolant.getSamplingPoints().size();
+    }
+}
@@ -0,0 +1,117 @@
+package de.dfg.oc.otc.layer1.controller.xcst;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.config.DefaultParams;
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import de.dfg.oc.otc.layer1.controller.ClassifierException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match and action sets of a full XCS-T population for the junction of a
+ * {@link tests.testNetworks.SimpleJunction} with four arms, i.e. the work of
+ * Layer 1 per controller decision.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassifierSetBenchmark {
+    private static final int NUM_SITUATIONS = 64;
+    private static final int MATCH_SET_SIZE = 20;
+    private static final int MATCH_SET_ACTIONS = 5;
+
+    private ClassifierSet indexedPopulation;
+    private ClassifierSet population;
+    private ClassifierSet matchSet;
+    private float[][] situations;
+    private int next;
+
+    @Setup
+    public void setUp() throws ClassifierException {
+        Fixtures.createSimpleJunction(4);
+
+        // Same classifiers in both populations, only one of them is indexed
+        final Random random = new Random(1);
+        final float[][] demands = new float[DefaultParams.MAX_POPULATION_SIZE][];
+        indexedPopulation = new ClassifierSet();
+        population = new ClassifierSet();
+        for (int i = 0; i < DefaultParams.MAX_POPULATION_SIZE; i++) {
+            final float[] situation = Fixtures.createSimpleJunctionSituation(random);
+            demands[i] = situation;
+            final Classifier classifier = new Classifier(situation, Fixtures.createSimpleJunctionAction(random),
+                    random.nextFloat() * 100);
+            indexedPopulation.add(classifier);
+            population.add(classifier);
+        }
+        indexedPopulation.enableMatchIndex();
+
+        // Situations close to the ones the classifiers were created for
+        situations = new float[NUM_SITUATIONS][];
+        for (int i = 0; i < NUM_SITUATIONS; i++) {
+            final float[] demand = demands[random.nextInt(demands.length)];
+            situations[i] = new float[demand.length];
+            for (int j = 0; j < demand.length; j++) {
+                situations[i][j] = Math.max(demand[j] + random.nextInt(41) - 20, 0);
+            }
+        }
+
+        // Match set of a situation after covering: classifiers for the same
+        // situation, several of them promote the same action
+        final float[] situation = situations[0];
+        final TrafficLightControllerParameters[] actions = new TrafficLightControllerParameters[MATCH_SET_ACTIONS];
+        for (int i = 0; i < MATCH_SET_ACTIONS; i++) {
+            actions[i] = Fixtures.createSimpleJunctionAction(random);
+        }
+        matchSet = new ClassifierSet();
+        for (int i = 0; i < MATCH_SET_SIZE; i++) {
+            matchSet.add(new Classifier(situation, actions[random.nextInt(MATCH_SET_ACTIONS)],
+                    random.nextFloat() * 100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.release();
+    }
+
+    private float[] nextSituation() {
+        next = (next + 1) % NUM_SITUATIONS;
+        return situations[next];
+    }
+
+    @Benchmark
+    public ClassifierSet matchSetWithIndex() throws ClassifierException {
+        return indexedPopulation.buildMatchSet(nextSituation());
+    }
+
+    @Benchmark
+    public ClassifierSet matchSetWithoutIndex() throws ClassifierException {
+        return population.buildMatchSet(nextSituation());
+    }
+
+    /**
+     * Groups the classifiers of a match set by action (see
+     * {@code ClassifierSet#buildClassifierMap()}) and selects the action with
+     * the highest prediction.
+     */
+    @Benchmark
+    public ClassifierSet actionSet() {
+        return matchSet.buildActionSet();
+    }
+}
@@ -0,0 +1,75 @@
+package de.dfg.oc.otc.layer1.observer.monitoring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Averages of a full {@link StatisticalDataStorage}, as requested by the
+ * observers of Layer 1 for each turning and evaluation interval.
+ * <p>
+ * The storage caches the last time based average of each feature, so the
+ * benchmarks alternate between two intervals that differ by more than the
+ * tolerance of the cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataStorageBenchmark {
+    /**
+     * Length of the averaged interval in seconds.
+     */
+    @Param({"300", "900"})
+    private float timeInterval;
+
+    private StatisticalDataStorage storage;
+    private boolean alternate;
+
+    @Setup
+    public void setUp() {
+        storage = new StatisticalDataStorage(null);
+
+        // More entries than the storage holds, one per simulation second
+        final Random random = new Random(1);
+        for (int time = 1; time <= 2000; time++) {
+            final float[] values = new float[StatisticsCapabilities.NUM];
+            values[StatisticsCapabilities.FLOW] = random.nextInt(3);
+            values[StatisticsCapabilities.QUEUELENGTH] = random.nextInt(20);
+            storage.addDatum(new StatisticalDataValue(time, values));
+        }
+    }
+
+    private float nextInterval() {
+        alternate = !alternate;
+        return alternate ? timeInterval : timeInterval + 10;
+    }
+
+    @Benchmark
+    public Average vehicleBasedAverage() {
+        return storage.getRawAverage(StatisticsCapabilities.FLOW, nextInterval());
+    }
+
+    @Benchmark
+    public Average continuousAverage() {
+        return storage.getRawAverage(StatisticsCapabilities.QUEUELENGTH, nextInterval());
+    }
+
+    @Benchmark
+    public Average entryBasedAverage() {
+        return storage.getRawAverage(StatisticsCapabilities.QUEUELENGTH, (int) timeInterval / 10);
+    }
+}
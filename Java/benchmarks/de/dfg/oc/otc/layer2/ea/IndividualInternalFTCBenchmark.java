@@ -0,0 +1,87 @@
+package de.dfg.oc.otc.layer2.ea;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.config.DefaultParams;
+import de.dfg.oc.otc.layer1.observer.Attribute;
+import de.dfg.oc.otc.layer1.observer.Layer1Observer.DataSource;
+import de.dfg.oc.otc.layer2.OptimisationTask;
+import de.dfg.oc.otc.manager.OTCManager;
+import de.dfg.oc.otc.manager.OTCNode;
+import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
+import de.dfg.oc.otc.manager.aimsun.Phase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of the children of one generation with Webster's formula for a
+ * junction of the {@link tests.testNetworks.Manhattan6NodeRegional} network.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndividualInternalFTCBenchmark {
+    private final List<IndividualInternalFTC> children = new ArrayList<>();
+    private EAInternalFTC ea;
+
+    @Setup
+    public void setUp() throws IOException {
+        final AimsunNetwork network = Fixtures.createManhattan("none");
+        final OTCNode node = network.getNodes().iterator().next();
+
+        final OptimisationTask task = new OptimisationTask(null, node.getId(), OTCManager.getInstance().getTime(),
+                node.getSituation(DataSource.STATISTICS), null, 1, null, Attribute.LOS, 0);
+        ea = new EAInternalFTC(task);
+
+        // Reference controller of the junction
+        final List<Phase> phases = node.getJunction().getPhases();
+        final int[] durations = new int[phases.size()];
+        final boolean[] interphases = new boolean[phases.size()];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = (int) phases.get(i).getDefaultDuration();
+            interphases[i] = phases.get(i).isInterphase();
+        }
+        ea.setReferencePhases(durations, interphases);
+
+        // Constraints like EAInternalFTC#createPopulationWithRelativeCoding()
+        final int[] constraints = new int[ea.getNumberOfNonInterphases() + 1];
+        for (int i = 1; i < constraints.length; i++) {
+            constraints[i] = 5;
+        }
+        for (int i = 0; i < DefaultParams.EA_NUMBER_OF_CHILDREN; i++) {
+            children.add(new IndividualInternalFTC(constraints.length, ea, constraints));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ea.close();
+        Fixtures.release();
+    }
+
+    @Benchmark
+    public double calculateFitness() {
+        double fitness = 0;
+        for (IndividualInternalFTC child : children) {
+            fitness += child.calculateFitness();
+        }
+        return fitness;
+    }
+}
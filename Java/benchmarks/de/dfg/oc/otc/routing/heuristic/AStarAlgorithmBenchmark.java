@@ -0,0 +1,68 @@
+package de.dfg.oc.otc.routing.heuristic;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.manager.OTCNode;
+import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
+import de.dfg.oc.otc.routing.RoutingManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A* searches of all heuristic routing components of the
+ * {@link tests.testNetworks.Manhattan6NodeRegional} network on the street
+ * graphs of one protocol run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AStarAlgorithmBenchmark {
+    private final List<HeuristicRC> routingComponents = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        final AimsunNetwork network = Fixtures.createManhattan("HEURISTIC");
+
+        // Fills the street graphs
+        final RoutingManager routingManager = RoutingManager.getInstance();
+        routingManager.processRoutingProtocol(routingManager.getNextProtocolRun() + 1);
+
+        for (OTCNode node : network.getNodes()) {
+            routingComponents.add((HeuristicRC) node.getRoutingComponent());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.release();
+    }
+
+    /**
+     * Like {@link HeuristicRC#performProtocol()} without updating the local
+     * entries of the street graph.
+     */
+    @Benchmark
+    public int performAStar() {
+        for (HeuristicRC rc : routingComponents) {
+            AStarAlgorithm.performAStar(rc);
+            rc.getStreetMap().resetRoutesCount();
+        }
+        return routingComponents.size();
+    }
+}
@@ -0,0 +1,63 @@
+package de.dfg.oc.otc.routing.linkState;
+
+import benchmarks.Fixtures;
+import de.dfg.oc.otc.manager.OTCNode;
+import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
+import de.dfg.oc.otc.routing.RoutingManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dijkstra runs of all link state routing components of the
+ * {@link tests.testNetworks.Manhattan6NodeRegional} network on the databases
+ * of one protocol run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DijkstraAlgorithmBenchmark {
+    private final List<LinkStateRC> routingComponents = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        final AimsunNetwork network = Fixtures.createManhattan("LSR");
+
+        // Fills the link state databases
+        final RoutingManager routingManager = RoutingManager.getInstance();
+        routingManager.processRoutingProtocol(routingManager.getNextProtocolRun() + 1);
+
+        for (OTCNode node : network.getNodes()) {
+            routingComponents.add((LinkStateRC) node.getRoutingComponent());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.release();
+    }
+
+    @Benchmark
+    public int runAlgorithm() {
+        for (LinkStateRC rc : routingComponents) {
+            new DijkstraAlgorithm().runAlgorithm(rc, rc.interiorLinkstateDatabase, false);
+        }
+        return routingComponents.size();
+    }
+}
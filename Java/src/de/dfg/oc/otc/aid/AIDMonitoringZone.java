@@ -85,7 +85,7 @@ public class AIDMonitoringZone {
 
     /**
      * Sets the AID algorithm which is used for this monitoring zone. Thereby it
-     * also adds the algorithm as observer to the monitored detector pairs.
+     * also subscribes the algorithm to the monitored detector pairs.
      *
      * @param algorithm which is used for this monitoring zone
      */
@@ -93,7 +93,7 @@ public class AIDMonitoringZone {
         this.aidAlgorithm = algorithm;
 
         for (AbstractDetectorGroup detectorPair : this.monitoredDetectorPairs) {
-            detectorPair.addObserver(this.aidAlgorithm);
+            detectorPair.subscribe(this.aidAlgorithm);
         }
 
         this.aidAlgorithm.setObservedDetectorCount(getMonitoredPairsCount());
@@ -15,7 +15,8 @@ import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
 import de.dfg.oc.otc.manager.aimsun.detectors.DetectorForkGroup;
 import de.dfg.oc.otc.manager.aimsun.detectors.DetectorPair;
 import de.dfg.oc.otc.aid.disturbance.DisturbanceManager;
-import de.dfg.oc.otc.tools.LimitedQueue;
+import de.dfg.oc.otc.tools.RingBuffer;
+import de.dfg.oc.otc.tools.Subscriber;
 import org.apache.log4j.Logger;
 
 import java.util.*;
@@ -24,12 +25,13 @@ import java.util.stream.Collectors;
 /**
  * Base class has to implemented by each AID algorithm.
  */
-public abstract class AbstractAIDAlgorithm extends Observable implements Observer {
+public abstract class AbstractAIDAlgorithm extends Observable
+        implements Subscriber<AbstractDetectorGroup, DetectorDataValue> {
     private static Logger log;
     /**
      * Contains the past occupancy values of all observed detector pairs. <detector pair id, occupancy value>
      */
-    protected final LimitedQueue<Map<String, Float>> pastOccupancyValues;
+    protected final RingBuffer<Map<String, Float>> pastOccupancyValues;
     /**
      * List of tentative incidents for each detector pair identifier. <detector pair id, Incident object>
      */
@@ -103,7 +105,7 @@ public abstract class AbstractAIDAlgorithm extends Observable implements Observe
         this.warmupTime = DefaultParams.AID_WARUM_UP_TIME;
         this.simulationStepSize = OTCManager.getSimulationStepSize();
         this.currentOccupancyValues = new HashMap<>();
-        this.pastOccupancyValues = new LimitedQueue<>(3);
+        this.pastOccupancyValues = new RingBuffer<>(3);
         this.tentativeIncidents = new HashMap<>();
         AbstractAIDAlgorithm.instances.add(this);
     }
@@ -170,15 +172,15 @@ public abstract class AbstractAIDAlgorithm extends Observable implements Observe
 
     /**
      * This method is triggered every time new detector data is available since
-     * the algorithm is being registered as observer in the
+     * the algorithm is being registered as subscriber in the
      * {@link AIDMonitoringZone#setAIDAlgorithm(AbstractAIDAlgorithm)} method.
      *
      * @param group Detector pair
      * @param value Detector value
      */
     @Override
-    public void update(Observable group, Object value) {
-        newDetectorData((AbstractDetectorGroup) group, (DetectorDataValue) value);
+    public void update(AbstractDetectorGroup group, DetectorDataValue value) {
+        newDetectorData(group, value);
     }
 
     /**
@@ -9,7 +9,7 @@ import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
 import de.dfg.oc.otc.manager.aimsun.detectors.AbstractDetectorGroup;
 import de.dfg.oc.otc.tools.FileUtilities;
-import de.dfg.oc.otc.tools.LimitedQueue;
+import de.dfg.oc.otc.tools.RingBuffer;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -27,7 +27,7 @@ public class APIDAlgorithm extends AbstractAIDAlgorithm {
      * Contains the latest occupancy and speed values of all observed detector
      * pairs. First element in the queue is the oldest, last is the newest
      */
-    private final LimitedQueue<Map<String, APIDDetectorValue>> pastDetectorValues;
+    private final RingBuffer<Map<String, APIDDetectorValue>> pastDetectorValues;
     /**
      * Algorithm states for each detector pair identifier.
      */
@@ -115,7 +115,7 @@ public class APIDAlgorithm extends AbstractAIDAlgorithm {
      */
     public APIDAlgorithm() {
         this.currentDetectorValues = new HashMap<>();
-        this.pastDetectorValues = new LimitedQueue<>(2);
+        this.pastDetectorValues = new RingBuffer<>(2);
         this.algorithmStates = new HashMap<>();
         this.persistenceTestStartTime = new HashMap<>();
         this.compressionWaveTestStartTime = new HashMap<>();
@@ -1,6 +1,7 @@
 package de.dfg.oc.otc.aid.algorithms.apid;
 
 import de.dfg.oc.otc.manager.OTCManager;
+import de.dfg.oc.otc.tools.ParameterGrid;
 
 import java.util.*;
 
@@ -33,29 +34,34 @@ public class APIDParameterSelector {
             float[] TH_MED_ID1 = {0.4f, 0.8f};
             float[] TH_MED_ID2 = {0.1f, 0f};
 
-            for (int a = 0; a < TH_MEDIUM_TRAFFIC.length; a++)
-                for (int b = 0; b < TH_INC_CLR.length; b++)
-                    for (int c = 0; c < TH_PT.length; c++)
-                        for (int d = 0; d < TH_CW1.length; d++)
-                            for (int e = 0; e < TH_CW2.length; e++)
-                                for (int f = 0; f < PERSISTENCE_TEST_PERIOD.length; f++)
-                                    for (int g = 0; g < COMPRESSION_WAVE_TEST_PERIOD.length; g++)
-                                        for (int h = 0; h < TH_ID1.length; h++)
-                                            for (int i = 0; i < TH_ID2.length; i++)
-                                                for (int j = 0; j < TH_ID3.length; j++)
-                                                    for (int k = 0; k < TH_MED_ID1.length; k++)
-                                                        for (int l = 0; l < TH_MED_ID2.length; l++)
-                                                            for (int m = 0; m < MEDIUM_TRAFFIC_DETECTION_ENABLED.length; m++)
-                                                                for (int n = 0; n < COMPRESSION_WAVE_TEST_ENABLED.length; n++)
-                                                                    for (int o = 0; o < PERSISTENCE_TEST_ENABLED.length; o++)
-                                                                    {
-                                                                        APIDParameters p = new APIDParameters(MEDIUM_TRAFFIC_DETECTION_ENABLED[m], COMPRESSION_WAVE_TEST_ENABLED[n], PERSISTENCE_TEST_ENABLED[o], TH_MEDIUM_TRAFFIC[a],
-                                                                                TH_INC_CLR[b], TH_PT[c], TH_CW1[d], TH_CW2[e], PERSISTENCE_TEST_PERIOD[f], COMPRESSION_WAVE_TEST_PERIOD[g],
-                                                                                TH_ID1[h], TH_ID2[i], TH_ID3[j], TH_MED_ID1[k], TH_MED_ID2[l]);
+            // same order as nested loops, the first parameter is the outermost loop
+            ParameterGrid grid = new ParameterGrid()
+                    .add("TH_MEDIUM_TRAFFIC", TH_MEDIUM_TRAFFIC)
+                    .add("TH_INC_CLR", TH_INC_CLR)
+                    .add("TH_PT", TH_PT)
+                    .add("TH_CW1", TH_CW1)
+                    .add("TH_CW2", TH_CW2)
+                    .add("PERSISTENCE_TEST_PERIOD", PERSISTENCE_TEST_PERIOD)
+                    .add("COMPRESSION_WAVE_TEST_PERIOD", COMPRESSION_WAVE_TEST_PERIOD)
+                    .add("TH_ID1", TH_ID1)
+                    .add("TH_ID2", TH_ID2)
+                    .add("TH_ID3", TH_ID3)
+                    .add("TH_MED_ID1", TH_MED_ID1)
+                    .add("TH_MED_ID2", TH_MED_ID2)
+                    .add("MEDIUM_TRAFFIC_DETECTION_ENABLED", MEDIUM_TRAFFIC_DETECTION_ENABLED)
+                    .add("COMPRESSION_WAVE_TEST_ENABLED", COMPRESSION_WAVE_TEST_ENABLED)
+                    .add("PERSISTENCE_TEST_ENABLED", PERSISTENCE_TEST_ENABLED);
 
-                                                                        paramList.put(startReplication++, p);
-                                                                        paramListList.add(p);
-                                                                    }
+            for (ParameterGrid.Configuration c : grid.getConfigurations())
+            {
+                APIDParameters p = new APIDParameters(c.getBoolean("MEDIUM_TRAFFIC_DETECTION_ENABLED"), c.getBoolean("COMPRESSION_WAVE_TEST_ENABLED"),
+                        c.getBoolean("PERSISTENCE_TEST_ENABLED"), c.getFloat("TH_MEDIUM_TRAFFIC"), c.getFloat("TH_INC_CLR"), c.getFloat("TH_PT"),
+                        c.getFloat("TH_CW1"), c.getFloat("TH_CW2"), c.getFloat("PERSISTENCE_TEST_PERIOD"), c.getFloat("COMPRESSION_WAVE_TEST_PERIOD"),
+                        c.getFloat("TH_ID1"), c.getFloat("TH_ID2"), c.getFloat("TH_ID3"), c.getFloat("TH_MED_ID1"), c.getFloat("TH_MED_ID2"));
+
+                paramList.put(startReplication++, p);
+                paramListList.add(p);
+            }
             Collections.shuffle(paramListList, new Random(1));
             it = paramListList.listIterator();
             System.out.println("There are " + paramList.size() + " parameter configurations");
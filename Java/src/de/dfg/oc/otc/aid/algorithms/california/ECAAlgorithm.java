@@ -12,11 +12,14 @@ import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.OTCNode;
 import de.dfg.oc.otc.manager.aimsun.*;
 import de.dfg.oc.otc.manager.aimsun.detectors.AbstractDetectorGroup;
+import de.dfg.oc.otc.manager.aimsun.detectors.CurrentDetectorValue;
 import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
 import de.dfg.oc.otc.manager.aimsun.detectors.DetectorForkGroup;
 import de.dfg.oc.otc.manager.aimsun.detectors.DetectorPair;
 import de.dfg.oc.otc.aid.disturbance.DisturbanceManager;
-import de.dfg.oc.otc.tools.LimitedQueue;
+import de.dfg.oc.otc.tools.FloatRingBuffer;
+import de.dfg.oc.otc.tools.RingBuffer;
+import de.dfg.oc.otc.tools.Subscriber;
 
 import java.util.*;
 
@@ -33,7 +36,7 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
      * Contains lists of the past occupancy values of all observed divided
      * detector pairs.
      */
-    private final LimitedQueue<List<Map<String, Float>>> occupancyHistory;
+    private final RingBuffer<List<Map<String, Float>>> occupancyHistory;
     /**
      * Contains the current algorithm states for each detector pair combination. <detector pair, State>
      */
@@ -59,7 +62,7 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
     /**
      * Contains the history of count values.
      */
-    private final LimitedQueue<Float> countHistory;
+    private final FloatRingBuffer countHistory;
     /**
      * Number of iterations how long an incident needs to have the state
      * 'incident continuing' before it is reported.
@@ -107,6 +110,10 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
      * Detector used for junction monitoring.
      */
     private Detector junctionDetector;
+    /**
+     * Subscriber of this algorithm for single detectors.
+     */
+    private final Subscriber<Detector, CurrentDetectorValue> detectorSubscriber = this::updateDetector;
     /**
      * Sums up the values from a count detector over a certain time span.
      */
@@ -145,8 +152,8 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
 
     public ECAAlgorithm() {
         this.currentOccupancyValues = new ArrayList<>();
-        this.occupancyHistory = new LimitedQueue<>(3);
-        this.countHistory = new LimitedQueue<>(3);
+        this.occupancyHistory = new RingBuffer<>(3);
+        this.countHistory = new FloatRingBuffer(3);
         this.algorithmStates = new HashMap<>();
         this.persistenceCounter = new HashMap<>();
         this.pendingIncidents = new HashMap<>();
@@ -169,23 +176,30 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
      * calculation is triggered.
      */
     @Override
-    public void update(Observable obs, Object value) {
+    public void update(AbstractDetectorGroup group, DetectorDataValue value) {
         // only runs once at the start of the first iteration
         if (this.neighbourSenders == null) {
             findNeighbourSenders();
         }
 
-        if (obs instanceof Detector) {
-            Detector detector = (Detector) obs;
-            if (detector.equals(this.junctionDetector) && this.junctionMonitoringEnabled) {
-                runJunctionMonitoring((DetectorDataValue) value);
-            }
+        super.update(group, value);
+    }
 
-            if (this.dividedDetectors.contains(detector)) {
-                runDividedPairMonitoring(detector, (DetectorDataValue) value);
-            }
-        } else {
-            super.update(obs, value);
+    /**
+     * Receives the values of the junction detector and of the detectors of
+     * divided pairs.
+     */
+    private void updateDetector(Detector detector, CurrentDetectorValue value) {
+        if (this.neighbourSenders == null) {
+            findNeighbourSenders();
+        }
+
+        if (detector.equals(this.junctionDetector) && this.junctionMonitoringEnabled) {
+            runJunctionMonitoring(value);
+        }
+
+        if (this.dividedDetectors.contains(detector)) {
+            runDividedPairMonitoring(detector, value);
         }
     }
 
@@ -769,7 +783,7 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
                         ECAAlgorithm eca = (ECAAlgorithm) algorithm;
                         if (this.junctionDetector == null) {
                             this.junctionDetector = targetDetector;
-                            this.junctionDetector.addObserver(this);
+                            this.junctionDetector.subscribe(this.detectorSubscriber);
                         }
                         eca.receiver = true;
                         addReceiver(eca);
@@ -787,7 +801,7 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
 			 */
             if (junctionMonitoringPossible) {
                 this.junctionDetector = countDetector;
-                this.junctionDetector.addObserver(this);
+                this.junctionDetector.subscribe(this.detectorSubscriber);
             } else {
                 this.sender = false;
                 this.junctionMonitoringEnabled = false;
@@ -834,16 +848,16 @@ public class ECAAlgorithm extends AbstractAIDAlgorithm {
 
                         if (this.monitoringZone.getMonitoredDetectorPairs().get(0).equals(group)) {
                             this.dividedDetectors.add(upstream);
-                            upstream.addObserver(this);
+                            upstream.subscribe(this.detectorSubscriber);
                         } else if (this.monitoringZone.getMonitoredDetectorPairs().get(monitoringZone.getMonitoredDetectorPairs().size()).equals(group)) {
                             this.dividedDetectors.add(downstream);
-                            downstream.addObserver(this);
+                            downstream.subscribe(this.detectorSubscriber);
                         } else {
                             this.dividedDetectors.add(upstream);
-                            upstream.addObserver(this);
+                            upstream.subscribe(this.detectorSubscriber);
 
                             this.dividedDetectors.add(downstream);
-                            downstream.addObserver(this);
+                            downstream.subscribe(this.detectorSubscriber);
                         }
                     }
                 }
@@ -10,13 +10,11 @@ import de.dfg.oc.otc.aid.disturbance.DisturbanceManager;
 import org.apache.commons.math3.ml.distance.EuclideanDistance;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * @author alexandermartel Base class for both the kNN and fuzzy kNN algorithm
@@ -43,6 +41,11 @@ public abstract class AbstractkNNAlgorithm extends AbstractAIDAlgorithm {
      * Determines whether Density of {@link DetectorDataValue#values} is used
      */
     private static final boolean useDensity = true;
+    /**
+     * Fields of the feature array that are used (see {@link #getFeatureArrayOfDetectorData(DetectorDataValue)}),
+     * only these are stored in a {@link KNNIndex}.
+     */
+    static final int[] USED_FEATURES = getUsedFeatures();
     /**
      * Contains the classified (incident or not) trainingSets for each
      * {@link AbstractDetectorGroup} of the
@@ -50,6 +53,11 @@ public abstract class AbstractkNNAlgorithm extends AbstractAIDAlgorithm {
      * {@link AbstractDetectorGroup#getId()} being the Key.
      */
     private final Map<String, List<KNNDetectorDataValue>> trainingSets;
+    /**
+     * Index over the trainingSet of each {@link AbstractDetectorGroup}, with
+     * {@link AbstractDetectorGroup#getId()} being the Key.
+     */
+    private final Map<String, KNNIndex> trainingIndices;
     /**
      * An absolute path to the folder containing the training data.
      */
@@ -78,6 +86,7 @@ public abstract class AbstractkNNAlgorithm extends AbstractAIDAlgorithm {
         this.simulationStepSize = 300;
 
         trainingSets = new HashMap<>();
+        trainingIndices = new HashMap<>();
         euclidianDistance = new EuclideanDistance();
 
         countValues = new HashMap<>();
@@ -134,6 +143,23 @@ public abstract class AbstractkNNAlgorithm extends AbstractAIDAlgorithm {
         return new double[]{count, 0, speed, otp, 0, density, 0};
     }
 
+    private static int[] getUsedFeatures() {
+        List<Integer> features = new ArrayList<>();
+        if (useCount) {
+            features.add(DetectorCapabilities.COUNT);
+        }
+        if (useSpeed) {
+            features.add(DetectorCapabilities.SPEED);
+        }
+        if (useOccupancy) {
+            features.add(DetectorCapabilities.OCCUPANCY);
+        }
+        if (useDensity) {
+            features.add(DetectorCapabilities.DENSITY);
+        }
+        return features.stream().mapToInt(Integer::intValue).toArray();
+    }
+
     @Override
     public void finalizeInitialization() {
         //loading the trainingData is only possible if the monitoring zone has been set
@@ -189,35 +215,46 @@ public abstract class AbstractkNNAlgorithm extends AbstractAIDAlgorithm {
             List<KNNDetectorDataValue> trainingData = null;
 
             try {
-                trainingData = KNNDetectorDataValueImporter.readTrainingData(new FileInputStream(file));
+                trainingData = KNNDetectorDataValueImporter.readTrainingData(file);
             } catch (IOException ex) {
                 System.out.print(ex.getMessage());
             }
 
             if (trainingData != null) {
                 trainingSets.put(detectorId, trainingData);
+                trainingIndices.put(detectorId, new KNNIndex(trainingData));
             }
         }
     }
 
     /**
-     * Adds a classified trainingSet for a specified AbstractDetectorGroup
+     * Adds a classified trainingSet for a specified AbstractDetectorGroup. The
+     * values are copied, later changes of the list are ignored (use
+     * {@link #addTrainingValue(String, KNNDetectorDataValue)} instead).
      *
      * @param detectorGroupIdentifier The id of the AbstractDetectorGroup
      * @param trainingSet             A List of {@link KNNDetectorDataValue}
      */
     public void addTrainingSet(String detectorGroupIdentifier, List<KNNDetectorDataValue> trainingSet) {
-        this.trainingSets.putIfAbsent(detectorGroupIdentifier, trainingSet);
+        if (this.trainingSets.putIfAbsent(detectorGroupIdentifier, new ArrayList<>(trainingSet)) == null) {
+            this.trainingIndices.put(detectorGroupIdentifier, new KNNIndex(trainingSet));
+        }
     }
 
     /**
-     * Gets a trainingSet for an AbstractDetectorGroup
+     * Adds a classified value to the trainingSet of an AbstractDetectorGroup (e.g. for online learning).
+     * A new trainingSet is created if the AbstractDetectorGroup has none.
      *
-     * @param groupIdentifier The id of the AbstractDetectorGroup
-     * @return The classified trainingSet
+     * @param detectorGroupIdentifier The id of the AbstractDetectorGroup
+     * @param trainingValue           The classified value
      */
-    List<KNNDetectorDataValue> getTrainingListForDetectorGroupIdentifier(String groupIdentifier) {
-        return trainingSets.get(groupIdentifier);
+    public void addTrainingValue(String detectorGroupIdentifier, KNNDetectorDataValue trainingValue) {
+        if (!this.trainingSets.containsKey(detectorGroupIdentifier)) {
+            addTrainingSet(detectorGroupIdentifier, new ArrayList<>());
+        }
+
+        this.trainingSets.get(detectorGroupIdentifier).add(trainingValue);
+        this.trainingIndices.get(detectorGroupIdentifier).add(trainingValue);
     }
 
     /**
@@ -228,69 +265,41 @@ public abstract class AbstractkNNAlgorithm extends AbstractAIDAlgorithm {
      *                                corresponding trainingSet
      * @param instance                The DetectorDataValue instance
      * @param k                       The number of neighbors to retrieve
-     * @return The list of k-nearest {@link KNNNeighbor}
+     * @return The list of k-nearest {@link KNNNeighbor}, ordered by increasing distance
      */
     List<KNNNeighbor> getKNearestNeighbors(String detectorGroupIdentifier, DetectorDataValue instance, int k) {
-        List<KNNDetectorDataValue> trainingSet = trainingSets.get(detectorGroupIdentifier);
-        if (trainingSet == null || trainingSet.size() < k) {
+        KNNIndex trainingIndex = trainingIndices.get(detectorGroupIdentifier);
+        if (trainingIndex == null || trainingIndex.size() < k) {
             return null;
         }
 
-        return getNeighborsOfTrainingSet(trainingSet, instance, k);
+        return getNeighbors(trainingIndex, instance, k, null);
     }
 
     /**
-     * Gets the k-nearest neighbors of a {@link DetectorDataValue} instance.
-     * Distance measure is EuclidianDistance.
+     * Gets the k-nearest neighbors of a value of the trainingSet, the value itself is
+     * not contained. Distance measure is EuclidianDistance.
      *
-     * @param trainingSet The trainingSet to retrieve neighbors from
-     * @param instance    The DetectorDataValue instance
-     * @param k           The number of neighbors to retrieve
-     * @return The list of k-nearest {@link KNNNeighbor}
+     * @param detectorGroupIdentifier The id of the AbstractDetectorGroup, needed to retrieve the
+     *                                corresponding trainingSet
+     * @param trainingValue           The value of the trainingSet
+     * @param k                       The number of neighbors to retrieve
+     * @return The list of k-nearest {@link KNNNeighbor}, ordered by increasing distance
      */
-    List<KNNNeighbor> getNeighborsOfTrainingSet(List<KNNDetectorDataValue> trainingSet, DetectorDataValue instance, int k) {
-        float biggestDistance = -1;
-        int idxBiggestDistance = -1;
-
-        List<KNNNeighbor> neighbors = new ArrayList<>();
-        Map<KNNDetectorDataValue, Float> computedDistances = new HashMap<>();
-
-        for (int i = 0; i < trainingSet.size(); i++) {
-            float distance = (float) euclidianDistance.compute(getFeatureArrayOfDetectorData(instance), trainingSet.get(i).getFeatureArray());
-
-            // init: fill list until its size is k
-            if (i < k) {
-                computedDistances.put(trainingSet.get(i), distance);
-                if (distance > biggestDistance) {
-                    biggestDistance = distance;
-                    idxBiggestDistance = i;
-                }
-            } else if (distance < biggestDistance) {
-                // found an instance with a
-                // smaller distance than the one in the
-                // neighbor set with the highest distance
-                computedDistances.remove(trainingSet.get(idxBiggestDistance));
-                computedDistances.put(trainingSet.get(i), distance);
-
-                biggestDistance = -1;
-
-                for (Entry<KNNDetectorDataValue, Float> entry : computedDistances.entrySet()) {
-                    // after altering the list, check for the new neighbor with
-                    // the highest distance
-                    float entryDist = entry.getValue();
-                    if (entryDist > biggestDistance) {
-                        biggestDistance = entryDist;
-                        idxBiggestDistance = trainingSet.indexOf(entry.getKey());
-                    }
-                }
-            }
-        }
+    List<KNNNeighbor> getKNearestNeighborsOfTrainingValue(String detectorGroupIdentifier, KNNDetectorDataValue trainingValue, int k) {
+        return getNeighbors(trainingIndices.get(detectorGroupIdentifier), trainingValue.getDetectorDataValue(), k, trainingValue);
+    }
+
+    private List<KNNNeighbor> getNeighbors(KNNIndex trainingIndex, DetectorDataValue instance, int k, KNNDetectorDataValue excluded) {
+        KNNDetectorDataValue[] values = new KNNDetectorDataValue[k];
+        float[] distances = new float[k];
+        int count = trainingIndex.nearest(instance, k, excluded, values, distances);
 
         // create KNNNeighbors, which also contain the distance (used when
         // there's a tie using kNN's majority vote)
-        for (Entry<KNNDetectorDataValue, Float> entry : computedDistances.entrySet()) {
-            KNNNeighbor neighbor = new KNNNeighbor(entry.getKey(), entry.getValue());
-            neighbors.add(neighbor);
+        List<KNNNeighbor> neighbors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neighbors.add(new KNNNeighbor(values[i], distances[i]));
         }
 
         return neighbors;
@@ -2,7 +2,6 @@ package de.dfg.oc.otc.aid.algorithms.knn;
 
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -23,7 +22,7 @@ public class FuzzykNN extends AbstractkNNAlgorithm {
      * indicating whether the algorithm uses fuzzyMembership for the
      * membership degree of the neighbors<br/>.
      * see
-     * {@link FuzzykNN#getMembershipDeegre(List, KNNDetectorDataValue, boolean)}
+     * {@link FuzzykNN#getMembershipDeegre(String, KNNDetectorDataValue, boolean)}
      * for more info
      */
     private final boolean fuzzyMembership = true;
@@ -59,7 +58,7 @@ public class FuzzykNN extends AbstractkNNAlgorithm {
 
         algorithmApplied();
 
-        float membershipToIncidentClass = fuzzyMembershipInIncidentClass(detectorDataValue, getTrainingListForDetectorGroupIdentifier(groupIdentifier), neighbors);
+        float membershipToIncidentClass = fuzzyMembershipInIncidentClass(detectorDataValue, groupIdentifier, neighbors);
         if (membershipToIncidentClass > this.threshold) {
             // its an incident
             incidentOccurred(pairIdentifier, detectorDataValue.getTime());
@@ -71,16 +70,16 @@ public class FuzzykNN extends AbstractkNNAlgorithm {
     /**
      * Calculates the actual fuzzy membership to the 'incident' class
      *
-     * @param instance  The DetectorDataValue we're trying to classify
-     * @param training  The trainingSet
+     * @param instance        The DetectorDataValue we're trying to classify
+     * @param groupIdentifier The id of the AbstractDetectorGroup of the trainingSet
      */
-    private float fuzzyMembershipInIncidentClass(DetectorDataValue instance, List<KNNDetectorDataValue> training, List<KNNNeighbor> neighbors) {
+    private float fuzzyMembershipInIncidentClass(DetectorDataValue instance, String groupIdentifier, List<KNNNeighbor> neighbors) {
         // check the paper to get more in depth information on the algorithm
         float enumerator = 0;
         float denominator = 0;
 
         for (int i = 0; i < k; i++) {
-            float membershipDegree = getMembershipDeegre(training, neighbors.get(i).getkNNDetectorDataValue(), this.fuzzyMembership);
+            float membershipDegree = getMembershipDeegre(groupIdentifier, neighbors.get(i).getkNNDetectorDataValue(), this.fuzzyMembership);
             float distance = (float) euclidianDistance.compute(convertFloatsToDoubles(instance.getValues()), neighbors.get(i).getkNNDetectorDataValue().getFeatureArray());
             if (distance == 0) {
                 // if the distance is zero we'd get NaN as result
@@ -112,21 +111,18 @@ public class FuzzykNN extends AbstractkNNAlgorithm {
      * same class we're checking for. If currentNeighbor is in the same class
      * the value ranges from 0.51 to 1, otherwise from 0 to 0.49.
      *
-     * @param trainingSet     The trainingSet we're working on
+     * @param groupIdentifier The id of the AbstractDetectorGroup of the trainingSet we're working on
      * @param currentNeighbor One neighbor of the datapoint we're currently classifying
      * @param fuzzyMembership boolean indicating whether we're working with fuzzy (or crisp)
      *                        membership
      */
-    private float getMembershipDeegre(List<KNNDetectorDataValue> trainingSet, KNNDetectorDataValue currentNeighbor, boolean fuzzyMembership) {
+    private float getMembershipDeegre(String groupIdentifier, KNNDetectorDataValue currentNeighbor, boolean fuzzyMembership) {
         //TODO parameterized?
         int membershipDegreeK = 4;
 
         List<KNNNeighbor> newNeighbor = Collections.emptyList();
         if (fuzzyMembership) {
-            List<KNNDetectorDataValue> tempTraining = new ArrayList<>(trainingSet);
-            tempTraining.remove(currentNeighbor);
-
-            newNeighbor = getNeighborsOfTrainingSet(tempTraining, currentNeighbor.getDetectorDataValue(), membershipDegreeK);
+            newNeighbor = getKNearestNeighborsOfTrainingValue(groupIdentifier, currentNeighbor, membershipDegreeK);
         }
 
         float membershipDegree;
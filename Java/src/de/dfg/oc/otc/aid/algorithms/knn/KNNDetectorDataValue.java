@@ -23,7 +23,7 @@ public class KNNDetectorDataValue {
         this.incident = isIncident;
     }
 
-    DetectorDataValue getDetectorDataValue() {
+    public DetectorDataValue getDetectorDataValue() {
         return detectorDataValue;
     }
 
@@ -1,7 +1,10 @@
 package de.dfg.oc.otc.aid.algorithms.knn;
 
 import com.Ostermiller.util.CSVParser;
+import de.dfg.oc.otc.tools.ColumnDataFile;
+import org.apache.log4j.Logger;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -11,6 +14,42 @@ import java.util.List;
  * Created by alexandermartel on 20.03.15.
  */
 class KNNDetectorDataValueImporter {
+    private static final Logger log = Logger.getLogger(KNNDetectorDataValueImporter.class);
+    /**
+     * Columns of the binary cache file.
+     */
+    private static final int TIME = 0;
+    private static final int SPEED = 1;
+    private static final int OCCUPANCY = 2;
+    private static final int DENSITY = 3;
+    private static final int INCIDENT = 4;
+    private static final int NUMBER_OF_COLUMNS = 5;
+
+    /**
+     * Reads the training data from a CSV file. The values are taken from the
+     * binary cache file of the CSV file (see {@link ColumnDataFile}) if it is
+     * up to date, otherwise the CSV file is parsed and the cache file is
+     * created.
+     */
+    static List<KNNDetectorDataValue> readTrainingData(File file) throws IOException {
+        if (ColumnDataFile.isCacheUpToDate(file)) {
+            try {
+                return readTrainingData(ColumnDataFile.map(ColumnDataFile.getCacheFile(file)));
+            } catch (IOException e) {
+                log.warn("Cache of " + file + " can't be read: " + e.getMessage());
+            }
+        }
+
+        List<KNNDetectorDataValue> list = readTrainingData(new FileInputStream(file));
+        try {
+            ColumnDataFile.write(ColumnDataFile.getCacheFile(file), toColumns(list));
+        } catch (IOException e) {
+            // Training data can still be used without cache file
+            log.warn("Cache of " + file + " can't be written: " + e.getMessage());
+        }
+        return list;
+    }
+
     static List<KNNDetectorDataValue> readTrainingData(FileInputStream fileStream) throws IOException {
         List<KNNDetectorDataValue> list = new ArrayList<>();
 
@@ -23,13 +62,44 @@ class KNNDetectorDataValueImporter {
             float occ = Float.parseFloat(values[1]);
             boolean isIncident = Boolean.parseBoolean(values[3]);
 
-            // 1: Count, 2: Presence, 3: Speed, 4: Occupied Time Percentage, 5: Headway, 6: Density, 7: EquippedVehicle
-            float[] featurevector = {0, 0, speed, occ, 0, density, 0};
-
-            list.add(new KNNDetectorDataValue(csvparser.getLastLineNumber(), featurevector, isIncident));
+            list.add(createValue(csvparser.getLastLineNumber(), speed, occ, density, isIncident));
         }
 
         csvparser.close();
         return list;
     }
+
+    private static List<KNNDetectorDataValue> readTrainingData(ColumnDataFile columns) throws IOException {
+        if (columns.getColumns() != NUMBER_OF_COLUMNS) {
+            throw new IOException("Invalid number of columns in kNN training data cache: " + columns.getColumns());
+        }
+
+        List<KNNDetectorDataValue> list = new ArrayList<>(columns.getRows());
+        for (int row = 0; row < columns.getRows(); row++) {
+            list.add(createValue(columns.get(row, TIME), columns.get(row, SPEED), columns.get(row, OCCUPANCY),
+                    columns.get(row, DENSITY), columns.get(row, INCIDENT) != 0));
+        }
+        return list;
+    }
+
+    private static KNNDetectorDataValue createValue(float time, float speed, float occ, float density,
+                                                    boolean isIncident) {
+        // 1: Count, 2: Presence, 3: Speed, 4: Occupied Time Percentage, 5: Headway, 6: Density, 7: EquippedVehicle
+        float[] featurevector = {0, 0, speed, occ, 0, density, 0};
+        return new KNNDetectorDataValue(time, featurevector, isIncident);
+    }
+
+    private static float[][] toColumns(List<KNNDetectorDataValue> list) {
+        float[][] columns = new float[NUMBER_OF_COLUMNS][list.size()];
+        for (int row = 0; row < list.size(); row++) {
+            KNNDetectorDataValue value = list.get(row);
+            float[] features = value.getDetectorDataValue().getValues();
+            columns[TIME][row] = value.getDetectorDataValue().getTime();
+            columns[SPEED][row] = features[2];
+            columns[OCCUPANCY][row] = features[3];
+            columns[DENSITY][row] = features[5];
+            columns[INCIDENT][row] = value.isIncident() ? 1 : 0;
+        }
+        return columns;
+    }
 }
@@ -0,0 +1,305 @@
+package de.dfg.oc.otc.aid.algorithms.knn;
+
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * k-d tree over the training data of one detector group. Finds the k nearest
+ * training values of a detector value without calculating the distance to
+ * every training value.
+ * <p>
+ * Only the used fields of the feature array are stored (see
+ * {@link AbstractkNNAlgorithm#USED_FEATURES}), packed into one float array.
+ * The distances equal the euclidean distances of the complete feature arrays
+ * since the other fields are always 0. Training values can be added
+ * incrementally, e.g. for online learning, the tree is rebuilt when it has
+ * become too deep.
+ */
+public class KNNIndex {
+    private final int dimensions = AbstractkNNAlgorithm.USED_FEATURES.length;
+    /**
+     * Training values in the order they have been added.
+     */
+    private KNNDetectorDataValue[] values = new KNNDetectorDataValue[0];
+    /**
+     * Features of the training values, {@code value * dimensions + dimension}.
+     */
+    private float[] points = new float[0];
+    /**
+     * Children of each training value in the tree, -1 if none.
+     */
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    /**
+     * Split axis of each training value.
+     */
+    private int[] axes = new int[0];
+    private int root = -1;
+    private int size;
+
+    // State of the current query
+    private int[] heap = new int[0];
+    private float[] heapDistances = new float[0];
+    private int heapSize;
+    private int k;
+    private final float[] queryPoint = new float[dimensions];
+    private KNNDetectorDataValue excluded;
+
+    /**
+     * Creates an index over the given training values.
+     *
+     * @param trainingSet the training values, the order is used to order values
+     *                    with the same distance
+     */
+    public KNNIndex(final List<KNNDetectorDataValue> trainingSet) {
+        ensureCapacity(trainingSet.size());
+        for (KNNDetectorDataValue value : trainingSet) {
+            store(value);
+        }
+        rebuild();
+    }
+
+    /**
+     * Adds a training value.
+     *
+     * @param value to be added
+     */
+    public final void add(final KNNDetectorDataValue value) {
+        ensureCapacity(size + 1);
+        final int node = store(value);
+
+        if (root < 0) {
+            root = node;
+            axes[node] = 0;
+            return;
+        }
+
+        int parent = root;
+        int depth = 1;
+        while (true) {
+            final int axis = axes[parent];
+            final int[] children = points[node * dimensions + axis] < points[parent * dimensions + axis] ? left : right;
+            if (children[parent] < 0) {
+                children[parent] = node;
+                axes[node] = (axis + 1) % dimensions;
+                break;
+            }
+            parent = children[parent];
+            depth++;
+        }
+
+        // Rebuild if the tree degenerates (e.g. for training data sorted by time)
+        if (depth > 2 * (32 - Integer.numberOfLeadingZeros(size)) + 4) {
+            rebuild();
+        }
+    }
+
+    private int build(final Integer[] nodes, final int from, final int to, final int depth) {
+        if (from >= to) {
+            return -1;
+        }
+
+        final int axis = depth % dimensions;
+        Arrays.sort(nodes, from, to, (a, b) -> Float.compare(points[a * dimensions + axis], points[b * dimensions + axis]));
+
+        // Values with the same coordinate as the median belong to the right subtree
+        int median = (from + to) >>> 1;
+        while (median > from && points[nodes[median - 1] * dimensions + axis] == points[nodes[median] * dimensions + axis]) {
+            median--;
+        }
+
+        final int node = nodes[median];
+        axes[node] = axis;
+        left[node] = build(nodes, from, median, depth + 1);
+        right[node] = build(nodes, median + 1, to, depth + 1);
+        return node;
+    }
+
+    /**
+     * Calculates the distance in the same way as the
+     * {@link org.apache.commons.math3.ml.distance.EuclideanDistance} of the
+     * feature arrays (double precision, rounded to float).
+     */
+    private float distance(final int node) {
+        final int offset = node * dimensions;
+        double sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            final double diff = (double) queryPoint[i] - points[offset + i];
+            sum += diff * diff;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (values.length < capacity) {
+            final int newCapacity = Math.max(capacity, 2 * values.length);
+            values = Arrays.copyOf(values, newCapacity);
+            points = Arrays.copyOf(points, newCapacity * dimensions);
+            left = Arrays.copyOf(left, newCapacity);
+            right = Arrays.copyOf(right, newCapacity);
+            axes = Arrays.copyOf(axes, newCapacity);
+        }
+    }
+
+    /**
+     * Checks whether training value {@code a} is farther from the query than {@code b}. Values with the same
+     * distance are ordered by the order they have been added in.
+     */
+    private static boolean isWorse(final int a, final float distanceA, final int b, final float distanceB) {
+        return distanceA > distanceB || distanceA == distanceB && a > b;
+    }
+
+    /**
+     * Determines the k nearest training values of a detector value, ordered by
+     * increasing distance.
+     *
+     * @param instance  the detector value
+     * @param k         maximum number of training values
+     * @param excluded  training value that must not be returned, may be {@code null}
+     * @param neighbors receives the nearest training values, at least {@code k} entries
+     * @param distances receives the distances of the training values, at least {@code k} entries
+     * @return the number of training values found
+     */
+    public final int nearest(final DetectorDataValue instance, final int k, final KNNDetectorDataValue excluded,
+                             final KNNDetectorDataValue[] neighbors, final float[] distances) {
+        if (heap.length < k) {
+            heap = new int[k];
+            heapDistances = new float[k];
+        }
+        this.heapSize = 0;
+        this.k = k;
+        this.excluded = excluded;
+
+        final double[] features = AbstractkNNAlgorithm.getFeatureArrayOfDetectorData(instance);
+        for (int i = 0; i < dimensions; i++) {
+            queryPoint[i] = (float) features[AbstractkNNAlgorithm.USED_FEATURES[i]];
+        }
+
+        if (k > 0) {
+            search(root);
+        }
+
+        final int count = heapSize;
+        while (heapSize > 0) {
+            final int i = heapSize - 1;
+            neighbors[i] = values[heap[0]];
+            distances[i] = heapDistances[0];
+            removeTop();
+        }
+        this.excluded = null;
+
+        return count;
+    }
+
+    private void offer(final int node, final float distance) {
+        if (heapSize < k) {
+            heap[heapSize] = node;
+            heapDistances[heapSize] = distance;
+            siftUp(heapSize++);
+        } else if (isWorse(heap[0], heapDistances[0], node, distance)) {
+            heap[0] = node;
+            heapDistances[0] = distance;
+            siftDown(0);
+        }
+    }
+
+    private void rebuild() {
+        final Integer[] nodes = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = i;
+        }
+        root = build(nodes, 0, size, 0);
+    }
+
+    private void removeTop() {
+        heapSize--;
+        heap[0] = heap[heapSize];
+        heapDistances[0] = heapDistances[heapSize];
+        if (heapSize > 0) {
+            siftDown(0);
+        }
+    }
+
+    private void search(final int node) {
+        if (node < 0) {
+            return;
+        }
+
+        final int axis = axes[node];
+        final float diff = queryPoint[axis] - points[node * dimensions + axis];
+        search(diff < 0 ? left[node] : right[node]);
+
+        if (values[node] != excluded) {
+            offer(node, distance(node));
+        }
+
+        // The distance to the values on the other side is at least |diff| (computed like distance()), equal
+        // distances have to be visited as well to order them by insertion
+        final double axisDiff = (double) queryPoint[axis] - points[node * dimensions + axis];
+        if (heapSize < k || (float) Math.sqrt(axisDiff * axisDiff) <= heapDistances[0]) {
+            search(diff < 0 ? right[node] : left[node]);
+        }
+    }
+
+    private void siftDown(int i) {
+        final int node = heap[i];
+        final float distance = heapDistances[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isWorse(heap[child + 1], heapDistances[child + 1], heap[child], heapDistances[child])) {
+                child++;
+            }
+            if (!isWorse(heap[child], heapDistances[child], node, distance)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapDistances[i] = heapDistances[child];
+            i = child;
+        }
+        heap[i] = node;
+        heapDistances[i] = distance;
+    }
+
+    private void siftUp(int i) {
+        final int node = heap[i];
+        final float distance = heapDistances[i];
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (!isWorse(node, distance, heap[parent], heapDistances[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heapDistances[i] = heapDistances[parent];
+            i = parent;
+        }
+        heap[i] = node;
+        heapDistances[i] = distance;
+    }
+
+    /**
+     * Returns the number of training values.
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Stores a training value without inserting it into the tree.
+     */
+    private int store(final KNNDetectorDataValue value) {
+        final int node = size++;
+        final double[] features = value.getFeatureArray();
+        for (int i = 0; i < dimensions; i++) {
+            points[node * dimensions + i] = (float) features[AbstractkNNAlgorithm.USED_FEATURES[i]];
+        }
+        values[node] = value;
+        left[node] = -1;
+        right[node] = -1;
+        return node;
+    }
+}
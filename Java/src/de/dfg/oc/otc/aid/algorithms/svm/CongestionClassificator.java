@@ -2,7 +2,7 @@ package de.dfg.oc.otc.aid.algorithms.svm;
 
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
-import de.dfg.oc.otc.tools.LimitedQueue;
+import de.dfg.oc.otc.tools.FloatRingBuffer;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -15,7 +15,7 @@ public class CongestionClassificator {
      * Stores the last data. Removes automatically older values.
      */
     @NotNull
-    private final LimitedQueue<Float> lastSpeedValues;
+    private final FloatRingBuffer lastSpeedValues;
     /**
      * The Free Flow Speed of a monitoring zone to decide if street is congested or not.
      */
@@ -38,7 +38,7 @@ public class CongestionClassificator {
         this.definition = definition;
         this.freeFlowSpeed = freeFlowSpeed;
         this.congestionSpeed = freeFlowSpeed * 0.7f;
-        this.lastSpeedValues = new LimitedQueue<>(3);
+        this.lastSpeedValues = new FloatRingBuffer(3);
     }
 
     /**
@@ -90,14 +90,11 @@ public class CongestionClassificator {
         float globalVariance = 1f / newValueCount * firstSumVariance - 1f / (newValueCount * newValueCount) * secSumVariance * secSumVariance;
         double globalStandardDeviation = Math.sqrt(globalVariance);
 
-        float localMean = 0;
-        for (float value : this.lastSpeedValues) {
-            localMean += value;
-        }
-        localMean /= this.lastSpeedValues.size();
+        float localMean = this.lastSpeedValues.getAverage();
 
         float localVariance = 0;
-        for (float value : this.lastSpeedValues) {
+        for (int i = 0; i < this.lastSpeedValues.size(); i++) {
+            final float value = this.lastSpeedValues.get(i);
             localVariance += (value - localMean) * (value - localMean);
         }
         localVariance /= (float) this.lastSpeedValues.size();
@@ -140,12 +140,11 @@ public class SVM extends AbstractAIDAlgorithm {
      * Inherit of AbstractAlgorithm Interface.
      * React on new Data by the DetectorGroup or the CongestionDecisionMaker.
      *
-     * @param obs Observable object
-     * @param obj Sent object
+     * @param group         Detector group
+     * @param detectorValue Sent value
      */
     @Override
-    public void update(Observable obs, Object obj) {
-        DetectorDataValue detectorValue = (DetectorDataValue) obj;
+    public void update(AbstractDetectorGroup group, DetectorDataValue detectorValue) {
 
         boolean newValueInserted = saveDetectorDataAndForecastInArchive(detectorValue);
         if (newValueInserted) {
@@ -339,6 +338,9 @@ public class SVM extends AbstractAIDAlgorithm {
      * [14]:  onlineLearning    (boolean) If the svm has to learn or not learn
      * [15]:  reportCongestion  (boolean) if the congestion is to reported or not.
      * [16]:  reportCongestionFilepath  (String) Where the congestions are saved.
+     * [17]:  supportVectorBudget  (int) max. number of support vectors for online learning, 0: unbounded (optional)
+     * [18]:  budgetRemovalPolicy  (LaSVMI.RemovalPolicy) which support vector is removed if the budget is exceeded (optional)
+     * [19]:  kernelCacheSize   (long) max. size of the kernel row cache in bytes (optional)
      */
     @Override
     public Map<String, Object> getParameters() {
@@ -355,6 +357,9 @@ public class SVM extends AbstractAIDAlgorithm {
         defaultParameter.put("reportCongestion", true);
         defaultParameter.put("reportCongestionFile", null);
         defaultParameter.put("congestionDefinition", CongestionClassificator.Definition.MnDOT);
+        defaultParameter.put("supportVectorBudget", 1000);
+        defaultParameter.put("budgetRemovalPolicy", LaSVMI.RemovalPolicy.SMALLEST_ALPHA);
+        defaultParameter.put("kernelCacheSize", 64L * 1024 * 1024);
         return defaultParameter;
     }
 
@@ -365,10 +370,21 @@ public class SVM extends AbstractAIDAlgorithm {
 
         this.parameters = parameters;
 
-        GaussianKernel kernel = new DoubleGaussL2();
+        GaussianKernel<double[]> kernel = new DoubleGaussL2();
         kernel.setGamma((double) this.parameters.get("gamma"));
-        svm = new LaSVMI<>(kernel);
-        svm.setC((double) this.parameters.get("C"));
+        LaSVMI<double[]> laSVM = new LaSVMI<>(kernel);
+        laSVM.setC((double) this.parameters.get("C"));
+        // Budget and cache are optional to keep older parameter sets valid
+        if (this.parameters.get("supportVectorBudget") != null) {
+            laSVM.setBudget(((Number) this.parameters.get("supportVectorBudget")).intValue());
+        }
+        if (this.parameters.get("budgetRemovalPolicy") != null) {
+            laSVM.setRemovalPolicy((LaSVMI.RemovalPolicy) this.parameters.get("budgetRemovalPolicy"));
+        }
+        if (this.parameters.get("kernelCacheSize") != null) {
+            laSVM.setKernelCacheSize(((Number) this.parameters.get("kernelCacheSize")).longValue());
+        }
+        svm = laSVM;
 
         this.timeStepSize = (float) this.parameters.get("timeStepSize");
         this.timeStepsBackward = (int) this.parameters.get("timeStepsBackward");
@@ -24,7 +24,10 @@ import de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.util.DebugPrinter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
@@ -38,6 +41,14 @@ import java.util.List;
  * Feb 2011
  * </p>
  *
+ * <p>
+ * Kernel values are taken from a least recently used cache of kernel rows
+ * limited to {@link #setKernelCacheSize(long)} bytes. If a support vector
+ * budget is set ({@link #setBudget(int)}), single training samples are
+ * processed online without retraining and the kernel expansion is limited
+ * to the budget, so memory and training time per sample stay bounded.
+ * </p>
+ *
  * @author picard
  *
  */
@@ -62,7 +73,27 @@ public class LaSVMI<T> implements KernelSVM<T> {
 
     DebugPrinter debug = new DebugPrinter();
     boolean cache = true;
-    double[][] kmatrix;
+    long cacheSize = 256L * 1024 * 1024; // bytes of kernel rows
+    KernelRowCache<T> rowCache;
+
+    int budget = 0; // max samples in expansion, 0 = unbounded
+    RemovalPolicy removalPolicy = RemovalPolicy.SMALLEST_ALPHA;
+
+    /**
+     * Policy for removing samples from the kernel expansion if the budget is
+     * exceeded
+     */
+    public enum RemovalPolicy {
+        /**
+         * Removes the sample with the smallest absolute coefficient, i.e. the
+         * smallest influence on the decision function
+         */
+        SMALLEST_ALPHA,
+        /**
+         * Removes the oldest sample (sliding window)
+         */
+        OLDEST
+    }
 
     /**
      * Default constructor provideing the kernel
@@ -80,12 +111,37 @@ public class LaSVMI<T> implements KernelSVM<T> {
      */
     @Override
     public void train(TrainingSample<T> t) {
+        if (budget > 0 && alpha != null) {
+            trainOnline(t);
+            return;
+        }
+
         if (train == null)
             train = new ArrayList<TrainingSample<T>>();
         train.add(t);
         train(train);
     }
 
+    /**
+     * Processes a single sample online (one iteration of LaSVM-I) and
+     * maintains the budget.
+     *
+     * @param t the training sample
+     */
+    private void trainOnline(TrainingSample<T> t) {
+        train.add(t);
+        int size = train.size();
+        alpha = Arrays.copyOf(alpha, size);
+        keset = Arrays.copyOf(keset, size);
+        gset = Arrays.copyOf(gset, size);
+        A = Arrays.copyOf(A, size);
+        B = Arrays.copyOf(B, size);
+
+        iterate(size - 1);
+        clean();
+        maintainBudget();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -110,47 +166,12 @@ public class LaSVMI<T> implements KernelSVM<T> {
         // max number of non SV in expansion
         m = Math.min(1 + train.size() / 100, 100);
 
-        if (cache)
-            kmatrix = kernel.getKernelMatrix(train);
+        rowCache = new KernelRowCache<T>(kernel, cacheSize);
 
         // 2) online iterations
         for (int e = 0; e < E; e++)
             for (int i = 0; i < train.size(); i++) {
-                // early filtering with ramp loss
-                double z = 0;
-                if (cache)
-                    for (int n = 0; n < train.size(); n++) {
-                        if (keset[n])
-                            z += alpha[n] * kmatrix[i][n];
-                    }
-                else {
-                    T xi = train.get(i).sample;
-                    for (int n = 0; n < train.size(); n++) {
-                        if (keset[n])
-                            z += alpha[n]
-                                    * kernel.valueOf(train.get(n).sample, xi);
-                    }
-                }
-                z = train.get(i).label * z;
-                if (z > 1 || z < s)
-                    continue;
-
-                // compute target gap G
-                double G = computeGapTarget();
-
-                // threshold
-                double threshold = Math.max(C, G);
-
-                // run process(xi)
-                process(i);
-
-                // reprocess while gap > G and something to optimize
-                int max = 1000;
-                while (computeGap() > threshold && max > 0) {
-                    if (!reprocess())
-                        break;
-                    max--;
-                }
+                iterate(i);
 
                 // periodically run clean
                 if (i % (10 * m) == 0)
@@ -158,7 +179,129 @@ public class LaSVMI<T> implements KernelSVM<T> {
             }
         clean();
 
+        if (budget > 0)
+            maintainBudget();
+    }
+
+    /**
+     * One online iteration for the sample i
+     */
+    private void iterate(int i) {
+        // early filtering with ramp loss
+        double z = 0;
+        if (cache) {
+            double[] ki = row(i);
+            for (int n = 0; n < train.size(); n++) {
+                if (keset[n])
+                    z += alpha[n] * ki[n];
+            }
+        } else {
+            T xi = train.get(i).sample;
+            for (int n = 0; n < train.size(); n++) {
+                if (keset[n])
+                    z += alpha[n]
+                            * kernel.valueOf(train.get(n).sample, xi);
+            }
+        }
+        z = train.get(i).label * z;
+        if (z > 1 || z < s)
+            return;
+
+        // compute target gap G
+        double G = computeGapTarget();
+
+        // threshold
+        double threshold = Math.max(C, G);
+
+        // run process(xi)
+        process(i);
+
+        // reprocess while gap > G and something to optimize
+        int max = 1000;
+        while (computeGap() > threshold && max > 0) {
+            if (!reprocess())
+                break;
+            max--;
+        }
+    }
+
+    /**
+     * Removes the samples outside of the kernel expansion (they are not
+     * revisited online) and, if the expansion exceeds the budget, the samples
+     * selected by the removal policy.
+     */
+    private void maintainBudget() {
+        boolean[] removed = new boolean[train.size()];
+        int size = 0;
+        for (int n = 0; n < train.size(); n++) {
+            if (keset[n])
+                size++;
+            else
+                removed[n] = true;
+        }
+
+        for (; size > budget; size--) {
+            int r = selectRemoval(removed);
+            removed[r] = true;
+
+            // remove the contribution of r from the gradients
+            if (alpha[r] != 0) {
+                double[] kr = cache ? row(r) : null;
+                for (int n = 0; n < train.size(); n++) {
+                    if (!removed[n])
+                        gset[n] += alpha[r] * (cache ? kr[n]
+                                : kernel.valueOf(train.get(r).sample, train.get(n).sample));
+                }
+            }
+        }
+
+        removeSamples(removed);
+    }
+
+    private int selectRemoval(boolean[] removed) {
+        int r = -1;
+        for (int n = 0; n < train.size(); n++) {
+            if (removed[n])
+                continue;
+            if (removalPolicy == RemovalPolicy.OLDEST)
+                return n;
+            if (r == -1 || Math.abs(alpha[n]) < Math.abs(alpha[r]))
+                r = n;
+        }
+        return r;
+    }
+
+    private void removeSamples(boolean[] removed) {
+        List<TrainingSample<T>> l = new ArrayList<TrainingSample<T>>();
+        int size = 0;
+        for (int n = 0; n < train.size(); n++) {
+            if (removed[n])
+                continue;
+            l.add(train.get(n));
+            alpha[size] = alpha[n];
+            keset[size] = keset[n];
+            gset[size] = gset[n];
+            A[size] = A[n];
+            B[size] = B[n];
+            size++;
+        }
+        if (size == train.size())
+            return;
+
+        train = l;
+        alpha = Arrays.copyOf(alpha, size);
+        keset = Arrays.copyOf(keset, size);
+        gset = Arrays.copyOf(gset, size);
+        A = Arrays.copyOf(A, size);
+        B = Arrays.copyOf(B, size);
+        rowCache.remove(removed);
+    }
 
+    /**
+     * Kernel values of the sample i with all training samples
+     */
+    private double[] row(int i) {
+        return rowCache.getRow(i, train);
     }
 
     private void clean() {
@@ -230,17 +373,18 @@ public class LaSVMI<T> implements KernelSVM<T> {
                 t = j;
             }
             T xt = train.get(t).sample;
+            double[] kt = cache ? row(t) : null;
             // 4. step size
             double lambda = 0;
             if (g < 0) {
                 if (cache)
-                    lambda = Math.max(A[t] - alpha[t], g / kmatrix[t][t]);
+                    lambda = Math.max(A[t] - alpha[t], g / kt[t]);
                 else
                     lambda = Math.max(A[t] - alpha[t],
                             g / kernel.valueOf(xt, xt));
             } else {
                 if (cache)
-                    lambda = Math.min(B[t] - alpha[t], g / kmatrix[t][t]);
+                    lambda = Math.min(B[t] - alpha[t], g / kt[t]);
                 else
                     lambda = Math.min(B[t] - alpha[t],
                             g / kernel.valueOf(xt, xt));
@@ -250,7 +394,7 @@ public class LaSVMI<T> implements KernelSVM<T> {
             for (int n = 0; n < train.size(); n++) {
                 if (keset[n])
                     if (cache)
-                        gset[n] -= lambda * kmatrix[t][n];
+                        gset[n] -= lambda * kt[n];
                     else
                         gset[n] -= lambda
                                 * kernel.valueOf(xt, train.get(n).sample);
@@ -267,6 +411,7 @@ public class LaSVMI<T> implements KernelSVM<T> {
         debug.println(4, "+ process()");
 
         TrainingSample<T> xi = train.get(i);
+        double[] ki = cache ? row(i) : null;
 
         // 1.
         // set new alpha
@@ -277,10 +422,10 @@ public class LaSVMI<T> implements KernelSVM<T> {
         for (int n = 0; n < train.size(); n++) {
             if (keset[n]) {
                 if (cache)
+                    gi -= alpha[n] * ki[n];
+                else
                     gi -= alpha[n]
                             * kernel.valueOf(xi.sample, train.get(n).sample);
-                else
-                    gi -= alpha[n] * kmatrix[i][n];
             }
         }
         gset[i] = gi;
@@ -291,13 +436,13 @@ public class LaSVMI<T> implements KernelSVM<T> {
         double lambda = 0;
         if (gi < 0) { // max(Ai, gi/Kii)
             if (cache)
-                lambda = Math.max(A[i] - alpha[i], gi / kmatrix[i][i]);
+                lambda = Math.max(A[i] - alpha[i], gi / ki[i]);
             else
                 lambda = Math.max(A[i] - alpha[i],
                         gi / kernel.valueOf(xi.sample, xi.sample));
         } else { // max(Bi, gi/Kii)
             if (cache)
-                lambda = Math.min(B[i] - alpha[i], gi / kmatrix[i][i]);
+                lambda = Math.min(B[i] - alpha[i], gi / ki[i]);
             else
                 lambda = Math.min(B[i] - alpha[i],
                         gi / kernel.valueOf(xi.sample, xi.sample));
@@ -308,7 +453,7 @@ public class LaSVMI<T> implements KernelSVM<T> {
         if (cache)
             for (int n = 0; n < train.size(); n++) {
                 if (keset[n]) {
-                    gset[n] -= lambda * kmatrix[i][n];
+                    gset[n] -= lambda * ki[n];
                 }
             }
         else
@@ -421,6 +566,74 @@ public class LaSVMI<T> implements KernelSVM<T> {
         return a;
     }
 
+    /**
+     * Tells the maximum number of samples in the kernel expansion (default 0,
+     * unbounded)
+     *
+     * @return budget
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the maximum number of samples in the kernel expansion. If the
+     * budget is greater than 0, single samples are learned online after the
+     * first training.
+     *
+     * @param budget maximum number of samples, 0 for unbounded
+     */
+    public void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Tells the policy for removing samples if the budget is exceeded
+     *
+     * @return removal policy
+     */
+    public RemovalPolicy getRemovalPolicy() {
+        return removalPolicy;
+    }
+
+    /**
+     * Sets the policy for removing samples if the budget is exceeded (default
+     * SMALLEST_ALPHA)
+     *
+     * @param removalPolicy removal policy
+     */
+    public void setRemovalPolicy(RemovalPolicy removalPolicy) {
+        this.removalPolicy = removalPolicy;
+    }
+
+    /**
+     * Tells the maximum size of the kernel row cache in bytes
+     *
+     * @return cache size
+     */
+    public long getKernelCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum size of the kernel row cache in bytes (default 256MB).
+     * Takes effect at the next batch training.
+     *
+     * @param cacheSize cache size in bytes
+     */
+    public void setKernelCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Tells the number of samples in the kernel expansion
+     *
+     * @return number of samples
+     */
+    public int getNumberOfSamples() {
+        return train == null ? 0 : train.size();
+    }
+
     /**
      * Set the kernel to use
      *
@@ -467,4 +680,96 @@ public class LaSVMI<T> implements KernelSVM<T> {
         return kernel;
     }
 
+    /**
+     * Least recently used cache of kernel rows. A row holds the kernel values
+     * of one sample with the samples of the training list and is extended when
+     * samples are added.
+     */
+    static final class KernelRowCache<T> {
+
+        private final Kernel<T> kernel;
+        private final long maxBytes;
+        private final LinkedHashMap<Integer, Row> rows = new LinkedHashMap<Integer, Row>(16, 0.75f, true);
+        private long bytes = 0;
+
+        private static final class Row {
+            double[] values;
+            int length;
+
+            Row(double[] values) {
+                this.values = values;
+            }
+        }
+
+        KernelRowCache(Kernel<T> kernel, long maxBytes) {
+            this.kernel = kernel;
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * Returns the kernel values of sample i, valid up to the size of the
+         * list. The array stays valid if the row is evicted later on.
+         */
+        double[] getRow(int i, List<TrainingSample<T>> l) {
+            Row row = rows.get(i);
+            if (row == null) {
+                row = new Row(new double[l.size()]);
+                rows.put(i, row);
+                bytes += row.values.length * 8L;
+            } else if (row.values.length < l.size()) {
+                int capacity = Math.max(l.size(), row.values.length + row.values.length / 2);
+                bytes += (capacity - row.values.length) * 8L;
+                row.values = Arrays.copyOf(row.values, capacity);
+            }
+
+            // same order of arguments as Kernel.getKernelMatrix()
+            for (int n = row.length; n < l.size(); n++) {
+                row.values[n] = n < i ? kernel.valueOf(l.get(n).sample, l.get(i).sample)
+                        : kernel.valueOf(l.get(i).sample, l.get(n).sample);
+            }
+            row.length = l.size();
+
+            double[] values = row.values;
+            Iterator<Row> eldest = rows.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().values.length * 8L;
+                eldest.remove();
+            }
+            return values;
+        }
+
+        /**
+         * Removes samples from the cache, the indices of the following samples
+         * are shifted accordingly.
+         *
+         * @param removed removed samples by their previous index
+         */
+        void remove(boolean[] removed) {
+            int[] indices = new int[removed.length];
+            int index = 0;
+            for (int n = 0; n < removed.length; n++) {
+                indices[n] = removed[n] ? -1 : index++;
+            }
+
+            Map<Integer, Row> previous = new LinkedHashMap<Integer, Row>(rows);
+            rows.clear();
+            bytes = 0;
+            for (Map.Entry<Integer, Row> entry : previous.entrySet()) {
+                int i = entry.getKey();
+                if (removed[i])
+                    continue;
+
+                Row row = entry.getValue();
+                int length = 0;
+                for (int n = 0; n < row.length; n++) {
+                    if (!removed[n])
+                        row.values[length++] = row.values[n];
+                }
+                row.length = length;
+                rows.put(indices[i], row);
+                bytes += row.values.length * 8L;
+            }
+        }
+    }
+
 }
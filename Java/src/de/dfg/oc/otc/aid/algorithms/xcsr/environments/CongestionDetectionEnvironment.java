@@ -194,7 +194,8 @@ public class CongestionDetectionEnvironment implements ContinuousEnvironment {
         String folder = AIDTrafficDataReader.FOLDER_NAMES[run];
         String fileType = ".csv";
 
-        List<Float> evaluationData = new ArrayList<>();
+        List<double[]> evaluationData = new ArrayList<>();
+        int size = 0;
         for (int j = 1; j <= AIDTrafficDataReader.NUMBER_TEST_DAYS + AIDTrafficDataReader.NUMBER_TRAINING_DAYS; j++) {
             String fileName = j + fileType;
             if (j < 10) {
@@ -214,12 +215,16 @@ public class CongestionDetectionEnvironment implements ContinuousEnvironment {
                 folder = AIDTrafficDataReader.FOLDER_NAMES[run + 1];
             }
 
-            evaluationData.addAll(AIDTrafficDataReader.readDataFromFile(AIDTrafficDataReader.AID_DATA_FOLDER + folder + fileName));
+            double[] dayData = AIDTrafficDataReader.readDataArrayFromFile(AIDTrafficDataReader.AID_DATA_FOLDER + folder + fileName);
+            evaluationData.add(dayData);
+            size += dayData.length;
         }
 
-        double[] data = new double[evaluationData.size()];
-        for (int i = 0; i < evaluationData.size(); i++) {
-            data[i] = evaluationData.get(i);
+        double[] data = new double[size];
+        int offset = 0;
+        for (double[] dayData : evaluationData) {
+            System.arraycopy(dayData, 0, data, offset, dayData.length);
+            offset += dayData.length;
         }
 
         return data;
@@ -209,12 +209,11 @@ public class CombinationStrategy extends AbstractAIDAlgorithm {
     }
 
     @Override
-    public void update(Observable obs, Object obj) {
+    public void update(AbstractDetectorGroup group, DetectorDataValue value) {
         // update calls newDetectorData + special handling in ECA
         for (AbstractAIDAlgorithm algorithm : algorithms) {
-            algorithm.update(obs, obj);
+            algorithm.update(group, value);
         }
-        DetectorDataValue value = (DetectorDataValue) obj;
         prepareAndRunAlgorithm(value.getTime());
     }
 
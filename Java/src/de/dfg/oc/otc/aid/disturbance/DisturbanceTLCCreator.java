@@ -243,7 +243,8 @@ public class DisturbanceTLCCreator {
     private float[] calculateNewGreentimesIncomingIntersection(TrafficLightControllerParameters oldParams, int sectionID, float degree) {
         final int numPhases = node.getJunction().getNumPhases();
         boolean[] interphases = oldParams.getIsInterPhase();
-        float[] greenTimes = oldParams.getGreenTimes();
+        // Copy, the green times are adjusted in place
+        float[] greenTimes = oldParams.getGreenTimes().clone();
 
         // array to show the type of change
         int[] code = new int[numPhases];
@@ -290,7 +291,8 @@ public class DisturbanceTLCCreator {
     private float[] calculateNewGreenTimesOutgoingIntersection(TrafficLightControllerParameters oldParams, int sectionID, float degree) {
         final int numPhases = node.getJunction().getNumPhases();
         boolean[] interphases = oldParams.getIsInterPhase();
-        float[] greenTimes = oldParams.getGreenTimes();
+        // Copy, the green times are adjusted in place
+        float[] greenTimes = oldParams.getGreenTimes().clone();
 
         // array to show the type of change
         int[] code = new int[numPhases];
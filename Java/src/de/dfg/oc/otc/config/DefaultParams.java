@@ -1,5 +1,6 @@
 package de.dfg.oc.otc.config;
 
+import java.io.File;
 import java.net.URL;
 
 /**
@@ -28,6 +29,17 @@ public abstract class DefaultParams {
 
     // MANAGER
     public static final boolean USE_GUI = true;
+    /**
+     * Frames per second in which the GUI shows new data of the simulation. The
+     * simulation creates at most one snapshot per view and frame.
+     */
+    public static final int GUI_FRAME_RATE = 10;
+    /**
+     * File in which the calls of the Aimsun API are recorded for a replay
+     * without Aimsun (see {@code de.dfg.oc.otc.manager.replay.ApiReplayer}).
+     * Empty = no recording.
+     */
+    public static String API_RECORDING_FILE = "";
     // 3=XCST, 4=XCSIC, 5=XCSCIC
     public static final int TLC_SELECTOR = 3;
     public static final String PATH = getPath();
@@ -84,6 +96,31 @@ public abstract class DefaultParams {
     public static final int EA_POP_SIZE = 16;
     public static final int EA_NUMBER_OF_CHILDREN = 24;
     public static final int L2_MAX_GENERATIONS = 64;
+    /**
+     * Number of threads used by the EA to create the children of a generation
+     * and to evaluate individuals with Webster's formula. The results don't
+     * depend on it (each child has its own random number stream). 1 runs
+     * everything sequentially.
+     */
+    public static int EA_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    /**
+     * Number of additional simulators (AIMSUN instances) per EA which evaluate
+     * individuals in parallel. Simulator k of an EA uses the port offset and
+     * the database {@code eaId + k * L2_SIMULATOR_PORT_SPACING}. 0 evaluates
+     * all individuals on the EA's own simulator.
+     */
+    public static int L2_ADDITIONAL_SIMULATORS = 0;
+    public static int L2_SIMULATOR_PORT_SPACING = 100;
+    /**
+     * Time in ms an additional simulator may take to answer before the
+     * evaluation is repeated on another one (0 = no limit).
+     */
+    public static int L2_SIMULATION_TIMEOUT = 600000;
+    /**
+     * Attempts per individual on the additional simulators; afterwards the
+     * individual is evaluated by the EA's own simulator.
+     */
+    public static int L2_SIMULATION_ATTEMPTS = 3;
 
 
     // DPSS
@@ -103,6 +140,12 @@ public abstract class DefaultParams {
     public static final float ROUTING_INTERVAL = 150;
     // 1=Webster, 2=Statistik
     public static final int ROUTING_DELAY_CALCULATION = 1;
+    /**
+     * Number of threads used for the independent phases of the regional link
+     * state protocols (e.g. the Dijkstra runs of all components). 1 runs all
+     * phases sequentially.
+     */
+    public static int ROUTING_PARALLELISM = 1;
 
 
     // LCS / XCS
@@ -123,6 +166,12 @@ public abstract class DefaultParams {
     public static final float ALPHA = 0.1f;
     public static final float BETA = 0.2f;
     public static final int MAX_POPULATION_SIZE = 200;
+    /**
+     * Flag if match sets of the LCS populations are built by means of an
+     * index over the classifier conditions instead of checking every
+     * classifier.
+     */
+    public static final boolean LCS_MATCH_INDEX = true;
 
 
     // DATABASE for evaluation
@@ -143,6 +192,14 @@ public abstract class DefaultParams {
 
     public static final String AID_COMBINATION_STRATEGY = "MAJORITY_VOTE";
     public static final String AID_COMBINED_ALGORITHMS = "CA8,fuzzy knn";
+    /**
+     * Folder for the binary caches of the AID training and evaluation data
+     * (see {@code de.dfg.oc.otc.tools.ColumnDataFile}), the cache of a data
+     * file mirrors its absolute path below this folder. Empty = next to the
+     * data files.
+     */
+    public static String AID_DATA_CACHE_FOLDER = System.getProperty("java.io.tmpdir") + File.separator
+            + "otc-data-cache";
 
 
     // DISTURBANCE
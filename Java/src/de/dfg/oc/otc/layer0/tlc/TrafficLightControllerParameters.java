@@ -13,6 +13,10 @@ import java.util.*;
  * Generischer Container, der die Parameter von
  * {@code TrafficLightController}-Objekten aufnimmt. An action specifies
  * the classifier's proposed reaction to an input.
+ * <p>
+ * Parameter sets are used as keys in hash maps, so they must not be changed
+ * after construction. This also applies to the arrays returned by the
+ * getters.
  *
  * @author rochner
  */
@@ -57,6 +61,10 @@ public class TrafficLightControllerParameters implements Serializable, Cloneable
      * @see de.dfg.oc.otc.layer0.tlc.TLCTypes
      */
     private int tlcType;
+    /**
+     * Cached hash code, 0 if not yet calculated.
+     */
+    private transient int hash;
 
     /**
      * Erzeugt einen Parametersatz, der einen Traffic Light Controller
@@ -282,43 +290,26 @@ public class TrafficLightControllerParameters implements Serializable, Cloneable
 
         TrafficLightControllerParameters tlcparams = (TrafficLightControllerParameters) o;
 
-        // Different TCL types
-        if (this.tlcType != tlcparams.tlcType) {
+        // Different TCL types or different hash codes (both are cached)
+        if (this.tlcType != tlcparams.tlcType || hashCode() != tlcparams.hashCode()) {
             return false;
         }
 
-        // Compare array lengths
-        if (this.ids.length != tlcparams.ids.length || this.greenTimes.length != tlcparams.greenTimes.length
-                || this.strings.length != tlcparams.strings.length
-                || this.isInterPhase.length != tlcparams.isInterPhase.length) {
+        if (!Arrays.equals(this.ids, tlcparams.ids) || !Arrays.equals(this.isInterPhase, tlcparams.isInterPhase)
+                || !Arrays.equals(this.strings, tlcparams.strings)) {
             return false;
         }
 
-        for (int i = 0; i < this.ids.length; i++) {
-            if (this.ids[i] != tlcparams.ids[i]) {
-                return false;
-            }
+        // Arrays.equals(float[], float[]) would distinguish 0.0 and -0.0
+        if (this.greenTimes.length != tlcparams.greenTimes.length) {
+            return false;
         }
-
         for (int i = 0; i < this.greenTimes.length; i++) {
             if (this.greenTimes[i] != tlcparams.greenTimes[i]) {
                 return false;
             }
         }
 
-        // strings
-        for (int i = 0; i < this.strings.length; i++) {
-            if (!this.strings[i].equals(tlcparams.strings[i])) {
-                return false;
-            }
-        }
-
-        for (int i = 0; i < this.isInterPhase.length; i++) {
-            if (this.isInterPhase[i] != tlcparams.isInterPhase[i]) {
-                return false;
-            }
-        }
-
         return true;
     }
 
@@ -520,35 +511,55 @@ public class TrafficLightControllerParameters implements Serializable, Cloneable
         }
     }
 
+    /**
+     * Structural hash code over type, ids, green times (rounded to 0.1 s like
+     * in {@link #toString()}), strings and interphase flags. It is calculated
+     * once and cached.
+     */
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        int h = hash;
+        if (h == 0) {
+            h = 31 * tlcType + Arrays.hashCode(ids);
+            if (greenTimes != null) {
+                for (float greenTime : greenTimes) {
+                    h = 31 * h + Math.round(greenTime * 10);
+                }
+            }
+            h = 31 * h + Arrays.hashCode(strings);
+            h = 31 * h + Arrays.hashCode(isInterPhase);
+
+            if (h == 0) {
+                h = 1;
+            }
+            hash = h;
+        }
+        return h;
     }
 
     @Override
     public final String toString() {
-        String toString = "";
+        final StringBuilder toString = new StringBuilder();
 
         if (greenTimes != null) {
+            final Formatter formatter = new Formatter(toString, Locale.ENGLISH);
             for (float f : greenTimes) {
-                Formatter formatter = new Formatter(Locale.ENGLISH);
-                toString += formatter.format(", %4.1f", f);
-                formatter.close();
+                formatter.format(", %4.1f", f);
             }
         }
 
         if (strings != null) {
             for (String s : strings) {
-                toString += ", " + s;
+                toString.append(", ").append(s);
             }
         }
 
         if (isInterPhase != null) {
             for (boolean b : isInterPhase) {
-                toString += ", " + b;
+                toString.append(", ").append(b);
             }
         }
 
-        return toString;
+        return toString.toString();
     }
 }
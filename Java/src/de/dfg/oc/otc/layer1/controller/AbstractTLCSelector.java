@@ -8,10 +8,8 @@ import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.OTCNode;
 import de.dfg.oc.otc.manager.aimsun.SignalGroup;
 import de.dfg.oc.otc.manager.aimsun.Turning;
+import de.dfg.oc.otc.tools.AsyncLogWriter;
 
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -67,15 +65,8 @@ public abstract class AbstractTLCSelector {
         if (DefaultParams.LOG_LCS_DATA) {
             setupLogging();
 
-            try {
-                final float time = OTCManager.getInstance().getTime();
-
-                final FileOutputStream fout = new FileOutputStream(logFileName, true);
-                new PrintStream(fout).println(time + ": " + message);
-                fout.close();
-            } catch (IOException e) {
-                OTCManager.getInstance().newWarning("Unable to write to file " + logFileName);
-            }
+            final float time = OTCManager.getInstance().getTime();
+            AsyncLogWriter.getInstance().println(logFileName, time + ": " + message);
         }
     }
 
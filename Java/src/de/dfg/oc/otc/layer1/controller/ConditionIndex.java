@@ -0,0 +1,364 @@
+package de.dfg.oc.otc.layer1.controller;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Index over the hyper-rectangle conditions of a classifier population. It
+ * returns the conditions matching a situation without checking every
+ * condition of the population.
+ * <p>
+ * For each dimension, the conditions are kept sorted by their lower and by
+ * their upper bounds. A query determines for each dimension how many
+ * conditions have a lower bound that is not larger than the situation value
+ * and how many conditions have an upper bound that is not smaller than the
+ * situation value. Only the conditions of the smallest of these ranges are
+ * checked completely. Adding and removing conditions takes linear time
+ * (array copies), a query takes logarithmic time plus the time needed to
+ * check the candidates.
+ * <p>
+ * Each condition is stored in a slot. The same owner can be added several
+ * times, it then uses one slot that is freed when the owner has been removed
+ * as often as it has been added. Conditions must not be changed while they
+ * are indexed.
+ */
+public class ConditionIndex {
+    /**
+     * Number of intervals per condition, -1 if no condition has been added
+     * yet.
+     */
+    private int dimensions = -1;
+    /**
+     * Bounds of the conditions, {@code slot * dimensions + dimension}.
+     */
+    private float[] lowerBounds = new float[0];
+    private float[] upperBounds = new float[0];
+    /**
+     * Owner (e.g. the classifier) per slot, {@code null} for free slots.
+     */
+    private Object[] owners = new Object[0];
+    /**
+     * Number of times the owner of a slot has been added.
+     */
+    private int[] references = new int[0];
+    /**
+     * Slots sorted by lower and by upper bound, per dimension. The first
+     * {@code size} entries are used.
+     */
+    private int[][] byLower = new int[0][];
+    private int[][] byUpper = new int[0][];
+    private int[] freeSlots = new int[0];
+    private int numFreeSlots;
+    /**
+     * Number of slots that have been used so far.
+     */
+    private int numSlots;
+    /**
+     * Number of occupied slots.
+     */
+    private int size;
+
+    /**
+     * Adds a condition.
+     *
+     * @param owner       the object the condition belongs to
+     * @param lowerBounds lower bound per dimension
+     * @param upperBounds upper bound per dimension
+     * @return the slot of the condition
+     * @throws ClassifierException if the number of dimensions differs from the
+     *                             conditions added before
+     */
+    public final int add(final Object owner, final float[] lowerBounds, final float[] upperBounds)
+            throws ClassifierException {
+        if (dimensions < 0) {
+            initDimensions(lowerBounds.length);
+        }
+        if (lowerBounds.length != dimensions || upperBounds.length != dimensions) {
+            throw new ClassifierException("ConditionIndex.add(): Condition has wrong length.");
+        }
+
+        final int slot = allocateSlot();
+        owners[slot] = owner;
+        references[slot] = 1;
+        System.arraycopy(lowerBounds, 0, this.lowerBounds, slot * dimensions, dimensions);
+        System.arraycopy(upperBounds, 0, this.upperBounds, slot * dimensions, dimensions);
+
+        for (int d = 0; d < dimensions; d++) {
+            insertSorted(byLower[d], this.lowerBounds, slot, d);
+            insertSorted(byUpper[d], this.upperBounds, slot, d);
+        }
+        size++;
+
+        return slot;
+    }
+
+    private int allocateSlot() {
+        if (numFreeSlots > 0) {
+            numFreeSlots--;
+            return freeSlots[numFreeSlots];
+        }
+
+        if (numSlots == owners.length) {
+            final int capacity = Math.max(16, owners.length * 2);
+            lowerBounds = Arrays.copyOf(lowerBounds, capacity * dimensions);
+            upperBounds = Arrays.copyOf(upperBounds, capacity * dimensions);
+            owners = Arrays.copyOf(owners, capacity);
+            references = Arrays.copyOf(references, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+            for (int d = 0; d < dimensions; d++) {
+                byLower[d] = Arrays.copyOf(byLower[d], capacity);
+                byUpper[d] = Arrays.copyOf(byUpper[d], capacity);
+            }
+        }
+        return numSlots++;
+    }
+
+    /**
+     * Removes all conditions.
+     */
+    public final void clear() {
+        Arrays.fill(owners, null);
+        Arrays.fill(references, 0);
+        dimensions = -1;
+        numFreeSlots = 0;
+        numSlots = 0;
+        size = 0;
+    }
+
+    /**
+     * Compares the bounds of two slots in the given dimension, ties are
+     * broken by slot.
+     */
+    private int compare(final float[] bounds, final int slotA, final int slotB, final int dimension) {
+        final int result = Float.compare(bounds[slotA * dimensions + dimension],
+                bounds[slotB * dimensions + dimension]);
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(slotA, slotB);
+    }
+
+    /**
+     * Returns the number of sorted slots whose lower bound is not larger than
+     * the given value.
+     */
+    private int countLowerAtMost(final int dimension, final float value) {
+        final int[] sorted = byLower[dimension];
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (lowerBounds[sorted[mid] * dimensions + dimension] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of sorted slots whose upper bound is smaller than
+     * the given value.
+     */
+    private int countUpperBelow(final int dimension, final float value) {
+        final int[] sorted = byUpper[dimension];
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (upperBounds[sorted[mid] * dimensions + dimension] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of intervals per condition, {@code -1} if no
+     * condition has been added since the last {@link #clear()}.
+     */
+    public final int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Returns the owner of the given slot, {@code null} if the slot is free.
+     */
+    public final Object getOwner(final int slot) {
+        if (slot < 0 || slot >= numSlots) {
+            return null;
+        }
+        return owners[slot];
+    }
+
+    private void initDimensions(final int dimensions) {
+        this.dimensions = dimensions;
+        final int capacity = owners.length;
+        lowerBounds = new float[capacity * dimensions];
+        upperBounds = new float[capacity * dimensions];
+        byLower = new int[dimensions][capacity];
+        byUpper = new int[dimensions][capacity];
+    }
+
+    private void insertSorted(final int[] sorted, final float[] bounds, final int slot, final int dimension) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (compare(bounds, sorted[mid], slot, dimension) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        System.arraycopy(sorted, low, sorted, low + 1, size - low);
+        sorted[low] = slot;
+    }
+
+    /**
+     * Checks whether the condition in the given slot matches the situation.
+     * Same semantics as {@link Interval#contains(float)}.
+     */
+    private boolean matches(final int slot, final float[] situation) {
+        final int offset = slot * dimensions;
+        for (int d = 0; d < dimensions; d++) {
+            final float value = situation[d];
+            if (value < lowerBounds[offset + d] || value > upperBounds[offset + d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines the slots of all conditions matching the given situation.
+     *
+     * @param situation the situation to be matched
+     * @param result    set of matching slots (cleared before)
+     * @throws ClassifierException if the situation has the wrong length
+     */
+    public final void query(final float[] situation, final BitSet result) throws ClassifierException {
+        result.clear();
+        if (size == 0) {
+            return;
+        }
+        if (situation.length != dimensions) {
+            throw new ClassifierException("ConditionIndex.query(): Situation has wrong length.");
+        }
+
+        // Determine the smallest range of candidates
+        int[] candidates = null;
+        int from = 0;
+        int to = size;
+        for (int d = 0; d < dimensions; d++) {
+            final float value = situation[d];
+            if (Float.isNaN(value)) {
+                // NaN is contained in every interval
+                continue;
+            }
+
+            final int lowerAtMost = countLowerAtMost(d, value);
+            if (lowerAtMost < to - from) {
+                candidates = byLower[d];
+                from = 0;
+                to = lowerAtMost;
+            }
+
+            final int upperBelow = countUpperBelow(d, value);
+            if (size - upperBelow < to - from) {
+                candidates = byUpper[d];
+                from = upperBelow;
+                to = size;
+            }
+
+            if (from == to) {
+                return;
+            }
+        }
+
+        if (candidates == null) {
+            for (int slot = 0; slot < numSlots; slot++) {
+                if (owners[slot] != null) {
+                    result.set(slot);
+                }
+            }
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            final int slot = candidates[i];
+            if (matches(slot, situation)) {
+                result.set(slot);
+            }
+        }
+    }
+
+    /**
+     * Removes the owner of the given slot once. The condition is removed when
+     * the owner has been removed as often as it has been added.
+     *
+     * @param slot of the condition
+     * @return {@code true} if the slot has been freed
+     */
+    public final boolean release(final int slot) {
+        if (getOwner(slot) == null) {
+            return false;
+        }
+
+        references[slot]--;
+        if (references[slot] > 0) {
+            return false;
+        }
+
+        for (int d = 0; d < dimensions; d++) {
+            removeSorted(byLower[d], lowerBounds, slot, d);
+            removeSorted(byUpper[d], upperBounds, slot, d);
+        }
+        owners[slot] = null;
+        freeSlots[numFreeSlots++] = slot;
+        size--;
+
+        return true;
+    }
+
+    private void removeSorted(final int[] sorted, final float[] bounds, final int slot, final int dimension) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int result = compare(bounds, sorted[mid], slot, dimension);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                System.arraycopy(sorted, mid + 1, sorted, mid, size - mid - 1);
+                return;
+            }
+        }
+        throw new IllegalStateException("Slot " + slot + " is not indexed.");
+    }
+
+    /**
+     * Adds the owner of the given slot once more.
+     *
+     * @param slot of the condition
+     */
+    public final void retain(final int slot) {
+        if (getOwner(slot) == null) {
+            throw new IllegalArgumentException("Slot " + slot + " is not in use.");
+        }
+        references[slot]++;
+    }
+
+    /**
+     * Returns the number of indexed conditions.
+     */
+    public final int size() {
+        return size;
+    }
+}
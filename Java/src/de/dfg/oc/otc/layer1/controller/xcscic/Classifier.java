@@ -22,7 +22,6 @@ package de.dfg.oc.otc.layer1.controller.xcscic;
 import de.dfg.oc.otc.config.DefaultParams;
 import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
 import de.dfg.oc.otc.layer1.controller.ClassifierException;
-import de.dfg.oc.otc.layer1.controller.Interval;
 import de.dfg.oc.otc.layer1.controller.LCSConstants;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.log4j.Logger;
@@ -89,6 +88,10 @@ public class Classifier implements Cloneable, Comparable<Classifier> {
      * Counts the number of widenings performed on this classifier.
      */
     private int numberOfWidenings;
+    /**
+     * Slot of this classifier in the match index of the population.
+     */
+    private int matchIndexSlot = -1;
     /**
      * Specifies the number of identical classifiers copies that a classifier
      * represents.
@@ -182,20 +185,7 @@ public class Classifier implements Cloneable, Comparable<Classifier> {
      * @return the calculated distance (or {@code NaN} in case of errors)
      */
     private float calculateDistanceInterval(final float[] situation) {
-        float sum = 0;
-        final int size = condition.getLength();
-
-        for (int i = 0; i < size; i++) {
-            final Interval interval = condition.getInterval(i);
-            float dist = 0;
-
-            if (interval.contains(situation[i]) == -1) {
-                dist = interval.getLower() - situation[i];
-            } else if (interval.contains(situation[i]) == 1) {
-                dist = situation[i] - interval.getUpper();
-            }
-            sum += dist;
-        }
+        final float sum = condition.distance(situation);
 
         this.distanceToCurrentSituation = sum;
         return sum;
@@ -383,6 +373,14 @@ public class Classifier implements Cloneable, Comparable<Classifier> {
         this.useInterval = DefaultParams.L1_USE_INTERVAL;
     }
 
+    final int getMatchIndexSlot() {
+        return matchIndexSlot;
+    }
+
+    final void setMatchIndexSlot(final int matchIndexSlot) {
+        this.matchIndexSlot = matchIndexSlot;
+    }
+
     /**
      * Returns {@code true} if the classifier condition matches the
      * situation given as parameter.
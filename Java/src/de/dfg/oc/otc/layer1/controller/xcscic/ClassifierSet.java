@@ -21,6 +21,7 @@ package de.dfg.oc.otc.layer1.controller.xcscic;
 
 import de.dfg.oc.otc.config.DefaultParams;
 import de.dfg.oc.otc.layer1.controller.ClassifierException;
+import de.dfg.oc.otc.layer1.controller.ConditionIndex;
 import de.dfg.oc.otc.layer1.controller.LCSConstants;
 import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.InterpolationComponent;
 import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.InterpolationConstants;
@@ -75,6 +76,24 @@ public class ClassifierSet extends ArrayList<Classifier> {
      */
     private boolean updateIds;
 
+    /**
+     * Index used to build match sets. Only used for the population, see
+     * {@link #enableMatchIndex()}.
+     */
+    private ConditionIndex matchIndex;
+
+    /**
+     * Value of {@code modCount} when the match index was last updated. If
+     * the set has been changed without updating the index (e.g. by
+     * {@code removeIf()}), the index is rebuilt before it is used.
+     */
+    private int matchIndexModCount;
+
+    /**
+     * Slots of the classifiers found by the last query of the match index.
+     */
+    private BitSet matchingSlots;
+
     /**
      * Creates an empty set of classifiers.
      */
@@ -120,7 +139,56 @@ public class ClassifierSet extends ArrayList<Classifier> {
             cl.setClassifierID(this.idCounter);
         }
 
-        return super.add(cl);
+        final boolean indexInSync = isMatchIndexInSync();
+        final boolean added = super.add(cl);
+        if (indexInSync) {
+            addToMatchIndex(cl);
+        }
+        return added;
+    }
+
+    /**
+     * Adds all classifiers to this set. In contrast to {@link #add(Classifier)},
+     * neither the population size nor the classifier ids are updated.
+     *
+     * @param classifiers the classifiers that will be added
+     * @return {@code true} if this set changed
+     */
+    @Override
+    public final synchronized boolean addAll(final Collection<? extends Classifier> classifiers) {
+        final boolean indexInSync = isMatchIndexInSync();
+        final boolean changed = super.addAll(classifiers);
+        if (indexInSync) {
+            classifiers.forEach(this::addToMatchIndex);
+        }
+        return changed;
+    }
+
+    /**
+     * Adds a classifier that has just been added to this set to the match
+     * index.
+     */
+    private void addToMatchIndex(final Classifier classifier) {
+        if (matchIndex == null) {
+            return;
+        }
+
+        final int slot = classifier.getMatchIndexSlot();
+        if (matchIndex.getOwner(slot) == classifier) {
+            // Classifier is contained more than once
+            matchIndex.retain(slot);
+        } else {
+            final ClassifierCondition condition = classifier.getCondition();
+            try {
+                classifier.setMatchIndexSlot(matchIndex.add(classifier, condition.getLowerBounds(),
+                        condition.getUpperBounds()));
+            } catch (ClassifierException e) {
+                log.warn("Conditions of different length, match sets are built without index.");
+                matchIndex = null;
+                return;
+            }
+        }
+        matchIndexModCount = modCount;
     }
 
     /**
@@ -241,6 +309,19 @@ public class ClassifierSet extends ArrayList<Classifier> {
             throws ClassifierException {
         final ClassifierSet matchSet = new ClassifierSet();
 
+        if (isMatchIndexUsable(situation)) {
+            matchIndex.query(situation, matchingSlots);
+            if (!matchingSlots.isEmpty()) {
+                // Keep the order of the classifiers in this set
+                for (Classifier classifier : this) {
+                    if (matchingSlots.get(classifier.getMatchIndexSlot())) {
+                        matchSet.add(classifier);
+                    }
+                }
+            }
+            return matchSet;
+        }
+
         for (Classifier classifier : this) {
             // Matching classifier found?
             if (classifier.matches(situation)) {
@@ -262,6 +343,11 @@ public class ClassifierSet extends ArrayList<Classifier> {
      */
     final synchronized boolean containsMatchingClassifier(final float[] situation)
             throws ClassifierException {
+        if (isMatchIndexUsable(situation)) {
+            matchIndex.query(situation, matchingSlots);
+            return !matchingSlots.isEmpty();
+        }
+
         for (Classifier cl : this) {
             if (cl.matches(situation)) {
                 return true;
@@ -325,13 +411,30 @@ public class ClassifierSet extends ArrayList<Classifier> {
 
                 if (classifier.getNumerosity() == 0) {
                     log.debug("REMOVING " + classifier);
+                    final boolean indexInSync = isMatchIndexInSync();
                     classifierIterator.remove();
+                    if (indexInSync) {
+                        removeFromMatchIndex(classifier);
+                    }
                     return;
                 }
             }
         }
     }
 
+    /**
+     * Builds match sets by means of a {@link ConditionIndex} instead of
+     * checking every classifier. Intended for the population, which is large
+     * and matched in every cycle.
+     */
+    final synchronized void enableMatchIndex() {
+        if (DefaultParams.LCS_MATCH_INDEX && matchIndex == null) {
+            matchIndex = new ConditionIndex();
+            matchingSlots = new BitSet();
+            rebuildMatchIndex();
+        }
+    }
+
     /**
      * Returns a set of hash codes of the distinct actions contained in this
      * set.
@@ -407,6 +510,61 @@ public class ClassifierSet extends ArrayList<Classifier> {
         return payoffEstimateForCl;
     }
 
+    private boolean isMatchIndexInSync() {
+        return matchIndex != null && matchIndexModCount == modCount;
+    }
+
+    /**
+     * Checks whether the match index can be used for the given situation and
+     * rebuilds it if necessary. If the situation has the wrong length, the
+     * index is not used so that the classifiers report the error.
+     */
+    private boolean isMatchIndexUsable(final float[] situation) {
+        if (matchIndex == null) {
+            return false;
+        }
+        if (matchIndexModCount != modCount) {
+            rebuildMatchIndex();
+            if (matchIndex == null) {
+                return false;
+            }
+        }
+        return matchIndex.size() == 0 || matchIndex.getDimensions() == situation.length;
+    }
+
+    private void rebuildMatchIndex() {
+        matchIndex.clear();
+        matchIndexModCount = modCount;
+        for (Classifier classifier : this) {
+            addToMatchIndex(classifier);
+            if (matchIndex == null) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public final synchronized boolean remove(final Object o) {
+        final boolean indexInSync = isMatchIndexInSync();
+        final boolean removed = super.remove(o);
+        if (removed && indexInSync) {
+            removeFromMatchIndex((Classifier) o);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes a classifier that has just been removed from this set from the
+     * match index.
+     */
+    private void removeFromMatchIndex(final Classifier classifier) {
+        final int slot = classifier.getMatchIndexSlot();
+        if (matchIndex.getOwner(slot) == classifier) {
+            matchIndex.release(slot);
+            matchIndexModCount = modCount;
+        }
+    }
+
     /**
      * Selects a (non-matching) classifier that is (i) closest to the given
      * traffic demand and (ii) can be widened. The selected classifier is
@@ -495,6 +653,18 @@ public class ClassifierSet extends ArrayList<Classifier> {
         this.updateIds = updateIds;
     }
 
+    /**
+     * Sorts this set. The match index is not affected by the order.
+     */
+    @Override
+    public final synchronized void sort(final Comparator<? super Classifier> comparator) {
+        final boolean indexInSync = isMatchIndexInSync();
+        super.sort(comparator);
+        if (indexInSync) {
+            matchIndexModCount = modCount;
+        }
+    }
+
     /**
      * Checks if classifiers in this set can be subsumed by other classifiers.
      */
@@ -35,13 +35,13 @@ import de.dfg.oc.otc.manager.OTCNode;
 import de.dfg.oc.otc.manager.aimsun.SignalGroup;
 import de.dfg.oc.otc.manager.aimsun.Turning;
 import de.dfg.oc.otc.region.OTCNodeSynchronized;
+import de.dfg.oc.otc.tools.AsyncLogWriter;
 import forecasting.DefaultForecastParameters;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.log4j.Logger;
 
 import java.io.*;
 import java.util.Arrays;
-import java.util.Formatter;
 import java.util.List;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
@@ -114,6 +114,7 @@ public class XCSCIC extends AbstractTLCSelector {
     private XCSCIC(final Attribute attribute, final String populationFile) {
         setAttribute(attribute);
         this.population.setUpdateIds(true);
+        this.population.enableMatchIndex();
         loadMappingFromFile(populationFile);
     }
 
@@ -130,6 +131,7 @@ public class XCSCIC extends AbstractTLCSelector {
         this.constants = LCSConstants.getInstance();
         // Population keeps track of classifier ids
         this.population.setUpdateIds(true);
+        this.population.enableMatchIndex();
 
         this.turningBasedSituation = DefaultParams.TURNING_BASED_SITUATION;
 
@@ -622,25 +624,12 @@ public class XCSCIC extends AbstractTLCSelector {
         }
 
         if (DefaultParams.LOG_LCS_DATA) {
-            try {
-                final FileOutputStream situationsLogFile = new FileOutputStream("logs/"
-                        + OTCManager.getInstance().getFilenamePrefix() + "_XCST_SituationAction_"
-                        + this.managedNode.getId() + ".csv", true);
-                final PrintStream situationsLog = new PrintStream(situationsLogFile);
-
-                final Formatter f = new Formatter();
-                situationsLog.println(f.format("%.2f; %d; %s; %s; %.0f; %s", OTCManager.getInstance().getTime(),
-                        managedNode.getId(), Arrays.toString(situation), action.toString(), action.getCycleTime(),
-                        newAction));
-
-                situationsLog.close();
-                situationsLogFile.close();
-                f.close();
-            } catch (FileNotFoundException e) {
-                log.error("A FileNotFoundException occurred.", e);
-            } catch (IOException e) {
-                log.error("An IOException occurred.", e);
-            }
+            final String situationsLogFile = "logs/" + OTCManager.getInstance().getFilenamePrefix()
+                    + "_XCST_SituationAction_" + this.managedNode.getId() + ".csv";
+            final String line = String.format("%.2f; %d; %s; %s; %.0f; %s", OTCManager.getInstance().getTime(),
+                    managedNode.getId(), Arrays.toString(situation), action.toString(), action.getCycleTime(),
+                    newAction);
+            AsyncLogWriter.getInstance().println(situationsLogFile, line);
         }
 
         // Store the current action
@@ -23,6 +23,7 @@ import de.dfg.oc.otc.layer1.controller.xcscic.SignalGroupComparator;
 import de.dfg.oc.otc.layer2.TurningData;
 import de.dfg.oc.otc.manager.aimsun.SignalGroup;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -35,6 +36,8 @@ import java.util.TreeMap;
  *
  * The flows of signal groups have to bo ordered by the signal group id.
  * Thus a {@link TreeMap} with the {@link SignalGroupComparator} has to be passed during instantiation.
+ * The flows are additionally stored in a dense array in the same order, dimension {@code i} belongs to the signal
+ * group with the id {@code getSignalGroupIds()[i]}. The map must not be changed after instantiation.
  *
  * @author Dominik Rauh
  *
@@ -46,6 +49,10 @@ public class Situation
 
     private Map<SignalGroup, Double> flowsOfSignalGroup;
     private Map<String, TurningData> turningDataMap;
+    /** Flows ordered by the signal group id */
+    private final double[] flows;
+    /** Ids of the signal groups in ascending order, one per entry of {@link #flows} */
+    private final int[] signalGroupIds;
 
     public Situation(TreeMap<SignalGroup, Double> flowsOfSignalGroup, Map<String, TurningData> turningDataMap)
     {
@@ -55,6 +62,33 @@ public class Situation
         }
         this.flowsOfSignalGroup = flowsOfSignalGroup;
         this.turningDataMap = turningDataMap;
+
+        this.flows = new double[flowsOfSignalGroup.size()];
+        this.signalGroupIds = new int[flowsOfSignalGroup.size()];
+        int i = 0;
+        for(Map.Entry<SignalGroup, Double> entry : flowsOfSignalGroup.entrySet())
+        {
+            this.flows[i] = entry.getValue();
+            this.signalGroupIds[i] = entry.getKey().getId();
+            i++;
+        }
+    }
+
+    /**
+     * Returns the flows ordered by the signal group id. The array must not be changed.
+     */
+    public double[] getFlows()
+    {
+        return this.flows;
+    }
+
+    /**
+     * Returns the ids of the signal groups in ascending order, i.e. the signal group of each entry of
+     * {@link #getFlows()}. The array must not be changed.
+     */
+    public int[] getSignalGroupIds()
+    {
+        return this.signalGroupIds;
     }
 
     public Map<SignalGroup, Double> getFlowsOfSignalGroup() {
@@ -78,22 +112,11 @@ public class Situation
 
         Situation situation = (Situation) o;
 
-        if(this.flowsOfSignalGroup.size() != situation.flowsOfSignalGroup.size()) return false;
+        if(!Arrays.equals(this.signalGroupIds, situation.signalGroupIds)) return false;
 
-        for(Map.Entry<SignalGroup, Double> entryThis : this.flowsOfSignalGroup.entrySet())
+        for(int i = 0; i < this.flows.length; i++)
         {
-            Map.Entry<SignalGroup, Double> matchingCompareEntry = null;
-
-            for(Map.Entry<SignalGroup, Double> entryCompare : situation.flowsOfSignalGroup.entrySet())
-            {
-                if(entryCompare.getKey().toString().equals(entryThis.getKey().toString())){
-                    matchingCompareEntry = entryCompare;
-                    break;
-                }
-            }
-
-            if(matchingCompareEntry == null) { return false; }
-            if(!flowsAreEqual(entryThis.getValue(), matchingCompareEntry.getValue())) { return false; }
+            if(!flowsAreEqual(this.flows[i], situation.flows[i])) { return false; }
         }
 
         return true;
@@ -104,9 +127,9 @@ public class Situation
 
         int result = 0;
 
-        for(Double v: flowsOfSignalGroup.values())
+        for(double flow : flows)
         {
-            result += (int)v.doubleValue();
+            result += (int)flow;
         }
 
         return result;
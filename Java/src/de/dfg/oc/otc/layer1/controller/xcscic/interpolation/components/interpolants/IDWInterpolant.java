@@ -22,6 +22,7 @@ package de.dfg.oc.otc.layer1.controller.xcscic.interpolation.components.interpol
 import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
 import de.dfg.oc.otc.layer1.controller.LCSConstants;
 import de.dfg.oc.otc.layer1.controller.xcscic.Classifier;
+import de.dfg.oc.otc.layer1.controller.xcscic.ClassifierCondition;
 import de.dfg.oc.otc.layer1.controller.xcscic.ClassifierSet;
 import de.dfg.oc.otc.layer1.controller.xcscic.XCSCIC;
 import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.InterpolationComponentException;
@@ -29,9 +30,8 @@ import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.InterpolationConstan
 import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.Situation;
 import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.components.interpolants.values.AccumulatedIDWOTCValue;
 import de.dfg.oc.otc.layer1.controller.xcscic.interpolation.components.interpolants.values.InterpolationValue;
-import de.dfg.oc.otc.manager.aimsun.SignalGroup;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -44,27 +44,34 @@ import java.util.Map;
  */
 public class IDWInterpolant extends AbstractInterpolationTechnique {
     private static final int POWER = InterpolationConstants.IDW_EXPO;
+    /** Weights of the classifiers in the order of the population, reused for every interpolation */
+    private double[] weights = new double[0];
 
     @Override
     public InterpolationValue interpolate(Situation queryPoint, ClassifierSet population) throws InterpolationComponentException {
         this.lastQueryPoint = queryPoint;
 
-        Map<Classifier, Double> weightsForClassifiers = this.calculateWeights(queryPoint, population);
+        this.calculateWeights(queryPoint, population);
 
         double sum_weights = 0.0;
+        Classifier neNeClassifier = null;
+        double weightOfNeNe = Double.MIN_VALUE;
 
-        for (Double weight : weightsForClassifiers.values()) {
-            sum_weights += weight;
+        for (int i = 0; i < population.size(); i++) {
+            sum_weights += weights[i];
+
+            if (weights[i] >= weightOfNeNe) {
+                weightOfNeNe = weights[i];
+                neNeClassifier = population.get(i);
+            }
         }
 
+        Map<Classifier, Double> weightsForClassifiers = new LinkedHashMap<>(population.size() * 2);
         Classifier interpolatedClassifier = null;
-        Classifier neNeClassifier = getNearestNeighborClassifier(weightsForClassifiers);
 
         if (population.size() > 0) {
-            for (Map.Entry<Classifier, Double> entry : weightsForClassifiers.entrySet()) {
-                double accWeightForActionHash = entry.getValue();
-                accWeightForActionHash /= sum_weights;
-                weightsForClassifiers.put(entry.getKey(), accWeightForActionHash);
+            for (int i = 0; i < population.size(); i++) {
+                weightsForClassifiers.put(population.get(i), weights[i] / sum_weights);
             }
 
             interpolatedClassifier = createInterpolatedClassifier(weightsForClassifiers, queryPoint);
@@ -88,42 +95,27 @@ public class IDWInterpolant extends AbstractInterpolationTechnique {
         throw new InterpolationComponentException("Method not supported by " + getClass());
     }
 
-    private Classifier getNearestNeighborClassifier(Map<Classifier, Double> weightsForClassifiers) {
-        Classifier neNeClassifier = null;
-        double weightOfNeNe = Double.MIN_VALUE;
-
-        for (Map.Entry<Classifier, Double> entry : weightsForClassifiers.entrySet()) {
-            if (entry.getValue() >= weightOfNeNe) {
-                weightOfNeNe = entry.getValue();
-                neNeClassifier = entry.getKey();
-            }
+    /**
+     * Calculates the weights of all classifiers of the population and stores them in {@link #weights}.
+     */
+    private void calculateWeights(Situation queryPoint, ClassifierSet population) {
+        if (weights.length < population.size()) {
+            weights = new double[population.size() * 2];
         }
 
-        return neNeClassifier;
-    }
-
-    private Map<Classifier, Double> calculateWeights(Situation queryPoint, ClassifierSet population) throws InterpolationComponentException {
-        HashMap<Classifier, Double> distanceWeights = new HashMap<>(population.size());
-
-        for (Classifier sample : population) {
-            double w_i = Math.pow(1 / calculateEuclideanDistance(sample, queryPoint), POWER);
-            distanceWeights.put(sample, w_i);
+        final double[] flows = queryPoint.getFlows();
+        for (int i = 0; i < population.size(); i++) {
+            weights[i] = Math.pow(1 / calculateEuclideanDistance(population.get(i), flows), POWER);
         }
-        return distanceWeights;
     }
 
-    private double calculateEuclideanDistance(Classifier x_i, Situation x_q) throws InterpolationComponentException {
+    private double calculateEuclideanDistance(Classifier x_i, double[] x_q) {
+        final ClassifierCondition condition = x_i.getCondition();
         double sum = 0.0;
-        int dimCount = 0;
-
-        for (Map.Entry<SignalGroup, Double> x_qFlow : x_q.getFlowsOfSignalGroup().entrySet()) {
-            sum += Math.pow(x_i.getCondition().getInterval(dimCount).getCenter() - x_qFlow.getValue(), 2);
-            dimCount++;
-        }
 
-        if (dimCount != x_q.getFlowsOfSignalGroup().size()) {
-            throw new InterpolationComponentException(
-                    "Situation of query point doesn't have the same dimensions as the sampling points");
+        for (int i = 0; i < x_q.length; i++) {
+            final double diff = condition.getCenter(i) - x_q[i];
+            sum += diff * diff;
         }
         return Math.sqrt(sum);
     }
@@ -182,11 +174,11 @@ public class IDWInterpolant extends AbstractInterpolationTechnique {
     }
 
     private float[] interpolationSituationToClassifierSituation(Situation queryPoint) {
-        float[] classifierSituation = new float[queryPoint.getFlowsOfSignalGroup().size()];
-        int dimCount = 0;
+        final double[] flows = queryPoint.getFlows();
+        float[] classifierSituation = new float[flows.length];
 
-        for (Map.Entry<SignalGroup, Double> entry : queryPoint.getFlowsOfSignalGroup().entrySet()) {
-            classifierSituation[dimCount++] = entry.getValue().floatValue();
+        for (int i = 0; i < flows.length; i++) {
+            classifierSituation[i] = (float) flows[i];
         }
 
         return classifierSituation;
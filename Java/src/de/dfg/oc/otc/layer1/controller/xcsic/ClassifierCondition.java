@@ -24,37 +24,42 @@ import de.dfg.oc.otc.layer1.controller.Interval;
 import de.dfg.oc.otc.layer1.controller.LCSConstants;
 import org.apache.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Formatter;
 
 /**
  * Represents the condition part of a classifier. The condition defines the
  * inputs to which a classifier is applicable.
+ * <p>
+ * The intervals are stored in one array of interleaved lower and upper
+ * bounds ({@code [l0, u0, l1, u1, ...]}) instead of one {@link Interval}
+ * object per dimension. This keeps a condition in one block of memory and
+ * allows the JIT to compile the loops below without object accesses.
  *
  * @author hpr
  */
 public class ClassifierCondition implements Cloneable {
     private static final Logger log = Logger.getLogger(ClassifierCondition.class);
     /**
-     * List of intervals that form the classifier condition.
+     * Lower and upper bounds of the intervals that form the classifier
+     * condition, {@code bounds[2 * i]} is the lower and
+     * {@code bounds[2 * i + 1]} the upper bound of the {@code i}-th interval.
      */
-    private List<Interval> intervals;
+    private final float[] bounds;
 
     /**
-     * Creates a classifier condition with the given intervals.
+     * Creates a classifier condition with the given bounds (not copied).
      */
-    private ClassifierCondition(final List<Interval> intervals) {
-        this.intervals = intervals;
+    private ClassifierCondition(final float[] bounds) {
+        this.bounds = bounds;
     }
 
     /**
      * Creates a classifier condition that matches the given situation.
      */
     ClassifierCondition(final float[] situation, final int[] nbLanes, final float[] maxFlow) {
-        this.intervals = new ArrayList<>();
-
         final int size = situation.length;
+        this.bounds = new float[2 * size];
+
         for (int i = 0; i < size; i++) {
             float low = Math
                     .max((int) situation[i] - nbLanes[i] * LCSConstants.getInstance().getIntervalWidthForNewConditions() / 2, 0);
@@ -63,7 +68,7 @@ public class ClassifierCondition implements Cloneable {
             final float up = Math.min((int) situation[i] + nbLanes[i] * LCSConstants.getInstance().getIntervalWidthForNewConditions() / 2,
                     maxFlow[i]);
 
-            this.intervals.add(new Interval(low, up));
+            setInterval(i, low, up);
         }
     }
 
@@ -78,13 +83,13 @@ public class ClassifierCondition implements Cloneable {
         final String[] intervalStrings = condString.split("\\] \\[");
 
         // Create classifier condition
-        this.intervals = new ArrayList<>();
+        this.bounds = new float[2 * intervalStrings.length];
 
-        for (String intervalString : intervalStrings) {
-            final String[] lowerUpper = intervalString.split(", ");
+        for (int i = 0; i < intervalStrings.length; i++) {
+            final String[] lowerUpper = intervalStrings[i].split(", ");
             final float lower = new Float(lowerUpper[0]);
             final float upper = new Float(lowerUpper[1]);
-            this.intervals.add(new Interval(lower, upper));
+            setInterval(i, lower, upper);
         }
     }
 
@@ -95,16 +100,7 @@ public class ClassifierCondition implements Cloneable {
      */
     @Override
     public final ClassifierCondition clone() {
-        final List<Interval> clonedIntervals = new ArrayList<>(this.intervals.size());
-
-        for (Interval interval : this.intervals) {
-            float lower = interval.getLower();
-            float upper = interval.getUpper();
-            Interval clonedInterval = new Interval(lower, upper);
-            clonedIntervals.add(clonedInterval);
-        }
-
-        return new ClassifierCondition(clonedIntervals);
+        return new ClassifierCondition(this.bounds.clone());
     }
 
     /**
@@ -117,32 +113,51 @@ public class ClassifierCondition implements Cloneable {
      */
     final boolean contains(final ClassifierCondition condition) {
         // Check length
-        if (this.intervals.size() != condition.intervals.size()) {
+        if (this.bounds.length != condition.bounds.length) {
             log.warn("Error in contains(): ClassifierCondition has wrong length.");
             return false;
         }
 
-        final Iterator<Interval> argIterator = condition.intervals.iterator();
-        for (Interval interval : this.intervals) {
-            Interval argIntv = argIterator.next();
+        final float[] argBounds = condition.bounds;
+        boolean contains = true;
+        for (int i = 0; i < bounds.length; i += 2) {
+            contains &= !(bounds[i] > argBounds[i]) & !(bounds[i + 1] < argBounds[i + 1]);
+        }
+
+        // If true, _cond is covered by this condition.
+        return contains;
+    }
 
-            if (interval.getLower() > argIntv.getLower() || interval.getUpper() < argIntv.getUpper()) {
-                return false;
+    /**
+     * Returns the distance of the given situation to the area covered by this
+     * condition, i.e. the sum of the distances between each interval and the
+     * corresponding situation value ({@code 0} if the situation is matched).
+     *
+     * @param situation the situation for which the distance is calculated
+     * @return the distance
+     */
+    final float distance(final float[] situation) {
+        float sum = 0;
+        for (int i = 0; i < situation.length; i++) {
+            final float value = situation[i];
+            if (value < bounds[2 * i]) {
+                sum += bounds[2 * i] - value;
+            } else if (value > bounds[2 * i + 1]) {
+                sum += value - bounds[2 * i + 1];
             }
         }
-
-        // If this line is reached, _cond is covered by this condition.
-        return true;
+        return sum;
     }
 
     /**
-     * Returns the {@code i}-th interval of this condition.
+     * Returns the {@code i}-th interval of this condition. The interval is a
+     * copy, changing it does not change the condition.
      *
      * @param i the index of the interval that should be obtained
      * @return the {@code i}-th interval
      */
     final Interval getInterval(final int i) {
-        return this.intervals.get(i);
+        return new Interval(this.bounds[2 * i], this.bounds[2 * i + 1]);
     }
 
     /**
@@ -151,7 +166,29 @@ public class ClassifierCondition implements Cloneable {
      * @return the length of this condition
      */
     final int getLength() {
-        return this.intervals.size();
+        return this.bounds.length / 2;
+    }
+
+    /**
+     * Returns the lower bounds of the intervals.
+     */
+    final float[] getLowerBounds() {
+        final float[] lowerBounds = new float[getLength()];
+        for (int i = 0; i < lowerBounds.length; i++) {
+            lowerBounds[i] = this.bounds[2 * i];
+        }
+        return lowerBounds;
+    }
+
+    /**
+     * Returns the upper bounds of the intervals.
+     */
+    final float[] getUpperBounds() {
+        final float[] upperBounds = new float[getLength()];
+        for (int i = 0; i < upperBounds.length; i++) {
+            upperBounds[i] = this.bounds[2 * i + 1];
+        }
+        return upperBounds;
     }
 
     /**
@@ -170,22 +207,40 @@ public class ClassifierCondition implements Cloneable {
                     "ClassifierCondition.matches(double[] _situation): Situation has wrong length.");
         }
 
+        // No early exit, keeps the loop free of branches
+        boolean matches = true;
         for (int i = 0; i < size; i++) {
-            if (this.intervals.get(i).contains(situation[i]) != 0) {
-                return false;
-            }
+            final float value = situation[i];
+            matches &= !(value < bounds[2 * i]) & !(value > bounds[2 * i + 1]);
         }
 
-        return true;
+        return matches;
+    }
+
+    /**
+     * Sets the {@code i}-th interval. The smaller value forms the lower
+     * bound, the larger value forms the upper bound (see {@link Interval}).
+     */
+    private void setInterval(final int i, final float lower, final float upper) {
+        if (lower <= upper) {
+            this.bounds[2 * i] = lower;
+            this.bounds[2 * i + 1] = upper;
+        } else {
+            this.bounds[2 * i] = upper;
+            this.bounds[2 * i + 1] = lower;
+        }
     }
 
     @Override
     public final String toString() {
-        String condition = "";
-        for (Interval interval : this.intervals) {
-            condition += interval + " ";
+        final StringBuilder condition = new StringBuilder();
+        final Formatter formatter = new Formatter(condition);
+        for (int i = 0; i < bounds.length; i += 2) {
+            // Same format as Interval.toString()
+            formatter.format("[%4.0f, ", bounds[i]);
+            formatter.format("%4.0f] ", bounds[i + 1]);
         }
-        return condition;
+        return condition.toString();
     }
 
     /**
@@ -195,11 +250,11 @@ public class ClassifierCondition implements Cloneable {
      */
     final void widen(final float[] situation) {
         for (int i = 0; i < situation.length; i++) {
-            final Interval interval = intervals.get(i);
+            final int lower = (int) Math.floor(situation[i]);
+            final int upper = (int) Math.ceil(situation[i]);
 
-            // Checks are performed by intervals class!
-            interval.setLower(new Double(Math.floor(situation[i])).intValue());
-            interval.setUpper(new Double(Math.ceil(situation[i])).intValue());
+            bounds[2 * i] = Math.min(bounds[2 * i], lower);
+            bounds[2 * i + 1] = Math.max(bounds[2 * i + 1], upper);
         }
     }
 }
@@ -48,6 +48,8 @@ public final class InterpolationConstants {
     private static final String ASI_KEY = "asi";
     private static final String WARM_UP_SAMPLING_POINTS_KEY = "warm_up_sampling_points";
     private static final String IDW_EXPO_KEY = "idw_expo";
+    private static final String IDW_NEIGHBOURS_KEY = "idw_neighbours";
+    private static final String IDW_RADIUS_KEY = "idw_radius";
     private static final String TAU_TAX_KEY = "tau_tax";
     private static final String IOTA_INCENTIVE_KEY = "iota_incentive";
     private static final String P_MAX_KEY = "p_max";
@@ -69,6 +71,10 @@ public final class InterpolationConstants {
     private static final boolean DEFAULT_WARM_UP_SAMPLING_POINTS = true;
     //** Wie hoch soll der Exponent der IDW-Interpolante sein */
     private static final int DEFAULT_IDW_EXPO = 5;
+    //** Wie viele der nächsten Stützstellen soll die IDW-Interpolante nutzen (0 = alle) */
+    private static final int DEFAULT_IDW_NEIGHBOURS = 0;
+    //** Maximaler Abstand der Stützstellen, die die IDW-Interpolante nutzt (0 = unbegrenzt) */
+    private static final double DEFAULT_IDW_RADIUS = 0;
     // Der Parameter für die Bestrafung / Besteuerung bei Verwendung der Nearest Neighbor Interpolation
     private static final double default_tau_tax = 0.3;
     // Der Parameter für die Belohnung / den Bonus bei Verwendung der Nearest Neighbor Interpolation
@@ -92,6 +98,10 @@ public final class InterpolationConstants {
     public static final boolean WARM_UP_SAMPLING_POINTS;
     //** Wie hoch soll der Exponent der IDW-Interpolante sein */
     public static final int IDW_EXPO;
+    //** Wie viele der nächsten Stützstellen soll die IDW-Interpolante nutzen (0 = alle) */
+    public static final int IDW_NEIGHBOURS;
+    //** Maximaler Abstand der Stützstellen, die die IDW-Interpolante nutzt (0 = unbegrenzt) */
+    public static final double IDW_RADIUS;
     // Der Parameter für die Bestrafung / Besteuerung bei Verwendung der Nearest Neighbor Interpolation
     public static double tau_tax;
     // Der Parameter für die Belohnung / den Bonus bei Verwendung der Nearest Neighbor Interpolation
@@ -117,6 +127,8 @@ public final class InterpolationConstants {
         WARM_UP_SAMPLING_POINTS = isWarmUpSamplingPoints();
         ASI = isAsi();
         IDW_EXPO = getIdwExpo();
+        IDW_NEIGHBOURS = getIdwNeighbours();
+        IDW_RADIUS = getIdwRadius();
         tau_tax = getTauTax();
         iota_incentive = getIotaIncentive();
         p_max = getPMax();
@@ -165,6 +177,8 @@ public final class InterpolationConstants {
         constantsProperties.setProperty(TAU_TAX_KEY, Double.toString(default_tau_tax));
         constantsProperties.setProperty(ASI_KEY, Boolean.toString(DEFAULT_ASI));
         constantsProperties.setProperty(IDW_EXPO_KEY, Integer.toString(DEFAULT_IDW_EXPO));
+        constantsProperties.setProperty(IDW_NEIGHBOURS_KEY, Integer.toString(DEFAULT_IDW_NEIGHBOURS));
+        constantsProperties.setProperty(IDW_RADIUS_KEY, Double.toString(DEFAULT_IDW_RADIUS));
         constantsProperties.setProperty(IOTA_INCENTIVE_KEY, Double.toString(default_iota_incentive));
         constantsProperties.setProperty(P_MAX_KEY, Integer.toString(default_p_max));
         constantsProperties.setProperty(T_WINDOW_KEY, Integer.toString(default_t_window));
@@ -182,6 +196,8 @@ public final class InterpolationConstants {
         constantsProperties.setProperty(WARM_UP_SAMPLING_POINTS_KEY, Boolean.toString(WARM_UP_SAMPLING_POINTS));
         constantsProperties.setProperty(ASI_KEY, Boolean.toString(ASI));
         constantsProperties.setProperty(IDW_EXPO_KEY, Integer.toString(IDW_EXPO));
+        constantsProperties.setProperty(IDW_NEIGHBOURS_KEY, Integer.toString(IDW_NEIGHBOURS));
+        constantsProperties.setProperty(IDW_RADIUS_KEY, Double.toString(IDW_RADIUS));
         constantsProperties.setProperty(TAU_TAX_KEY, Double.toString(tau_tax));
         constantsProperties.setProperty(IOTA_INCENTIVE_KEY, Double.toString(iota_incentive));
         constantsProperties.setProperty(P_MAX_KEY, Integer.toString(p_max));
@@ -230,6 +246,16 @@ public final class InterpolationConstants {
         return Integer.parseInt(constantsProperties.getProperty(IDW_EXPO_KEY));
     }
 
+    // Ältere Konfigurationsdateien enthalten diese Werte noch nicht
+    private static int getIdwNeighbours() {
+        return Integer.parseInt(constantsProperties.getProperty(IDW_NEIGHBOURS_KEY,
+                Integer.toString(DEFAULT_IDW_NEIGHBOURS)));
+    }
+
+    private static double getIdwRadius() {
+        return Double.parseDouble(constantsProperties.getProperty(IDW_RADIUS_KEY, Double.toString(DEFAULT_IDW_RADIUS)));
+    }
+
     private static double getTauTax() {
         return Double.parseDouble(constantsProperties.getProperty(TAU_TAX_KEY));
     }
@@ -23,6 +23,7 @@ import de.dfg.oc.otc.layer1.controller.xcsic.SignalGroupComparator;
 import de.dfg.oc.otc.layer2.TurningData;
 import de.dfg.oc.otc.manager.aimsun.SignalGroup;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -35,6 +36,8 @@ import java.util.TreeMap;
  *
  * The flows of signal groups have to bo ordered by the signal group id.
  * Thus a {@link TreeMap} with the {@link SignalGroupComparator} has to be passed during instantiation.
+ * The flows are additionally stored in a dense array in the same order, dimension {@code i} belongs to the signal
+ * group with the id {@code getSignalGroupIds()[i]}. The map must not be changed after instantiation.
  *
  * @author rauhdomi
  */
@@ -45,6 +48,10 @@ public class Situation
 
     private Map<SignalGroup, Double> flowsOfSignalGroup;
     private Map<String, TurningData> turningDataMap;
+    /** Flows ordered by the signal group id */
+    private final double[] flows;
+    /** Ids of the signal groups in ascending order, one per entry of {@link #flows} */
+    private final int[] signalGroupIds;
 
     public Situation(TreeMap<SignalGroup, Double> flowsOfSignalGroup, Map<String, TurningData> turningDataMap)
     {
@@ -54,6 +61,85 @@ public class Situation
         }
         this.flowsOfSignalGroup = flowsOfSignalGroup;
         this.turningDataMap = turningDataMap;
+
+        this.flows = new double[flowsOfSignalGroup.size()];
+        this.signalGroupIds = new int[flowsOfSignalGroup.size()];
+        int i = 0;
+        for(Map.Entry<SignalGroup, Double> entry : flowsOfSignalGroup.entrySet())
+        {
+            this.flows[i] = entry.getValue();
+            this.signalGroupIds[i] = entry.getKey().getId();
+            i++;
+        }
+    }
+
+    /**
+     * Returns the flows ordered by the signal group id. The array must not be changed.
+     */
+    public double[] getFlows()
+    {
+        return this.flows;
+    }
+
+    /**
+     * Returns the ids of the signal groups in ascending order, i.e. the signal group of each entry of
+     * {@link #getFlows()}. The array must not be changed.
+     */
+    public int[] getSignalGroupIds()
+    {
+        return this.signalGroupIds;
+    }
+
+    /**
+     * Checks whether {@code x_q} contains the flows of all signal groups of {@code x_i}.
+     */
+    public static boolean containsSignalGroupsOf(Situation x_q, Situation x_i)
+    {
+        final int[] ids = x_i.getSignalGroupIds();
+        final int[] queryIds = x_q.getSignalGroupIds();
+
+        if(ids == queryIds || Arrays.equals(ids, queryIds)) { return true; }
+
+        for(int id : ids)
+        {
+            if(Arrays.binarySearch(queryIds, id) < 0) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the squared euclidean distance between the flows of {@code x_i} and the flows of the same signal
+     * groups of {@code x_q}. Signal groups of {@code x_i} that are missing in {@code x_q} are skipped.
+     */
+    public static double squaredDistance(Situation x_i, Situation x_q)
+    {
+        final double[] flows = x_i.getFlows();
+        final double[] queryFlows = x_q.getFlows();
+        final int[] ids = x_i.getSignalGroupIds();
+        final int[] queryIds = x_q.getSignalGroupIds();
+        double sum = 0.0;
+
+        if(ids == queryIds || Arrays.equals(ids, queryIds))
+        {
+            for(int i = 0; i < flows.length; i++)
+            {
+                final double diff = flows[i] - queryFlows[i];
+                sum += diff * diff;
+            }
+            return sum;
+        }
+
+        // Different signal groups, align the dimensions by the signal group id
+        for(int i = 0; i < flows.length; i++)
+        {
+            final int j = Arrays.binarySearch(queryIds, ids[i]);
+            if(j >= 0)
+            {
+                final double diff = flows[i] - queryFlows[j];
+                sum += diff * diff;
+            }
+        }
+        return sum;
     }
 
     public Map<SignalGroup, Double> getFlowsOfSignalGroup() {
@@ -77,22 +163,11 @@ public class Situation
 
         Situation situation = (Situation) o;
 
-        if(this.flowsOfSignalGroup.size() != situation.flowsOfSignalGroup.size()) return false;
+        if(!Arrays.equals(this.signalGroupIds, situation.signalGroupIds)) return false;
 
-        for(Map.Entry<SignalGroup, Double> entryThis : this.flowsOfSignalGroup.entrySet())
+        for(int i = 0; i < this.flows.length; i++)
         {
-            Map.Entry<SignalGroup, Double> matchingCompareEntry = null;
-
-            for(Map.Entry<SignalGroup, Double> entryCompare : situation.flowsOfSignalGroup.entrySet())
-            {
-                if(entryCompare.getKey().toString().equals(entryThis.getKey().toString())){
-                    matchingCompareEntry = entryCompare;
-                    break;
-                }
-            }
-
-            if(matchingCompareEntry == null) { return false; }
-            if(!flowsAreEqual(entryThis.getValue(), matchingCompareEntry.getValue())) { return false; }
+            if(!flowsAreEqual(this.flows[i], situation.flows[i])) { return false; }
         }
 
         return true;
@@ -103,9 +178,9 @@ public class Situation
 
         int result = 0;
 
-        for(Double v: flowsOfSignalGroup.values())
+        for(double flow : flows)
         {
-            result += (int)v.doubleValue();
+            result += (int)flow;
         }
 
         return result;
@@ -159,6 +159,26 @@ public class SibsonInterpolator3 {
         }
     }
 
+    /**
+     * Constructs an interpolator for an existing mesh. Nodes are added to and
+     * removed from the mesh by the caller, each real node needs a
+     * {@link NodeData} and a non-negative index.
+     */
+    public SibsonInterpolator3(Method method, TetMesh tetrahedralization)
+    {
+        _mesh = tetrahedralization;
+        freedIndices = new ArrayList<>();
+        _nodeList = new TetMesh.NodeList();
+        _tetList = new TetMesh.TetList();
+        if (method == Method.WATSON_SAMBRIDGE) {
+            _va = new WatsonSambridge();
+        } else if (method == Method.BRAUN_SAMBRIDGE) {
+            _va = new BraunSambridge();
+        } else if (method == Method.HALE_LIANG) {
+            _va = new HaleLiang();
+        }
+    }
+
     /**
      * Sets the samples to be interpolated.
      * Any sample coordinates, values or gradients set previously are forgotten.
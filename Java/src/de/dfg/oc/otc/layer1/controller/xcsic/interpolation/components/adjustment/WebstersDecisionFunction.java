@@ -251,24 +251,7 @@ public class WebstersDecisionFunction extends AbstractDecisionFunction {
 
     private double calculateEuclideanDistance(Situation x_i, Situation x_q)
     {
-        double sum = 0.0;
-
-        for(Map.Entry<SignalGroup, Double> x_iFlow : x_i.getFlowsOfSignalGroup().entrySet())
-        {
-            for(Map.Entry<SignalGroup, Double> x_qFlow : x_q.getFlowsOfSignalGroup().entrySet())
-            {
-                String x_iID = x_iFlow.getKey().toString();
-                String x_qID = x_qFlow.getKey().toString();
-
-                if(x_iID.equals(x_qID))
-                {
-                    sum += Math.pow(x_iFlow.getValue() - x_qFlow.getValue(), 2);
-                    break;
-                }
-            }
-        }
-
-        return Math.sqrt(sum);
+        return Math.sqrt(Situation.squaredDistance(x_i, x_q));
     }
 
     private double calculateSupersedeThreshold()
@@ -19,11 +19,13 @@
 
 package de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants;
 
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
 import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationComponentException;
 import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
 import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.InterpolationValue;
 
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 
@@ -84,4 +86,69 @@ public abstract class AbstractInterpolationTechnique
     public Situation getLastQueryPoint() {return lastQueryPoint;}
 
     public Set<Situation> getSamplingPoints() { return samplingPoints; }
+
+    /**
+     * Liefert die Aktion mit dem größten (akkumulierten) Gewicht.
+     *
+     * @param weightsForAction Die normierten Gewichte der Aktionen
+     */
+    protected TrafficLightControllerParameters getNearestNeighborAction(
+            Map<TrafficLightControllerParameters, Double> weightsForAction)
+    {
+        TrafficLightControllerParameters neNeAction = null;
+        double weightOfNeNe = Double.MIN_VALUE;
+
+        for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
+        {
+            if(entry.getValue() >= weightOfNeNe)
+            {
+                weightOfNeNe = entry.getValue();
+                neNeAction = entry.getKey();
+            }
+        }
+
+        return neNeAction;
+    }
+
+    /**
+     * Erzeugt eine Aktion, deren Grünzeiten die gewichtete Summe der Grünzeiten der übergebenen Aktionen sind.
+     *
+     * @param weightsForAction Die normierten Gewichte der Aktionen (nicht leer)
+     */
+    protected TrafficLightControllerParameters createInterpolatedAction(
+            Map<TrafficLightControllerParameters, Double> weightsForAction)
+    {
+        TrafficLightControllerParameters interpolatedAction = null;
+        TrafficLightControllerParameters referenceAction = weightsForAction.keySet().iterator().next();
+
+        int greenTimesCount = referenceAction.getGreenTimes().length;
+        float[] interpolatedGreenTimes = new float[greenTimesCount];
+
+        for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
+        {
+            TrafficLightControllerParameters action = entry.getKey();
+            double weight = entry.getValue();
+
+            interpolateGreenTimes(interpolatedGreenTimes, action, weight);
+        }
+
+        interpolatedAction = new TrafficLightControllerParameters(referenceAction.getType(),
+                referenceAction.getIds(),
+                interpolatedGreenTimes,
+                referenceAction.getStrings(),
+                referenceAction.getIsInterPhase());
+
+        interpolatedAction.getCycleTime();
+
+        return interpolatedAction;
+    }
+
+    private void interpolateGreenTimes(float[] interpolatedGreenTimes, TrafficLightControllerParameters action, double weight)
+    {
+        for(int i = 0; i < interpolatedGreenTimes.length; i++)
+        {
+            double greenTimeFrac = weight * action.getGreenTimes()[i];
+            interpolatedGreenTimes[i] += greenTimeFrac;
+        }
+    }
 }
@@ -25,8 +25,6 @@ import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
 import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.InterpolationValue;
 import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationConstants;
 import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.AccumulatedIDWOTCValue;
-import de.dfg.oc.otc.manager.aimsun.SignalGroup;
-import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -43,9 +41,27 @@ public class IDWInterpolant extends AbstractInterpolationTechnique
 {
     private Map<Situation, TrafficLightControllerParameters> actionsForSituations;
     private final int POWER = InterpolationConstants.IDW_EXPO;
+    /** Sampling points used by the current interpolation and their weights, reused for every interpolation */
+    private Situation[] sites = new Situation[0];
+    private double[] weights = new double[0];
+    private double[] distances = new double[0];
+    /**
+     * Index over the sampling points, only used if the interpolation is limited to the nearest sampling points
+     * (see {@link InterpolationConstants#IDW_NEIGHBOURS} and {@link InterpolationConstants#IDW_RADIUS})
+     */
+    private final SiteIndex siteIndex;
 
     public IDWInterpolant() {
         actionsForSituations = new HashMap<>();
+
+        if(InterpolationConstants.IDW_NEIGHBOURS > 0 || InterpolationConstants.IDW_RADIUS > 0)
+        {
+            siteIndex = new SiteIndex();
+        }
+        else
+        {
+            siteIndex = null;
+        }
     }
 
     @Override
@@ -54,45 +70,63 @@ public class IDWInterpolant extends AbstractInterpolationTechnique
         this.lastQueryPoint = queryPoint;
 
         Map<TrafficLightControllerParameters, Double> weightsForAction = new HashMap<>();
-        Map<Situation, Double> weightsForSituations = this.calculateWeights(queryPoint);
+        double weightErrorBound = 0.0;
+        final int numSites;
+
+        if(siteIndex != null && siteIndex.supports(queryPoint))
+        {
+            numSites = this.calculateWeightsOfNearestSites(queryPoint);
+            weightErrorBound = this.calculateWeightErrorBound(numSites);
+        }
+        else
+        {
+            numSites = this.calculateWeights(queryPoint);
+        }
 
         double sum_weights = 0.0;
+        Situation neNeSituation = null;
+        double weightOfNeNe = Double.MIN_VALUE;
 
-        for(Object sample : samplingPoints)
+        for(int i = 0; i < numSites; i++)
         {
+            final Situation sample = this.sites[i];
+            final double weight = this.weights[i];
             TrafficLightControllerParameters assignedAction = this.actionsForSituations.get(sample);
 
-            if(!weightsForAction.containsKey(assignedAction))
+            Double accWeightForAction = weightsForAction.get(assignedAction);
+            if(accWeightForAction == null)
             {
-                weightsForAction.put(assignedAction, weightsForSituations.get(sample));
+                weightsForAction.put(assignedAction, weight);
             }
             else
             {
-                double accWeightForAction = weightsForAction.get(assignedAction);
-                accWeightForAction += weightsForSituations.get(sample);
-                weightsForAction.put(assignedAction, accWeightForAction);
+                weightsForAction.put(assignedAction, accWeightForAction + weight);
+            }
+            sum_weights += weight;
+
+            if(weight >= weightOfNeNe)
+            {
+                weightOfNeNe = weight;
+                neNeSituation = sample;
             }
-            sum_weights += weightsForSituations.get(sample);
         }
 
         TrafficLightControllerParameters interpolatedAction = null;
-        Situation neNeSituation = getNearestNeighborSituation(weightsForSituations);
         TrafficLightControllerParameters neNeAction = null;
 
-        if(samplingPoints.size() > 0)
+        if(numSites > 0)
         {
-            for(TrafficLightControllerParameters action : weightsForAction.keySet())
+            for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
             {
-                double accWeightForActionHash = weightsForAction.get(action);
-                accWeightForActionHash /= sum_weights;
-                weightsForAction.put(action, accWeightForActionHash);
+                entry.setValue(entry.getValue() / sum_weights);
             }
 
             interpolatedAction = createInterpolatedAction(weightsForAction);
             neNeAction = getNearestNeighborAction(weightsForAction);
         }
 
-        this.interpolatedValue = new AccumulatedIDWOTCValue(neNeSituation, neNeAction, interpolatedAction, weightsForAction);
+        this.interpolatedValue = new AccumulatedIDWOTCValue(neNeSituation, neNeAction, interpolatedAction, weightsForAction,
+                weightErrorBound);
 
         return this.interpolatedValue;
     }
@@ -120,6 +154,7 @@ public class IDWInterpolant extends AbstractInterpolationTechnique
 
         this.actionsForSituations.put(situation, assignedAction);
         this.samplingPoints.add(situation);
+        if(siteIndex != null) { siteIndex.add(situation); }
     }
 
     @Override
@@ -129,6 +164,7 @@ public class IDWInterpolant extends AbstractInterpolationTechnique
 
         if(this.samplingPoints.remove(siteToRemove)) { siteWasInSamplingPoints = true; }
         if(this.actionsForSituations.remove(siteToRemove) != null) { siteWasInSamplingPoints = true; }
+        if(siteIndex != null) { siteIndex.remove(siteToRemove); }
 
         if(!siteWasInSamplingPoints)
         {
@@ -136,134 +172,94 @@ public class IDWInterpolant extends AbstractInterpolationTechnique
         }
     }
 
-    private Situation getNearestNeighborSituation(Map<Situation, Double> weightsForSituation)
+    /**
+     * Calculates the weights of all sampling points and stores them in {@link #sites} and {@link #weights}.
+     *
+     * @return the number of sampling points
+     */
+    private int calculateWeights(Situation queryPoint) throws InterpolationComponentException
     {
-        Situation neNeSituation = null;
-        double weightOfNeNe = Double.MIN_VALUE;
+        ensureCapacity(this.samplingPoints.size());
 
-        for(Map.Entry<Situation, Double> entry : weightsForSituation.entrySet())
+        int i = 0;
+        for (Situation x_i : this.samplingPoints)
         {
-            if(entry.getValue() >= weightOfNeNe)
-            {
-                weightOfNeNe = entry.getValue();
-                neNeSituation = entry.getKey();
-            }
+            this.sites[i] = x_i;
+            this.weights[i++] = Math.pow(1 / calculateEuclideanDistance(x_i, queryPoint), POWER);
         }
-
-        return neNeSituation;
+        return i;
     }
 
-    private TrafficLightControllerParameters getNearestNeighborAction(
-            Map<TrafficLightControllerParameters, Double> weightsForAction)
+    /**
+     * Calculates the weights of the nearest sampling points and stores them in {@link #sites} and
+     * {@link #weights}. One more sampling point than used is determined, its distance is stored in
+     * {@link #distances} to estimate the error.
+     *
+     * @return the number of sampling points used
+     */
+    private int calculateWeightsOfNearestSites(Situation queryPoint)
     {
-        TrafficLightControllerParameters neNeAction = null;
-        double weightOfNeNe = Double.MIN_VALUE;
-
-        for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
+        final int k = InterpolationConstants.IDW_NEIGHBOURS > 0
+                ? Math.min(InterpolationConstants.IDW_NEIGHBOURS, siteIndex.size()) : siteIndex.size();
+        final double radius = InterpolationConstants.IDW_RADIUS > 0
+                ? InterpolationConstants.IDW_RADIUS : Double.POSITIVE_INFINITY;
+        ensureCapacity(k + 1);
+
+        final int numFound = siteIndex.nearest(queryPoint, k + 1, radius, this.sites, this.distances);
+        final int numSites = Math.min(numFound, k);
+        for (int i = 0; i < numSites; i++)
         {
-            if(entry.getValue() >= weightOfNeNe)
-            {
-                weightOfNeNe = entry.getValue();
-                neNeAction = entry.getKey();
-            }
+            this.weights[i] = Math.pow(1 / this.distances[i], POWER);
         }
 
-        return neNeAction;
-    }
-
-    private HashMap<Situation, Double> calculateWeights(Situation queryPoint) throws InterpolationComponentException
-    {
-        HashMap<Situation, Double> distanceWeights = new HashMap<>(this.samplingPoints.size());
-
-        for (Object sample : this.samplingPoints)
-        {
-            Situation x_i = (Situation)sample;
-            double w_i = Math.pow(1 / calculateEuclideanDistance(x_i, queryPoint), POWER);
-            distanceWeights.put(x_i, w_i);
-        }
-        return distanceWeights;
+        // Distance from which on sampling points have been ignored
+        this.distances[numSites] = numFound > k ? this.distances[k] : radius;
+        return numSites;
     }
 
-   /* private double calculateEuclideanDistance(Situation x_i, Situation x_q) {
-        double sum = 0.0;
-
-        double[] flowsOfSamplingPoint = ArrayUtils.toPrimitive(
-                x_i.getFlowsOfSignalGroup().values().toArray(new Double[x_i.getFlowsOfSignalGroup().size()]));
-        double[] flowsOfQueryPoint = ArrayUtils.toPrimitive(
-                x_q.getFlowsOfSignalGroup().values().toArray(new Double[x_q.getFlowsOfSignalGroup().size()]));
-
-        for(int i = 0; i < flowsOfSamplingPoint.length; i++) {
-            sum += Math.pow(flowsOfSamplingPoint[i] - flowsOfQueryPoint[i], 2);
-        }
-
-        return Math.sqrt(sum);
-    }*/
-
-    private double calculateEuclideanDistance(Situation x_i, Situation x_q) throws InterpolationComponentException
+    /**
+     * Returns an upper bound for the share of the exact total weight that belongs to the sampling points ignored by
+     * {@link #calculateWeightsOfNearestSites(Situation)}. Each ignored sampling point is at least as far away as
+     * {@code distances[numSites]}, so its weight is at most the weight of that distance. The interpolated green
+     * times differ from the exact ones by at most this share times the range of the green times of the sampling
+     * points.
+     */
+    private double calculateWeightErrorBound(int numSites)
     {
-        double sum = 0.0;
-        int dimCount = 0;
-
-        for(Map.Entry<SignalGroup, Double> x_iFlow : x_i.getFlowsOfSignalGroup().entrySet())
-        {
-            for(Map.Entry<SignalGroup, Double> x_qFlow : x_q.getFlowsOfSignalGroup().entrySet())
-            {
-                String x_iID = x_iFlow.getKey().toString();
-                String x_qID = x_qFlow.getKey().toString();
-
-                if(x_iID.equals(x_qID))
-                {
-                    sum += Math.pow(x_iFlow.getValue() - x_qFlow.getValue(), 2);
-                    dimCount++;
-                    break;
-                }
-            }
-        }
+        final int numIgnored = siteIndex.size() - numSites;
+        if(numIgnored == 0) { return 0.0; }
 
-        if(dimCount != x_i.getFlowsOfSignalGroup().size())
+        double sum_weights = 0.0;
+        for(int i = 0; i < numSites; i++)
         {
-            throw new InterpolationComponentException(
-                    "Situation of query point doesn't have the same dimensions as the sampling points");
+            sum_weights += this.weights[i];
         }
 
+        final double maxIgnoredWeight = numIgnored * Math.pow(1 / this.distances[numSites], POWER);
+        if(Double.isInfinite(maxIgnoredWeight)) { return 1.0; }
 
-        return Math.sqrt(sum);
+        return maxIgnoredWeight / (sum_weights + maxIgnoredWeight);
     }
 
-    private TrafficLightControllerParameters createInterpolatedAction(
-            Map<TrafficLightControllerParameters, Double> weightsForAction)
+    private void ensureCapacity(int numSites)
     {
-        TrafficLightControllerParameters interpolatedAction = null;
-        TrafficLightControllerParameters referenceAction = weightsForAction.keySet().iterator().next();
-
-        int greenTimesCount = referenceAction.getGreenTimes().length;
-        float[] interpolatedGreenTimes = new float[greenTimesCount];
-
-        for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
+        if(this.weights.length < numSites)
         {
-            TrafficLightControllerParameters action = entry.getKey();
-            double weight = entry.getValue();
-
-            interpolateGreenTimes(interpolatedGreenTimes, action, weight);
+            final int capacity = Math.max(numSites, InterpolationConstants.p_max + 1);
+            this.sites = new Situation[capacity];
+            this.weights = new double[capacity];
+            this.distances = new double[capacity];
         }
-
-        interpolatedAction = new TrafficLightControllerParameters(referenceAction.getType(),
-                referenceAction.getIds(),
-                interpolatedGreenTimes,
-                referenceAction.getStrings(),
-                referenceAction.getIsInterPhase());
-
-        interpolatedAction.getCycleTime();
-
-        return interpolatedAction;
     }
 
-    private void interpolateGreenTimes(float[] interpolatedGreenTimes, TrafficLightControllerParameters action, double weight)
+    private double calculateEuclideanDistance(Situation x_i, Situation x_q) throws InterpolationComponentException
     {
-        for(int i = 0; i < interpolatedGreenTimes.length; i++)
+        if(!Situation.containsSignalGroupsOf(x_q, x_i))
         {
-            double greenTimeFrac = weight * action.getGreenTimes()[i];
-            interpolatedGreenTimes[i] += greenTimeFrac;
+            throw new InterpolationComponentException(
+                    "Situation of query point doesn't have the same dimensions as the sampling points");
         }
+
+        return Math.sqrt(Situation.squaredDistance(x_i, x_q));
     }
 }
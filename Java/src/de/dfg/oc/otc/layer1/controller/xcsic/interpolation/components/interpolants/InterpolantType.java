@@ -31,6 +31,9 @@ public enum InterpolantType {
 
     INVERSE_DISTANCE_WEIGHTING {
         public AbstractInterpolationTechnique create() { return new IDWInterpolant(); }
+    },
+    NATURAL_NEIGHBOUR {
+        public AbstractInterpolationTechnique create() { return new NaturalNeighbourInterpolant(); }
     };
 
     public AbstractInterpolationTechnique create() {
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2015 by
+ * Anthony Stein, M.Sc.
+ * University of Augsburg
+ * Department of Computer Science
+ * Chair of Organic Computing
+ * All rights reserved. Distribution without approval by the copyright holder is explicitly prohibited.
+ * Sources are only for non-commercial and academic use
+ * in the scope of student theses and courses of the University of Augsburg.
+ *
+ * THE SOFTWAREPARTS ARE PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants;
+
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationComponentException;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationConstants;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.algorithms.ext_src.liang_hale.interp.SibsonInterpolator2;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.algorithms.ext_src.liang_hale.interp.SibsonInterpolator3;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.algorithms.ext_src.liang_hale.mesh.TetMesh;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.algorithms.ext_src.liang_hale.mesh.TriMesh;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.AccumulatedIDWOTCValue;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.InterpolationValue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interpolates TrafficLightControllerParameters based on natural neighbour (Sibson) coordinates
+ *
+ * The sampling points are kept in a Delaunay mesh (triangles for two, tetrahedra for three signal groups) that is
+ * updated incrementally when sampling points are added or removed. A query point is interpolated from its natural
+ * neighbours only, weighted by the share of its Voronoi cell that is taken from each of them.
+ *
+ * Inverse distance weighting ({@link IDWInterpolant}) is used instead if the situations have more than
+ * {@link #MAX_MESH_DIMENSIONS} signal groups, if the query point is outside the convex hull of the sampling points
+ * or if a sampling point could not be added to the mesh (other signal groups or the same coordinates as another
+ * sampling point after the conversion to float).
+ */
+public class NaturalNeighbourInterpolant extends AbstractInterpolationTechnique
+{
+    /** Highest number of signal groups for which a mesh is built */
+    public static final int MAX_MESH_DIMENSIONS = 3;
+
+    private final IDWInterpolant fallback;
+    private final Map<Situation, TrafficLightControllerParameters> actionsForSituations;
+
+    /** Signal groups of the mesh, {@code null} if there are no sampling points */
+    private int[] signalGroupIds;
+    private TriMesh triMesh;
+    private SibsonInterpolator2 sibson2;
+    private TetMesh tetMesh;
+    private SibsonInterpolator3 sibson3;
+    /** Nodes of the sampling points contained in the mesh */
+    private final Map<Situation, Object> nodesForSituations;
+    /** Sampling points by the index of their node */
+    private Situation[] situationsForIndices = new Situation[0];
+    private final Deque<Integer> freedIndices = new ArrayDeque<>();
+    private int nextIndex;
+    /** Number of sampling points that are not contained in the mesh */
+    private int numUnmeshed;
+
+    /** Sampling points used by the current interpolation and their weights, reused for every interpolation */
+    private Situation[] sites = new Situation[0];
+    private double[] weights = new double[0];
+
+    public NaturalNeighbourInterpolant() {
+        actionsForSituations = new HashMap<>();
+        nodesForSituations = new HashMap<>();
+
+        // Both interpolants work on the same set of sampling points
+        fallback = new IDWInterpolant();
+        samplingPoints = fallback.getSamplingPoints();
+    }
+
+    @Override
+    public InterpolationValue interpolate(Situation queryPoint) throws InterpolationComponentException
+    {
+        this.lastQueryPoint = queryPoint;
+
+        final int numSites = this.calculateWeights(queryPoint);
+        if(numSites == 0)
+        {
+            this.interpolatedValue = this.fallback.interpolate(queryPoint);
+            return this.interpolatedValue;
+        }
+
+        Map<TrafficLightControllerParameters, Double> weightsForAction = new HashMap<>();
+        double sum_weights = 0.0;
+
+        for(int i = 0; i < numSites; i++)
+        {
+            TrafficLightControllerParameters assignedAction = this.actionsForSituations.get(this.sites[i]);
+
+            Double accWeightForAction = weightsForAction.get(assignedAction);
+            if(accWeightForAction == null)
+            {
+                weightsForAction.put(assignedAction, this.weights[i]);
+            }
+            else
+            {
+                weightsForAction.put(assignedAction, accWeightForAction + this.weights[i]);
+            }
+            sum_weights += this.weights[i];
+        }
+
+        for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
+        {
+            entry.setValue(entry.getValue() / sum_weights);
+        }
+
+        TrafficLightControllerParameters interpolatedAction = createInterpolatedAction(weightsForAction);
+        TrafficLightControllerParameters neNeAction = getNearestNeighborAction(weightsForAction);
+
+        this.interpolatedValue = new AccumulatedIDWOTCValue(findNearestSite(queryPoint), neNeAction,
+                interpolatedAction, weightsForAction);
+
+        return this.interpolatedValue;
+    }
+
+    @Override
+    public void addNewSite(Situation situation, Object[] attributes) throws InterpolationComponentException
+    {
+        if(this.samplingPoints.size() >= InterpolationConstants.p_max)
+        {
+            return;
+        }
+
+        // Checks the action and whether the situation is already contained
+        this.fallback.addNewSite(situation, attributes);
+
+        this.actionsForSituations.put(situation, (TrafficLightControllerParameters)attributes[0]);
+        if(!addToMesh(situation))
+        {
+            this.numUnmeshed++;
+        }
+    }
+
+    @Override
+    public void removeSite(Object siteToRemove) throws InterpolationComponentException
+    {
+        this.fallback.removeSite(siteToRemove);
+        this.actionsForSituations.remove(siteToRemove);
+
+        Object node = this.nodesForSituations.remove(siteToRemove);
+        if(node == null)
+        {
+            this.numUnmeshed--;
+        }
+        else if(node instanceof TriMesh.Node)
+        {
+            this.triMesh.removeNode((TriMesh.Node)node);
+            freeIndex(((TriMesh.Node)node).index);
+        }
+        else
+        {
+            this.tetMesh.removeNode((TetMesh.Node)node);
+            freeIndex(((TetMesh.Node)node).index);
+        }
+
+        if(this.samplingPoints.isEmpty())
+        {
+            clearMesh();
+        }
+    }
+
+    /**
+     * Adds a sampling point to the mesh, the mesh is created for the first sampling point.
+     *
+     * @return {@code false} if the sampling point could not be added
+     */
+    private boolean addToMesh(Situation situation)
+    {
+        if(this.signalGroupIds == null)
+        {
+            createMesh(situation.getSignalGroupIds());
+        }
+        if(this.triMesh == null && this.tetMesh == null
+                || !Arrays.equals(this.signalGroupIds, situation.getSignalGroupIds()))
+        {
+            return false;
+        }
+
+        final double[] flows = situation.getFlows();
+        final int index = this.freedIndices.isEmpty() ? this.nextIndex : this.freedIndices.peek();
+        final Object node;
+
+        if(this.triMesh != null)
+        {
+            TriMesh.Node triNode = new TriMesh.Node((float)flows[0], (float)flows[1]);
+            triNode.index = index;
+            triNode.data = new SibsonInterpolator2.NodeData();
+            if(!this.triMesh.addNode(triNode)) { return false; }
+            node = triNode;
+        }
+        else
+        {
+            TetMesh.Node tetNode = new TetMesh.Node((float)flows[0], (float)flows[1], (float)flows[2]);
+            tetNode.index = index;
+            tetNode.data = new SibsonInterpolator3.NodeData();
+            if(!this.tetMesh.addNode(tetNode)) { return false; }
+            node = tetNode;
+        }
+
+        // The index is only taken if the node has been added
+        if(index == this.nextIndex)
+        {
+            this.nextIndex++;
+        }
+        else
+        {
+            this.freedIndices.pop();
+        }
+        if(index >= this.situationsForIndices.length)
+        {
+            this.situationsForIndices = Arrays.copyOf(this.situationsForIndices,
+                    Math.max(index + 1, 2 * this.situationsForIndices.length));
+        }
+        this.situationsForIndices[index] = situation;
+        this.nodesForSituations.put(situation, node);
+
+        return true;
+    }
+
+    /**
+     * Calculates the natural neighbour coordinates of the query point and stores the natural neighbours and their
+     * weights in {@link #sites} and {@link #weights}.
+     *
+     * @return the number of natural neighbours, 0 if the mesh can't be used for the query point
+     */
+    private int calculateWeights(Situation queryPoint)
+    {
+        if(this.numUnmeshed > 0 || this.signalGroupIds == null
+                || !Arrays.equals(this.signalGroupIds, queryPoint.getSignalGroupIds()))
+        {
+            return 0;
+        }
+
+        final double[] flows = queryPoint.getFlows();
+        final int numSites;
+
+        if(this.sibson2 != null)
+        {
+            SibsonInterpolator2.IndexWeight[] indexWeights =
+                    this.sibson2.getIndexWeights((float)flows[0], (float)flows[1]);
+            if(indexWeights == null) { return 0; }
+
+            numSites = indexWeights.length;
+            ensureCapacity(numSites);
+            for(int i = 0; i < numSites; i++)
+            {
+                this.sites[i] = this.situationsForIndices[indexWeights[i].index];
+                this.weights[i] = indexWeights[i].weight;
+            }
+        }
+        else if(this.sibson3 != null)
+        {
+            SibsonInterpolator3.IndexWeight[] indexWeights =
+                    this.sibson3.getIndexWeights((float)flows[0], (float)flows[1], (float)flows[2]);
+            if(indexWeights == null) { return 0; }
+
+            numSites = indexWeights.length;
+            ensureCapacity(numSites);
+            for(int i = 0; i < numSites; i++)
+            {
+                this.sites[i] = this.situationsForIndices[indexWeights[i].index];
+                this.weights[i] = indexWeights[i].weight;
+            }
+        }
+        else
+        {
+            return 0;
+        }
+
+        return numSites;
+    }
+
+    private void clearMesh()
+    {
+        this.signalGroupIds = null;
+        this.triMesh = null;
+        this.sibson2 = null;
+        this.tetMesh = null;
+        this.sibson3 = null;
+        this.nodesForSituations.clear();
+        Arrays.fill(this.situationsForIndices, null);
+        this.freedIndices.clear();
+        this.nextIndex = 0;
+        this.numUnmeshed = 0;
+    }
+
+    private void createMesh(int[] signalGroupIds)
+    {
+        this.signalGroupIds = signalGroupIds;
+
+        if(signalGroupIds.length == 2)
+        {
+            this.triMesh = new TriMesh();
+            this.sibson2 = new SibsonInterpolator2(SibsonInterpolator2.Method.HALE_LIANG, this.triMesh);
+        }
+        else if(signalGroupIds.length == MAX_MESH_DIMENSIONS)
+        {
+            this.tetMesh = new TetMesh();
+            this.sibson3 = new SibsonInterpolator3(SibsonInterpolator3.Method.HALE_LIANG, this.tetMesh);
+        }
+    }
+
+    private void ensureCapacity(int numSites)
+    {
+        if(this.weights.length < numSites)
+        {
+            this.sites = new Situation[2 * numSites];
+            this.weights = new double[2 * numSites];
+        }
+    }
+
+    /**
+     * Returns the sampling point nearest to the query point (which is always one of its natural neighbours).
+     */
+    private Situation findNearestSite(Situation queryPoint)
+    {
+        final double[] flows = queryPoint.getFlows();
+
+        if(this.triMesh != null)
+        {
+            return this.situationsForIndices[this.triMesh.findNodeNearest((float)flows[0], (float)flows[1]).index];
+        }
+        return this.situationsForIndices[
+                this.tetMesh.findNodeNearest((float)flows[0], (float)flows[1], (float)flows[2]).index];
+    }
+
+    private void freeIndex(int index)
+    {
+        this.situationsForIndices[index] = null;
+        this.freedIndices.push(index);
+    }
+}
@@ -0,0 +1,363 @@
+package de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants;
+
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * k-d tree over the flows of the sampling points of an interpolant. Finds the
+ * k nearest sampling points of a query point without calculating the distance
+ * to every sampling point.
+ * <p>
+ * The tree uses the dense flows of the situations (see
+ * {@link Situation#getFlows()}) and therefore requires that all situations
+ * have the same signal groups. Situations with other signal groups are kept
+ * but not indexed, {@link #supports(Situation)} returns {@code false} as long
+ * as such a situation is contained.
+ * <p>
+ * Removed situations are only marked as deleted. The tree is rebuilt when
+ * more than half of its nodes have been deleted or when it has become too
+ * deep.
+ */
+public class SiteIndex {
+    private final Map<Situation, Node> nodes = new HashMap<>();
+    /**
+     * Signal groups of the indexed situations, {@code null} if the index is empty.
+     */
+    private int[] signalGroupIds;
+    private Node root;
+    /**
+     * Number of nodes in the tree, including deleted nodes.
+     */
+    private int numTreeNodes;
+    private int numDeleted;
+    private int numUnindexed;
+    private long nextSequence;
+
+    // State of the current query
+    private Node[] heap = new Node[0];
+    private double[] heapDistances = new double[0];
+    private int heapSize;
+    private int k;
+    private double[] queryFlows;
+    private double maxSquaredDistance;
+
+    /**
+     * Adds a sampling point. The flows of the situation must not be changed
+     * while it is contained.
+     *
+     * @param site to be added
+     */
+    public final void add(final Situation site) {
+        final Node node = new Node(site, nextSequence++);
+        final Node previous = nodes.put(site, node);
+        if (previous != null) {
+            markRemoved(previous);
+        }
+
+        if (signalGroupIds == null) {
+            signalGroupIds = site.getSignalGroupIds();
+        }
+        if (signalGroupIds.length == 0 || !Arrays.equals(signalGroupIds, site.getSignalGroupIds())) {
+            node.indexed = false;
+            numUnindexed++;
+            return;
+        }
+
+        insert(node);
+    }
+
+    /**
+     * Removes all sampling points.
+     */
+    public final void clear() {
+        nodes.clear();
+        signalGroupIds = null;
+        root = null;
+        numTreeNodes = 0;
+        numDeleted = 0;
+        numUnindexed = 0;
+    }
+
+    private void insert(final Node node) {
+        final int dimensions = signalGroupIds.length;
+        numTreeNodes++;
+
+        if (root == null) {
+            root = node;
+            return;
+        }
+
+        Node parent = root;
+        int depth = 1;
+        while (true) {
+            final int axis = (depth - 1) % dimensions;
+            if (node.point[axis] < parent.point[axis]) {
+                if (parent.left == null) {
+                    parent.left = node;
+                    break;
+                }
+                parent = parent.left;
+            } else {
+                if (parent.right == null) {
+                    parent.right = node;
+                    break;
+                }
+                parent = parent.right;
+            }
+            depth++;
+        }
+
+        // Rebuild if the tree degenerates (e.g. for monotonically increasing flows)
+        if (depth > 2 * (32 - Integer.numberOfLeadingZeros(numTreeNodes)) + 4) {
+            rebuild();
+        }
+    }
+
+    private void markRemoved(final Node node) {
+        if (!node.indexed) {
+            numUnindexed--;
+            return;
+        }
+
+        node.deleted = true;
+        numDeleted++;
+        if (2 * numDeleted > numTreeNodes) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Determines the nearest sampling points of the query point, ordered by
+     * increasing distance. Sampling points with the same distance are ordered
+     * by decreasing insertion order.
+     *
+     * @param queryPoint the query point, see {@link #supports(Situation)}
+     * @param k          maximum number of sampling points
+     * @param radius     maximum distance of the sampling points
+     * @param sites      receives the nearest sampling points, at least {@code k} entries
+     * @param distances  receives the euclidean distances of the sampling points, at least {@code k} entries
+     * @return the number of sampling points found
+     */
+    public final int nearest(final Situation queryPoint, final int k, final double radius,
+                             final Situation[] sites, final double[] distances) {
+        if (heap.length < k) {
+            heap = new Node[k];
+            heapDistances = new double[k];
+        }
+        this.heapSize = 0;
+        this.k = k;
+        this.queryFlows = queryPoint.getFlows();
+        this.maxSquaredDistance = radius * radius;
+
+        if (k > 0) {
+            search(root, 0);
+        }
+
+        final int count = heapSize;
+        while (heapSize > 0) {
+            final int i = heapSize - 1;
+            sites[i] = heap[0].site;
+            distances[i] = Math.sqrt(heapDistances[0]);
+            removeTop();
+        }
+        this.queryFlows = null;
+
+        return count;
+    }
+
+    private void offer(final Node node, final double squaredDistance) {
+        if (squaredDistance > maxSquaredDistance) {
+            return;
+        }
+
+        if (heapSize < k) {
+            heap[heapSize] = node;
+            heapDistances[heapSize] = squaredDistance;
+            siftUp(heapSize++);
+        } else if (isWorse(heap[0], heapDistances[0], node, squaredDistance)) {
+            heap[0] = node;
+            heapDistances[0] = squaredDistance;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Checks whether sampling point {@code a} is farther from the query point than {@code b}.
+     */
+    private static boolean isWorse(final Node a, final double distanceA, final Node b, final double distanceB) {
+        return distanceA > distanceB || distanceA == distanceB && a.sequence < b.sequence;
+    }
+
+    private void rebuild() {
+        final List<Node> live = new ArrayList<>(numTreeNodes - numDeleted);
+        collect(root, live);
+        root = build(live.toArray(new Node[live.size()]), 0, live.size(), 0);
+        numTreeNodes = live.size();
+        numDeleted = 0;
+    }
+
+    private static void collect(final Node node, final List<Node> live) {
+        if (node == null) {
+            return;
+        }
+        collect(node.left, live);
+        if (!node.deleted) {
+            live.add(node);
+        }
+        collect(node.right, live);
+    }
+
+    private Node build(final Node[] nodes, final int from, final int to, final int depth) {
+        if (from >= to) {
+            return null;
+        }
+
+        final int axis = depth % signalGroupIds.length;
+        Arrays.sort(nodes, from, to, Comparator.comparingDouble(node -> node.point[axis]));
+
+        // Nodes with the same coordinate as the median belong to the right subtree
+        int median = (from + to) >>> 1;
+        while (median > from && nodes[median - 1].point[axis] == nodes[median].point[axis]) {
+            median--;
+        }
+
+        final Node node = nodes[median];
+        node.left = build(nodes, from, median, depth + 1);
+        node.right = build(nodes, median + 1, to, depth + 1);
+        return node;
+    }
+
+    /**
+     * Removes a sampling point.
+     *
+     * @param site to be removed
+     * @return {@code true} if the sampling point was contained
+     */
+    public final boolean remove(final Object site) {
+        final Node node = nodes.remove(site);
+        if (node == null) {
+            return false;
+        }
+
+        markRemoved(node);
+        if (nodes.isEmpty()) {
+            clear();
+        }
+        return true;
+    }
+
+    private void removeTop() {
+        heapSize--;
+        heap[0] = heap[heapSize];
+        heapDistances[0] = heapDistances[heapSize];
+        heap[heapSize] = null;
+        if (heapSize > 0) {
+            siftDown(0);
+        }
+    }
+
+    private void search(final Node node, final int depth) {
+        if (node == null) {
+            return;
+        }
+
+        final int axis = depth % queryFlows.length;
+        final double diff = queryFlows[axis] - node.point[axis];
+        search(diff < 0 ? node.left : node.right, depth + 1);
+
+        if (!node.deleted) {
+            double sum = 0.0;
+            for (int i = 0; i < queryFlows.length; i++) {
+                final double d = node.point[i] - queryFlows[i];
+                sum += d * d;
+            }
+            offer(node, sum);
+        }
+
+        // Equal distances have to be visited as well to order them by insertion
+        final double bound = heapSize < k ? maxSquaredDistance : Math.min(maxSquaredDistance, heapDistances[0]);
+        if (diff * diff <= bound) {
+            search(diff < 0 ? node.right : node.left, depth + 1);
+        }
+    }
+
+    private void siftDown(int i) {
+        final Node node = heap[i];
+        final double distance = heapDistances[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isWorse(heap[child + 1], heapDistances[child + 1], heap[child], heapDistances[child])) {
+                child++;
+            }
+            if (!isWorse(heap[child], heapDistances[child], node, distance)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapDistances[i] = heapDistances[child];
+            i = child;
+        }
+        heap[i] = node;
+        heapDistances[i] = distance;
+    }
+
+    private void siftUp(int i) {
+        final Node node = heap[i];
+        final double distance = heapDistances[i];
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (!isWorse(node, distance, heap[parent], heapDistances[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heapDistances[i] = heapDistances[parent];
+            i = parent;
+        }
+        heap[i] = node;
+        heapDistances[i] = distance;
+    }
+
+    /**
+     * Returns the number of sampling points.
+     */
+    public final int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Checks whether {@link #nearest} can be used for the given query point,
+     * i.e. whether all sampling points and the query point have the same
+     * signal groups.
+     */
+    public final boolean supports(final Situation queryPoint) {
+        return numUnindexed == 0
+                && (signalGroupIds == null || Arrays.equals(signalGroupIds, queryPoint.getSignalGroupIds()));
+    }
+
+    private static final class Node {
+        private final Situation site;
+        private final double[] point;
+        /**
+         * Insertion order, used to order sampling points with the same distance.
+         */
+        private final long sequence;
+        private Node left;
+        private Node right;
+        private boolean deleted;
+        private boolean indexed = true;
+
+        private Node(final Situation site, final long sequence) {
+            this.site = site;
+            this.point = site.getFlows();
+            this.sequence = sequence;
+        }
+    }
+}
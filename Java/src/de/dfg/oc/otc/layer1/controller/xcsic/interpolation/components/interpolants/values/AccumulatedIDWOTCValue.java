@@ -33,25 +33,46 @@ import java.util.Map;
  * - The action (TrafficLightControllerParameters) of the nearest neighbor
  * - The interpolated action based on the weights of all sites for the formerly passed situation
  * - The weights of the actions which belong to the sites of the interpolant for the formerly passed situation
+ * - An error bound if only the nearest sites have been used (see {@link #getWeightErrorBound()})
  *
  * @author Anthony Stein (edited by rauhdomi)
  */
 public class AccumulatedIDWOTCValue extends OTCValue
 {
     private Map<TrafficLightControllerParameters, Double> weightsForAction;
+    private double weightErrorBound;
 
     public AccumulatedIDWOTCValue(Situation nearestNeighborSituation,
                                   TrafficLightControllerParameters nearestNeighborAction,
                                   TrafficLightControllerParameters interpolatedAction,
                                   Map<TrafficLightControllerParameters, Double> weightsForAction) {
+        this(nearestNeighborSituation, nearestNeighborAction, interpolatedAction, weightsForAction, 0.0);
+    }
+
+    public AccumulatedIDWOTCValue(Situation nearestNeighborSituation,
+                                  TrafficLightControllerParameters nearestNeighborAction,
+                                  TrafficLightControllerParameters interpolatedAction,
+                                  Map<TrafficLightControllerParameters, Double> weightsForAction,
+                                  double weightErrorBound) {
         super(nearestNeighborSituation, nearestNeighborAction, interpolatedAction);
         this.weightsForAction = weightsForAction;
+        this.weightErrorBound = weightErrorBound;
     }
 
     public Map<TrafficLightControllerParameters, Double> getWeightsForActions() {
         return weightsForAction;
     }
 
+    /**
+     * Returns an upper bound for the share of the total weight that belongs to sampling points which have been
+     * ignored because the interpolation was limited to the nearest sampling points. The interpolated green times
+     * differ from the exact interpolation by at most this share times the range of the green times of the sampling
+     * points. Zero if all sampling points have been used.
+     */
+    public double getWeightErrorBound() {
+        return weightErrorBound;
+    }
+
     public double getAccumulatedIDWeightForActionHash(int actionHash) {
 
         for(Map.Entry<TrafficLightControllerParameters, Double> entry : weightsForAction.entrySet())
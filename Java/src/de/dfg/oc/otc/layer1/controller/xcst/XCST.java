@@ -10,12 +10,12 @@ import de.dfg.oc.otc.layer2.OptimisationResult;
 import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.OTCNode;
 import de.dfg.oc.otc.region.OTCNodeSynchronized;
+import de.dfg.oc.otc.tools.AsyncLogWriter;
 import forecasting.DefaultForecastParameters;
 import org.apache.log4j.Logger;
 
 import java.io.*;
 import java.util.Arrays;
-import java.util.Formatter;
 import java.util.stream.Collectors;
 
 /**
@@ -67,6 +67,7 @@ public class XCST extends AbstractTLCSelector {
     private XCST(final Attribute attribute, final String populationFile) {
         setAttribute(attribute);
         this.population.setUpdateIds(true);
+        this.population.enableMatchIndex();
         loadMappingFromFile(populationFile);
     }
 
@@ -83,6 +84,7 @@ public class XCST extends AbstractTLCSelector {
         this.constants = LCSConstants.getInstance();
         // Population keeps track of classifier ids
         this.population.setUpdateIds(true);
+        this.population.enableMatchIndex();
 
         this.turningBasedSituation = DefaultParams.TURNING_BASED_SITUATION;
 
@@ -518,24 +520,11 @@ public class XCST extends AbstractTLCSelector {
         }
 
         if (DefaultParams.LOG_LCS_DATA) {
-            try {
-                final FileOutputStream situationsLogFile = new FileOutputStream("logs/"
-                        + OTCManager.getInstance().getFilenamePrefix() + "_XCST_SituationAction_"
-                        + this.managedNode.getId() + ".csv", true);
-                final PrintStream situationsLog = new PrintStream(situationsLogFile);
-
-                final Formatter f = new Formatter();
-                situationsLog.println(f.format("%.2f; %s; %s; %.0f; %s", OTCManager.getInstance().getTime(),
-                        Arrays.toString(situation), action.toString(), action.getCycleTime(), newAction));
-
-                situationsLog.close();
-                situationsLogFile.close();
-                f.close();
-            } catch (FileNotFoundException e) {
-                log.error("A FileNotFoundException occurred.", e);
-            } catch (IOException e) {
-                log.error("An IOException occurred.", e);
-            }
+            final String situationsLogFile = "logs/" + OTCManager.getInstance().getFilenamePrefix()
+                    + "_XCST_SituationAction_" + this.managedNode.getId() + ".csv";
+            final String line = String.format("%.2f; %s; %s; %.0f; %s", OTCManager.getInstance().getTime(),
+                    Arrays.toString(situation), action.toString(), action.getCycleTime(), newAction);
+            AsyncLogWriter.getInstance().println(situationsLogFile, line);
         }
 
         // Store the current action
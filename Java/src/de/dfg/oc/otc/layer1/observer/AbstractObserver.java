@@ -12,7 +12,7 @@ import java.util.*;
  *
  * @author rochner
  */
-public abstract class AbstractObserver implements Observer {
+public abstract class AbstractObserver {
     /**
      * Map, um von der Id eines Netzwerk-Objekts einfach auf den Eintrag in der
      * DataStorage-Liste zu kommen (beschleunigt das Update).
@@ -24,7 +24,7 @@ public abstract class AbstractObserver implements Observer {
     }
 
     public final void clearAllObservers() {
-        observedObjectsMap.values().forEach(DataStorage::deleteObservers);
+        observedObjectsMap.values().forEach(DataStorage::unsubscribeAll);
     }
 
     public float getAverageValue(final int objectId, final int feature, final float timeInterval)
@@ -103,6 +103,4 @@ public abstract class AbstractObserver implements Observer {
     public final Collection<DataStorage> getStorages() {
         return observedObjectsMap.values();
     }
-
-    public abstract void update(final Observable o, final Object arg);
 }
@@ -2,9 +2,9 @@ package de.dfg.oc.otc.layer1.observer;
 
 import de.dfg.oc.otc.layer1.observer.monitoring.*;
 import de.dfg.oc.otc.manager.OTCManagerException;
+import de.dfg.oc.otc.manager.aimsun.detectors.CurrentDetectorValue;
 import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
-
-import java.util.Observable;
+import de.dfg.oc.otc.tools.Subscriber;
 
 /**
  * Diese Klasse implementiert einen Observer f�r eine beliebige Anzahl von
@@ -14,7 +14,7 @@ import java.util.Observable;
  *
  * @author rochner
  */
-public class DetectorObserver extends AbstractObserver {
+public class DetectorObserver extends AbstractObserver implements Subscriber<Detector, CurrentDetectorValue> {
     public DetectorObserver() {
         super();
     }
@@ -27,7 +27,7 @@ public class DetectorObserver extends AbstractObserver {
         for (Detector detector : detectors) {
             DetectorDataStorage storage = new DetectorDataStorage(detector);
             observedObjectsMap.put(detector.getId(), storage);
-            detector.addObserver(this);
+            detector.subscribe(this);
         }
     }
 
@@ -37,7 +37,7 @@ public class DetectorObserver extends AbstractObserver {
     public final void addDetector(final Detector detector) {
         final DetectorDataStorage detectorStorage = new DetectorDataStorage(detector);
         observedObjectsMap.put(detector.getId(), detectorStorage);
-        detector.addObserver(this);
+        detector.subscribe(this);
     }
 
     @Override
@@ -51,14 +51,13 @@ public class DetectorObserver extends AbstractObserver {
         }
     }
 
-    public final void update(final Observable o, final Object arg) {
-        final Detector obsDetector = (Detector) o;
-        if (arg == null) {
+    @Override
+    public final void update(final Detector obsDetector, final CurrentDetectorValue value) {
+        if (value == null) {
             // Es ist ein Neustart erfolgt, History l�schen.
             observedObjectsMap.values().forEach(DataStorage::reset);
             return;
         }
-        final DataEntry value = (DetectorDataValue) arg;
         final DetectorDataStorage storage = (DetectorDataStorage) observedObjectsMap.get(obsDetector.getId());
         if (storage != null) {
             storage.addDatum(value);
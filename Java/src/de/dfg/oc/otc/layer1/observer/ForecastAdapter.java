@@ -8,7 +8,7 @@
 package de.dfg.oc.otc.layer1.observer;
 
 import de.dfg.oc.otc.manager.OTCManager;
-import de.dfg.oc.otc.tools.LimitedQueue;
+import de.dfg.oc.otc.tools.DoubleRingBuffer;
 import forecasting.DefaultForecastParameters;
 import forecasting.ForecastModule;
 
@@ -35,7 +35,7 @@ public class ForecastAdapter {
      * These sensor values are averaged in case the storage is full.
      * Moving window.
      */
-    private LimitedQueue<Double> temporaryStorage;
+    private DoubleRingBuffer temporaryStorage;
 
     /**
      * Initialises the underlying forecast module.
@@ -47,7 +47,7 @@ public class ForecastAdapter {
         if (this.active) {
             this.forecastInterval = forecastInterval;
             this.forecastModule = new ForecastModule();
-            this.temporaryStorage = new LimitedQueue<>(forecastInterval);
+            this.temporaryStorage = new DoubleRingBuffer(forecastInterval);
         }
     }
 
@@ -56,11 +56,7 @@ public class ForecastAdapter {
             return Double.NaN;
         }
 
-        float sum = 0;
-        for (double sensorValue : this.temporaryStorage) {
-            sum += sensorValue;
-        }
-        return sum / this.temporaryStorage.size();
+        return this.temporaryStorage.getAverage();
     }
 
     public float getForecastHorizon() {
@@ -115,7 +111,7 @@ public class ForecastAdapter {
 
     public final void setStorageSize(int size) {
         if (active) {
-            this.temporaryStorage.setLimit(size);
+            this.temporaryStorage.setCapacity(size);
             this.forecastInterval = size;
         }
     }
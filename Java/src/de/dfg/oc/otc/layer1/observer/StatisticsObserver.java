@@ -4,8 +4,7 @@ import de.dfg.oc.otc.layer1.observer.monitoring.*;
 import de.dfg.oc.otc.manager.OTCManagerException;
 import de.dfg.oc.otc.manager.aimsun.Section;
 import de.dfg.oc.otc.manager.aimsun.Turning;
-
-import java.util.Observable;
+import de.dfg.oc.otc.tools.Subscriber;
 
 /**
  * Diese Klasse implementiert einen Observer f�r eine beliebige Anzahl von
@@ -14,7 +13,8 @@ import java.util.Observable;
  *
  * @author rochner
  */
-public class StatisticsObserver extends AbstractObserver {
+public class StatisticsObserver extends AbstractObserver
+        implements Subscriber<AbstractObservableStatistics, StatisticalDataValue> {
     /**
      * Erzeugt einen neuen Observer.
      *
@@ -27,7 +27,7 @@ public class StatisticsObserver extends AbstractObserver {
         for (AbstractObservableStatistics statistics : observables) {
             StatisticalDataStorage storage = new StatisticalDataStorage(statistics);
             observedObjectsMap.put(statistics.getId(), storage);
-            statistics.addObserver(this);
+            statistics.subscribe(this);
         }
     }
 
@@ -98,23 +98,16 @@ public class StatisticsObserver extends AbstractObserver {
         return sectionIDs;
     }
 
-    public final void update(final Observable o, final Object arg) {
-        if (o instanceof Turning) {
-            if (arg == null) {
+    @Override
+    public final void update(final AbstractObservableStatistics statistics, final StatisticalDataValue value) {
+        if (statistics instanceof Turning) {
+            if (value == null) {
                 // Reset, delete history.
                 observedObjectsMap.values().forEach(DataStorage::reset);
                 return;
             }
 
-            StatisticalDataValue value;
-            try {
-                value = (StatisticalDataValue) arg;
-            } catch (RuntimeException e) {
-                throw new OTCManagerException("arg is no StatisticalDataValue");
-            }
-
-            final Turning turning = (Turning) o;
-            final StatisticalDataStorage storage = (StatisticalDataStorage) observedObjectsMap.get(turning.getId());
+            final StatisticalDataStorage storage = (StatisticalDataStorage) observedObjectsMap.get(statistics.getId());
             if (storage != null) {
                 storage.addDatum(value);
             }
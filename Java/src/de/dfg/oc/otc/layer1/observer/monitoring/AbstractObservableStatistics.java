@@ -1,15 +1,21 @@
 package de.dfg.oc.otc.layer1.observer.monitoring;
 
 import de.dfg.oc.otc.manager.OTCManagerException;
+import de.dfg.oc.otc.tools.Subscriber;
+import de.dfg.oc.otc.tools.Topic;
 
 import java.io.Serializable;
-import java.util.Observable;
 
 /**
  * @author rochner
  */
-public abstract class AbstractObservableStatistics extends Observable implements Serializable {
+public abstract class AbstractObservableStatistics implements Serializable {
     protected StatisticalDataValue statisticalValue;
+    /**
+     * Erhält die aufbereiteten statistischen Werte. Wird nicht serialisiert
+     * (wie zuvor die Observer von {@code Observable}).
+     */
+    private transient volatile Topic<AbstractObservableStatistics, StatisticalDataValue> valueTopic;
     /**
      * Unprocess raw data from Aimsun.
      */
@@ -45,8 +51,10 @@ public abstract class AbstractObservableStatistics extends Observable implements
 
         setStatisticalValue(rawData);
 
-        setChanged();
-        notifyObservers(statisticalValue.clone());
+        final Topic<AbstractObservableStatistics, StatisticalDataValue> topic = this.valueTopic;
+        if (topic != null && topic.countSubscribers() > 0) {
+            topic.publish(this, statisticalValue.clone());
+        }
 
         // Falls Zeitpunkt gleich Reset -> previousData zur�cksetzen.
         if (reset) {
@@ -95,6 +103,24 @@ public abstract class AbstractObservableStatistics extends Observable implements
                 delayTime, stopTime, queueLength, numStops, averageSpeed, speedDeviation, maxQueueLength});
     }
 
+    /**
+     * Registriert einen Subscriber für die aufbereiteten statistischen Werte.
+     */
+    public final synchronized void subscribe(
+            final Subscriber<? super AbstractObservableStatistics, ? super StatisticalDataValue> subscriber) {
+        if (valueTopic == null) {
+            valueTopic = new Topic<>();
+        }
+        valueTopic.subscribe(subscriber);
+    }
+
+    public final synchronized void unsubscribe(
+            final Subscriber<? super AbstractObservableStatistics, ? super StatisticalDataValue> subscriber) {
+        if (valueTopic != null) {
+            valueTopic.unsubscribe(subscriber);
+        }
+    }
+
     public abstract int getId();
 
     public abstract String printStatisticalData();
@@ -0,0 +1,285 @@
+package de.dfg.oc.otc.layer1.observer.monitoring;
+
+/**
+ * Primitive ring buffer holding the relevant entries of a {@link DataStorage}.
+ * Time stamps and feature values are stored column-wise in {@code float}
+ * arrays. For every feature, running prefix sums (number of valid values, sum
+ * of values, sum of values weighted by their time stamp, and the trapezoid
+ * integral over all valid values) are maintained on insertion, so that sums
+ * over arbitrary index ranges are available in constant time and time windows
+ * can be located by binary search.
+ * <p>
+ * Time stamps are expected to be non-decreasing. Invalid values are
+ * represented by {@code Float.NaN} and are ignored by all sums.
+ */
+final class DataRingBuffer {
+    /**
+     * Maximum number of entries. The internal arrays hold one additional slot
+     * that keeps the prefix sums of the entry preceding the oldest one.
+     */
+    private final int capacity;
+    private final int slots;
+    private final float[] times;
+    private final float[][] values;
+    /**
+     * Running number of valid (non-NaN) values per feature.
+     */
+    private final int[][] validCounts;
+    /**
+     * Running sum of valid values per feature.
+     */
+    private final double[][] valueSums;
+    /**
+     * Running sum of valid values multiplied with their time stamp per
+     * feature.
+     */
+    private final double[][] weightedSums;
+    /**
+     * Running trapezoid integral over consecutive valid values per feature.
+     */
+    private final double[][] integrals;
+    private final float[] lastValidTimes;
+    private final float[] lastValidValues;
+    /**
+     * Number of columns in use (set with the first entry).
+     */
+    private int numColumns;
+    /**
+     * Absolute position of the oldest entry.
+     */
+    private long first;
+    private int size;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity   maximum number of entries, older entries are overwritten
+     * @param maxColumns maximum number of features per entry
+     */
+    DataRingBuffer(final int capacity, final int maxColumns) {
+        this.capacity = capacity;
+        this.slots = capacity + 1;
+        this.times = new float[slots];
+        this.values = new float[maxColumns][];
+        this.validCounts = new int[maxColumns][];
+        this.valueSums = new double[maxColumns][];
+        this.weightedSums = new double[maxColumns][];
+        this.integrals = new double[maxColumns][];
+        this.lastValidTimes = new float[maxColumns];
+        this.lastValidValues = new float[maxColumns];
+        clear();
+    }
+
+    /**
+     * Appends a new entry. If the buffer is full, the oldest entry is dropped.
+     *
+     * @param time        time stamp of the entry
+     * @param entryValues values of the entry (one per column)
+     */
+    void add(final float time, final float[] entryValues) {
+        if (numColumns == 0) {
+            allocateColumns(entryValues.length);
+        }
+
+        if (size == capacity) {
+            first++;
+        } else {
+            size++;
+        }
+
+        final int slot = slot(first + size - 1);
+        final int previousSlot = slot(first + size - 2);
+        times[slot] = time;
+
+        for (int c = 0; c < numColumns; c++) {
+            final float value = c < entryValues.length ? entryValues[c] : Float.NaN;
+            values[c][slot] = value;
+
+            if (Float.isNaN(value)) {
+                validCounts[c][slot] = validCounts[c][previousSlot];
+                valueSums[c][slot] = valueSums[c][previousSlot];
+                weightedSums[c][slot] = weightedSums[c][previousSlot];
+                integrals[c][slot] = integrals[c][previousSlot];
+            } else {
+                validCounts[c][slot] = validCounts[c][previousSlot] + 1;
+                valueSums[c][slot] = valueSums[c][previousSlot] + value;
+                weightedSums[c][slot] = weightedSums[c][previousSlot] + (double) value * time;
+
+                double integral = integrals[c][previousSlot];
+                if (!Float.isNaN(lastValidValues[c])) {
+                    integral += (value + lastValidValues[c]) * (time - lastValidTimes[c]) * 0.5;
+                }
+                integrals[c][slot] = integral;
+
+                lastValidTimes[c] = time;
+                lastValidValues[c] = value;
+            }
+        }
+    }
+
+    private void allocateColumns(final int columns) {
+        this.numColumns = Math.min(columns, values.length);
+        for (int c = 0; c < numColumns; c++) {
+            values[c] = new float[slots];
+            validCounts[c] = new int[slots];
+            valueSums[c] = new double[slots];
+            weightedSums[c] = new double[slots];
+            integrals[c] = new double[slots];
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        this.first = 0;
+        this.size = 0;
+        for (int c = 0; c < numColumns; c++) {
+            final int slot = slot(-1);
+            validCounts[c][slot] = 0;
+            valueSums[c][slot] = 0;
+            weightedSums[c][slot] = 0;
+            integrals[c][slot] = 0;
+        }
+        for (int c = 0; c < lastValidValues.length; c++) {
+            lastValidTimes[c] = Float.NaN;
+            lastValidValues[c] = Float.NaN;
+        }
+    }
+
+    /**
+     * Returns the number of valid values of a column in the index range
+     * {@code [from, to]}.
+     */
+    int countValid(final int column, final int from, final int to) {
+        if (to < from) {
+            return 0;
+        }
+        return validCounts[column][slot(first + to)] - validCounts[column][slot(first + from - 1)];
+    }
+
+    /**
+     * Returns the index of the newest entry in {@code [0, to]} holding a valid
+     * value for the given column, or -1 if there is none.
+     */
+    int lastValidIndex(final int column, final int to) {
+        return indexOfValidFromEnd(column, to, 1);
+    }
+
+    /**
+     * Returns the index of the {@code rank}-th valid value of a column,
+     * counted backwards from {@code to} (inclusive). Returns -1 if the range
+     * {@code [0, to]} contains less than {@code rank} valid values.
+     */
+    int indexOfValidFromEnd(final int column, final int to, final int rank) {
+        if (rank <= 0 || countValid(column, 0, to) < rank) {
+            return -1;
+        }
+
+        // Largest index k with countValid(k, to) >= rank
+        int low = 0;
+        int high = to;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (countValid(column, mid, to) >= rank) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first valid value of a column in
+     * {@code [from, size - 1]}, or -1 if there is none.
+     */
+    int firstValidIndex(final int column, final int from) {
+        if (countValid(column, from, size - 1) == 0) {
+            return -1;
+        }
+
+        int low = from;
+        int high = size - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (countValid(column, from, mid) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the largest index in {@code [0, to]} whose age relative to the
+     * given reference time ({@code referenceTime - time(index)}) is at least
+     * {@code minAge} (or strictly greater if {@code strict} is set). The age
+     * is computed in float arithmetic to yield the same result as a linear
+     * scan. Returns -1 if no entry is old enough.
+     */
+    int lastIndexOlderThan(final float referenceTime, final float minAge, final boolean strict, final int to) {
+        int low = -1;
+        int high = to;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            final float age = referenceTime - time(mid);
+            if (strict ? age > minAge : age >= minAge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the trapezoid integral of a column between the valid values at
+     * the indices {@code from} and {@code to}.
+     */
+    double integral(final int column, final int from, final int to) {
+        return integrals[column][slot(first + to)] - integrals[column][slot(first + from)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the sum of all valid values of a column in {@code [from, to]}.
+     */
+    double sum(final int column, final int from, final int to) {
+        if (to < from) {
+            return 0;
+        }
+        return valueSums[column][slot(first + to)] - valueSums[column][slot(first + from - 1)];
+    }
+
+    float time(final int index) {
+        return times[slot(first + index)];
+    }
+
+    float value(final int column, final int index) {
+        return values[column][slot(first + index)];
+    }
+
+    /**
+     * Returns the sum of all valid values of a column in {@code [from, to]},
+     * each multiplied with its time stamp.
+     */
+    double weightedSum(final int column, final int from, final int to) {
+        if (to < from) {
+            return 0;
+        }
+        return weightedSums[column][slot(first + to)] - weightedSums[column][slot(first + from - 1)];
+    }
+
+    private int slot(final long position) {
+        return (int) Math.floorMod(position, (long) slots);
+    }
+}
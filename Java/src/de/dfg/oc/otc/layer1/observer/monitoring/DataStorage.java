@@ -2,11 +2,8 @@ package de.dfg.oc.otc.layer1.observer.monitoring;
 
 import de.dfg.oc.otc.config.DefaultParams;
 import de.dfg.oc.otc.manager.OTCManagerException;
-import de.dfg.oc.otc.tools.LimitedQueue;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Observable;
+import de.dfg.oc.otc.tools.Subscriber;
+import de.dfg.oc.otc.tools.Topic;
 
 /**
  * Speichert Messwerte, z. B. von Detektoren oder statistischen Funktionen, und
@@ -16,7 +13,7 @@ import java.util.Observable;
  *
  * @author rochner
  */
-public abstract class DataStorage extends Observable {
+public abstract class DataStorage {
     /**
      * Anzahl von g�ltigen Me�werten, die mindestens in einen Durchschnitt
      * eingehen m�ssen, damit dieser zur�ckgegeben wird. Sonst NaN oder
@@ -32,9 +29,11 @@ public abstract class DataStorage extends Observable {
     /**
      * Liste mit allen relevanten DataEntries. Relevant ist ein Eintrag,
      * wenn er g�ltige Daten enth�lt und sich mindestens eine Komponente dieser
-     * Daten vom vorhergehenden Eintrag unterscheidet.
+     * Daten vom vorhergehenden Eintrag unterscheidet. Die Werte werden
+     * spaltenweise mit laufenden Präfixsummen gespeichert, so dass
+     * Durchschnitte über Zeitfenster ohne Iteration berechnet werden können.
      */
-    final LimitedQueue<DataEntry> entries;
+    final DataRingBuffer entries;
     /**
      * Wird verwendet, um bei nicht vorhandenen Features (abgeschaltet �ber
      * disableFeature) das Mapping anzupassen.
@@ -52,18 +51,23 @@ public abstract class DataStorage extends Observable {
      */
     DataEntry lastEntry;
     int numDisabledFeatures;
+    /**
+     * Erhält jeden neuen Messwert (z. B. für die GUI).
+     */
+    private final Topic<DataStorage, DataEntry> entryTopic = new Topic<>();
 
     /**
      * Erzeugt ein neues Objekt.
      *
      * @param capabilities Anzahl der maximal zu berücksichtigenden Features. Mapping
      *                     erfolgt in den erweiternden Klassen.
+     * @param capacity     Maximale Anzahl gespeicherter Einträge.
      */
-    DataStorage(final MeasurementCapabilities capabilities) {
-        this.entries = new LimitedQueue<>(500);
+    DataStorage(final MeasurementCapabilities capabilities, final int capacity) {
         initialiseDefaultParams();
         this.capabilities = capabilities;
         this.numFeatures = capabilities.getNumFeatures();
+        this.entries = new DataRingBuffer(capacity, numFeatures);
         this.featureMap = new int[numFeatures];
         this.averages = new Average[numFeatures];
 
@@ -80,6 +84,28 @@ public abstract class DataStorage extends Observable {
      */
     public abstract void addDatum(DataEntry datum);
 
+    /**
+     * Benachrichtigt die Subscriber über einen neuen Messwert.
+     */
+    final void publish(final DataEntry datum) {
+        entryTopic.publish(this, datum);
+    }
+
+    /**
+     * Registriert einen Subscriber, der jeden neuen Messwert erhält.
+     */
+    public final void subscribe(final Subscriber<? super DataStorage, ? super DataEntry> subscriber) {
+        entryTopic.subscribe(subscriber);
+    }
+
+    public final void unsubscribe(final Subscriber<? super DataStorage, ? super DataEntry> subscriber) {
+        entryTopic.unsubscribe(subscriber);
+    }
+
+    public final void unsubscribeAll() {
+        entryTopic.unsubscribeAll();
+    }
+
     /**
      * Werden Features nicht genutzt, k�nnen sie deaktiviert werden, um
      * Speicherplatz zu sparen.
@@ -115,18 +141,6 @@ public abstract class DataStorage extends Observable {
         return output;
     }
 
-    /**
-     * Gibt den letzten Eintrag zur�ck.
-     *
-     * @return Letzter gespeicherter Eintrag.
-     */
-    final DataEntry getLastRelevantDatum() {
-        if (entries.isEmpty()) {
-            throw new OTCManagerException("No data!");
-        }
-        return entries.get(entries.size() - 1);
-    }
-
     /**
      * Gibt den letzten Eintrag f�r ein bestimmtes Feature zur�ck.
      *
@@ -137,7 +151,7 @@ public abstract class DataStorage extends Observable {
         if (entries.isEmpty()) {
             throw new OTCManagerException("No entries available");
         }
-        return entries.get(entries.size() - 1).getValues()[getMappedFeature(feature)];
+        return entries.value(getMappedFeature(feature), entries.size() - 1);
     }
 
     /**
@@ -178,7 +192,7 @@ public abstract class DataStorage extends Observable {
             throw new OTCManagerException("Unknown feature");
         }
 
-        if (getLastRelevantDatum() == null) {
+        if (entries.isEmpty()) {
             throw new OTCManagerException("No data!");
         }
 
@@ -188,69 +202,60 @@ public abstract class DataStorage extends Observable {
         }
 
         final int mappedFeature = featureMap[feature];
-
         final float currentTime = lastEntry.getTime();
-        DataEntry sdv = null;
+        final int size = entries.size();
+
         float average = 0;
         float time = 0;
-        int index = entries.size();
         int validEntries = 0;
+        boolean visited = false;
 
-        if (index > 3) {
+        if (size > 3) {
             if (isVehicleBased(feature)) {
                 // F�r diskrete Messwerte
-                // Summe der g�ltigen Messwerte bilden
-                do {
-                    index--;
-                    sdv = entries.get(index);
-                    time = currentTime - sdv.getTime();
-
-                    if (index == 0 || time >= timeInterval + smoothInterval) {
-                        break;
-                    }
-
-                    if (!Float.isNaN(sdv.getValues()[mappedFeature])) {
-                        float value = sdv.getValues()[mappedFeature];
-
-                        if (time < smoothInterval) {
-                            value = value * time / smoothInterval;
-                        } else if (time > timeInterval) {
-                            value = value * (timeInterval + smoothInterval - time) / smoothInterval;
-                            if (value < 0) {
-                                value = 0;
-                            }
-                        }
-
-                        average += value;
-                        validEntries++;
-                    }
-                } while (time < timeInterval + smoothInterval);
+                // Erster nicht mehr berücksichtigter Eintrag
+                final int oldest = Math.max(entries.lastIndexOlderThan(currentTime, timeInterval + smoothInterval,
+                        false, size - 1), 0);
+                time = currentTime - entries.time(oldest);
+                visited = true;
+
+                // Einträge jünger als smoothInterval: Gewicht steigt linear an
+                final int lastFull = entries.lastIndexOlderThan(currentTime, smoothInterval, false, size - 1);
+                // Einträge älter als timeInterval: Gewicht fällt linear ab
+                final int lastDecreasing = Math.min(lastFull,
+                        entries.lastIndexOlderThan(currentTime, timeInterval, true, size - 1));
+
+                final int first = oldest + 1;
+                final int increasingStart = Math.max(first, lastFull + 1);
+                final int decreasingEnd = Math.min(lastDecreasing, size - 1);
+                final int fullStart = Math.max(first, lastDecreasing + 1);
+                final int fullEnd = Math.min(lastFull, size - 1);
+
+                double sum = (currentTime * entries.sum(mappedFeature, increasingStart, size - 1)
+                        - entries.weightedSum(mappedFeature, increasingStart, size - 1)) / smoothInterval;
+                sum += ((timeInterval + smoothInterval - currentTime) * entries.sum(mappedFeature, first, decreasingEnd)
+                        + entries.weightedSum(mappedFeature, first, decreasingEnd)) / smoothInterval;
+                sum += entries.sum(mappedFeature, fullStart, fullEnd);
+
+                average = (float) sum;
+                validEntries = entries.countValid(mappedFeature, first, size - 1);
             } else {
                 // F�r kontinuierliche Messwerte
                 // Einstieg: Letzten g�ltigen Wert suchen
-                DataEntry prevSdv;
-                do {
-                    index--;
-                    prevSdv = entries.get(index);
-                } while (Float.isNaN(prevSdv.getValues()[mappedFeature]) && index >= 0);
+                final int lastValid = entries.lastValidIndex(mappedFeature, size - 1);
 
                 // Summative Integration
-                if (index > 3) {
-                    do {
-                        index--;
-                        sdv = entries.get(index);
-                        time = currentTime - sdv.getTime();
-                        final float deltaTime = prevSdv.getTime() - sdv.getTime();
-                        final float previousValue = prevSdv.getValues()[mappedFeature];
-
-                        if (!Float.isNaN(sdv.getValues()[mappedFeature])) {
-                            average += (sdv.getValues()[mappedFeature] + previousValue) * deltaTime * 0.5;
-                            validEntries++;
-                            prevSdv = sdv;
-                        }
-                    } while (time < timeInterval && index > 0);
-
-                    if (index == 0) {
+                if (lastValid > 3) {
+                    final int oldest = Math.max(entries.lastIndexOlderThan(currentTime, timeInterval, false,
+                            lastValid - 1), 0);
+                    final int firstValid = entries.firstValidIndex(mappedFeature, oldest);
+                    time = currentTime - entries.time(oldest);
+                    visited = true;
+
+                    average = (float) entries.integral(mappedFeature, firstValid, lastValid);
+                    validEntries = entries.countValid(mappedFeature, oldest, lastValid - 1);
+
+                    if (oldest == 0) {
                         average /= time;
                     } else {
                         average /= timeInterval;
@@ -259,7 +264,7 @@ public abstract class DataStorage extends Observable {
             }
         }
 
-        if (validEntries <= DefaultParams.L0_MIN_ENTRIES_AVERAGE || sdv == null) {
+        if (validEntries <= DefaultParams.L0_MIN_ENTRIES_AVERAGE || !visited) {
             averages[feature] = new Average(currentTime, feature, validEntries, time, Float.NaN, true);
         } else {
             averages[feature] = new Average(currentTime, feature, validEntries, time, average, true);
@@ -311,33 +316,24 @@ public abstract class DataStorage extends Observable {
             return averages[feature];
         }
 
-        int validEntries = 0;
-        int index = 0;
-        final int lastIndex = entries.size();
-        DataEntry sdv = null;
-        float average = 0;
-
         final int mappedFeature = featureMap[feature];
+        final int lastIndex = entries.size() - 1;
 
-        while (validEntries < numEntries) {
-            index++;
-            if (index > lastIndex) {
-                break;
-            }
-
-            sdv = entries.get(lastIndex - index);
-
-            if (!Float.isNaN(sdv.getValues()[mappedFeature])) {
-                average += sdv.getValues()[mappedFeature];
-                validEntries++;
-            }
+        // Eintrag mit dem numEntries-ten gültigen Wert (vom Ende gezählt)
+        int index = entries.indexOfValidFromEnd(mappedFeature, lastIndex, numEntries);
+        if (index < 0) {
+            index = 0;
         }
 
-        if (validEntries <= DefaultParams.L0_MIN_ENTRIES_AVERAGE || sdv == null) {
+        final boolean visited = numEntries > 0 && lastIndex >= 0;
+        final int validEntries = visited ? entries.countValid(mappedFeature, index, lastIndex) : 0;
+        final float average = visited ? (float) entries.sum(mappedFeature, index, lastIndex) : 0;
+
+        if (validEntries <= DefaultParams.L0_MIN_ENTRIES_AVERAGE || !visited) {
             throw new OTCManagerException("Average konnte nicht berechnet werden.");
         } else {
             // average = average / validEntries;
-            averages[feature] = new Average(lastEntry.getTime(), feature, validEntries, sdv.getTime()
+            averages[feature] = new Average(lastEntry.getTime(), feature, validEntries, entries.time(index)
                     - lastEntry.getTime(), average, false);
             return averages[feature];
         }
@@ -392,12 +388,10 @@ public abstract class DataStorage extends Observable {
         String output = "";
 
         for (int i = 0; i < entries.size(); i++) {
-            DataEntry entry = entries.get(i);
-            output = output.concat(entry.getTime() + separator);
-            float[] values = entry.getValues();
+            output = output.concat(entries.time(i) + separator);
 
             for (int j = 0; j < numFeatures - numDisabledFeatures; j++) {
-                output = output.concat(values[j] + separator);
+                output = output.concat(entries.value(j, i) + separator);
             }
 
             output = output.concat(linesep);
@@ -9,10 +9,14 @@ import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
  * @author rochner
  */
 public class DetectorDataStorage extends DataStorage {
+    /**
+     * Maximum number of stored entries.
+     */
+    private static final int CAPACITY = 400;
     private final Detector observedDetector;
 
     public DetectorDataStorage(final Detector detector) {
-        super(new DetectorCapabilities());
+        super(new DetectorCapabilities(), CAPACITY);
         this.observedDetector = detector;
 
         for (int i = 0; i < numFeatures; i++) {
@@ -26,22 +30,17 @@ public class DetectorDataStorage extends DataStorage {
     public final void addDatum(DataEntry datum) {
         datum = preprocessEntry(datum);
 
-        while (entries.size() > 400) {
-            entries.remove(0);
-        }
-
         // Nur Datens�tze, die an wenigstens einer Position einen g�ltigen Wert
         // enthalten (also nicht NaN), werden gespeichert.
         for (int i = 1; i < numFeatures - numDisabledFeatures; i++) {
             if (!Float.isNaN(datum.getValues()[i])) {
-                entries.add(datum);
+                entries.add(datum.getTime(), datum.getValues());
                 break;
             }
         }
         this.lastEntry = datum;
 
-        setChanged();
-        notifyObservers();
+        publish(datum);
     }
 
     @Override
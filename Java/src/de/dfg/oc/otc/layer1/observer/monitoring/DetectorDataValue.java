@@ -1,5 +1,7 @@
 package de.dfg.oc.otc.layer1.observer.monitoring;
 
+import java.util.Arrays;
+
 /**
  * DetectorValue consists of these values:
  * 1: Count, 2: Presence, 3: Speed, 4: Occupied Time Percentage, 5: Headway, 6: Density, 7: EquippedVehicle
@@ -34,6 +36,19 @@ public class DetectorDataValue implements DataEntry {
         this.values = values.clone();
     }
 
+    /**
+     * Creates a value from a part of an array holding the values of several detectors.
+     *
+     * @param time   of the detector value
+     * @param values array with the values of several detectors
+     * @param offset index of the first value of this detector
+     * @param length number of values of this detector
+     */
+    public DetectorDataValue(final float time, final float[] values, final int offset, final int length) {
+        this.time = time;
+        this.values = Arrays.copyOfRange(values, offset, offset + length);
+    }
+
     public DetectorDataValue(final float time, final float[] values, boolean isCongested) {
         this.time = time;
         this.values = values.clone();
@@ -6,10 +6,14 @@ import de.dfg.oc.otc.manager.OTCManagerException;
  * @author rochner
  */
 public class StatisticalDataStorage extends DataStorage {
+    /**
+     * Maximum number of stored entries.
+     */
+    private static final int CAPACITY = 500;
     private final AbstractObservableStatistics observedStatistics;
 
     public StatisticalDataStorage(final AbstractObservableStatistics observedStatistics) {
-        super(new StatisticsCapabilities());
+        super(new StatisticsCapabilities(), CAPACITY);
         this.observedStatistics = observedStatistics;
     }
 
@@ -18,32 +22,26 @@ public class StatisticalDataStorage extends DataStorage {
         boolean noChange = true;
         datum = preprocessEntry(datum);
 
-        try {
-            final DataEntry previousEntry = getLastRelevantDatum();
-
-            if (datum.getValues()[featureMap[StatisticsCapabilities.FLOW]] > 0) {
-                noChange = false;
-            } else {
-                for (int i = 1; i < numFeatures - numDisabledFeatures; i++) {
-                    // Vergleiche mit == oder != bei NaN verhalten sich teilweise
-                    // nicht ganz intuitiv. Java-Doku beachten!
-                    if (!Float.isNaN(datum.getValues()[i]) && datum.getValues()[i] != previousEntry.getValues()[i]) {
-                        noChange = false;
-                        break;
-                    }
+        if (entries.isEmpty() || datum.getValues()[featureMap[StatisticsCapabilities.FLOW]] > 0) {
+            noChange = false;
+        } else {
+            final int lastIndex = entries.size() - 1;
+            for (int i = 1; i < numFeatures - numDisabledFeatures; i++) {
+                // Vergleiche mit == oder != bei NaN verhalten sich teilweise
+                // nicht ganz intuitiv. Java-Doku beachten!
+                if (!Float.isNaN(datum.getValues()[i]) && datum.getValues()[i] != entries.value(i, lastIndex)) {
+                    noChange = false;
+                    break;
                 }
             }
-        } catch (OTCManagerException e) {
-            noChange = false;
         }
 
         if (!noChange) {
-            entries.add(datum);
+            entries.add(datum.getTime(), datum.getValues());
         }
 
         lastEntry = datum;
-        setChanged();
-        notifyObservers();
+        publish(datum);
     }
 
     /**
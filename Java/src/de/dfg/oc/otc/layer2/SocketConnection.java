@@ -82,8 +82,8 @@ public final class SocketConnection {
      * Close connection.
      */
     public void close() throws IOException {
+        socketConnections.remove(portOffset, this);
         socket.close();
-        socketConnections.put(portOffset, null);
     }
 
     /**
@@ -95,6 +95,14 @@ public final class SocketConnection {
         return in.readLine();
     }
 
+    /**
+     * Sets the time in ms {@link #recv()} waits for a message before it throws
+     * a {@link java.net.SocketTimeoutException}, 0 waits forever.
+     */
+    public void setTimeout(final int timeout) throws IOException {
+        socket.setSoTimeout(timeout);
+    }
+
     /**
      * Sendet einen String.
      *
@@ -3,22 +3,31 @@ package de.dfg.oc.otc.layer2.ea;
 import org.apache.log4j.Logger;
 
 import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class implements all methods the EA needs to read data from an
  * MS-Access-file (*.mdb) or an SQL-Server.
+ * <p>
+ * Instead of a connection pool, each instance keeps a single connection,
+ * which stays open between the queries; the statements are prepared once per
+ * connection. If a query fails, it is repeated once on a new connection (e.g.
+ * if the database has been restarted). The LoS of a
+ * node is read with a single query for all turnings. An instance must not be
+ * used by several threads at the same time (each EA and each additional
+ * simulator has its own database).
  */
 public class Database {
     private static final Logger log = Logger.getLogger(Database.class);
     /**
-     * The absolute filename of the database (ACCESS db only!).
+     * Delay and flow of a turning without entry in the database.
      */
-    private final String databaseFile;
+    private static final float[] MISSING_ENTRY = {-1, -1};
     /**
-     * The name of the database (SQL server only!).
+     * JDBC URL of the database.
      */
-    private final String databaseName;
-    private final String password;
+    private final String url;
     /**
      * The table of interest of the database.
      */
@@ -27,11 +36,16 @@ public class Database {
      * Type of database (ACCESS or SQL Server). In Python und ANG-File anpassen!
      */
     private final DBType databaseType = DBType.SQL;
-    private final String username;
     /**
      * The connection to database.
      */
     private Connection connection;
+    /**
+     * Statements prepared for {@link #connection}.
+     */
+    private PreparedStatement deleteStatement;
+    private PreparedStatement intervalStatement;
+    private PreparedStatement replicationStatement;
 
     /**
      * Constructs an instance of {@code Database} to connect to and work on
@@ -48,11 +62,26 @@ public class Database {
                     final String dbPwd) {
         loadDriver();
 
-        this.databaseFile = dbFile;
-        this.databaseName = dbName.trim();
+        if (databaseType == DBType.SQL) {
+            this.url = "jdbc:sqlserver://localhost:1433;databaseName=" + dbName.trim() + ";user=" + dbUser
+                    + ";password=" + dbPwd + ";";
+        } else {
+            this.url = "jdbc:odbc:Driver={Microsoft Access Driver (*.mdb)};DBQ=" + dbFile
+                    + ";DriverID=22;READONLY=false}";
+        }
+        this.databaseTable = table;
+    }
+
+    /**
+     * Constructs an instance of {@code Database} for any JDBC database (SQL
+     * syntax like SQL Server), e.g. an embedded database for tests.
+     *
+     * @param url   the JDBC URL (the driver has to be registered)
+     * @param table the name of the database table
+     */
+    public Database(final String url, final String table) {
+        this.url = url;
         this.databaseTable = table;
-        this.username = dbUser;
-        this.password = dbPwd;
     }
 
     private void loadDriver() {
@@ -83,8 +112,8 @@ public class Database {
      *                   the entire simulated interval should be considered)
      * @return the calculated LoS or {@code -1} in case of an error
      */
-    public final float calculateLoS(final int rid, final int[] turningIds, final double startTime,
-                                     final double stopTime) {
+    public final synchronized float calculateLoS(final int rid, final int[] turningIds, final double startTime,
+                                                 final double stopTime) {
         float result = -1;
 
         // Check turning ids
@@ -98,17 +127,25 @@ public class Database {
         }
 
         try {
-            openDBConnection();
+            Map<Long, float[]> entries;
+            try {
+                entries = readTurningEntries(rid, startTime, stopTime);
+            } catch (SQLException e) {
+                log.warn("Query failed, reconnecting: " + e.getMessage());
+                closeDBConnection();
+                entries = readTurningEntries(rid, startTime, stopTime);
+            }
 
             // Calculate LoS
             float nenner = 0;
             float zaehler = 0;
 
             for (int i = 0; i < turningIds.length; i += 2) {
-                float delay = getDBEntryForTurning(rid, turningIds[i], turningIds[i + 1], startTime, stopTime,
-                        "dtime1");
-                float flow = getDBEntryForTurning(rid, turningIds[i], turningIds[i + 1], startTime, stopTime,
-                        "flow");
+                // Missing turnings count with -1 as before
+                final float[] entry = entries.getOrDefault(turningKey(turningIds[i], turningIds[i + 1]),
+                        MISSING_ENTRY);
+                float delay = entry[0];
+                float flow = entry[1];
 
                 zaehler += delay * flow;
                 nenner += flow;
@@ -118,148 +155,141 @@ public class Database {
 
             log.debug("LOS " + result);
         } catch (SQLException e) {
-            log.error("", e);
-        } finally {
-            try {
-                closeDBConnection();
-            } catch (SQLException e) {
-                log.error("", e);
-            }
+            log.error("RID " + rid + ", STARTTIME " + startTime + ", STOPTIME " + stopTime, e);
+            closeDBConnection();
         }
 
         return result;
     }
 
     /**
-     * Closes the database that was opened by {@code open()}-method.
-     *
-     * @return boolean {@code true}if an opened connection was closed, else
-     * {@code false}
-     * @throws SQLException
+     * Closes the database connection; it is opened again when needed.
+     */
+    public final synchronized void close() {
+        closeDBConnection();
+    }
+
+    /**
+     * Closes the connection and its statements, e.g. after an error.
      */
-    private boolean closeDBConnection() throws SQLException {
+    private void closeDBConnection() {
         if (connection == null) {
-            return false;
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.error("", e);
         }
-        connection.close();
         connection = null;
-        return true;
+        deleteStatement = null;
+        intervalStatement = null;
+        replicationStatement = null;
     }
 
     /**
      * Removes all entries in the {@code databaseTable} of this class.
      */
-    final void deleteTableEntries() {
+    final synchronized void deleteTableEntries() {
         try {
-            // Close db connection
-            openDBConnection();
-            final Statement statement = connection.createStatement();
+            try {
+                executeDelete();
+            } catch (SQLException e) {
+                log.warn("Delete failed, reconnecting: " + e.getMessage());
+                closeDBConnection();
+                executeDelete();
+            }
+        } catch (SQLException e) {
+            log.error("deleteTableEntries()", e);
+            closeDBConnection();
+        }
+    }
 
+    private void executeDelete() throws SQLException {
+        openDBConnection();
+        if (deleteStatement == null) {
             if (databaseType == DBType.SQL) {
                 // SQL server
-                statement.executeUpdate("DELETE FROM " + this.databaseTable);
+                deleteStatement = connection.prepareStatement("DELETE FROM " + this.databaseTable);
             } else {
                 // Access
-                statement.executeUpdate("DELETE * FROM " + this.databaseTable);
-            }
-
-            statement.close();
-        } catch (SQLException e) {
-            log.error("deleteTableEntries()", e);
-        } finally {
-            try {
-                closeDBConnection();
-            } catch (SQLException e) {
-                log.error("", e);
+                deleteStatement = connection.prepareStatement("DELETE * FROM " + this.databaseTable);
             }
         }
+        deleteStatement.executeUpdate();
     }
 
     /**
-     * Reads a database entry for a turning from the database. The parameter
-     * {@code rid} specifies the relevant replication, {@code fromID}
-     * and {@code toID} specify the turning under consideration. The start
-     * and end time of the relevant interval are given by {@code startTime}
-     * and {@code stopTime}. If {@code startTime} or
-     * {@code stopTime} equal {@code -1}, the whole simulated time is
-     * used as interval. The column which will be read is specified by the
-     * {@code column} string.
+     * Reads delay ({@code dtime1}) and flow of all turnings of a replication
+     * with one query. The start and end time of the relevant interval are
+     * given by {@code startTime} and {@code stopTime}. If
+     * {@code startTime} or {@code stopTime} equal {@code -1}, the
+     * whole simulated time of each turning is used as interval, i.e. the entry
+     * from its first {@code tfrom} to its last {@code tto}.
      *
      * @param rid       the relevant replication id
-     * @param fromID    the id of the start section of a turning
-     * @param toID      the id of the end section of a turning
      * @param startTime the start time of the relevant interval (or {@code -1} if
      *                  the entire simulated interval should be considered)
      * @param stopTime  the end time of the relevant interval (or {@code -1} if
      *                  the entire simulated interval should be considered)
-     * @param column    the column ("flow", "dtime1", ...) to be read
-     * @return the entry obtained from the db
+     * @return delay and flow by turning (see {@link #turningKey(int, int)})
      */
-    private float getDBEntryForTurning(final int rid, final int fromID, final int toID, double startTime,
-                                        double stopTime, final String column) {
-        float entry = -1;
-
-        try {
-            final Statement statement = connection.createStatement();
-
-            if (startTime == -1 || stopTime == -1) {
-                // Determine start time of simulation
-                ResultSet resultSet = statement.executeQuery("SELECT MIN(tfrom) FROM " + this.databaseTable + " WHERE rid =" + rid
-                        + " AND fromsect =" + fromID + " AND tosect = " + toID);
-                resultSet.next();
-                startTime = resultSet.getDouble(1);
-                resultSet.close();
-
-                // Determine stop time of simulation
-                resultSet = statement.executeQuery("SELECT MAX(tto) FROM " + this.databaseTable + " WHERE rid =" + rid
-                        + " AND fromsect =" + fromID + " AND tosect = " + toID);
-                resultSet.next();
-                stopTime = resultSet.getDouble(1);
-                resultSet.close();
+    private Map<Long, float[]> readTurningEntries(final int rid, final double startTime, final double stopTime)
+            throws SQLException {
+        openDBConnection();
+
+        final PreparedStatement statement;
+        if (startTime == -1 || stopTime == -1) {
+            if (replicationStatement == null) {
+                replicationStatement = connection.prepareStatement("SELECT t.fromsect, t.tosect, t.dtime1, t.flow FROM "
+                        + this.databaseTable + " t INNER JOIN (SELECT fromsect, tosect, MIN(tfrom) AS tstart, "
+                        + "MAX(tto) AS tstop FROM " + this.databaseTable + " WHERE rid = ? GROUP BY fromsect, tosect) i"
+                        + " ON (t.fromsect = i.fromsect AND t.tosect = i.tosect AND t.tfrom = i.tstart"
+                        + " AND t.tto = i.tstop) WHERE t.rid = ?");
             }
-
-            // Read average entry for "startTime" to "stopTime"
-            final ResultSet rs = statement.executeQuery("SELECT " + column + " FROM " + this.databaseTable + " WHERE rid ="
-                    + rid + " AND fromsect =" + fromID + " AND tosect = " + toID + " AND tfrom =" + startTime
-                    + " AND tto =" + stopTime);
-
-            if (rs.next()) {
-                entry = (float) rs.getDouble(1);
+            statement = replicationStatement;
+            statement.setInt(1, rid);
+            statement.setInt(2, rid);
+        } else {
+            if (intervalStatement == null) {
+                intervalStatement = connection.prepareStatement("SELECT fromsect, tosect, dtime1, flow FROM "
+                        + this.databaseTable + " WHERE rid = ? AND tfrom = ? AND tto = ?");
             }
-            rs.close();
-            statement.close();
+            statement = intervalStatement;
+            statement.setInt(1, rid);
+            statement.setDouble(2, startTime);
+            statement.setDouble(3, stopTime);
+        }
 
-        } catch (SQLException e) {
-            log.error("RID " + rid + ", FROMID " + fromID + ", TOID " + toID + ", STARTTIME " + startTime
-                    + ", STOPTIME " + stopTime + ", COLUMN " + column, e);
+        final Map<Long, float[]> entries = new HashMap<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                final long key = turningKey(resultSet.getInt(1), resultSet.getInt(2));
+                final float[] entry = {(float) resultSet.getDouble(3), (float) resultSet.getDouble(4)};
+                // Keep the first entry of a turning
+                entries.putIfAbsent(key, entry);
+            }
         }
+        return entries;
+    }
 
-        return entry;
+    private static long turningKey(final int fromID, final int toID) {
+        return (long) fromID << 32 | toID & 0xFFFFFFFFL;
     }
 
     /**
-     * Opens the database. After all work is done use close method to close the
-     * database.
+     * Opens the database if it is not open. The connection is kept open for
+     * the following queries.
      *
-     * @return
      * @throws SQLException if there is an error in SQL expression used by DriverManager
-     *                      return success
      */
-    private boolean openDBConnection() throws SQLException {
+    private void openDBConnection() throws SQLException {
         if (connection != null) {
-            return false;
+            return;
         }
 
-        String database;
-        if (databaseType == DBType.SQL) {
-            database = "jdbc:sqlserver://localhost:1433;databaseName=" + databaseName + ";user=" + username
-                    + ";password=" + password + ";";
-        } else {
-            database = "jdbc:odbc:Driver={Microsoft Access Driver (*.mdb)};DBQ=" + databaseFile
-                    + ";DriverID=22;READONLY=false}";
-        }
-
-        connection = DriverManager.getConnection(database);
+        connection = DriverManager.getConnection(url);
 
         SQLWarning warning = null;
         try {
@@ -273,8 +303,6 @@ public class Database {
             log.warn("SQL-Fehlercode: " + warning.getErrorCode());
             warning = warning.getNextWarning();
         }
-
-        return true;
     }
 
     /**
@@ -10,8 +10,15 @@ import org.apache.commons.math3.random.RandomDataGenerator;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Abstract base class for evolutionary algorithms.
@@ -70,6 +77,21 @@ abstract class EA extends SocketConnector {
      * The random number generator for this class.
      */
     private RandomDataGenerator rand;
+    /**
+     * Random number generator of the child that is created by the current
+     * thread (see {@link #createChild(long)}).
+     */
+    private final ThreadLocal<RandomDataGenerator> childRand = new ThreadLocal<>();
+    /**
+     * Threads for creating and evaluating individuals during a run (see
+     * {@link #createPool()}), {@code null} if
+     * {@link DefaultParams#EA_PARALLELISM} is 1 or no run is active.
+     */
+    private ForkJoinPool pool;
+    /**
+     * Databases of the additional simulators by port offset.
+     */
+    private final Map<Integer, DatabaseConnector> simulatorDatabases = new ConcurrentHashMap<>();
     /**
      * The selector (for parent selection).
      */
@@ -107,12 +129,44 @@ abstract class EA extends SocketConnector {
         this.databaseConnector = new DatabaseConnector(eaId);
     }
 
+    /**
+     * Creates an evolutionary algorithm for a task without Layer 1, AIMSUN
+     * and GUI, e.g. to evaluate individuals with Webster's formula in
+     * benchmarks and tests. It can't run an optimisation, but it can create
+     * and evaluate generations; {@link #close()} stops its threads.
+     *
+     * @param task the optimisation task
+     */
+    EA(final OptimisationTask task) {
+        this.eaServer = null;
+        this.databaseConnector = null;
+        this.pool = createPool();
+        this.task = task;
+
+        this.rand = new RandomDataGenerator();
+        this.rand.reSeed(task.getEAConfig().getRandSeedEA());
+        this.selector = new SelectionRandom(this);
+    }
+
+    /**
+     * Creates the threads for a run.
+     *
+     * @return a pool with {@link DefaultParams#EA_PARALLELISM} threads,
+     * {@code null} if it is 1
+     */
+    private static ForkJoinPool createPool() {
+        return DefaultParams.EA_PARALLELISM > 1 ? new ForkJoinPool(DefaultParams.EA_PARALLELISM) : null;
+    }
+
     /**
      * Cleans up after an optimization is finished and return optimisation result to Layer 1.
      */
     private void finishOptimisation() {
         // close socket
         socketConnection.send("DONE");
+        if (simulatorFarm != null) {
+            simulatorFarm.finishTask();
+        }
 
         updateConsole(startTime);
 
@@ -124,16 +178,23 @@ abstract class EA extends SocketConnector {
     }
 
     /**
-     * Creates the child individuals.
+     * Creates a child individual. Parent selection, recombination and mutation
+     * use a random number generator of their own, so the child doesn't depend
+     * on the order in which the children are created.
+     *
+     * @param seed seed of the random number generator of the child
+     * @return the child
      */
-    private void createChildren() {
-        final List<Individual> childPop = new ArrayList<>();
+    private Individual createChild(final long seed) {
+        final RandomDataGenerator random = new RandomDataGenerator();
+        random.reSeed(seed);
+        childRand.set(random);
 
-        for (int j = 0; j < task.getEAConfig().getNumberOfChildren(); j++) {
+        try {
             final Individual[] parents = selector.selectParents();
             Individual child = null;
 
-            if (rand.nextUniform(0, 1) < task.getEAConfig().getCrossOverProb()) {
+            if (random.nextUniform(0, 1) < task.getEAConfig().getCrossOverProb()) {
                 // Recombination
                 child = parents[0].discreteRecombination(parents[1]);
             } else {
@@ -145,16 +206,31 @@ abstract class EA extends SocketConnector {
                 }
             }
 
-            if (rand.nextUniform(0, 1) < task.getEAConfig().getMutationProb()) {
+            if (random.nextUniform(0, 1) < task.getEAConfig().getMutationProb()) {
                 if (child != null) {
                     child.mutate();
                 }
             }
+            return child;
+        } finally {
+            childRand.remove();
+        }
+    }
 
-            // Add child to population
-            childPop.add(child);
+    /**
+     * Creates the child individuals.
+     */
+    private void createChildren() {
+        final int numberOfChildren = task.getEAConfig().getNumberOfChildren();
+        final long[] seeds = new long[numberOfChildren];
+        for (int j = 0; j < numberOfChildren; j++) {
+            seeds[j] = rand.getRandomGenerator().nextLong();
         }
 
+        final Individual[] children = new Individual[numberOfChildren];
+        runInParallel(numberOfChildren, j -> children[j] = createChild(seeds[j]));
+        final List<Individual> childPop = new ArrayList<>(Arrays.asList(children));
+
         if (task.getEAConfig().isCommaStrategy()) {
             // Replace population with children (comma strategy)
             this.population = childPop;
@@ -234,8 +310,96 @@ abstract class EA extends SocketConnector {
         return generationCounter;
     }
 
+    /**
+     * Returns the random number generator of the child that is created by the
+     * current thread, otherwise the generator of this EA.
+     */
     final RandomDataGenerator getRandomNumberGenerator() {
-        return rand;
+        final RandomDataGenerator random = childRand.get();
+        return random != null ? random : rand;
+    }
+
+    /**
+     * Checks whether the fitness of individuals can be calculated
+     * concurrently, i.e. without a simulation.
+     *
+     * @return {@code true} if {@link Individual#calculateFitness()} is thread-safe
+     */
+    boolean isParallelEvaluationPossible() {
+        return false;
+    }
+
+    /**
+     * Returns the database an additional simulator writes its results to.
+     */
+    final Database getSimulatorDatabase(final int portOffset) {
+        return simulatorDatabases.computeIfAbsent(portOffset, DatabaseConnector::new).getDatabase();
+    }
+
+    /**
+     * Creates the farm of additional simulators for a run, if configured and
+     * needed for the task. Only {@link SimulatorFarmEA}s use a farm.
+     */
+    private void setupSimulatorFarm() {
+        if (simulatorFarm != null || DefaultParams.L2_ADDITIONAL_SIMULATORS < 1 || task.getEAConfig().isUseWebster()
+                || !(this instanceof SimulatorFarmEA)) {
+            return;
+        }
+
+        final int[] portOffsets = new int[DefaultParams.L2_ADDITIONAL_SIMULATORS];
+        for (int k = 0; k < portOffsets.length; k++) {
+            portOffsets[k] = eaId + (k + 1) * DefaultParams.L2_SIMULATOR_PORT_SPACING;
+        }
+        simulatorFarm = new SimulatorFarm(portOffsets, ((SimulatorFarmEA) this)::initialiseSimulator)
+                .setTimeout(DefaultParams.L2_SIMULATION_TIMEOUT).setMaxAttempts(DefaultParams.L2_SIMULATION_ATTEMPTS);
+        l2c.printEAInfo("Additional simulators on port offsets " + Arrays.toString(portOffsets));
+    }
+
+    /**
+     * Stops the threads of the run and closes the connections to the
+     * additional simulators. Called at the end of each run (see
+     * {@link #startOptimisation(OptimisationTask)}).
+     */
+    final void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        if (simulatorFarm != null) {
+            simulatorFarm.close();
+            simulatorFarm = null;
+        }
+    }
+
+    /**
+     * Calculates the fitness of the individuals that need a (new) evaluation
+     * in parallel, if possible: on the additional simulators or, for Webster,
+     * on the pool. Otherwise (or if the simulation failed) they are evaluated
+     * when sorting the population.
+     */
+    private void evaluatePopulation() {
+        final boolean useFarm = simulatorFarm != null && !task.getEAConfig().isUseWebster();
+        if (!useFarm && (pool == null || !isParallelEvaluationPossible())) {
+            return;
+        }
+
+        final List<Individual> unevaluated = population.stream().filter(Individual::needsEvaluation)
+                .collect(Collectors.toList());
+        if (useFarm) {
+            final List<Individual> simulated = unevaluated.stream()
+                    .filter(individual -> individual instanceof SimulatorFarmIndividual).collect(Collectors.toList());
+            final List<SimulatorFarm.Job> jobs = simulated.stream()
+                    .map(individual -> (SimulatorFarm.Job) ((SimulatorFarmIndividual) individual)::simulate)
+                    .collect(Collectors.toList());
+            final float[] fitness = simulatorFarm.evaluate(jobs);
+            for (int i = 0; i < fitness.length; i++) {
+                if (!Float.isNaN(fitness[i])) {
+                    simulated.get(i).setFitness(fitness[i]);
+                }
+            }
+        } else {
+            runInParallel(unevaluated.size(), i -> unevaluated.get(i).calculateFitness());
+        }
     }
 
     /**
@@ -271,10 +435,12 @@ abstract class EA extends SocketConnector {
         this.rand.reSeed(task.getEAConfig().getRandSeedEA());
 
         this.selector = new SelectionRandom(this);
+        this.pool = createPool();
 
         sendOptimisationTask(task, eaId);
         createPopulation();
         createSimulationDurationArray();
+        setupSimulatorFarm();
     }
 
     final boolean isFixedSeedForEvaluation() {
@@ -400,10 +566,22 @@ abstract class EA extends SocketConnector {
         }
     }
 
+    /**
+     * Runs an action for 0 to {@code n - 1}, in parallel if the EA has a pool.
+     */
+    private void runInParallel(final int n, final IntConsumer action) {
+        if (pool == null || n < 2) {
+            IntStream.range(0, n).forEach(action);
+        } else {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(action)).join();
+        }
+    }
+
     /**
      * Sorts the population depending on the fitness of the individuals.
      */
     private void sortList() {
+        evaluatePopulation();
         Collections.sort(population);
     }
 
@@ -415,10 +593,14 @@ abstract class EA extends SocketConnector {
     final void startOptimisation(final OptimisationTask task) {
         this.task = task;
 
-        // Reset console and chart
-        initGUI(task);
-        initializeEA();
-        optimize();
-        finishOptimisation();
+        try {
+            // Reset console and chart
+            initGUI(task);
+            initializeEA();
+            optimize();
+            finishOptimisation();
+        } finally {
+            close();
+        }
     }
 }
@@ -4,6 +4,7 @@ import de.dfg.oc.otc.layer0.tlc.TLCTypes;
 import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
 import de.dfg.oc.otc.layer2.Layer2Exception;
 import de.dfg.oc.otc.layer2.OptimisationResult;
+import de.dfg.oc.otc.layer2.OptimisationTask;
 import de.dfg.oc.otc.layer2.SocketConnection;
 
 import java.io.IOException;
@@ -16,7 +17,7 @@ import java.util.Map;
  *
  * @author hpr
  */
-class EAInternalFTC extends EA {
+class EAInternalFTC extends EA implements SimulatorFarmEA {
     /**
      * Maps the id of a phase in AIMSUN to its position in the gene (interphases
      * are not coded in the genotype).
@@ -57,6 +58,17 @@ class EAInternalFTC extends EA {
         super(server);
     }
 
+    /**
+     * Creates an evolutionary algorithm for a task without Layer 1 (see
+     * {@link EA#EA(OptimisationTask)}). The reference controller has to be
+     * set with {@link #setReferencePhases(int[], boolean[])}.
+     *
+     * @param task the optimisation task
+     */
+    EAInternalFTC(final OptimisationTask task) {
+        super(task);
+    }
+
     @Override
     protected final OptimisationResult createOptimsationResult() {
         // Check if results need to be returned
@@ -119,11 +131,14 @@ class EAInternalFTC extends EA {
 
     /**
      * Creates the population for this class using a relative coding. See [BW05]
-     * for details!
+     * for details! Without Layer 1, the reference controller set with
+     * {@link #setReferencePhases(int[], boolean[])} is used.
      */
     private void createPopulationWithRelativeCoding() {
         this.population.clear();
-        receiveReferenceData();
+        if (eaServer != null) {
+            receiveReferenceData();
+        }
         final int[] referenceDurations = determineReferenceNonInterphasesDurations();
 
         // Constraints for cycle time and min. phase durations
@@ -195,6 +210,40 @@ class EAInternalFTC extends EA {
         return getConfig().isUseWebster();
     }
 
+    /**
+     * Webster's formula only reads the optimisation task, so individuals can
+     * be evaluated in parallel.
+     */
+    @Override
+    final boolean isParallelEvaluationPossible() {
+        return isUseWebster();
+    }
+
+    /**
+     * Sends the task and reads the reference data like
+     * {@link #receiveReferenceData()}, but only checks it, since it is the
+     * same for all simulators.
+     */
+    @Override
+    public final void initialiseSimulator(final SimulatorFarm.Simulator simulator) throws IOException {
+        sendOptimisationTask(simulator, task);
+
+        simulator.send("WAITING_FOR_TURNINGS");
+        simulator.recv();
+
+        simulator.send("WAITING_FOR_PHASES");
+        final int numberOfPhases = Integer.parseInt(simulator.recv().trim());
+        if (numberOfPhases != referencePhases.length) {
+            throw new IOException("Simulator " + simulator.getPortOffset() + " sent " + numberOfPhases
+                    + " phases, expected " + referencePhases.length + ".");
+        }
+
+        for (int i = 0; i < numberOfPhases; i++) {
+            simulator.send("WAITING_NEXT_PHASE");
+            simulator.recv();
+        }
+    }
+
     final int mapPhaseIdToGeneId(final int phaseId) {
         return phaseIdToGeneId.get(phaseId);
     }
@@ -235,23 +284,44 @@ class EAInternalFTC extends EA {
                 final int duration = new Float(receivedMessage[0]).intValue();
                 final String isInterphase = receivedMessage[1];
 
-                // Set phase duration and type
-                referencePhases[i] = duration;
-                if (isInterphase.equals("IP")) {
-                    referencePhaseTypes[i] = true;
-                    referenceInterphasesDuration += duration;
-                } else {
-                    phaseIdToGeneId.put(i, numberOfNonInterphases);
-                    numberOfNonInterphases++;
-                    referenceNonInterphasesDuration += duration;
-                    referencePhaseTypes[i] = false;
-                }
+                setReferencePhase(i, duration, isInterphase.equals("IP"));
             }
         } catch (NumberFormatException | IOException e) {
             this.l2c.printEAWarning(e.getMessage());
         }
     }
 
+    /**
+     * Sets the durations and types of all phases of the reference TLC like
+     * {@link #receiveReferenceData()}, but without AIMSUN.
+     *
+     * @param durations   phase durations
+     * @param interphases entries are {@code true} iff the corresponding phase
+     *                    is an interphase
+     */
+    final void setReferencePhases(final int[] durations, final boolean[] interphases) {
+        phaseIdToGeneId.clear();
+        numberOfNonInterphases = 0;
+        initReferences(durations.length);
+
+        for (int i = 0; i < durations.length; i++) {
+            setReferencePhase(i, durations[i], interphases[i]);
+        }
+    }
+
+    private void setReferencePhase(final int index, final int duration, final boolean interphase) {
+        referencePhases[index] = duration;
+        if (interphase) {
+            referencePhaseTypes[index] = true;
+            referenceInterphasesDuration += duration;
+        } else {
+            phaseIdToGeneId.put(index, numberOfNonInterphases);
+            numberOfNonInterphases++;
+            referenceNonInterphasesDuration += duration;
+            referencePhaseTypes[index] = false;
+        }
+    }
+
     private void initReferences(int numberOfPhases) {
         referencePhases = new int[numberOfPhases];
         referencePhaseTypes = new boolean[numberOfPhases];
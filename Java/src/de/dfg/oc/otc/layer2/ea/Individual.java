@@ -1,6 +1,5 @@
 package de.dfg.oc.otc.layer2.ea;
 
-import de.dfg.oc.otc.layer2.gui.Layer2Console;
 import org.apache.commons.math3.util.FastMath;
 import org.jetbrains.annotations.NotNull;
 
@@ -12,10 +11,6 @@ import java.util.Arrays;
  * @author hpr
  */
 public abstract class Individual implements Comparable<Individual> {
-    /**
-     * A frame used to display status information.
-     */
-    final Layer2Console l2c = Layer2Console.getInstance();
     /**
      * The maximum cycle time is assumed to be 120 seconds.
      * The minimum cycle time depends on the intersection.
@@ -142,6 +137,17 @@ public abstract class Individual implements Comparable<Individual> {
         }
     }
 
+    /**
+     * Checks whether the fitness has to be calculated (again) before comparing
+     * this individual, see {@link #compareTo(Individual)}.
+     *
+     * @return {@code true} if the fitness has to be calculated
+     */
+    final boolean needsEvaluation() {
+        return !ea.isFixedSeedForEvaluation() && ea.isUseAvgFitness() && lastFitnessEvalWithSeed != ea
+                .getAimsunSeed() || Double.isNaN(fitness);
+    }
+
     /**
      * Performs a one point crossover of this individual with the individual
      * given as parameter.
@@ -95,7 +95,7 @@ class IndividualExternalFTC extends Individual {
             // setup new FTC
             OTCManager.getInstance().generateFTCforJunction(((EAExternalFTC) ea).getJunction().getId(), phaseIDs, durations);
         } catch (Exception e1) {
-            l2c.printEAWarning(e1.getMessage() + this.ea.getEaId());
+            ea.l2c.printEAWarning(e1.getMessage() + this.ea.getEaId());
         }
 
         ea.resetDB();
@@ -113,14 +113,14 @@ class IndividualExternalFTC extends Individual {
                 fitness = getFitness(ea.task.getReplicationId(), ea.turningIds);
 
                 // Print individual to console
-                l2c.printEAInfo(this.toString() + this.ea.getEaId());
+                ea.l2c.printEAInfo(this.toString() + this.ea.getEaId());
             } else {
-                l2c.printEAWarning("Socket protocol error: Received " + receivedStr + ", expected READY.");
+                ea.l2c.printEAWarning("Socket protocol error: Received " + receivedStr + ", expected READY.");
             }
         } catch (IOException e) {
-            l2c.printEAWarning("A problem occurred while reading from socket: " + e.getMessage());
+            ea.l2c.printEAWarning("A problem occurred while reading from socket: " + e.getMessage());
         } catch (Exception e) {
-            l2c.printEAWarning(e.getMessage());
+            ea.l2c.printEAWarning(e.getMessage());
         }
         return fitness;
     }
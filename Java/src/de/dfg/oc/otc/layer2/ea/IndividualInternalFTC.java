@@ -19,7 +19,7 @@ import java.util.Collection;
  *
  * @author hpr
  */
-public class IndividualInternalFTC extends Individual {
+public class IndividualInternalFTC extends Individual implements SimulatorFarmIndividual {
     /**
      * Initial value for self-adaptive mutation step size (can also be randomly
      * chosen).
@@ -78,13 +78,28 @@ public class IndividualInternalFTC extends Individual {
                 float fitness = getFitness(ea.task.getReplicationId(), ea.turningIds);
                 setFitness(fitness);
             } else {
-                l2c.printEAWarning("Socket protocol error: Received " + message + ", expected SIM_DONE.");
+                ea.l2c.printEAWarning("Socket protocol error: Received " + message + ", expected SIM_DONE.");
             }
         } catch (IOException e) {
-            l2c.printEAWarning("A problem occurred while reading from socket: " + e.getMessage());
+            ea.l2c.printEAWarning("A problem occurred while reading from socket: " + e.getMessage());
         }
     }
 
+    @Override
+    public final float simulate(final SimulatorFarm.Simulator simulator) throws IOException {
+        final Database database = ea.getSimulatorDatabase(simulator.getPortOffset());
+        database.deleteTableEntries();
+
+        simulator.send("NEW_IND");
+        for (int aPhenotype : decodeGenotype()) {
+            simulator.expect("NEXT_ALLELE");
+            simulator.send(String.valueOf(aPhenotype));
+        }
+        simulator.expect("SIM_DONE");
+
+        return database.calculateLoS(ea.task.getReplicationId(), ea.turningIds, -1, -1);
+    }
+
     /**
      * Sends the absolute phase durations (phenotype) to AIMSUN.
      */
@@ -98,10 +113,10 @@ public class IndividualInternalFTC extends Individual {
                 if (message.equals("NEXT_ALLELE")) {
                     ea.socketConnection.send(String.valueOf(aPhenotype));
                 } else {
-                    l2c.printEAWarning("Socket protocol error: Received " + message + ", expected NEXT_ALLELE.");
+                    ea.l2c.printEAWarning("Socket protocol error: Received " + message + ", expected NEXT_ALLELE.");
                 }
             } catch (IOException e) {
-                l2c.printEAWarning(e.getMessage());
+                ea.l2c.printEAWarning(e.getMessage());
             }
         }
     }
@@ -59,9 +59,9 @@ class IndividualInternalNEMA extends Individual {
                 // Read objective function value
                 fitness = getFitness(ea.task.getReplicationId(), ea.turningIds);
                 // Print individual to console
-                l2c.printEAInfo(this.toString() + this.ea.getEaId());
+                ea.l2c.printEAInfo(this.toString() + this.ea.getEaId());
             } else {
-                l2c.printEAWarning("Socket protocol error: Received " + received + ", expected SIM_DONE.");
+                ea.l2c.printEAWarning("Socket protocol error: Received " + received + ", expected SIM_DONE.");
             }
         } catch (IOException e) {
             log.error("An IOException occurred: ", e);
@@ -81,10 +81,10 @@ class IndividualInternalNEMA extends Individual {
                 if (message.equals("NEXT_ALLELE")) {
                     ea.socketConnection.send(String.valueOf(gene));
                 } else {
-                    l2c.printEAWarning("Socket protocol error: Received " + message + ", expected NEXT_ALLELE.");
+                    ea.l2c.printEAWarning("Socket protocol error: Received " + message + ", expected NEXT_ALLELE.");
                 }
             } catch (Exception e) {
-                l2c.printEAWarning("An Exception occurred: " + e.getMessage());
+                ea.l2c.printEAWarning("An Exception occurred: " + e.getMessage());
             }
         }
     }
@@ -1,7 +1,5 @@
 package de.dfg.oc.otc.layer2.ea;
 
-import org.apache.commons.math3.random.RandomDataGenerator;
-
 import java.util.List;
 
 /**
@@ -10,11 +8,8 @@ import java.util.List;
  * @author hpr
  */
 public class SelectionRandom extends AbstractSelection {
-    private final RandomDataGenerator random;
-
     SelectionRandom(final EA ea) {
         super(ea);
-        random = ea.getRandomNumberGenerator();
     }
 
     @Override
@@ -22,8 +17,9 @@ public class SelectionRandom extends AbstractSelection {
         final Individual[] parents = new Individual[2];
         final List<Individual> population = this.ea.population;
 
-        parents[0] = population.get(random.nextInt(0, population.size() - 1));
-        parents[1] = population.get(random.nextInt(0, population.size() - 1));
+        // Generator of the child that is created, see EA.createChild()
+        parents[0] = population.get(ea.getRandomNumberGenerator().nextInt(0, population.size() - 1));
+        parents[1] = population.get(ea.getRandomNumberGenerator().nextInt(0, population.size() - 1));
         return parents;
     }
 }
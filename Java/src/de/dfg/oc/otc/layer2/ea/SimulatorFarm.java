@@ -0,0 +1,348 @@
+package de.dfg.oc.otc.layer2.ea;
+
+import de.dfg.oc.otc.layer2.SocketConnection;
+import org.apache.log4j.Logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates individuals on several simulators (AIMSUN instances) at once.
+ * Each simulator is reached by a {@link SocketConnection} of its own and takes
+ * the next job from a common queue. A job whose simulator fails or doesn't
+ * answer within the timeout is repeated (on any simulator); the failed
+ * simulator is reconnected and initialised again before its next job. A
+ * simulator that fails repeatedly is not used until the next task.
+ * <p>
+ * The seed and the simulation duration are sent to a simulator with the
+ * usual protocol ({@code NEW_GEN}, {@code NEW_SIMDUR}) before its next job.
+ */
+public class SimulatorFarm {
+    private static final Logger log = Logger.getLogger(SimulatorFarm.class);
+    private final List<Simulator> simulators = new ArrayList<>();
+    private final Initialiser initialiser;
+    private final ExecutorService executor;
+    /**
+     * Time in ms a simulator may take to answer, 0 for no limit.
+     */
+    private int timeout;
+    /**
+     * Number of attempts per job; also number of consecutive failures after
+     * which a simulator is not used any more.
+     */
+    private int maxAttempts = 3;
+    private int seed = -1;
+    private int simulationDuration = -1;
+
+    /**
+     * Sends the current optimisation task to a newly connected simulator.
+     */
+    public interface Initialiser {
+        void initialise(Simulator simulator) throws IOException;
+    }
+
+    /**
+     * Runs one simulation, e.g. of an individual, and returns its fitness.
+     */
+    public interface Job {
+        float run(Simulator simulator) throws IOException;
+    }
+
+    /**
+     * Creates a farm. The simulators are connected when they get their first job.
+     *
+     * @param portOffsets port offsets of the simulators (see {@link SocketConnection})
+     * @param initialiser sends the optimisation task after connecting
+     */
+    public SimulatorFarm(final int[] portOffsets, final Initialiser initialiser) {
+        this.initialiser = initialiser;
+        for (int portOffset : portOffsets) {
+            simulators.add(new Simulator(portOffset));
+        }
+        this.executor = Executors.newFixedThreadPool(Math.max(1, portOffsets.length), runnable -> {
+            final Thread thread = new Thread(runnable, "SimulatorFarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the jobs on the simulators and waits until all are done.
+     *
+     * @param jobs the jobs
+     * @return the fitness of each job, {@code NaN} if it failed on all attempts
+     */
+    public float[] evaluate(final List<Job> jobs) {
+        final float[] results = new float[jobs.size()];
+        Arrays.fill(results, Float.NaN);
+
+        final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            queue.add(new Task(i, jobs.get(i)));
+        }
+        final AtomicInteger pending = new AtomicInteger(jobs.size());
+
+        final List<Future<?>> workers = new ArrayList<>();
+        for (Simulator simulator : simulators) {
+            if (!simulator.retired) {
+                workers.add(executor.submit(() -> work(simulator, queue, pending, results)));
+            }
+        }
+
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.cancel(true);
+            } catch (ExecutionException e) {
+                log.error("Simulator farm worker failed", e.getCause());
+            }
+        }
+
+        if (!queue.isEmpty()) {
+            log.warn(queue.size() + " simulations could not be run, no simulator available.");
+        }
+        return results;
+    }
+
+    /**
+     * Takes jobs from the queue until all jobs are done or the simulator has
+     * failed too often.
+     */
+    private void work(final Simulator simulator, final BlockingQueue<Task> queue, final AtomicInteger pending,
+                      final float[] results) {
+        while (pending.get() > 0 && !simulator.retired) {
+            final Task task;
+            try {
+                task = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                // Other simulators are still working, their jobs may be repeated
+                continue;
+            }
+
+            try {
+                simulator.prepare();
+                results[task.index] = task.job.run(simulator);
+                simulator.failures = 0;
+                pending.decrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Simulator " + simulator.portOffset + " failed: " + e.getMessage());
+                simulator.disconnect();
+                simulator.failures++;
+
+                task.attempts++;
+                if (task.attempts < maxAttempts) {
+                    queue.add(task);
+                } else {
+                    log.warn("Simulation " + task.index + " failed " + task.attempts + " times, giving up.");
+                    pending.decrementAndGet();
+                }
+
+                if (simulator.failures >= maxAttempts) {
+                    log.warn("Simulator " + simulator.portOffset + " is not used until the next task.");
+                    simulator.retired = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the current task on all simulators ({@code DONE}). The connections
+     * stay open for the next task.
+     */
+    public void finishTask() {
+        for (Simulator simulator : simulators) {
+            if (simulator.initialised) {
+                simulator.send("DONE");
+            }
+            simulator.initialised = false;
+            simulator.appliedSeed = -1;
+            simulator.appliedSimulationDuration = -1;
+            simulator.failures = 0;
+            simulator.retired = false;
+        }
+        this.seed = -1;
+        this.simulationDuration = -1;
+    }
+
+    /**
+     * Closes all connections and stops the worker threads.
+     */
+    public void close() {
+        simulators.forEach(Simulator::disconnect);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the number of simulators that are currently used.
+     */
+    public int getNumberOfSimulators() {
+        return (int) simulators.stream().filter(simulator -> !simulator.retired).count();
+    }
+
+    public SimulatorFarm setMaxAttempts(final int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is needed.");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Sets the seed for the following simulations.
+     */
+    public void setSeed(final int seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the simulated duration (in s) for the following simulations.
+     */
+    public void setSimulationDuration(final int duration) {
+        this.simulationDuration = duration;
+    }
+
+    /**
+     * Sets the time in ms a simulator may take to answer (0 = no limit).
+     */
+    public SimulatorFarm setTimeout(final int timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * A job in the queue.
+     */
+    private static final class Task {
+        private final int index;
+        private final Job job;
+        private int attempts;
+
+        private Task(final int index, final Job job) {
+            this.index = index;
+            this.job = job;
+        }
+    }
+
+    /**
+     * Connection to one simulator of the farm. Only used by one thread at a time.
+     */
+    public final class Simulator {
+        private final int portOffset;
+        private SocketConnection connection;
+        private boolean initialised;
+        private int appliedSeed = -1;
+        private int appliedSimulationDuration = -1;
+        private int failures;
+        private boolean retired;
+
+        private Simulator(final int portOffset) {
+            this.portOffset = portOffset;
+        }
+
+        /**
+         * Connects and initialises the simulator if necessary and sends seed
+         * and simulation duration if they have changed.
+         */
+        private void prepare() throws IOException {
+            if (connection == null) {
+                connection = SocketConnection.getInstance(portOffset);
+                connection.setTimeout(timeout);
+            }
+
+            if (!initialised) {
+                initialiser.initialise(this);
+                initialised = true;
+            }
+
+            if (seed >= 0 && appliedSeed != seed) {
+                request("NEW_GEN", "NEW_GEN_RECV");
+                request(String.valueOf(seed), "SEED_SET");
+                appliedSeed = seed;
+            }
+
+            if (simulationDuration >= 0 && appliedSimulationDuration != simulationDuration) {
+                request("NEW_SIMDUR", "NEW_SIMDUR_RECV");
+                request(String.valueOf(simulationDuration), "SIMDUR_SET");
+                appliedSimulationDuration = simulationDuration;
+            }
+        }
+
+        /**
+         * Closes the connection after a failure, the simulator is connected and
+         * initialised again before its next job.
+         */
+        private void disconnect() {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (IOException e) {
+                    log.debug(e.getMessage());
+                }
+            }
+            connection = null;
+            initialised = false;
+            appliedSeed = -1;
+            appliedSimulationDuration = -1;
+        }
+
+        /**
+         * Receives a message and checks that it is the expected one.
+         *
+         * @throws IOException if another message is received
+         */
+        public void expect(final String expected) throws IOException {
+            final String message = recv();
+            if (!message.equals(expected)) {
+                throw new IOException("Socket protocol error: Received " + message + ", expected " + expected + ".");
+            }
+        }
+
+        /**
+         * Returns the port offset, which also identifies the database of the simulator.
+         */
+        public int getPortOffset() {
+            return portOffset;
+        }
+
+        /**
+         * Receives a message.
+         *
+         * @throws IOException if the connection has been closed or the timeout has elapsed
+         */
+        public String recv() throws IOException {
+            final String message = connection.recv();
+            if (message == null) {
+                throw new EOFException("Connection to simulator " + portOffset + " closed.");
+            }
+            return message;
+        }
+
+        /**
+         * Sends a message and checks the answer.
+         */
+        public void request(final String message, final String expectedAnswer) throws IOException {
+            send(message);
+            expect(expectedAnswer);
+        }
+
+        public void send(final String message) {
+            connection.send(message);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package de.dfg.oc.otc.layer2.ea;
+
+import java.io.IOException;
+
+/**
+ * An EA whose individuals can be simulated on the additional simulators of a
+ * {@link SimulatorFarm}. Its individuals implement
+ * {@link SimulatorFarmIndividual}.
+ */
+interface SimulatorFarmEA {
+    /**
+     * Sends the current task to an additional simulator, like the EA does with
+     * its own simulator when the optimisation starts.
+     *
+     * @param simulator the newly connected simulator
+     * @throws IOException if the simulator doesn't answer as expected
+     */
+    void initialiseSimulator(SimulatorFarm.Simulator simulator) throws IOException;
+}
@@ -0,0 +1,20 @@
+package de.dfg.oc.otc.layer2.ea;
+
+import java.io.IOException;
+
+/**
+ * An individual that can be simulated on an additional simulator of a
+ * {@link SimulatorFarm} (see {@link SimulatorFarmEA}).
+ */
+interface SimulatorFarmIndividual {
+    /**
+     * Simulates this individual on an additional simulator and reads the
+     * result from the simulator's database. Called concurrently for
+     * different individuals, so it must not change the EA.
+     *
+     * @param simulator the simulator
+     * @return the fitness (not stored in this individual)
+     * @throws IOException if the simulator doesn't answer as expected
+     */
+    float simulate(SimulatorFarm.Simulator simulator) throws IOException;
+}
@@ -30,10 +30,18 @@ class SocketConnector {
      * Graphical console.
      */
     Layer2Console l2c;
+    /**
+     * Additional simulators for evaluating individuals in parallel, {@code null} if not used.
+     */
+    SimulatorFarm simulatorFarm;
     /**
      * Seed currently used for AIMSUN simulations.
      */
     int aimsunSeed = -1;
+    /**
+     * Network file of the current task sent to AIMSUN ({@code NONE} if AIMSUN uses its own).
+     */
+    private String angFileName = "NONE";
     /**
      * Series of best fitness values for progress display.
      */
@@ -87,6 +95,10 @@ class SocketConnector {
             l2c.printEAWarning(e.getMessage());
             log.warn(e.getMessage());
         }
+
+        if (simulatorFarm != null) {
+            simulatorFarm.setSeed(aimsunSeed);
+        }
     }
 
     /**
@@ -118,6 +130,10 @@ class SocketConnector {
             l2c.printEAWarning(e.getMessage());
             log.warn(e.getMessage());
         }
+
+        if (simulatorFarm != null) {
+            simulatorFarm.setSimulationDuration(duration);
+        }
     }
 
     /**
@@ -192,6 +208,31 @@ class SocketConnector {
         }
     }
 
+    /**
+     * Sends the {@code OptTask} data to an additional simulator of the farm
+     * (same order as {@link #sendOptimisationTask(OptimisationTask, int)}).
+     *
+     * @throws IOException if the simulator doesn't answer as expected
+     */
+    void sendOptimisationTask(final SimulatorFarm.Simulator simulator, final OptimisationTask task) throws IOException {
+        simulator.request(angFileName, "ANGFILE_OK");
+        simulator.request(String.valueOf(task.getReplicationId()), "REPLICATION_ID_OK");
+        simulator.request(String.valueOf(task.getTime()), "TIME_OK");
+        simulator.request(String.valueOf(task.getNodeID()), "NODE_ID_OK");
+        simulator.request(String.valueOf(task.getEAConfig().getSimulationDuration()), "SIMDUR_OK");
+        simulator.request(String.valueOf(task.getEAConfig().getWarmUpDuration()), "WARMDUR_OK");
+
+        for (float situation : task.getSituation()) {
+            simulator.request(String.valueOf(situation), "SITUATION_ENTRY_OK");
+        }
+        simulator.request("SITUATION_DONE", "SITUATION_DONE_OK");
+
+        for (int sectionId : task.getSectionIDsForSituation()) {
+            simulator.request(String.valueOf(sectionId), "SECTION_ID_OK");
+        }
+        simulator.request("SECTION_IDS_DONE", "SECTION_IDS_DONE_OK");
+    }
+
     private void sendSectionIDs(int[] sectionIDs) throws IOException {
         for (int sectionId : sectionIDs) {
             socketConnection.send(String.valueOf(sectionId));
@@ -282,7 +323,7 @@ class SocketConnector {
     }
 
     private void sendFileNameOfTask(OptimisationTask task, int eaId) throws IOException {
-        String angFileName = "NONE";
+        angFileName = "NONE";
         if (task.hasFileData()) {
             angFileName = "layer2Tasks/" + task.getNodeID() + "_" + eaId + ".ang";
 
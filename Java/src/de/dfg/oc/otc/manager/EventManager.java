@@ -1,26 +1,53 @@
 package de.dfg.oc.otc.manager;
 
 import de.dfg.oc.otc.config.DefaultParams;
+import org.apache.log4j.Logger;
 
-import javax.swing.*;
+import java.io.File;
 
 /**
- * Loads the JavaNativeEvent.dll.
+ * Signals the API side via the JavaNativeEvent.dll. The library is loaded on
+ * the first signal; without it (off Windows, e.g. in tests or when replaying
+ * a recording) nobody waits for the event and signals are ignored.
  */
 abstract class EventManager {
-    static {
-        try {
-            System.load(DefaultParams.PATH + "JavaNativeEvent.dll");
-        } catch (UnsatisfiedLinkError ule) {
-            JOptionPane.showMessageDialog(null, ule.getMessage(), "OTCManager: Fatal Error", JOptionPane.ERROR_MESSAGE);
-            System.err.println(ule.getMessage());
-            System.exit(-1);
+    private static final Logger log = Logger.getLogger(EventManager.class);
+    private static final String LIBRARY = "JavaNativeEvent.dll";
+    private static boolean loaded;
+    private static boolean available;
+
+    private static synchronized boolean isAvailable() {
+        if (!loaded) {
+            loaded = true;
+            final File library = new File(DefaultParams.PATH + LIBRARY);
+            if (!System.getProperty("os.name").startsWith("Windows")) {
+                log.info("No " + LIBRARY + " off Windows, the API side is not signalled.");
+                return false;
+            }
+            if (!library.isFile()) {
+                log.warn(library + " not found, the API side is not signalled.");
+                return false;
+            }
+            try {
+                System.load(library.getAbsolutePath());
+                available = true;
+            } catch (UnsatisfiedLinkError ule) {
+                log.error("Loading " + library + " failed, the API side is not signalled: " + ule.getMessage());
+            }
         }
+        return available;
     }
 
     /**
      * Sobald eine Instanz des OTCManagers existiert,kann das Event abgesetzt werden
-     * auf das die API-Seite wartet, bevor sie weiterarbeitet.
+     * auf das die API-Seite wartet, bevor sie weiterarbeitet. Ohne die
+     * JavaNativeEvent.dll passiert nichts.
      */
-    public static native void setEvent();
-}
\ No newline at end of file
+    static void signal() {
+        if (isAvailable()) {
+            setEvent();
+        }
+    }
+
+    private static native void setEvent();
+}
@@ -7,6 +7,7 @@ import de.dfg.oc.otc.layer0.tlc.Recall;
 import de.dfg.oc.otc.layer0.tlc.TLCException;
 import de.dfg.oc.otc.layer0.tlc.fixedTimeController.FixedTimeController;
 import de.dfg.oc.otc.layer0.tlc.nemaController.NEMAController;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
 import de.dfg.oc.otc.layer1.observer.monitoring.RawStatisticalDataContainer;
 import de.dfg.oc.otc.layer2.OTCLayer2Announce;
 import de.dfg.oc.otc.layer2.OptimisationTask;
@@ -19,17 +20,24 @@ import de.dfg.oc.otc.manager.aimsun.Turning;
 import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
 import de.dfg.oc.otc.aid.disturbance.DisturbanceManager;
 import de.dfg.oc.otc.manager.gui.MainFrame;
+import de.dfg.oc.otc.manager.replay.ApiCall;
+import de.dfg.oc.otc.manager.replay.ApiRecorder;
 import de.dfg.oc.otc.publictransport.PublicTransportController;
 import de.dfg.oc.otc.publictransport.PublicTransportLine;
 import de.dfg.oc.otc.publictransport.PublicTransportManager;
 import de.dfg.oc.otc.region.DPSSManager;
 import de.dfg.oc.otc.routing.RoutingComponent;
 import de.dfg.oc.otc.routing.RoutingManager;
+import de.dfg.oc.otc.tools.AsyncLogWriter;
+import de.dfg.oc.otc.tools.StepBatch;
 import forecasting.DefaultForecastParameters;
 import org.apache.log4j.Logger;
 
 import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
@@ -109,6 +117,16 @@ public final class OTCManager extends Observable {
      */
     private String filenamePrefix;
     private boolean isAimsunFinishing;
+    /**
+     * Sammelt Ereignisse zurückgestellter Subscriber (z. B. der GUI) und
+     * stellt sie einmal pro Zeitschritt zu.
+     */
+    private final StepBatch stepBatch = new StepBatch();
+    /**
+     * Zeichnet die Aufrufe der Aimsun-API auf, {@code null} wenn nicht
+     * aufgezeichnet wird (siehe {@link DefaultParams#API_RECORDING_FILE}).
+     */
+    private ApiRecorder recorder;
     /**
      * Hat den Wert {@code true}, falls Ebene 2 gerade einen
      * Optimierungslauf durchführt.
@@ -176,6 +194,14 @@ public final class OTCManager extends Observable {
         } else {
             newInfo("Wird von Layer 2 verwendet, Registry nicht kontaktet");
         }
+
+        if (!isLayer2Attached && !DefaultParams.API_RECORDING_FILE.isEmpty()) {
+            try {
+                this.recorder = ApiRecorder.open(DefaultParams.API_RECORDING_FILE);
+            } catch (IOException e) {
+                newWarning("Aufzeichnung der API-Aufrufe fehlgeschlagen: " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -191,11 +217,19 @@ public final class OTCManager extends Observable {
 
             instance = new OTCManager();
             startSimulationTime = Clock.systemUTC().millis();
-            EventManager.setEvent();
+            EventManager.signal();
         }
         return instance;
     }
 
+    /**
+     * Gibt den Batch zurück, dessen Ereignisse zu Beginn jedes Zeitschritts
+     * zugestellt werden (siehe {@link StepBatch#defer}).
+     */
+    public StepBatch getStepBatch() {
+        return stepBatch;
+    }
+
     public static float getSimulationStepSize() {
         return simulationStepSize;
     }
@@ -207,6 +241,10 @@ public final class OTCManager extends Observable {
      */
     // API: setSimulationStepSize(F)V
     public static void setSimulationStepSize(final float stepSize) {
+        if (instance != null && instance.recorder != null) {
+            instance.recorder.record(ApiCall.SET_SIMULATION_STEP_SIZE, stepSize);
+        }
+
         simulationStepSize = stepSize;
     }
 
@@ -220,7 +258,7 @@ public final class OTCManager extends Observable {
      */
     public static void reInitialize() {
         OTCManager.getInstance();
-        EventManager.setEvent();
+        EventManager.signal();
     }
 
     public static void setLayer2Attached() {
@@ -235,6 +273,10 @@ public final class OTCManager extends Observable {
      */
     //API: setPublicTransportData([II)V
     public void setPublicTransportData(int[] sectionIDs, int lineID) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_PUBLIC_TRANSPORT_DATA, sectionIDs, lineID);
+        }
+
         List<Section> sections = new ArrayList<>();
         for (int sectionID : sectionIDs) {
             Section section = this.network.getSection(sectionID);
@@ -254,6 +296,10 @@ public final class OTCManager extends Observable {
      */
     //API: setPublicTransportDetectors(IIF)I
     public int setPublicTransportDetectors(int detectorID, int lineID, float detectorSpeed) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_PUBLIC_TRANSPORT_DETECTORS, detectorID, lineID, detectorSpeed);
+        }
+
         try {
             PublicTransportLine line = PublicTransportManager.getInstance().getPublicTransportLines().get(lineID);
             PublicTransportController controller = line.getPublicTransportController(detectorID);
@@ -274,6 +320,10 @@ public final class OTCManager extends Observable {
      */
     // API: addCentroid(I[I[I)V
     public void addCentroid(final int id, final int[] incomingSections, final int[] outgoingSections) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_CENTROID, id, incomingSections, outgoingSections);
+        }
+
         this.network.addCentroid(id, incomingSections, outgoingSections);
     }
 
@@ -283,6 +333,10 @@ public final class OTCManager extends Observable {
     // API: addDetector(IIFFIILS)I
     public int addDetector(final int id, final int sectionId, final float posBegin, final float posEnd,
                            final int firstLane, final int lastLane, final String name) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_DETECTOR, id, sectionId, posBegin, posEnd, firstLane, lastLane, name);
+        }
+
         try {
             this.network.addDetector(id, sectionId, posBegin, posEnd, firstLane, lastLane);
         } catch (OTCManagerException ome) {
@@ -316,6 +370,10 @@ public final class OTCManager extends Observable {
      */
     // API: (IIS)I
     public int addJunction(final int id, final int controlType, final String name) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_JUNCTION, id, controlType, name);
+        }
+
         try {
             this.network.addJunction(id, controlType, name);
         } catch (OTCManagerException ome) {
@@ -339,6 +397,10 @@ public final class OTCManager extends Observable {
      */
     public int addPhase(final int id, final int interphase, final float duration, final float maxDuration,
                         final float minDuration, final int junctionId) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_PHASE, id, interphase, duration, maxDuration, minDuration, junctionId);
+        }
+
         try {
             final boolean boolInterphase = interphase == 1;
             this.network.addPhase(id, boolInterphase, duration, maxDuration, minDuration, junctionId);
@@ -360,6 +422,10 @@ public final class OTCManager extends Observable {
      */
     // API: addPhase(IIFFFI)I
     public int addPhase(final int id, final int interphase, final int junctionId) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_PHASE_WITHOUT_DURATIONS, id, interphase, junctionId);
+        }
+
         try {
             final boolean boolInterphase = interphase == 1;
             this.network.addPhase(id, boolInterphase, junctionId);
@@ -386,6 +452,10 @@ public final class OTCManager extends Observable {
      */
     // API: addSection(ISIF[IFF)I
     public int addSection(final int angId, final int roadType, final int nbTurnings, final float length, final int[] destId, float speedlimit, float capacity) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_SECTION, angId, roadType, nbTurnings, length, destId, speedlimit, capacity);
+        }
+
         try {
             this.network.addSection(angId, roadType, nbTurnings, length, destId, speedlimit, capacity);
         } catch (OTCManagerException ome) {
@@ -399,6 +469,10 @@ public final class OTCManager extends Observable {
 
     // API: (II)I
     public int addSignalGrp(final int id, final int junctionId) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_SIGNAL_GRP, id, junctionId);
+        }
+
         try {
             this.network.addSignalGroup(id, junctionId);
         } catch (OTCManagerException ome) {
@@ -421,6 +495,10 @@ public final class OTCManager extends Observable {
      */
     // addSignalGrpPhase(III)I
     public int addSignalGrpPhase(final int id, final int phaseId, final int junctionId) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_SIGNAL_GRP_PHASE, id, phaseId, junctionId);
+        }
+
         try {
             this.network.addSignalGrpPhase(id, phaseId, junctionId);
         } catch (OTCManagerException ome) {
@@ -460,6 +538,10 @@ public final class OTCManager extends Observable {
      */
     // API: (IIII)I
     public int addTurning(final int junctionId, final int signalGrpId, final int sectionInId, final int sectionOutId) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_TURNING, junctionId, signalGrpId, sectionInId, sectionOutId);
+        }
+
         try {
             this.network.addTurning(junctionId, signalGrpId, sectionInId, sectionOutId);
         } catch (OTCManagerException ome) {
@@ -496,16 +578,15 @@ public final class OTCManager extends Observable {
                                             final int flow, final float travelTime, final float delayTime, final float stopTime,
                                             final float queueLength, final float numStops, final float averageSpeed, final float speedDeviation,
                                             final float maxQueue) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_TURNING_RAW_STATISTICAL_DATA, sectionInId, sectionOutId, time, flow, travelTime,
+                    delayTime, stopTime, queueLength, numStops, averageSpeed, speedDeviation, maxQueue);
+        }
+
         try {
             Turning turning = network.getTurning(sectionInId, sectionOutId);
-
-            final RawStatisticalDataContainer rawData = new RawStatisticalDataContainer(time, this.lastStatResetTime, flow,
-                    travelTime, delayTime, stopTime, queueLength, numStops, averageSpeed, speedDeviation, maxQueue);
-            turning.addRawStatisticalDataEntry(rawData);
-
-            if (DefaultForecastParameters.IS_FORECAST_MODULE_ACTIVE) {
-                turning.getFlowForecaster().addValueForForecast(time, flow);
-            }
+            addTurningRawStatisticalData(turning, time, flow, travelTime, delayTime, stopTime, queueLength, numStops,
+                    averageSpeed, speedDeviation, maxQueue);
         } catch (OTCManagerException ome) {
             this.lastException = ome;
             setChanged();
@@ -516,6 +597,79 @@ public final class OTCManager extends Observable {
         return 0;
     }
 
+    /**
+     * Nimmt die "Rohdaten" mehrerer Turnings mit einem Aufruf an. Die Arrays
+     * enthalten spaltenweise die Parameter von
+     * {@link #addTurningRawStatisticalData(int, int, float, int, float, float, float, float, float, float, float, float)},
+     * Index {@code i} gehört in allen Arrays zum selben Turning.
+     *
+     * @param sectionInIds    Ids der Sections, die in die Turnings führen
+     * @param sectionOutIds   Ids der Sections, die aus den Turnings herausführen
+     * @param time            Die aktuelle Zeit
+     * @param flows           Verkehrsstärken veh/h
+     * @param travelTimes     Travel Time : Average sec
+     * @param delayTimes      Delay Time : Average sec
+     * @param stopTimes       Stop Time : Average sec
+     * @param queueLengths    Average Queue Length (veh)
+     * @param numStops        Number of Stops (#/Veh)
+     * @param averageSpeeds   Speed : Average km/h
+     * @param speedDeviations Speed : Deviation km/h
+     * @param maxQueues       Maximum Queue Length (veh)
+     * @return {@code -1}, if an exception is thrown for at least one turning, otherwise {@code 0}
+     */
+    // API: addTurningRawStatisticalDataBatch([I[IF[I[F[F[F[F[F[F[F[F)I
+    public int addTurningRawStatisticalDataBatch(final int[] sectionInIds, final int[] sectionOutIds, final float time,
+                                                 final int[] flows, final float[] travelTimes, final float[] delayTimes,
+                                                 final float[] stopTimes, final float[] queueLengths, final float[] numStops,
+                                                 final float[] averageSpeeds, final float[] speedDeviations,
+                                                 final float[] maxQueues) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_TURNING_RAW_STATISTICAL_DATA_BATCH, sectionInIds, sectionOutIds, time, flows,
+                    travelTimes, delayTimes, stopTimes, queueLengths, numStops, averageSpeeds, speedDeviations, maxQueues);
+        }
+
+        int status = 0;
+
+        try {
+            final Turning[] turnings = network.getTurnings(sectionInIds, sectionOutIds);
+            for (int i = 0; i < turnings.length; i++) {
+                try {
+                    if (turnings[i] == null) {
+                        throw new OTCManagerException("No turning from section " + sectionInIds[i] + " to " + sectionOutIds[i]);
+                    }
+
+                    addTurningRawStatisticalData(turnings[i], time, flows[i], travelTimes[i], delayTimes[i],
+                            stopTimes[i], queueLengths[i], numStops[i], averageSpeeds[i], speedDeviations[i], maxQueues[i]);
+                } catch (OTCManagerException ome) {
+                    this.lastException = ome;
+                    setChanged();
+                    notifyObservers("New Exception");
+                    status = -1;
+                }
+            }
+        } catch (OTCManagerException | ArrayIndexOutOfBoundsException e) {
+            this.lastException = e;
+            setChanged();
+            notifyObservers("New Exception");
+            return -1;
+        }
+
+        return status;
+    }
+
+    private void addTurningRawStatisticalData(final Turning turning, final float time, final int flow,
+                                              final float travelTime, final float delayTime, final float stopTime,
+                                              final float queueLength, final float numStops, final float averageSpeed,
+                                              final float speedDeviation, final float maxQueue) {
+        final RawStatisticalDataContainer rawData = new RawStatisticalDataContainer(time, this.lastStatResetTime, flow,
+                travelTime, delayTime, stopTime, queueLength, numStops, averageSpeed, speedDeviation, maxQueue);
+        turning.addRawStatisticalDataEntry(rawData);
+
+        if (DefaultForecastParameters.IS_FORECAST_MODULE_ACTIVE) {
+            turning.getFlowForecaster().addValueForForecast(time, flow);
+        }
+    }
+
     /**
      * Gets the flow of a {@link Section} from AIMSUN.
      *
@@ -525,6 +679,10 @@ public final class OTCManager extends Observable {
      */
     // API: addSectionRawFlow(II)I
     public int addSectionRawFlow(final int sectionID, final int flow) {
+        if (recorder != null) {
+            recorder.record(ApiCall.ADD_SECTION_RAW_FLOW, sectionID, flow);
+        }
+
         if (time < statisticsInterval) {
             return 0;
         }
@@ -587,6 +745,34 @@ public final class OTCManager extends Observable {
         newInfo("Connection with Registry established.");
     }
 
+    /**
+     * Removes the Layer2Announce from the RMI registry and unexports it and a
+     * registry created by this manager, so the RMI threads no longer keep the
+     * JVM alive. Layer 2 can not announce itself afterwards.
+     */
+    public void disconnectRegistry() {
+        if (this.rmiRegistry == null) {
+            return;
+        }
+
+        try {
+            this.rmiRegistry.unbind("Layer2Announce");
+        } catch (RemoteException | NotBoundException e) {
+            log.warn("Layer2Announce could not be unbound: " + e.getMessage());
+        }
+        try {
+            UnicastRemoteObject.unexportObject(layer2Announce, true);
+        } catch (NoSuchObjectException e) {
+            log.warn("Layer2Announce was not exported.");
+        }
+        try {
+            UnicastRemoteObject.unexportObject(this.rmiRegistry, true);
+        } catch (NoSuchObjectException e) {
+            // Registry of another process
+        }
+        this.rmiRegistry = null;
+    }
+
     /**
      * Erzeugt ein neues Netzwerk, das dann dem Manager zugeordnet wird. Dieses
      * Netzwerk ist initial.
@@ -596,6 +782,10 @@ public final class OTCManager extends Observable {
      */
     // API: createNetwork(S)
     public AimsunNetwork createNetwork(String networkName) {
+        if (recorder != null) {
+            recorder.record(ApiCall.CREATE_NETWORK, networkName);
+        }
+
         if (networkName.lastIndexOf(".ang") > 0) {
             networkName = networkName.substring(0, networkName.lastIndexOf(".ang"));
         }
@@ -614,6 +804,10 @@ public final class OTCManager extends Observable {
 
     // API: finalizeInit()V
     public void finalizeInit() {
+        if (recorder != null) {
+            recorder.record(ApiCall.FINALIZE_INIT);
+        }
+
         setChanged();
         notifyObservers("Network initialised");
 
@@ -750,6 +944,9 @@ public final class OTCManager extends Observable {
 
         updateDateAndSleepTime();
 
+        if (recorder != null) {
+            recorder.recordResult(ApiCall.GET_PHASES, this.phases);
+        }
         return this.phases;
     }
 
@@ -784,6 +981,10 @@ public final class OTCManager extends Observable {
      */
     // API: setReplicationID(I)V
     public void setReplicationID(final int replicationID) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_REPLICATION_ID, replicationID);
+        }
+
         this.replicationID = replicationID;
 
         LocalDate date = LocalDate.now();
@@ -839,6 +1040,14 @@ public final class OTCManager extends Observable {
      */
     // API: getRoutingData()[[I
     public int[][] getRoutingData() {
+        final int[][] routingData = collectRoutingData();
+        if (recorder != null) {
+            recorder.recordResult(ApiCall.GET_ROUTING_DATA, routingData);
+        }
+        return routingData;
+    }
+
+    private int[][] collectRoutingData() {
         if (this.time < RoutingManager.getInstance().getNextProtocolRun()) {
             return new int[0][0];
         }
@@ -877,7 +1086,12 @@ public final class OTCManager extends Observable {
      */
     // API: setTime(F)V
     public void setTime(final float time) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_TIME, time);
+        }
+
         this.time = time;
+        stepBatch.flush();
 
         DPSSManager.getInstance().executePSS(time);
         RoutingManager.getInstance().processRoutingProtocol(time);
@@ -922,6 +1136,7 @@ public final class OTCManager extends Observable {
         DefaultForecastParameters.readPropertyFile("java\\");
 
         DPSSManager.getInstance().initParameters();
+        RoutingManager.getInstance().reset();
 
         // Besondere Anpassungen f�r Neustart
         if (!isRestart) {
@@ -937,6 +1152,10 @@ public final class OTCManager extends Observable {
 
     // API: ()V
     public void initJunctions() {
+        if (recorder != null) {
+            recorder.record(ApiCall.INIT_JUNCTIONS);
+        }
+
         try {
             this.network.initSections();
             this.network.initJunctions();
@@ -957,6 +1176,10 @@ public final class OTCManager extends Observable {
      */
     // API: initSubDetectors()V
     public void initSubDetectors() {
+        if (recorder != null) {
+            recorder.record(ApiCall.INIT_SUB_DETECTORS);
+        }
+
         try {
             network.initSubDetectors();
         } catch (Exception e) {
@@ -974,7 +1197,7 @@ public final class OTCManager extends Observable {
         this.isLayer2Busy = busy;
         if (!busy && this.isAimsunFinishing) {
             this.isAimsunFinishing = false;
-            EventManager.setEvent();
+            EventManager.signal();
         }
     }
 
@@ -1046,12 +1269,23 @@ public final class OTCManager extends Observable {
         AbstractAIDAlgorithm.finishAllInstances();
         if (isLayer2Present && isLayer2Busy) {
             isAimsunFinishing = true;
+            if (recorder != null) {
+                recorder.recordResult(ApiCall.READY_FOR_FINISH, 0);
+            }
             return 0;
         }
 
         long duration = (Clock.systemUTC().millis() - startSimulationTime) / 1000;
         log.info("Simulation duration: " + duration + " seconds");
 
+        if (DefaultParams.LOG_LCS_DATA) {
+            AsyncLogWriter.getInstance().close();
+        }
+
+        if (recorder != null) {
+            recorder.recordResult(ApiCall.READY_FOR_FINISH, 1);
+            setApiRecorder(null);
+        }
         return 1;
     }
 
@@ -1063,6 +1297,10 @@ public final class OTCManager extends Observable {
      */
     // API: resetStatisticsTime(F)V
     public void resetStatisticsTime(final float time) {
+        if (recorder != null) {
+            recorder.record(ApiCall.RESET_STATISTICS_TIME, time);
+        }
+
         this.lastStatResetTime = time;
     }
 
@@ -1076,6 +1314,10 @@ public final class OTCManager extends Observable {
      */
     // API: restart()I
     public int restart() {
+        if (recorder != null) {
+            recorder.record(ApiCall.RESTART);
+        }
+
         if (this.network == null) {
             return 0;
         }
@@ -1120,6 +1362,10 @@ public final class OTCManager extends Observable {
 
     // API: setExperiment(I)V
     public void setExperiment(final int experiment) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_EXPERIMENT, experiment);
+        }
+
         this.experiment = experiment;
     }
 
@@ -1127,6 +1373,11 @@ public final class OTCManager extends Observable {
     public int setDetectorCapabilities(final int detectorId, final boolean count, final boolean presence,
                                        final boolean speed, final boolean occupancy, final boolean headway, final boolean density,
                                        final boolean equippedVehicle) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_DETECTOR_CAPABILITIES, detectorId, count, presence, speed, occupancy, headway,
+                    density, equippedVehicle);
+        }
+
         try {
             this.network.setDetectorCapabilities(detectorId, count, presence, speed, occupancy, headway, density,
                     equippedVehicle);
@@ -1141,6 +1392,10 @@ public final class OTCManager extends Observable {
 
     // API: setDetectorDestinations(I[I)I
     public int setDetectorDestinations(final int id, final int[] destinationIds) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_DETECTOR_DESTINATIONS, id, destinationIds);
+        }
+
         try {
             this.network.setDetectorDestinations(id, destinationIds);
         } catch (OTCManagerException ome) {
@@ -1164,7 +1419,15 @@ public final class OTCManager extends Observable {
      */
     // API: setDetectorValue(I[F)I
     public int setDetectorValue(final int detectorId, final float[] values) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_DETECTOR_VALUE, detectorId, values);
+        }
+
         final Detector detector = this.network.getDetectors().get(detectorId);
+        return setDetectorValue(detector, detectorId, values, 0);
+    }
+
+    private int setDetectorValue(final Detector detector, final int detectorId, final float[] values, final int offset) {
         if (detector == null) {
             this.lastWarning = this.lastWarning
                     .concat("setDetectorValue: Detector-Id " + detectorId + "invalid.");
@@ -1174,7 +1437,7 @@ public final class OTCManager extends Observable {
         }
 
         try {
-            detector.setValues(this.time, values);
+            detector.setValues(this.time, values, offset);
         } catch (OTCManagerException ome) {
             this.lastException = ome;
             setChanged();
@@ -1185,6 +1448,42 @@ public final class OTCManager extends Observable {
         return 0;
     }
 
+    /**
+     * Setzt die Werte aller SubDetectors (Features) mehrerer Detectors mit
+     * einem Aufruf. Ersetzt die Aufrufe von
+     * {@link #setDetectorValue(int, float[])} für jeden einzelnen Detector.
+     *
+     * @param detectorIds Ids der Detectors
+     * @param values      Werte aller Detectors hintereinander, d.h. die Werte des
+     *                    Detectors {@code detectorIds[i]} stehen an den Indizes
+     *                    {@code i * DetectorCapabilities.NUM} bis
+     *                    {@code (i + 1) * DetectorCapabilities.NUM - 1}
+     * @return {@code -1}, if an exception is thrown for at least one detector, otherwise {@code 0}
+     */
+    // API: setDetectorValues([I[F)I
+    public int setDetectorValues(final int[] detectorIds, final float[] values) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_DETECTOR_VALUES, detectorIds, values);
+        }
+
+        if (values.length < detectorIds.length * DetectorCapabilities.NUM) {
+            this.lastException = new OTCManagerException("setDetectorValues: List of values has too few entries.");
+            setChanged();
+            notifyObservers("New Exception");
+            return -1;
+        }
+
+        final Detector[] detectors = this.network.getDetectors(detectorIds);
+        int status = 0;
+        for (int i = 0; i < detectors.length; i++) {
+            if (setDetectorValue(detectors[i], detectorIds[i], values, i * DetectorCapabilities.NUM) < 0) {
+                status = -1;
+            }
+        }
+
+        return status;
+    }
+
     /**
      * Set the number of lanes for a {@link Section}.
      *
@@ -1194,6 +1493,10 @@ public final class OTCManager extends Observable {
      */
     // API: setSectionNbLanes(II)I
     public int setSectionNbLanes(final int sectionId, final int nbLanes) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_SECTION_NB_LANES, sectionId, nbLanes);
+        }
+
         final Section section = this.network.getSection(sectionId);
         if (section == null) {
             return -1;
@@ -1210,9 +1513,30 @@ public final class OTCManager extends Observable {
      */
     // API: setStatisticsInterval(F)V
     public void setStatisticsInterval(final float interval) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_STATISTICS_INTERVAL, interval);
+        }
+
         this.statisticsInterval = interval;
     }
 
+    /**
+     * Setzt den Recorder, der die folgenden Aufrufe der Aimsun-API aufzeichnet.
+     * Ein bisher verwendeter Recorder wird geschlossen.
+     *
+     * @param recorder neuer Recorder, {@code null} beendet die Aufzeichnung
+     */
+    public void setApiRecorder(final ApiRecorder recorder) {
+        if (this.recorder != null) {
+            try {
+                this.recorder.close();
+            } catch (IOException e) {
+                log.warn("Closing the API recording failed: " + e.getMessage());
+            }
+        }
+        this.recorder = recorder;
+    }
+
     /**
      * Setzt die aktuelle Zeit.
      *
@@ -1230,7 +1554,11 @@ public final class OTCManager extends Observable {
     // API: getPolicyToQuery()I
     public int getPolicyToQuery() {
         // this method is called every update cycle from the API in a loop, which breaks when this method returns -1
-        return AimsunPolicyStatus.getNextPolicy();
+        final int policy = AimsunPolicyStatus.getNextPolicy();
+        if (recorder != null) {
+            recorder.recordResult(ApiCall.GET_POLICY_TO_QUERY, policy);
+        }
+        return policy;
     }
 
     /**
@@ -1241,6 +1569,10 @@ public final class OTCManager extends Observable {
      */
     // API: setPolicyStatus(IZ)V
     public void setPolicyStatus(int policyID, boolean status) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_POLICY_STATUS, policyID, status);
+        }
+
         AimsunPolicyStatus.setStatus(policyID, status);
     }
 
@@ -1264,6 +1596,10 @@ public final class OTCManager extends Observable {
     // API: setTurningLanes(IIIIII)I
     public int setTurningLanes(final int sectionInId, final int sectionOutId, final int flo, final int llo,
                                final int fld, final int lld) {
+        if (recorder != null) {
+            recorder.record(ApiCall.SET_TURNING_LANES, sectionInId, sectionOutId, flo, llo, fld, lld);
+        }
+
         final Section inSection = this.network.getSection(sectionInId);
         if (inSection == null) {
             return -1;
@@ -1303,6 +1639,9 @@ public final class OTCManager extends Observable {
     // API: "()Ljava/lang/String;"
     public String getPrintStreamOutput()
     {
+        if (recorder != null) {
+            recorder.record(ApiCall.GET_PRINT_STREAM_OUTPUT);
+        }
         return OutPrintLn.getPrintStreamOutput();
     }
 }
@@ -48,6 +48,20 @@ public class AimsunNetwork extends AbstractObservableStatistics {
     private final Map<Integer, Section> sectionMap;
 
     private final List<SubDetector> subDetectors;
+    /**
+     * Detector ids of the last bulk update and the corresponding detectors in
+     * the same order (see {@link #getDetectors(int[])}).
+     */
+    private int[] resolvedDetectorIds = new int[0];
+    private Detector[] resolvedDetectors = new Detector[0];
+    /**
+     * Section ids of the turnings of the last bulk update and the
+     * corresponding turnings in the same order (see
+     * {@link #getTurnings(int[], int[])}).
+     */
+    private int[] resolvedTurningInIds = new int[0];
+    private int[] resolvedTurningOutIds = new int[0];
+    private Turning[] resolvedTurnings = new Turning[0];
     /**
      * Wird mit jedem neu angelegten Turning inkrementiert, um diesen eindeutige
      * Ids geben zu können.
@@ -113,6 +127,8 @@ public class AimsunNetwork extends AbstractObservableStatistics {
 
         final Detector detector = section.addDetector(id, posBegin, posEnd, firstLane, lastLane);
         this.detectorMap.put(id, detector);
+        this.resolvedDetectorIds = new int[0];
+        this.resolvedDetectors = new Detector[0];
     }
 
     /**
@@ -239,6 +255,13 @@ public class AimsunNetwork extends AbstractObservableStatistics {
 
         junction.addTurning(nextTurningId, signalGrpId, inSection, outSection);
         this.nextTurningId++;
+        clearResolvedTurnings();
+    }
+
+    private void clearResolvedTurnings() {
+        this.resolvedTurningInIds = new int[0];
+        this.resolvedTurningOutIds = new int[0];
+        this.resolvedTurnings = new Turning[0];
     }
 
     private void findMappingDetectorForTurning(final Iterable<Turning> turnings) {
@@ -289,6 +312,27 @@ public class AimsunNetwork extends AbstractObservableStatistics {
         return this.detectorCapabilities;
     }
 
+    /**
+     * Returns the detectors for the given ids in the same order. The simulator
+     * sends the detectors in the same order each step, so the lookup is only
+     * done once and repeated calls with equal ids reuse the resulting array.
+     *
+     * @param detectorIds ids of the detectors
+     * @return detectors, {@code null} for unknown ids
+     */
+    public final Detector[] getDetectors(final int[] detectorIds) {
+        if (!Arrays.equals(detectorIds, this.resolvedDetectorIds)) {
+            final Detector[] detectors = new Detector[detectorIds.length];
+            for (int i = 0; i < detectorIds.length; i++) {
+                detectors[i] = this.detectorMap.get(detectorIds[i]);
+            }
+
+            this.resolvedDetectors = detectors;
+            this.resolvedDetectorIds = detectorIds.clone();
+        }
+        return this.resolvedDetectors;
+    }
+
     public final Map<Integer, Detector> getDetectors() {
         if (this.detectorMap.isEmpty()) {
             throw new OTCManagerException("Es gibt keine Detektoren, oder initJunctions() wurde noch nicht aufgerufen.");
@@ -407,12 +451,44 @@ public class AimsunNetwork extends AbstractObservableStatistics {
         return turning;
     }
 
+    /**
+     * Returns the turnings for the given pairs of section ids in the same
+     * order. As for {@link #getDetectors(int[])}, the lookup is only done once
+     * for repeated calls with equal ids.
+     *
+     * @param inSectionIds  ids of the sections leading into the turnings
+     * @param outSectionIds ids of the sections leading out of the turnings
+     * @return turnings, {@code null} for unknown pairs of section ids
+     */
+    public final Turning[] getTurnings(final int[] inSectionIds, final int[] outSectionIds) {
+        if (inSectionIds.length != outSectionIds.length) {
+            throw new OTCManagerException("Number of in and out sections differs.");
+        }
+
+        if (!Arrays.equals(inSectionIds, this.resolvedTurningInIds)
+                || !Arrays.equals(outSectionIds, this.resolvedTurningOutIds)) {
+            final Turning[] turnings = new Turning[inSectionIds.length];
+            for (int i = 0; i < inSectionIds.length; i++) {
+                final Section inSection = sectionMap.get(inSectionIds[i]);
+                if (inSection != null) {
+                    turnings[i] = inSection.getTurningMap().get(outSectionIds[i]);
+                }
+            }
+
+            this.resolvedTurnings = turnings;
+            this.resolvedTurningInIds = inSectionIds.clone();
+            this.resolvedTurningOutIds = outSectionIds.clone();
+        }
+        return this.resolvedTurnings;
+    }
+
     /**
      * Erledigt die Zuordnung von Detektoren zu Turnings, baut die Liste
      * ControlledJunctions auf und fügt den Phasen die vorhandenen Detektoren
      * hinzu.
      */
     public final void initJunctions() {
+        clearResolvedTurnings();
         final Collection<AimsunJunction> invalidJunctions = new ArrayList<>();
 
         for (AimsunJunction junction : this.junctionMap.values()) {
@@ -6,7 +6,7 @@ import de.dfg.oc.otc.layer1.observer.monitoring.AbstractObservableStatistics;
 import de.dfg.oc.otc.layer1.observer.monitoring.StatisticsCapabilities;
 import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
-import de.dfg.oc.otc.tools.LimitedQueue;
+import de.dfg.oc.otc.tools.FloatRingBuffer;
 import forecasting.DefaultForecastParameters;
 
 import java.util.ArrayList;
@@ -30,12 +30,12 @@ public class Turning extends AbstractObservableStatistics {
      * Enthält die durchschnittliche Schlangenlänge für diese Abbiegebeziegung
      * bei den letzten {@link de.dfg.oc.otc.layer1.controller.lcs.LCS}-Aufrufen.
      */
-    private final LimitedQueue<Float> queueAvgHistory;
+    private final FloatRingBuffer queueAvgHistory;
     /**
      * Enthält die maximale Schlangenlänge für diese Abbiegebeziegung bei den
      * letzten {@link de.dfg.oc.otc.layer1.controller.lcs.LCS}-Aufrufen.
      */
-    private final LimitedQueue<Float> queueMaxHistory;
+    private final FloatRingBuffer queueMaxHistory;
     /**
      * Incoming section of this turning.
      */
@@ -71,8 +71,8 @@ public class Turning extends AbstractObservableStatistics {
         this.sectionOut = sectionOut;
         this.detectors = new ArrayList<>(3);
         this.trafficType = TrafficType.UNDEFINED;
-        this.queueMaxHistory = new LimitedQueue<>(3);
-        this.queueAvgHistory = new LimitedQueue<>(3);
+        this.queueMaxHistory = new FloatRingBuffer(3);
+        this.queueAvgHistory = new FloatRingBuffer(3);
 
         if (DefaultForecastParameters.IS_FORECAST_MODULE_ACTIVE) {
             this.flowForecaster = new ForecastAdapter((int) (DefaultParams.L0_MIN_CYCLES_DELAY * 90 / OTCManager.getSimulationStepSize()));
@@ -1,6 +1,8 @@
 package de.dfg.oc.otc.manager.aimsun.detectors;
 
-import java.util.Observable;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import de.dfg.oc.otc.tools.Subscriber;
+import de.dfg.oc.otc.tools.Topic;
 
 /**
  * An AbstractDetectorGroup is either a simple detector pair a group of
@@ -8,7 +10,12 @@ import java.util.Observable;
  *
  * @author Matthias Sommer
  */
-public abstract class AbstractDetectorGroup extends Observable implements Cloneable {
+public abstract class AbstractDetectorGroup implements Cloneable, Subscriber<Detector, CurrentDetectorValue> {
+    /**
+     * Receives the aggregated values of the group. A clone shares the topic
+     * with the original group.
+     */
+    private final Topic<AbstractDetectorGroup, DetectorDataValue> valueTopic = new Topic<>();
     /**
      * ID of the detector group.
      */
@@ -82,6 +89,25 @@ public abstract class AbstractDetectorGroup extends Observable implements Clonea
         this.type = type;
     }
 
+    /**
+     * Registers a subscriber for the aggregated values of the group (e.g. an
+     * AID algorithm).
+     */
+    public final void subscribe(final Subscriber<? super AbstractDetectorGroup, ? super DetectorDataValue> subscriber) {
+        valueTopic.subscribe(subscriber);
+    }
+
+    public final void unsubscribe(final Subscriber<? super AbstractDetectorGroup, ? super DetectorDataValue> subscriber) {
+        valueTopic.unsubscribe(subscriber);
+    }
+
+    /**
+     * Sends an aggregated value to the subscribers.
+     */
+    final void publish(final DetectorDataValue aggregatedValue) {
+        valueTopic.publish(this, aggregatedValue);
+    }
+
     /**
      * Returns a clone instance of the detector pair.
      * <p>
@@ -112,8 +138,8 @@ public abstract class AbstractDetectorGroup extends Observable implements Clonea
     public abstract boolean isEquallyComposed(AbstractDetectorGroup pair);
 
     /**
-     * The method is used to register this class as observer for all contained
-     * detectors.
+     * The method is used to register this class as subscriber for all
+     * contained detectors.
      */
     public abstract void registerAsObserver();
 
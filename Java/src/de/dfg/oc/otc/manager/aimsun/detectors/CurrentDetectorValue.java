@@ -0,0 +1,57 @@
+package de.dfg.oc.otc.manager.aimsun.detectors;
+
+import de.dfg.oc.otc.layer1.observer.monitoring.DataEntry;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+
+/**
+ * Values of a {@link Detector} in the current time step, indexed by
+ * {@link DetectorCapabilities}. Each detector publishes the same object in
+ * every time step and overwrites its values, so publishing doesn't allocate.
+ * Subscribers read the values within {@code update} and copy what they keep
+ * (e.g. with {@link #clone()}).
+ */
+public final class CurrentDetectorValue implements DataEntry {
+    private final float[] values = new float[DetectorCapabilities.NUM];
+    private float time;
+
+    CurrentDetectorValue() {
+    }
+
+    /**
+     * Overwrites the values with those of the next time step.
+     *
+     * @param time   of the values
+     * @param values array with the values of several detectors
+     * @param offset index of the first value of the detector
+     */
+    void set(final float time, final float[] values, final int offset) {
+        this.time = time;
+        System.arraycopy(values, offset, this.values, 0, this.values.length);
+    }
+
+    /**
+     * Returns a copy of the current values, which can be kept.
+     */
+    @Override
+    public DetectorDataValue clone() {
+        return new DetectorDataValue(time, values);
+    }
+
+    @Override
+    public float getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the current values, which are overwritten in the next time step.
+     */
+    @Override
+    public float[] getValues() {
+        return values;
+    }
+
+    public float getValue(final int feature) {
+        return values[feature];
+    }
+}
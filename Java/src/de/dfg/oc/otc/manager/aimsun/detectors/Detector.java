@@ -1,20 +1,20 @@
 package de.dfg.oc.otc.manager.aimsun.detectors;
 
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
-import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
 import de.dfg.oc.otc.layer1.observer.monitoring.SubDetectorValue;
 import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.OTCManagerException;
+import de.dfg.oc.otc.tools.Subscriber;
+import de.dfg.oc.otc.tools.Topic;
 import org.apache.log4j.Logger;
 
 import java.text.DecimalFormat;
-import java.util.Observable;
 
 /**
  * Detector contains several SubDetectors, which have certain abilities to
  * monitor specific traffic attributes.
  */
-public class Detector extends Observable {
+public class Detector {
     /**
      * First and last lane the Detector is able to monitor.
      */
@@ -46,6 +46,14 @@ public class Detector extends Observable {
      */
     private int[] destinations;
     private final DetectorCapabilities detectorCapabilities = new DetectorCapabilities();
+    /**
+     * Erhält die Werte jedes Zeitschritts (siehe {@link #setValues(float, float[], int)}).
+     */
+    private final Topic<Detector, CurrentDetectorValue> valueTopic = new Topic<>();
+    /**
+     * Werte des aktuellen Zeitschritts, wird für jeden Zeitschritt wiederverwendet.
+     */
+    private final CurrentDetectorValue currentValue = new CurrentDetectorValue();
 
     /**
      * Erzeugt ein Detector-Objekt.
@@ -247,7 +255,19 @@ public class Detector extends Observable {
      *               equippedVehicle: Anzahl "Equipped Vehicle"
      */
     public final void setValues(final float time, final float[] values) throws OTCManagerException {
-        if (values.length < DetectorCapabilities.NUM) {
+        setValues(time, values, 0);
+    }
+
+    /**
+     * Aktualisiert die Detektoren mit Werten, die ab {@code offset} in einem
+     * Array mit den Werten mehrerer Detektoren liegen.
+     *
+     * @param time   Zeitpunkt der Messung
+     * @param values Array mit den Werten (siehe {@link #setValues(float, float[])})
+     * @param offset Index des ersten Werts dieses Detektors
+     */
+    public final void setValues(final float time, final float[] values, final int offset) throws OTCManagerException {
+        if (values.length - offset < DetectorCapabilities.NUM) {
             throw new OTCManagerException("List of values has too few entries.");
         }
 
@@ -258,13 +278,28 @@ public class Detector extends Observable {
         for (int i = 0; i < DetectorCapabilities.NUM; i++) {
             final SubDetector subDetector = this.subDetectors[i];
             if (subDetector.isEnabled()) {
-                setSubDetectorValue(subDetector, time, values[i]);
+                setSubDetectorValue(subDetector, time, values[offset + i]);
             }
         }
 
-        DetectorDataValue value = new DetectorDataValue(time, values);
-        setChanged();
-        notifyObservers(value.clone());
+        // Alle Subscriber erhalten dasselbe Objekt, das im nächsten Zeitschritt überschrieben wird
+        if (valueTopic.countSubscribers() > 0) {
+            currentValue.set(time, values, offset);
+            valueTopic.publish(this, currentValue);
+        }
+    }
+
+    /**
+     * Registriert einen Subscriber für die Werte jedes Zeitschritts. Der
+     * Subscriber erhält in jedem Zeitschritt dasselbe {@link CurrentDetectorValue}
+     * und muss Werte, die er über {@code update} hinaus benötigt, kopieren.
+     */
+    public final void subscribe(final Subscriber<? super Detector, ? super CurrentDetectorValue> subscriber) {
+        valueTopic.subscribe(subscriber);
+    }
+
+    public final void unsubscribe(final Subscriber<? super Detector, ? super CurrentDetectorValue> subscriber) {
+        valueTopic.unsubscribe(subscriber);
     }
 
     public final String toString() {
@@ -1,5 +1,6 @@
 package de.dfg.oc.otc.manager.aimsun.detectors;
 
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
 import de.dfg.oc.otc.manager.aimsun.Link;
 
@@ -10,7 +11,7 @@ import java.util.*;
  *
  * @author Matthias Sommer
  */
-public class DetectorForkGroup extends AbstractDetectorGroup implements Observer {
+public class DetectorForkGroup extends AbstractDetectorGroup {
     /**
      * Links belonging to this detector group.
      */
@@ -20,7 +21,15 @@ public class DetectorForkGroup extends AbstractDetectorGroup implements Observer
      * Number of incoming sections.
      */
     private final int inStreams;
-    private final Map<Detector, DetectorDataValue> notifiedDetectors;
+    /**
+     * Detectors notified in the current time step.
+     */
+    private List<Detector> notifiedDetectors;
+    /**
+     * Sums of the values of the notified detectors, the published values are
+     * overwritten in the next time step.
+     */
+    private float[] sums = new float[DetectorCapabilities.NUM];
     /**
      * Number of outgoing sections.
      */
@@ -40,7 +49,7 @@ public class DetectorForkGroup extends AbstractDetectorGroup implements Observer
 
         this.inStreams = instreams;
         this.outStreams = outstreams;
-        this.notifiedDetectors = new HashMap<>();
+        this.notifiedDetectors = new ArrayList<>(2);
 
         this.associatedLinks = associatedLinks;
     }
@@ -234,15 +243,15 @@ public class DetectorForkGroup extends AbstractDetectorGroup implements Observer
     @Override
     public final void registerAsObserver() {
         for (Detector detector : this.upstreamDetectors) {
-            detector.addObserver(this);
+            detector.subscribe(this);
         }
         for (Detector detector : this.downstreamDetectors) {
-            detector.addObserver(this);
+            detector.subscribe(this);
         }
     }
 
     @Override
-    public final void update(final Observable o, final Object arg) {
+    public final void update(final Detector detector, final CurrentDetectorValue value) {
         /*
          * Ansatz: Wie bei SimplePair, nur f�r alle Detektoren. Das heisst, es
 		 * wird der Durchschnitt �ber alle vorhandenen Detektoren gebildet.
@@ -252,32 +261,35 @@ public class DetectorForkGroup extends AbstractDetectorGroup implements Observer
 		 * diesen Durchschnittswert aber als Anhaltspunkt f�r die Existenz
 		 * dieses Paares.
 		 */
-        final Detector detector = (Detector) o;
-        final DetectorDataValue value = (DetectorDataValue) arg;
-
-        if (!this.notifiedDetectors.keySet().contains(detector)) {
-            this.notifiedDetectors.put(detector, value);
+        if (!this.notifiedDetectors.contains(detector)) {
+            this.notifiedDetectors.add(detector);
+            final float[] values = value.getValues();
+            for (int i = 0; i < this.sums.length; i++) {
+                this.sums[i] += values[i];
+            }
         }
 
         if (this.notifiedDetectors.size() == this.numberDetectors) {
             // Werte aggregieren und Observer benachrichtigen
-            final int numberFeatures = value.getValues().length;
-            final float[] aggregate = new float[numberFeatures];
-
-            for (int i = 0; i < aggregate.length; i++) {
-                for (Map.Entry<Detector, DetectorDataValue> detectorDetectorDataValueEntry : this.notifiedDetectors.entrySet()) {
-                    aggregate[i] += this.notifiedDetectors.get(detectorDetectorDataValueEntry.getKey()).getValues()[i];
-                }
-                aggregate[i] /= (float) this.numberDetectors;
+            for (int i = 0; i < this.sums.length; i++) {
+                this.sums[i] /= (float) this.numberDetectors;
             }
 
-            final DetectorDataValue aggregatedValue = new DetectorDataValue(value.getTime(), aggregate);
+            final DetectorDataValue aggregatedValue = new DetectorDataValue(value.getTime(), this.sums);
 
-            setChanged();
-            notifyObservers(aggregatedValue);
+            publish(aggregatedValue);
 
             // Neuer Zeitschritt
             this.notifiedDetectors.clear();
+            Arrays.fill(this.sums, 0);
         }
     }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        final DetectorForkGroup clone = (DetectorForkGroup) super.clone();
+        clone.notifiedDetectors = new ArrayList<>(this.notifiedDetectors);
+        clone.sums = this.sums.clone();
+        return clone;
+    }
 }
@@ -1,24 +1,32 @@
 package de.dfg.oc.otc.manager.aimsun.detectors;
 
 import de.dfg.oc.otc.aid.TrafficDataExport;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
 import de.dfg.oc.otc.manager.aimsun.Link;
 
-import java.util.Observable;
-import java.util.Observer;
-
 /**
  * A detector pair consists of two detectors on the same section or on different
  * sections on the same road covering the same lanes.
  *
  * @author Matthias Sommer
  */
-public class DetectorPair extends AbstractDetectorGroup implements Observer {
+public class DetectorPair extends AbstractDetectorGroup {
     private final Detector downstreamDetector;
     private final float monitoredDistance;
     private final Detector upstreamDetector;
-    private DetectorDataValue currentDownstreamValue;
-    private DetectorDataValue currentUpstreamValue;
+    /**
+     * Copies of the current values of the detectors, the published values are
+     * overwritten in the next time step.
+     */
+    private float[] currentDownstreamValues = new float[DetectorCapabilities.NUM];
+    private float[] currentUpstreamValues = new float[DetectorCapabilities.NUM];
+    private float currentDownstreamTime = Float.NEGATIVE_INFINITY;
+    private float currentUpstreamTime = Float.NEGATIVE_INFINITY;
+    /**
+     * Reused for the aggregated values, {@link DetectorDataValue} copies them.
+     */
+    private float[] aggregate = new float[DetectorCapabilities.NUM];
     private boolean downstreamDetectorNotified;
     private boolean upstreamDetectorNotified;
 
@@ -68,24 +76,23 @@ public class DetectorPair extends AbstractDetectorGroup implements Observer {
 
     @Override
     public final void registerAsObserver() {
-        this.upstreamDetector.addObserver(this);
-        this.downstreamDetector.addObserver(this);
+        this.upstreamDetector.subscribe(this);
+        this.downstreamDetector.subscribe(this);
     }
 
     @Override
-    public final void update(final Observable o, final Object arg) {
-        final Detector detector = (Detector) o;
-        final DetectorDataValue value = (DetectorDataValue) arg;
-
+    public final void update(final Detector detector, final CurrentDetectorValue value) {
         if (detector.equals(this.upstreamDetector)) {
             // no value until now or current value newer then stored one?
-            if (this.currentUpstreamValue == null || value.getTime() > this.currentUpstreamValue.getTime()) {
-                this.currentUpstreamValue = value;
+            if (value.getTime() > this.currentUpstreamTime) {
+                this.currentUpstreamTime = value.getTime();
+                System.arraycopy(value.getValues(), 0, this.currentUpstreamValues, 0, DetectorCapabilities.NUM);
                 this.upstreamDetectorNotified = true;
             }
         } else {
-            if (this.currentDownstreamValue == null || value.getTime() > this.currentDownstreamValue.getTime()) {
-                this.currentDownstreamValue = value;
+            if (value.getTime() > this.currentDownstreamTime) {
+                this.currentDownstreamTime = value.getTime();
+                System.arraycopy(value.getValues(), 0, this.currentDownstreamValues, 0, DetectorCapabilities.NUM);
                 this.downstreamDetectorNotified = true;
             }
         }
@@ -96,17 +103,13 @@ public class DetectorPair extends AbstractDetectorGroup implements Observer {
             this.downstreamDetectorNotified = false;
 
             // calculate new aggregated value
-            final int numberFeatures = value.getValues().length;
-            final float[] aggregate = new float[numberFeatures];
-
-            for (int i = 0; i < numberFeatures; i++) {
-                aggregate[i] = (currentUpstreamValue.getValues()[i] + currentDownstreamValue.getValues()[i]) / 2;   // MERKE: Hier wird aus zwei Detektorenwerten einer gebildet
+            for (int i = 0; i < aggregate.length; i++) {
+                aggregate[i] = (currentUpstreamValues[i] + currentDownstreamValues[i]) / 2;   // MERKE: Hier wird aus zwei Detektorenwerten einer gebildet
             }
 
             final DetectorDataValue aggregatedValue = new DetectorDataValue(value.getTime(), aggregate);
 
-            setChanged();
-            notifyObservers(aggregatedValue);
+            publish(aggregatedValue);
 
             String upstreamID = "" + this.upstreamDetector.getId();
             String downstreamID = "" + this.downstreamDetector.getId();
@@ -114,4 +117,13 @@ public class DetectorPair extends AbstractDetectorGroup implements Observer {
             TrafficDataExport.exportData(id, aggregatedValue);
         }
     }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        final DetectorPair clone = (DetectorPair) super.clone();
+        clone.currentDownstreamValues = this.currentDownstreamValues.clone();
+        clone.currentUpstreamValues = this.currentUpstreamValues.clone();
+        clone.aggregate = new float[DetectorCapabilities.NUM];
+        return clone;
+    }
 }
@@ -1,15 +1,16 @@
 package de.dfg.oc.otc.manager.gui;
 
+import de.dfg.oc.otc.layer1.observer.monitoring.DataEntry;
+import de.dfg.oc.otc.layer1.observer.monitoring.DataStorage;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataStorage;
 import de.dfg.oc.otc.manager.OTCManagerException;
+import de.dfg.oc.otc.tools.Subscriber;
 
 import javax.swing.*;
 import java.awt.*;
 import java.text.DecimalFormat;
 import java.util.Hashtable;
-import java.util.Observable;
-import java.util.Observer;
 
 /**
  * Erzeugt ein Panel f�r einen SubDetector, das dessen aktuellen Wert und
@@ -18,7 +19,7 @@ import java.util.Observer;
  *
  * @author rochner
  */
-abstract class DetectorDataEntryPanel extends JPanel implements Observer {
+abstract class DetectorDataEntryPanel extends JPanel implements Subscriber<DataStorage, DataEntry> {
     private final int MAX_SLIDER_VALUE = 100;
     private final int MAX_TICK_SPACING = 25;
     private final int MIN_SLIDER_VALUE = 0;
@@ -38,6 +39,8 @@ abstract class DetectorDataEntryPanel extends JPanel implements Observer {
     private JLabel subDetectorFeature;
     private JLabel subdetectorId;
     private float timeInterval;
+    private volatile DetectorDataStorage storage;
+    private volatile Telemetry.Channel<float[]> channel;
 
     DetectorDataEntryPanel() {
         super();
@@ -203,25 +206,53 @@ abstract class DetectorDataEntryPanel extends JPanel implements Observer {
     }
 
     @Override
-    public final void update(final Observable o, final Object arg) {
-        if (isShowing()) {
-            final DetectorDataStorage storage = (DetectorDataStorage) o;
-            float averageValue;
-
-            try {
-                averageValue = storage.getAverage(detectorFeatureId, timeInterval);
-            } catch (OTCManagerException ome) {
-                averageValue = 0;
-            }
+    public final void addNotify() {
+        super.addNotify();
+        channel = Telemetry.getInstance().register(this::sampleValues, this::showValues);
+    }
+
+    @Override
+    public final void removeNotify() {
+        Telemetry.getInstance().unregister(channel);
+        channel = null;
+        super.removeNotify();
+    }
+
+    /**
+     * Liest Durchschnitts- und aktuellen Wert aus dem Storage (im
+     * Simulations-Thread).
+     */
+    private float[] sampleValues() {
+        final DetectorDataStorage storage = this.storage;
+        if (storage == null) {
+            return null;
+        }
+
+        float averageValue;
+        try {
+            averageValue = storage.getAverage(detectorFeatureId, timeInterval);
+        } catch (OTCManagerException ome) {
+            averageValue = 0;
+        }
+        return new float[]{averageValue, storage.getLastRelevantDatum(detectorFeatureId)};
+    }
 
-            setAverageDetectorValue(averageValue);
-            setCurrentDetectorValue(storage.getLastRelevantDatum(detectorFeatureId));
+    private void showValues(final float[] values) {
+        setAverageDetectorValue(values[0]);
+        setCurrentDetectorValue(values[1]);
+    }
 
-            Component parent = this;
-            do {
-                parent = parent.getParent();
-            } while (!(parent instanceof JTabbedPane));
-            parent.repaint();
+    /**
+     * Merkt sich den Storage und markiert den Kanal des Panels als
+     * verändert, falls das Panel angezeigt wird. Die Werte werden im
+     * nächsten Simulationsschritt gelesen (siehe {@link #sampleValues()}).
+     */
+    @Override
+    public final void update(final DataStorage storage, final DataEntry entry) {
+        final Telemetry.Channel<float[]> channel = this.channel;
+        if (channel != null && isShowing()) {
+            this.storage = (DetectorDataStorage) storage;
+            channel.markChanged();
         }
     }
 
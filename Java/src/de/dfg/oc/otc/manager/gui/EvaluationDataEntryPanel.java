@@ -2,16 +2,17 @@ package de.dfg.oc.otc.manager.gui;
 
 import de.dfg.oc.otc.layer1.observer.Attribute;
 import de.dfg.oc.otc.layer1.observer.Layer1Observer.DataSource;
+import de.dfg.oc.otc.layer1.observer.monitoring.DataEntry;
+import de.dfg.oc.otc.layer1.observer.monitoring.DataStorage;
 import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.OTCNode;
 import de.dfg.oc.otc.manager.aimsun.TrafficType;
+import de.dfg.oc.otc.tools.Subscriber;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
 import java.text.DecimalFormat;
-import java.util.Observable;
-import java.util.Observer;
 
 /**
  * This class is used to create a Panel for each evaluation indicator.
@@ -21,7 +22,7 @@ import java.util.Observer;
  *
  * @author tomforde
  */
-class EvaluationDataEntryPanel extends JPanel implements Observer {
+class EvaluationDataEntryPanel extends JPanel implements Subscriber<DataStorage, DataEntry> {
     /**
      * Das Attribut 'criterion' gibt an, welche Evaluierungsgr��e vom aktuellen
      * Panel angezeigt wird.
@@ -43,6 +44,7 @@ class EvaluationDataEntryPanel extends JPanel implements Observer {
      */
     private int objID;
     private JLabel observedObjectLabel;
+    private volatile Telemetry.Channel<Float> channel;
 
     EvaluationDataEntryPanel(final Attribute criterion) {
         super();
@@ -229,37 +231,48 @@ class EvaluationDataEntryPanel extends JPanel implements Observer {
         getObservedObject().setText(objID);
     }
 
-    public final void update(final Observable obs, final Object arg) {
-        if (isShowing()) {
-            // hole den node anhand der aktuellen id des panels
-            final OTCNode node = OTCManager.getInstance().getNetwork().getNode(objID);
-
-            // aktualisiere Werte
-            final float value = node.getEvaluation(DataSource.STATISTICS, criterion, TrafficType.INDIVIDUAL_TRAFFIC,
-                    false);
-            setCurrentValue(value);
-
-            if (criterion == Attribute.AVSTOPS) {
-                setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getClassification(Attribute.AVSTOPS, value))));
-            } else if (criterion == Attribute.LOS) {
-                setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getLos(value, TrafficType.INDIVIDUAL_TRAFFIC))));
-            } else if (criterion == Attribute.MAXSTOPS) {
-                setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getClassification(Attribute.MAXSTOPS, value))));
-            } else if (criterion == Attribute.QUEUELENGTH) {
-                setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getClassification(Attribute.QUEUELENGTH, value))));
-            } else if (criterion == Attribute.UTILISATION) {
-                setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getClassification(Attribute.UTILISATION, value))));
-            }
+    @Override
+    public final void addNotify() {
+        super.addNotify();
+        channel = Telemetry.getInstance().register(this::sampleValue, this::showValue);
+    }
 
-            // update view
-            Component parent = this;
-            if (parent != null) {
-                do {
-                    parent = parent.getParent();
-                } while (!(parent instanceof JTabbedPane));
+    @Override
+    public final void removeNotify() {
+        Telemetry.getInstance().unregister(channel);
+        channel = null;
+        super.removeNotify();
+    }
 
-                parent.repaint();
-            }
+    /**
+     * Liest den aktuellen Wert des Knotens (im Simulations-Thread).
+     */
+    private Float sampleValue() {
+        final OTCNode node = OTCManager.getInstance().getNetwork().getNode(objID);
+        return node.getEvaluation(DataSource.STATISTICS, criterion, TrafficType.INDIVIDUAL_TRAFFIC, false);
+    }
+
+    private void showValue(final Float value) {
+        setCurrentValue(value);
+
+        if (criterion == Attribute.LOS) {
+            setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getLos(value, TrafficType.INDIVIDUAL_TRAFFIC))));
+        } else if (criterion == Attribute.AVSTOPS || criterion == Attribute.MAXSTOPS
+                || criterion == Attribute.QUEUELENGTH || criterion == Attribute.UTILISATION) {
+            setCurrentClassification(String.valueOf(LOS.getLevelName(LOS.getClassification(criterion, value))));
+        }
+    }
+
+    /**
+     * Markiert den Kanal des Panels als verändert, falls das Panel angezeigt
+     * wird. Die Bewertung wird im nächsten Simulationsschritt gelesen (siehe
+     * {@link #sampleValue()}).
+     */
+    @Override
+    public final void update(final DataStorage storage, final DataEntry entry) {
+        final Telemetry.Channel<Float> channel = this.channel;
+        if (channel != null && isShowing()) {
+            channel.markChanged();
         }
     }
 }
@@ -32,6 +32,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Displays Level of Service measures.
@@ -46,6 +50,11 @@ class LOSChartPanel extends JPanel {
     private final XYSeries secondLOSSeries;
     private final OTCNode node;
     private float time = -1;
+    /**
+     * Values (time, first LOS, second LOS) not yet added to the chart.
+     */
+    private final Queue<float[]> pendingValues = new ConcurrentLinkedQueue<>();
+    private volatile Telemetry.Channel<List<float[]>> channel;
 
     LOSChartPanel(final OTCNode node) {
         super();
@@ -143,8 +152,16 @@ class LOSChartPanel extends JPanel {
         return chart;
     }
 
+    /**
+     * Computes the LOS values of the given time step. They are added to the
+     * chart with the next frame.
+     */
     final void evaluate(final float time) {
-        this.time = time;
+        final Telemetry.Channel<List<float[]>> channel = this.channel;
+        if (channel == null) {
+            return;
+        }
+
         final float cycleTime = node.getJunction().getActiveTLC().getCycleTime();
         final float firstInterval = firstIntervalSlider.getValue() * cycleTime;
         final float secondInterval = secondIntervalSlider.getValue() * cycleTime;
@@ -152,12 +169,49 @@ class LOSChartPanel extends JPanel {
                 TrafficType.INDIVIDUAL_TRAFFIC, firstInterval, false);
         final float secondLOS = node.getEvaluation(DataSource.STATISTICS, Attribute.LOS,
                 TrafficType.INDIVIDUAL_TRAFFIC, secondInterval, false);
-        if (!Float.isNaN(firstLOS)) {
-            firstLOSSeries.add(time, firstLOS);
+        pendingValues.add(new float[]{time, firstLOS, secondLOS});
+        channel.markChanged();
+    }
+
+    @Override
+    public final void addNotify() {
+        super.addNotify();
+        channel = Telemetry.getInstance().register(this::sampleValues, this::showValues);
+    }
+
+    @Override
+    public final void removeNotify() {
+        Telemetry.getInstance().unregister(channel);
+        channel = null;
+        pendingValues.clear();
+        super.removeNotify();
+    }
+
+    private List<float[]> sampleValues() {
+        final List<float[]> values = new ArrayList<>();
+        float[] value;
+        while ((value = pendingValues.poll()) != null) {
+            values.add(value);
         }
-        if (!Float.isNaN(secondLOS)) {
-            secondLOSSeries.add(time, secondLOS);
+        return values.isEmpty() ? null : values;
+    }
+
+    /**
+     * Adds the values of all time steps since the last frame and redraws the
+     * chart once.
+     */
+    private void showValues(final List<float[]> values) {
+        for (float[] value : values) {
+            this.time = value[0];
+            if (!Float.isNaN(value[1])) {
+                firstLOSSeries.add(value[0], value[1], false);
+            }
+            if (!Float.isNaN(value[2])) {
+                secondLOSSeries.add(value[0], value[2], false);
+            }
         }
+        firstLOSSeries.fireSeriesChanged();
+        secondLOSSeries.fireSeriesChanged();
     }
 
     private JCheckBox getCheckRefresh() {
@@ -15,6 +15,8 @@ import de.dfg.oc.otc.publictransport.PublicTransportController;
 import de.dfg.oc.otc.publictransport.PublicTransportLine;
 import de.dfg.oc.otc.publictransport.PublicTransportManager;
 import de.dfg.oc.otc.routing.RoutingComponent;
+import de.dfg.oc.otc.tools.StepBatch;
+import de.dfg.oc.otc.tools.Subscriber;
 
 import javax.swing.*;
 import java.awt.*;
@@ -64,12 +66,31 @@ public class MainFrame extends JFrame {
     private JPanel publicTransportPanel;
     private JComboBox<Object> publicTransportComboBox;
     private List<PublicTransportController> lastSelectedPublicTransportControllers;
+    /**
+     * Zeit des letzten Simulationsschritts, wird mit der Bildrate in der
+     * Statusleiste angezeigt.
+     */
+    private volatile float time;
+    private Telemetry.Channel<Float> timeChannel;
 
 
     public MainFrame() {
         initialize();
     }
 
+    /**
+     * Stops the frame rate timer of the {@link Telemetry} with the frame.
+     */
+    @Override
+    public void dispose() {
+        if (timeChannel != null) {
+            Telemetry.getInstance().unregister(timeChannel);
+            Telemetry.getInstance().stop();
+            timeChannel = null;
+        }
+        super.dispose();
+    }
+
     final void addNetworkComponent(final Object component) {
         getNetworkSplitPanel().addNetworkComponent(component);
 
@@ -574,6 +595,10 @@ public class MainFrame extends JFrame {
             final int height = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds().height;
             setSize(width / 2, height);
 
+            timeChannel = Telemetry.getInstance().register(() -> time,
+                    value -> statusBar.changeText(String.valueOf(value)));
+            Telemetry.getInstance().start();
+
             controller.checkMessages();
         } else {
             controller.speedUpSimulation();
@@ -617,7 +642,7 @@ public class MainFrame extends JFrame {
 
                 pddep.setAlignmentX(0);
                 detectorDataPanel.add(pddep);
-                theStorage.addObserver(pddep);
+                theStorage.subscribe(OTCManager.getInstance().getStepBatch().defer(pddep));
             }
         }
         repaint();
@@ -677,14 +702,8 @@ public class MainFrame extends JFrame {
             // Panels als Observer anbinden
             try {
                 Collection<DataStorage> storages = node.getL1StatObserver().getStorages();
-                for (DataStorage storage : storages) {
-                    StatisticalDataStorage stor = (StatisticalDataStorage) storage;
-                    stor.addObserver(panelLOS);
-                    stor.addObserver(panelQueueLength);
-                    stor.addObserver(panelAverageStop);
-                    stor.addObserver(panelMaxStops);
-                    stor.addObserver(panelUtilisationDegree);
-                }
+                subscribeToStorages(storages, panelLOS, panelQueueLength, panelAverageStop, panelMaxStops,
+                        panelUtilisationDegree);
             } catch (NullPointerException npe) {
                 JOptionPane.showMessageDialog(null, "There are no turnings for the current node!");
             }
@@ -722,14 +741,7 @@ public class MainFrame extends JFrame {
 
         // Panels als Observer anbinden
         Collection<DataStorage> storages = node.getL1StatObserver().getStorages();
-        for (DataStorage storage : storages) {
-            StatisticalDataStorage stor = (StatisticalDataStorage) storage;
-            stor.addObserver(panelLOS);
-            stor.addObserver(panelQueue);
-            stor.addObserver(panelAverageStops);
-            stor.addObserver(panelStops);
-            stor.addObserver(panelUtilisationDegree);
-        }
+        subscribeToStorages(storages, panelLOS, panelQueue, panelAverageStops, panelStops, panelUtilisationDegree);
 
         if (losChartComponentPanel == null || losChartComponentPanel.getNodeId() != node.getId()) {
             losChartComponentPanel = new LOSChartPanel(node);
@@ -747,6 +759,21 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * Meldet die Panels bei allen Storages an. Jedes Panel wird höchstens
+     * einmal pro Simulationsschritt benachrichtigt.
+     */
+    private static void subscribeToStorages(final Collection<DataStorage> storages,
+                                            final EvaluationDataEntryPanel... panels) {
+        final StepBatch stepBatch = OTCManager.getInstance().getStepBatch();
+        for (EvaluationDataEntryPanel panel : panels) {
+            final Subscriber<DataStorage, DataEntry> subscriber = stepBatch.defer(panel);
+            for (DataStorage storage : storages) {
+                storage.subscribe(subscriber);
+            }
+        }
+    }
+
     private EvaluationDataEntryPanel createLOSPanel(int nodeID) {
         float los = node.getEvaluation(DataSource.STATISTICS, Attribute.LOS, TrafficType.INDIVIDUAL_TRAFFIC, false);
 
@@ -820,10 +847,9 @@ public class MainFrame extends JFrame {
      * Called in every time step.
      */
     final void setTime(final float time) {
-        // do not update the statusbar in every step
-        if (time % 15 == 0) {
-            this.statusBar.changeText(String.valueOf(time));
-        }
+        // the statusbar shows the time of the last sampled step
+        this.time = time;
+        timeChannel.markChanged();
 
         if (getEvaluationPanel().isVisible()) {
             if (losChartComponentPanel != null) {
@@ -844,6 +870,8 @@ public class MainFrame extends JFrame {
         } else if (this.dpssComponentPanel.isVisible()) {
             this.dpssComponentPanel.updatePanel();
         }
+
+        Telemetry.getInstance().sample();
     }
 
     private class JunctionComboBoxEntry {
@@ -35,9 +35,15 @@ class RoutingComponentPanel extends JPanel implements Observer {
     private final JLabel protocolType = new JLabel();
     private final JLabel regionalRCType = new JLabel();
     private final JLabel regionID = new JLabel();
-    private RoutingComponent routingComponent;
+    private volatile RoutingComponent routingComponent;
     private JPanel routingTablePanel;
     private final JLabel messageCounter = new JLabel("0");
+    /**
+     * Routing table entries changed since the last frame, by insection and
+     * target.
+     */
+    private final Map<String, String[]> changedEntries = new LinkedHashMap<>();
+    private volatile Telemetry.Channel<RoutingSnapshot> channel;
 
     RoutingComponentPanel() {
         super();
@@ -275,16 +281,15 @@ class RoutingComponentPanel extends JPanel implements Observer {
         }
     }
 
-    private void updateMessageCounter() {
-        this.messageCounter.setText(String.valueOf(this.routingComponent.getCommunicationCounter()));
-    }
-
     /**
      * Reset tables, reset RoutingTablePanel and remove observers for old
      * routing component.
      */
     private void resetTables() {
         removeObserversFromRoutingTables();
+        synchronized (changedEntries) {
+            changedEntries.clear();
+        }
         this.inSectionTargetToRowMapping.clear();
         this.inSectionRoutingTableMapping.clear();
         this.routingTablePanel.removeAll();
@@ -356,8 +361,50 @@ class RoutingComponentPanel extends JPanel implements Observer {
     }
 
 
+    @Override
+    public final void addNotify() {
+        super.addNotify();
+        channel = Telemetry.getInstance().register(this::sampleEntries, this::showEntries);
+    }
+
+    @Override
+    public final void removeNotify() {
+        Telemetry.getInstance().unregister(channel);
+        channel = null;
+        super.removeNotify();
+    }
+
     /**
-     * Updates the {@code routingTable} JTable for the passed inSection.
+     * Collects the routing table entries changed since the last frame.
+     *
+     * @param arg routing table entry: insection, outsection, centroid id, costs
+     */
+    @Override
+    public final void update(final Observable o, final Object arg) {
+        final Telemetry.Channel<RoutingSnapshot> channel = this.channel;
+        if (channel != null && this.isVisible()) {
+            final String[] data = (String[]) arg;
+            synchronized (changedEntries) {
+                changedEntries.put(data[0] + data[2], data);
+            }
+            channel.markChanged();
+        }
+    }
+
+    private RoutingSnapshot sampleEntries() {
+        final List<String[]> entries;
+        synchronized (changedEntries) {
+            if (changedEntries.isEmpty()) {
+                return null;
+            }
+            entries = new ArrayList<>(changedEntries.values());
+            changedEntries.clear();
+        }
+        return new RoutingSnapshot(entries, this.routingComponent.getCommunicationCounter());
+    }
+
+    /**
+     * Updates the {@code routingTable} JTables of the changed entries.
      * <p>
      * When the new data entry (respectively the target id and the in-section
      * id) isn't already existent a new row is inserted at the end of the table.
@@ -365,14 +412,15 @@ class RoutingComponentPanel extends JPanel implements Observer {
      * In the case that the data entry is already present, the corresponding
      * data row is identified and modified partially (next hop and delay
      * values).
-     *
-     * @param arg routing table entry: insection, outsection, centroid id, costs
      */
-    @Override
-    public final void update(final Observable o, final Object arg) {
-        if (this.isVisible()) {
-            String[] data = (String[]) arg;
+    private void showEntries(final RoutingSnapshot snapshot) {
+        for (String[] data : snapshot.entries) {
             final JTable table = this.inSectionRoutingTableMapping.get(Integer.valueOf(data[0]));
+            if (table == null) {
+                // Entry of the previous routing component
+                continue;
+            }
+
             final DefaultTableModel tableModel = (DefaultTableModel) table.getModel();
             final String inSectionToTarget = data[0] + data[2];
 
@@ -389,8 +437,21 @@ class RoutingComponentPanel extends JPanel implements Observer {
                 int rowCount = tableModel.getRowCount();
                 this.inSectionTargetToRowMapping.put(inSectionToTarget, rowCount);
             }
+        }
+
+        this.messageCounter.setText(String.valueOf(snapshot.messageCounter));
+    }
+
+    /**
+     * Routing table entries and message counter of a frame.
+     */
+    private static final class RoutingSnapshot {
+        private final List<String[]> entries;
+        private final int messageCounter;
 
-            updateMessageCounter();
+        private RoutingSnapshot(final List<String[]> entries, final int messageCounter) {
+            this.entries = entries;
+            this.messageCounter = messageCounter;
         }
     }
 
@@ -35,7 +35,10 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.geom.Rectangle2D;
 import java.io.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  *
@@ -51,6 +54,11 @@ class SituationChartPanel extends JPanel {
     private JCheckBox checkRefresh;
     private int interval = -1;
     private float time = -1;
+    /**
+     * Situations not yet added to the chart.
+     */
+    private final Queue<SituationSample> pendingSamples = new ConcurrentLinkedQueue<>();
+    private volatile Telemetry.Channel<List<SituationSample>> channel;
 
     SituationChartPanel(final OTCNode node, final int attribute) {
         super();
@@ -128,8 +136,16 @@ class SituationChartPanel extends JPanel {
         return chart;
     }
 
+    /**
+     * Determines the situation of the given time step. It is added to the
+     * chart with the next frame.
+     */
     final void evaluate(final float time) {
-        this.time = time;
+        final Telemetry.Channel<List<SituationSample>> channel = this.channel;
+        if (channel == null) {
+            return;
+        }
+
         final int interval = sliderInput.getValue();
         float[] situation;
 
@@ -143,20 +159,61 @@ class SituationChartPanel extends JPanel {
             return;
         }
 
-        for (int i = 0; i < situation.length; i++) {
-            situationSeries[i].add(time, situation[i]);
+        pendingSamples.add(new SituationSample(time, interval, situation));
+        channel.markChanged();
+    }
+
+    @Override
+    public final void addNotify() {
+        super.addNotify();
+        channel = Telemetry.getInstance().register(this::sampleSituations, this::showSituations);
+    }
+
+    @Override
+    public final void removeNotify() {
+        Telemetry.getInstance().unregister(channel);
+        channel = null;
+        pendingSamples.clear();
+        super.removeNotify();
+    }
+
+    private List<SituationSample> sampleSituations() {
+        final List<SituationSample> samples = new ArrayList<>();
+        SituationSample sample;
+        while ((sample = pendingSamples.poll()) != null) {
+            samples.add(sample);
         }
+        return samples.isEmpty() ? null : samples;
+    }
 
-        if (this.interval != interval) {
-            final XYPlot plot = (XYPlot) chartPanel.getChart().getPlot();
-            final ValueAxis axis = plot.getRangeAxis();
-            final XYAnnotation lineAnnotation = new XYLineAnnotation(time, 0, time, axis.getUpperBound());
-            final XYTextAnnotation textAnnotation = new XYTextAnnotation(String.valueOf(interval), time, axis.getUpperBound() / 2);
-            textAnnotation.setRotationAngle(Math.PI / 2);
-            textAnnotation.setPaint(Color.white);
-            plot.addAnnotation(lineAnnotation);
-            plot.addAnnotation(textAnnotation);
-            this.interval = interval;
+    /**
+     * Adds the situations of all time steps since the last frame and redraws
+     * the chart once.
+     */
+    private void showSituations(final List<SituationSample> samples) {
+        for (SituationSample sample : samples) {
+            this.time = sample.time;
+            for (int i = 0; i < sample.situation.length; i++) {
+                situationSeries[i].add(sample.time, sample.situation[i], false);
+            }
+
+            if (this.interval != sample.interval) {
+                final XYPlot plot = (XYPlot) chartPanel.getChart().getPlot();
+                final ValueAxis axis = plot.getRangeAxis();
+                final XYAnnotation lineAnnotation = new XYLineAnnotation(sample.time, 0, sample.time,
+                        axis.getUpperBound());
+                final XYTextAnnotation textAnnotation = new XYTextAnnotation(String.valueOf(sample.interval),
+                        sample.time, axis.getUpperBound() / 2);
+                textAnnotation.setRotationAngle(Math.PI / 2);
+                textAnnotation.setPaint(Color.white);
+                plot.addAnnotation(lineAnnotation);
+                plot.addAnnotation(textAnnotation);
+                this.interval = sample.interval;
+            }
+        }
+
+        for (XYSeries series : situationSeries) {
+            series.fireSeriesChanged();
         }
     }
 
@@ -330,4 +387,19 @@ class SituationChartPanel extends JPanel {
             return intervalSlider.getValue();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Situation of a time step.
+     */
+    private static final class SituationSample {
+        private final float time;
+        private final int interval;
+        private final float[] situation;
+
+        private SituationSample(final float time, final int interval, final float[] situation) {
+            this.time = time;
+            this.interval = interval;
+            this.situation = situation;
+        }
+    }
+}
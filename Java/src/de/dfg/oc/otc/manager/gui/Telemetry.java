@@ -0,0 +1,123 @@
+package de.dfg.oc.otc.manager.gui;
+
+import de.dfg.oc.otc.config.DefaultParams;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decouples the GUI from the simulation thread. Observers of the simulation
+ * only mark their {@link Channel} as changed. Once per simulation step
+ * ({@link #sample()}) the simulation thread creates an immutable snapshot for
+ * each changed channel whose last snapshot has already been shown. The EDT
+ * shows the latest snapshots at {@link DefaultParams#GUI_FRAME_RATE} frames
+ * per second ({@link #poll()}).
+ * <p>
+ * Thus, at most one snapshot per channel and frame is created and the
+ * simulation never waits for Swing.
+ */
+final class Telemetry {
+    private static final Telemetry INSTANCE = new Telemetry(DefaultParams.GUI_FRAME_RATE);
+    private final List<Channel<?>> channels = new CopyOnWriteArrayList<>();
+    private final Timer timer;
+
+    private Telemetry(final int frameRate) {
+        this.timer = new Timer(1000 / Math.max(1, frameRate), action -> poll());
+        this.timer.setCoalesce(true);
+    }
+
+    static Telemetry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a new channel.
+     *
+     * @param sampler creates a snapshot on the simulation thread, may return
+     *                {@code null} if there is nothing to show
+     * @param view    shows a snapshot on the EDT
+     */
+    <T> Channel<T> register(final Supplier<T> sampler, final Consumer<T> view) {
+        final Channel<T> channel = new Channel<>(sampler, view);
+        channels.add(channel);
+        return channel;
+    }
+
+    void unregister(final Channel<?> channel) {
+        channels.remove(channel);
+    }
+
+    /**
+     * Creates the snapshots of all changed channels. Called by the simulation
+     * thread after each simulation step.
+     */
+    void sample() {
+        for (Channel<?> channel : channels) {
+            channel.sample();
+        }
+    }
+
+    /**
+     * Shows the latest snapshots. Called on the EDT.
+     */
+    void poll() {
+        for (Channel<?> channel : channels) {
+            channel.poll();
+        }
+    }
+
+    void start() {
+        timer.start();
+    }
+
+    void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Latest-value slot between an observer on the simulation thread and a
+     * view on the EDT.
+     */
+    static final class Channel<T> {
+        private final AtomicBoolean changed = new AtomicBoolean();
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final Supplier<T> sampler;
+        private final Consumer<T> view;
+
+        private Channel(final Supplier<T> sampler, final Consumer<T> view) {
+            this.sampler = sampler;
+            this.view = view;
+        }
+
+        /**
+         * Marks the observed data as changed, a new snapshot will be created
+         * in the next simulation step.
+         */
+        void markChanged() {
+            changed.set(true);
+        }
+
+        private void sample() {
+            // A snapshot that has not been shown yet is not replaced, the
+            // change is kept for the step after the next frame
+            if (latest.get() == null && changed.getAndSet(false)) {
+                final T snapshot = sampler.get();
+                if (snapshot != null) {
+                    latest.set(snapshot);
+                }
+            }
+        }
+
+        private void poll() {
+            final T snapshot = latest.getAndSet(null);
+            if (snapshot != null) {
+                view.accept(snapshot);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package de.dfg.oc.otc.manager.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The methods of the {@link de.dfg.oc.otc.manager.OTCManager} that the Aimsun
+ * API ({@code AAPI.cxx}) calls, together with their parameter types in JNI
+ * notation (see {@code JavaMethods.h}). Strings are written as {@code S}.
+ * <p>
+ * The id of a call identifies it in the recorded file and must not be changed
+ * or reused, otherwise older recordings can't be replayed.
+ */
+public enum ApiCall {
+    CREATE_NETWORK(1, "createNetwork", "S"),
+    SET_SIMULATION_STEP_SIZE(2, "setSimulationStepSize", "F"),
+    SET_EXPERIMENT(3, "setExperiment", "I"),
+    SET_REPLICATION_ID(4, "setReplicationID", "I"),
+    ADD_CENTROID(5, "addCentroid", "I[I[I"),
+    ADD_SECTION(6, "addSection", "IIIF[IFF"),
+    SET_SECTION_NB_LANES(7, "setSectionNbLanes", "II"),
+    SET_TURNING_LANES(8, "setTurningLanes", "IIIIII"),
+    ADD_DETECTOR(9, "addDetector", "IIFFIIS"),
+    SET_DETECTOR_CAPABILITIES(10, "setDetectorCapabilities", "IZZZZZZZ"),
+    SET_DETECTOR_DESTINATIONS(11, "setDetectorDestinations", "I[I"),
+    ADD_JUNCTION(12, "addJunction", "IIS"),
+    ADD_SIGNAL_GRP(13, "addSignalGrp", "II"),
+    ADD_TURNING(14, "addTurning", "IIII"),
+    ADD_PHASE(15, "addPhase", "IIFFFI"),
+    ADD_PHASE_WITHOUT_DURATIONS(16, "addPhase", "III"),
+    ADD_SIGNAL_GRP_PHASE(17, "addSignalGrpPhase", "III"),
+    INIT_SUB_DETECTORS(18, "initSubDetectors", ""),
+    INIT_JUNCTIONS(19, "initJunctions", ""),
+    FINALIZE_INIT(20, "finalizeInit", ""),
+    SET_STATISTICS_INTERVAL(21, "setStatisticsInterval", "F"),
+    SET_PUBLIC_TRANSPORT_DATA(22, "setPublicTransportData", "[II"),
+    RESTART(23, "restart", ""),
+    SET_TIME(30, "setTime", "F"),
+    SET_DETECTOR_VALUE(31, "setDetectorValue", "I[F"),
+    SET_DETECTOR_VALUES(32, "setDetectorValues", "[I[F"),
+    ADD_TURNING_RAW_STATISTICAL_DATA(33, "addTurningRawStatisticalData", "IIFIFFFFFFFF"),
+    ADD_TURNING_RAW_STATISTICAL_DATA_BATCH(34, "addTurningRawStatisticalDataBatch", "[I[IF[I[F[F[F[F[F[F[F[F"),
+    ADD_SECTION_RAW_FLOW(35, "addSectionRawFlow", "II"),
+    RESET_STATISTICS_TIME(36, "resetStatisticsTime", "F"),
+    SET_PUBLIC_TRANSPORT_DETECTORS(37, "setPublicTransportDetectors", "IIF"),
+    SET_POLICY_STATUS(38, "setPolicyStatus", "IZ"),
+    GET_PRINT_STREAM_OUTPUT(39, "getPrintStreamOutput", ""),
+    // Calls whose result is recorded (after the call) and compared when replaying
+    GET_PHASES(50, "getPhases", "", "[[I"),
+    GET_ROUTING_DATA(51, "getRoutingData", "", "[[I"),
+    GET_POLICY_TO_QUERY(52, "getPolicyToQuery", "", "I"),
+    READY_FOR_FINISH(53, "readyForFinish", "", "I");
+
+    private static final ApiCall[] BY_ID = new ApiCall[128];
+
+    static {
+        for (ApiCall call : values()) {
+            BY_ID[call.id] = call;
+        }
+    }
+
+    private final int id;
+    private final String methodName;
+    private final String[] parameterTypes;
+    private final String resultType;
+
+    ApiCall(final int id, final String methodName, final String parameters) {
+        this(id, methodName, parameters, "");
+    }
+
+    ApiCall(final int id, final String methodName, final String parameters, final String resultType) {
+        this.id = id;
+        this.methodName = methodName;
+        this.parameterTypes = splitTypes(parameters);
+        this.resultType = resultType;
+    }
+
+    /**
+     * Returns the call with the given id.
+     *
+     * @throws IOException if there is no such call
+     */
+    static ApiCall forId(final int id) throws IOException {
+        final ApiCall call = id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (call == null) {
+            throw new IOException("Unknown API call " + id);
+        }
+        return call;
+    }
+
+    private static String[] splitTypes(final String signature) {
+        final List<String> types = new ArrayList<>();
+        int begin = 0;
+        for (int i = 0; i < signature.length(); i++) {
+            if (signature.charAt(i) != '[') {
+                types.add(signature.substring(begin, i + 1));
+                begin = i + 1;
+            }
+        }
+        return types.toArray(new String[types.size()]);
+    }
+
+    int getId() {
+        return id;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns {@code true} if the result of the call is recorded.
+     */
+    public boolean hasResult() {
+        return !resultType.isEmpty();
+    }
+
+    Class<?>[] getParameterClasses() {
+        final Class<?>[] classes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = toClass(parameterTypes[i]);
+        }
+        return classes;
+    }
+
+    private static Class<?> toClass(final String type) {
+        switch (type) {
+            case "I":
+                return int.class;
+            case "F":
+                return float.class;
+            case "Z":
+                return boolean.class;
+            case "S":
+                return String.class;
+            case "[I":
+                return int[].class;
+            case "[F":
+                return float[].class;
+            case "[[I":
+                return int[][].class;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+    }
+
+    void writeArguments(final DataOutputStream out, final Object[] arguments) throws IOException {
+        if (arguments.length != parameterTypes.length) {
+            throw new IllegalArgumentException(this + " expects " + parameterTypes.length + " arguments");
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            write(out, parameterTypes[i], arguments[i]);
+        }
+    }
+
+    Object[] readArguments(final DataInputStream in) throws IOException {
+        final Object[] arguments = new Object[parameterTypes.length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = read(in, parameterTypes[i]);
+        }
+        return arguments;
+    }
+
+    void writeResult(final DataOutputStream out, final Object result) throws IOException {
+        write(out, resultType, result);
+    }
+
+    Object readResult(final DataInputStream in) throws IOException {
+        return read(in, resultType);
+    }
+
+    private static void write(final DataOutputStream out, final String type, final Object value) throws IOException {
+        switch (type) {
+            case "I":
+                out.writeInt((Integer) value);
+                break;
+            case "F":
+                out.writeFloat((Float) value);
+                break;
+            case "Z":
+                out.writeBoolean((Boolean) value);
+                break;
+            case "S":
+                out.writeUTF(value == null ? "" : (String) value);
+                break;
+            case "[I":
+                final int[] ints = (int[]) value;
+                out.writeInt(ints.length);
+                for (int i : ints) {
+                    out.writeInt(i);
+                }
+                break;
+            case "[F":
+                final float[] floats = (float[]) value;
+                out.writeInt(floats.length);
+                for (float f : floats) {
+                    out.writeFloat(f);
+                }
+                break;
+            case "[[I":
+                final int[][] rows = (int[][]) value;
+                out.writeInt(rows.length);
+                for (int[] row : rows) {
+                    write(out, "[I", row);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+    }
+
+    private static Object read(final DataInputStream in, final String type) throws IOException {
+        switch (type) {
+            case "I":
+                return in.readInt();
+            case "F":
+                return in.readFloat();
+            case "Z":
+                return in.readBoolean();
+            case "S":
+                return in.readUTF();
+            case "[I":
+                final int[] ints = new int[readLength(in)];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = in.readInt();
+                }
+                return ints;
+            case "[F":
+                final float[] floats = new float[readLength(in)];
+                for (int i = 0; i < floats.length; i++) {
+                    floats[i] = in.readFloat();
+                }
+                return floats;
+            case "[[I":
+                final int[][] rows = new int[readLength(in)][];
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = (int[]) read(in, "[I");
+                }
+                return rows;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+    }
+
+    private static int readLength(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid array length " + length);
+        }
+        return length;
+    }
+}
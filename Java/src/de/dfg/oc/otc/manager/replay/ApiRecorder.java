@@ -0,0 +1,105 @@
+package de.dfg.oc.otc.manager.replay;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records the calls of the Aimsun API to the
+ * {@link de.dfg.oc.otc.manager.OTCManager} in a compact binary stream, so that
+ * a simulation run can be replayed without Aimsun (see {@link ApiReplayer}).
+ * <p>
+ * Layout: magic number and version ({@code int} each), followed by one record
+ * per call: the id of the {@link ApiCall} ({@code byte}) and its arguments
+ * (arrays with their length first). Calls with a result are recorded after
+ * they returned, followed by the result.
+ * <p>
+ * If writing fails, a warning is logged and the recording stops; the
+ * simulation is not affected.
+ */
+public final class ApiRecorder implements Closeable {
+    static final int MAGIC = 0x4f544352;
+    static final int VERSION = 1;
+    private static final Logger log = Logger.getLogger(ApiRecorder.class);
+    private DataOutputStream out;
+
+    public ApiRecorder(final OutputStream stream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    /**
+     * Creates a recorder writing to a file.
+     *
+     * @param filename name of the file, an existing file is replaced
+     */
+    public static ApiRecorder open(final String filename) throws IOException {
+        return new ApiRecorder(new FileOutputStream(filename));
+    }
+
+    /**
+     * Records a call before it is executed.
+     *
+     * @param call      the called method
+     * @param arguments its arguments in the order of the method's parameters
+     */
+    public synchronized void record(final ApiCall call, final Object... arguments) {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.writeByte(call.getId());
+            call.writeArguments(out, arguments);
+            if (call == ApiCall.SET_TIME) {
+                // One simulation step is complete, keep it in case Aimsun crashes
+                out.flush();
+            }
+        } catch (IOException e) {
+            stop(e);
+        }
+    }
+
+    /**
+     * Records a call (without arguments) after it returned.
+     *
+     * @param call   the called method, {@link ApiCall#hasResult()} must be true
+     * @param result its return value
+     */
+    public synchronized void recordResult(final ApiCall call, final Object result) {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.writeByte(call.getId());
+            call.writeResult(out, result);
+        } catch (IOException e) {
+            stop(e);
+        }
+    }
+
+    private void stop(final IOException e) {
+        log.warn("Recording of the API calls stopped: " + e.getMessage());
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Already reported
+        }
+        out = null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package de.dfg.oc.otc.manager.replay;
+
+import de.dfg.oc.otc.manager.OTCManager;
+import de.dfg.oc.otc.manager.OTCManagerException;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the {@link OTCManager} with the API calls recorded by an
+ * {@link ApiRecorder}, i.e. reproduces a simulation run without Aimsun. The
+ * recorded results (phases, routing data, ...) are compared with the results
+ * of the current build. If {@link de.dfg.oc.otc.config.DefaultParams#API_RECORDING_FILE}
+ * is set, the replay is recorded again, i.e. with the results of the current
+ * build, which allows to compare two builds with each other.
+ * <p>
+ * Usage: {@code ApiReplayer <file> [speed]}, where speed 0 (default) replays
+ * as fast as possible, 1 in real time, 2 twice as fast, and so on.
+ */
+public final class ApiReplayer {
+    private static final Logger log = Logger.getLogger(ApiReplayer.class);
+    private final OTCManager manager;
+    private final float speed;
+    private final Map<ApiCall, Method> methods = new EnumMap<>(ApiCall.class);
+
+    /**
+     * @param manager the manager to be driven
+     * @param speed   simulated seconds per second, 0 for as fast as possible
+     */
+    public ApiReplayer(final OTCManager manager, final float speed) {
+        this.manager = manager;
+        this.speed = speed;
+
+        for (ApiCall call : ApiCall.values()) {
+            try {
+                methods.put(call, OTCManager.class.getMethod(call.getMethodName(), call.getParameterClasses()));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("OTCManager has no method for " + call, e);
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ApiReplayer <file> [speed]");
+            return;
+        }
+
+        final OTCManager manager = OTCManager.getInstance();
+        // No GUI: it is only created if nobody observes the manager
+        manager.addObserver((observable, argument) -> {
+        });
+
+        final float speed = args.length > 1 ? Float.parseFloat(args[1]) : 0;
+        try (InputStream in = new FileInputStream(args[0])) {
+            final Result result = new ApiReplayer(manager, speed).replay(in);
+            System.out.println(result);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Replays all calls of a recording.
+     *
+     * @param stream written by an {@link ApiRecorder}
+     * @return statistics and differences of the replay
+     * @throws IOException if the recording can't be read
+     */
+    public Result replay(final InputStream stream) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        if (in.readInt() != ApiRecorder.MAGIC || in.readInt() != ApiRecorder.VERSION) {
+            throw new IOException("No recording of API calls");
+        }
+
+        if (speed == 0) {
+            // Don't wait for Layer 2 (see OTCManager#getPhases)
+            manager.setLayer2Busy(false);
+        }
+
+        final Result result = new Result();
+        final long start = System.nanoTime();
+        float firstTime = Float.NaN;
+
+        int id;
+        while ((id = in.read()) >= 0) {
+            final ApiCall call = ApiCall.forId(id);
+            final Object[] arguments;
+            final Object recordedResult;
+            try {
+                arguments = call.readArguments(in);
+                recordedResult = call.hasResult() ? call.readResult(in) : null;
+            } catch (EOFException e) {
+                // Recording was interrupted during the last call
+                log.warn("Recording ends within " + call);
+                break;
+            }
+
+            if (call == ApiCall.SET_TIME) {
+                final float time = (Float) arguments[0];
+                if (Float.isNaN(firstTime)) {
+                    firstTime = time;
+                }
+                waitForTime(start, time - firstTime);
+                result.steps++;
+            }
+
+            result.calls++;
+            try {
+                final Object actualResult = invoke(call, arguments);
+                if (call.hasResult() && !Objects.deepEquals(recordedResult, actualResult)) {
+                    result.addMismatch(call, manager.getTime());
+                }
+            } catch (OTCManagerException e) {
+                if (!call.hasResult()) {
+                    throw e;
+                }
+                // The call returned when it was recorded
+                result.addMismatch(call, manager.getTime());
+            }
+        }
+
+        result.nanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private Object invoke(final ApiCall call, final Object[] arguments) {
+        try {
+            return methods.get(call).invoke(manager, arguments);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * In real time mode, waits until the simulated time has passed since the
+     * start of the replay.
+     */
+    private void waitForTime(final long start, final float simulatedTime) {
+        if (speed <= 0) {
+            return;
+        }
+
+        final long due = start + (long) (simulatedTime / speed * 1e9);
+        final long wait = due - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Statistics and differences of a replay.
+     */
+    public static final class Result {
+        private final Map<ApiCall, Integer> mismatches = new EnumMap<>(ApiCall.class);
+        private int calls;
+        private int steps;
+        private long nanos;
+        private float firstMismatchTime = Float.NaN;
+
+        private void addMismatch(final ApiCall call, final float time) {
+            mismatches.merge(call, 1, Integer::sum);
+            if (Float.isNaN(firstMismatchTime)) {
+                firstMismatchTime = time;
+            }
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+
+        /**
+         * Returns the number of simulation steps, i.e. calls of
+         * {@code setTime}.
+         */
+        public int getSteps() {
+            return steps;
+        }
+
+        public long getDuration(final TimeUnit unit) {
+            return unit.convert(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the number of calls whose result differs from the recorded
+         * one.
+         */
+        public int getMismatches(final ApiCall call) {
+            return mismatches.getOrDefault(call, 0);
+        }
+
+        public int getMismatches() {
+            return mismatches.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * Returns the simulation time of the first mismatch, {@code NaN} if
+         * the replay matches the recording.
+         */
+        public float getFirstMismatchTime() {
+            return firstMismatchTime;
+        }
+
+        @Override
+        public String toString() {
+            final double seconds = nanos / 1e9;
+            String text = String.format(Locale.US, "%d calls, %d steps in %.3f s (%.1f steps/s), %d mismatches",
+                    calls, steps, seconds, seconds > 0 ? steps / seconds : 0, getMismatches());
+            if (!mismatches.isEmpty()) {
+                text += " " + mismatches + ", first at time " + firstMismatchTime;
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package de.dfg.oc.otc.region;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary heap of edges in their natural order, i.e. after inverting the costs
+ * the edge with the highest (primary) cost comes first. In contrast to a
+ * {@code PriorityQueue}, any edge can be removed in O(log n), since the heap
+ * knows the position of each edge. Edges with equal cost leave the heap in the
+ * order they were added.
+ *
+ * @see Graph
+ */
+final class EdgeHeap implements Iterable<Edge> {
+    private final Map<Edge, Integer> positions;
+    private Edge[] edges;
+    /**
+     * Insertion number of the edge at the same position, breaks ties.
+     */
+    private long[] insertions;
+    private int size;
+    private long insertionCounter;
+
+    EdgeHeap() {
+        this.positions = new IdentityHashMap<>();
+        this.edges = new Edge[16];
+        this.insertions = new long[16];
+    }
+
+    /**
+     * Creates a copy of a heap (the edges themselves are not copied).
+     */
+    EdgeHeap(final EdgeHeap heap) {
+        this.positions = new IdentityHashMap<>(heap.positions);
+        this.edges = Arrays.copyOf(heap.edges, Math.max(16, heap.size));
+        this.insertions = Arrays.copyOf(heap.insertions, edges.length);
+        this.size = heap.size;
+        this.insertionCounter = heap.insertionCounter;
+    }
+
+    /**
+     * Adds an edge.
+     *
+     * @return {@code false} if the edge is already contained
+     */
+    boolean add(final Edge edge) {
+        if (positions.containsKey(edge)) {
+            return false;
+        }
+
+        if (size == edges.length) {
+            edges = Arrays.copyOf(edges, size * 2);
+            insertions = Arrays.copyOf(insertions, size * 2);
+        }
+        edges[size] = edge;
+        insertions[size] = insertionCounter++;
+        positions.put(edge, size);
+        size++;
+        siftUp(size - 1);
+        return true;
+    }
+
+    boolean contains(final Edge edge) {
+        return positions.containsKey(edge);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Iterates over the edges in no particular order. The heap must not be
+     * changed while iterating.
+     */
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return edges[next++];
+            }
+        };
+    }
+
+    /**
+     * Removes and returns the first edge.
+     *
+     * @return the first edge, {@code null} if the heap is empty
+     */
+    Edge poll() {
+        if (size == 0) {
+            return null;
+        }
+        final Edge first = edges[0];
+        removeAt(0);
+        return first;
+    }
+
+    /**
+     * Removes an edge.
+     *
+     * @return {@code false} if the edge is not contained
+     */
+    boolean remove(final Edge edge) {
+        final Integer position = positions.get(edge);
+        if (position == null) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    private void removeAt(final int position) {
+        positions.remove(edges[position]);
+        size--;
+
+        if (position == size) {
+            edges[size] = null;
+            return;
+        }
+
+        // Move the last edge into the gap and restore the heap order
+        final Edge moved = edges[size];
+        move(size, position);
+        edges[size] = null;
+        siftDown(position);
+        if (edges[position] == moved) {
+            siftUp(position);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean less(final int i, final int j) {
+        final int comparison = edges[i].compareTo(edges[j]);
+        return comparison < 0 || comparison == 0 && insertions[i] < insertions[j];
+    }
+
+    private void move(final int from, final int to) {
+        edges[to] = edges[from];
+        insertions[to] = insertions[from];
+        positions.put(edges[to], to);
+    }
+
+    private void swap(final int i, final int j) {
+        final Edge edge = edges[i];
+        final long insertion = insertions[i];
+        edges[i] = edges[j];
+        insertions[i] = insertions[j];
+        edges[j] = edge;
+        insertions[j] = insertion;
+        positions.put(edges[i], i);
+        positions.put(edges[j], j);
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            final int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int child = right < size && less(right, left) ? right : left;
+            if (!less(child, position)) {
+                return;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            final int parent = (position - 1) / 2;
+            if (!less(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+}
@@ -7,6 +7,11 @@ import java.util.stream.Collectors;
 
 /**
  * Class represents the graph consisting of vertices and edges.
+ * <p>
+ * The outgoing edges are stored by their start vertex, the incoming edges are
+ * indexed by their destination, and all edges are kept in an {@link EdgeHeap},
+ * so that finding the edges leading to a vertex and removing an edge don't
+ * need to scan all edges.
  *
  * @author tomforde
  */
@@ -27,13 +32,28 @@ class Graph {
     /**
      * Sorted list of all edges contained by this graph.
      */
-    private final PriorityQueue<Edge> edges;
+    private final EdgeHeap edges;
+    /**
+     * Edges of {@link #edges} by the ID of their destination vertex, in the
+     * order they have been added.
+     */
+    private final Map<Integer, List<Edge>> incomingEdges;
 
     Graph() {
         this.graph = new HashMap<>(10);
         this.inSubNodeIDs = new ArrayList<>(4);
         this.outSubNodeIDs = new ArrayList<>(4);
-        this.edges = new PriorityQueue<>();
+        this.edges = new EdgeHeap();
+        this.incomingEdges = new HashMap<>(10);
+    }
+
+    /**
+     * Adds an edge to the heap and the index of incoming edges.
+     */
+    private void indexEdge(final Edge edge) {
+        if (edges.add(edge)) {
+            incomingEdges.computeIfAbsent(edge.destination.getID(), id -> new ArrayList<>(4)).add(edge);
+        }
     }
 
     /**
@@ -58,7 +78,7 @@ class Graph {
         edge.setIntermediate(isIntermediate);
         edge.setStartVertexID(sourceID);
         startVertex.addEdge(edge);
-        edges.add(edge);
+        indexEdge(edge);
     }
 
     /**
@@ -94,11 +114,13 @@ class Graph {
         graph.put(id, vert);
 
         // Update of edge information
-        edges.addAll(vert.getEdges());
+        vert.getEdges().forEach(this::indexEdge);
     }
 
     /**
-     * Delivers an identical copy of this graph.
+     * Delivers a copy of this graph. The copy shares the vertices and edges
+     * with this graph (edges removed from the copy are also removed from
+     * their start vertex), only the indexes are new.
      *
      * @return clone
      */
@@ -110,15 +132,9 @@ class Graph {
             returnGraph.addVertex(integerVertexEntry.getKey(), integerVertexEntry.getValue());
         }
 
-        // Add InSubNodes
-        final List<Integer> in = new ArrayList<>();
-        in.addAll(inSubNodeIDs);
-        returnGraph.addInSubNodeIDs(in);
-
-        // Add OutSubNodes
-        final List<Integer> out = new ArrayList<>();
-        out.addAll(outSubNodeIDs);
-        returnGraph.addOutSubNodeIDs(out);
+        // Subnode lists contain no duplicates
+        returnGraph.inSubNodeIDs.addAll(inSubNodeIDs);
+        returnGraph.outSubNodeIDs.addAll(outSubNodeIDs);
 
         return returnGraph;
     }
@@ -161,39 +177,26 @@ class Graph {
     /**
      * Method delivers all edges leading to this vertex.
      *
-     * @return
+     * @return the edges in the order they have been added (a new list, the
+     * graph may be changed while iterating over it)
      */
     final List<Edge> getAllEdgesLeadingToVertex(final Vertex target) {
-        final List<Edge> edgeList = new ArrayList<>();
-
-        for (Edge edge : edges) {
-            boolean sameTarget = edge.destination.getID() == target.getID();
-            boolean newEdge = !edgeList.contains(edge);
-            if (sameTarget && newEdge) {
-                edgeList.add(edge);
-            }
-        }
-
-        return edgeList;
+        final List<Edge> edgeList = incomingEdges.get(target.getID());
+        return edgeList == null ? new ArrayList<>() : new ArrayList<>(edgeList);
     }
 
     /**
-     * Method creates a PriorityQueue out of all edges contained by this graph.
-     * Queue is a clone of the internal structure to avoid removing at the
+     * Method creates a heap out of all edges contained by this graph. The
+     * heap is a copy of the internal structure to avoid removing at the
      * graph.
      *
-     * @return The cloned Queue of all edges
+     * @return The copied heap of all edges
      */
-    final PriorityQueue<Edge> getCloneOfEdgeQueue() {
-        final PriorityQueue<Edge> clonedQueue = new PriorityQueue<>();
-
+    final EdgeHeap getCloneOfEdgeQueue() {
         if (edges.isEmpty()) {
             log.warn("Invalid edge list!");
-            return clonedQueue;
         }
-
-        clonedQueue.addAll(edges.stream().map(edge -> edge).collect(Collectors.toList()));
-        return clonedQueue;
+        return new EdgeHeap(edges);
     }
 
     /**
@@ -245,7 +248,9 @@ class Graph {
         if (edge.getStartVertexID() > 0) {
             final Vertex vertex = graph.get(edge.getStartVertexID());
             vertex.removeEdge(edge);
-            edges.remove(edge);
+            if (edges.remove(edge)) {
+                incomingEdges.get(edge.destination.getID()).remove(edge);
+            }
         } else {
             log.warn("Cannot remove edge - edge is null or has no start!");
         }
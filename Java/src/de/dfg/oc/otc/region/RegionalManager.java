@@ -437,7 +437,7 @@ public final class RegionalManager {
         this.paths = new ArrayList<>();
 
         final Graph graph = networkGraph.clone();
-        final PriorityQueue<Edge> edges = graph.getCloneOfEdgeQueue();
+        final EdgeHeap edges = graph.getCloneOfEdgeQueue();
         float maxCost = -1;
 
         boolean keepRunning = true;
@@ -39,6 +39,14 @@ abstract class CoordinateHelper {
         setJunctionCoordinates(OTCManager.getInstance().getNetwork().getJunctions(), path + "_junctionCoordinates.csv");
     }
 
+    /**
+     * Parses a coordinate of the CSV files, which contain decimal points as
+     * well as decimal commas (spreadsheet exports).
+     */
+    private static double parseCoordinate(final String value) {
+        return Double.parseDouble(value.trim().replace(',', '.'));
+    }
+
     /**
      * Uses the {@link Centroid} map and loads from a CSV file.
      *
@@ -54,8 +62,13 @@ abstract class CoordinateHelper {
             final String[][] values = parser.getAllValues();
 
             for (String[] rows : values) {
-                Point2D.Double coord = new Point2D.Double(Double.valueOf(rows[1]) * MULTIPLICATOR, Double.valueOf(rows[2])
-                        * MULTIPLICATOR);
+                if (rows.length < 3 || rows[0].trim().isEmpty()) {
+                    // Empty row of a spreadsheet export
+                    continue;
+                }
+
+                Point2D.Double coord = new Point2D.Double(parseCoordinate(rows[1]) * MULTIPLICATOR,
+                        parseCoordinate(rows[2]) * MULTIPLICATOR);
 
                 Integer id = Integer.valueOf(rows[0]);
                 Centroid centroid = centroidMap.get(id);
@@ -84,8 +97,13 @@ abstract class CoordinateHelper {
             final String[][] values = parser.getAllValues();
 
             for (String[] rows : values) {
-                Point2D.Double coord = new Point2D.Double(Double.valueOf(rows[1]) * MULTIPLICATOR, Double.valueOf(rows[2])
-                        * MULTIPLICATOR);
+                if (rows.length < 3 || rows[0].trim().isEmpty()) {
+                    // Empty row of a spreadsheet export
+                    continue;
+                }
+
+                Point2D.Double coord = new Point2D.Double(parseCoordinate(rows[1]) * MULTIPLICATOR,
+                        parseCoordinate(rows[2]) * MULTIPLICATOR);
 
                 Integer id = new Integer(rows[0]);
                 AimsunJunction junction = junctionMap.get(id);
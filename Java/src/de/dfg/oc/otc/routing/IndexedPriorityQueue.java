@@ -0,0 +1,180 @@
+package de.dfg.oc.otc.routing;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap over int node indices with float priorities and
+ * decrease-key support. Each node is contained at most once; its position in
+ * the heap is tracked so that updating its priority takes logarithmic time.
+ * <p>
+ * Nodes with equal priorities are returned in the order in which they were
+ * (re-)inserted, so the heap behaves like a priority list that is stably
+ * sorted after every insertion.
+ */
+public class IndexedPriorityQueue {
+    /**
+     * Heap position -> node.
+     */
+    private int[] heap;
+    /**
+     * Node -> heap position, -1 if the node is not contained.
+     */
+    private int[] positions;
+    /**
+     * Node -> priority.
+     */
+    private float[] priorities;
+    /**
+     * Node -> insertion number used to break ties.
+     */
+    private long[] insertionNumbers;
+    private long insertionCounter;
+    private int size;
+
+    public IndexedPriorityQueue(final int initialCapacity) {
+        final int capacity = Math.max(initialCapacity, 1);
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.priorities = new float[capacity];
+        this.insertionNumbers = new long[capacity];
+        Arrays.fill(this.positions, -1);
+    }
+
+    /**
+     * Removes all nodes.
+     */
+    public final void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public final boolean contains(final int node) {
+        return node < positions.length && positions[node] >= 0;
+    }
+
+    private void ensureCapacity(final int node) {
+        if (node < positions.length) {
+            return;
+        }
+
+        final int capacity = Math.max(node + 1, positions.length * 2);
+        final int oldLength = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        insertionNumbers = Arrays.copyOf(insertionNumbers, capacity);
+        Arrays.fill(positions, oldLength, capacity, -1);
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the node at heap position {@code a} has to be returned
+     * before the node at heap position {@code b}.
+     */
+    private boolean isBefore(final int a, final int b) {
+        final int nodeA = heap[a];
+        final int nodeB = heap[b];
+        if (priorities[nodeA] < priorities[nodeB]) {
+            return true;
+        }
+        if (priorities[nodeA] > priorities[nodeB]) {
+            return false;
+        }
+        return insertionNumbers[nodeA] < insertionNumbers[nodeB];
+    }
+
+    /**
+     * Removes and returns the node with the lowest priority.
+     *
+     * @return node index
+     */
+    public final int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        final int node = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        positions[node] = -1;
+        return node;
+    }
+
+    /**
+     * Inserts a node or, if it is already contained, changes its priority. In
+     * both cases the node is ordered behind all nodes of equal priority.
+     *
+     * @param node     index of the node
+     * @param priority of the node
+     */
+    public final void insertOrUpdate(final int node, final float priority) {
+        ensureCapacity(node);
+        priorities[node] = priority;
+        insertionNumbers[node] = insertionCounter++;
+
+        int position = positions[node];
+        if (position < 0) {
+            position = size++;
+            heap[position] = node;
+            positions[node] = position;
+            siftUp(position);
+        } else {
+            siftUp(position);
+            siftDown(positions[node]);
+        }
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            final int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+
+            int child = left;
+            final int right = left + 1;
+            if (right < size && isBefore(right, left)) {
+                child = right;
+            }
+
+            if (!isBefore(child, position)) {
+                return;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            final int parent = (position - 1) / 2;
+            if (!isBefore(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void swap(final int a, final int b) {
+        final int nodeA = heap[a];
+        heap[a] = heap[b];
+        heap[b] = nodeA;
+        positions[heap[a]] = a;
+        positions[heap[b]] = b;
+    }
+}
@@ -12,6 +12,8 @@ import de.dfg.oc.otc.routing.linkState.temporal.RegionalTemporalLSRC;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +36,10 @@ public final class RoutingManager {
      * Time step when the protocols should be run the next time.
      */
     private float nextProtocolRun;
+    /**
+     * Pool for the parallel routing phases, {@code null} if all phases are run sequentially.
+     */
+    private ForkJoinPool routingPool;
 
     private RoutingManager() {
         initParameters();
@@ -63,22 +69,23 @@ public final class RoutingManager {
             rcs.forEach(RegionalLinkStateRC::askCooperations);
         }
 
-        rcs.stream().forEach(RegionalLinkStateRC::clearLinkstateDatabase);
+        runPhase(rcs, RegionalLinkStateRC::clearLinkstateDatabase);
 
         // Send interiorAdverts to interior neighbours
         rcs.forEach(RegionalLinkStateRC::distributeInteriorAdvertisements);
 
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalLinkStateRC::computeInteriorDijkstra);
+        final Collection<RegionalLinkStateRC> borderRCs = rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).collect(Collectors.toList());
+        runPhase(borderRCs, RegionalLinkStateRC::computeInteriorDijkstra);
         // Send borderAdverts to border neighbours and exchange interior destinations with border components
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalLinkStateRC::distributeBorderAdvertisements);
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalLinkStateRC::computeBorderDijkstra);
+        borderRCs.forEach(RegionalLinkStateRC::distributeBorderAdvertisements);
+        runPhase(borderRCs, RegionalLinkStateRC::computeBorderDijkstra);
 
         // Create new virtual LinkStateDatabase entries in border
         // neighbours and send as interiorAdverts with direct destinations
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalLinkStateRC::distributeVirtualInteriorAdverts);
+        borderRCs.forEach(RegionalLinkStateRC::distributeVirtualInteriorAdverts);
 
         // Compute all interior components interior Dijkstra
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.INTERIOR).forEach(RegionalLinkStateRC::computeInteriorDijkstra);
+        runPhase(rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.INTERIOR).collect(Collectors.toList()), RegionalLinkStateRC::computeInteriorDijkstra);
     }
 
     private void executeRegionalTemporalLinkStateRouting(final Collection<AimsunJunction> junctions) {
@@ -91,22 +98,23 @@ public final class RoutingManager {
             rcs.forEach(RegionalTemporalLSRC::askCooperations);
         }
 
-        rcs.stream().forEach(RegionalTemporalLSRC::clearLinkstateDatabase);
+        runPhase(rcs, RegionalTemporalLSRC::clearLinkstateDatabase);
 
         // Send interiorAdverts to interior neighbours
         rcs.forEach(RegionalTemporalLSRC::distributeInteriorAdvertisements);
 
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalTemporalLSRC::computeInteriorDijkstra);
+        final Collection<RegionalTemporalLSRC> borderRCs = rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).collect(Collectors.toList());
+        runPhase(borderRCs, RegionalTemporalLSRC::computeInteriorDijkstra);
         // Send borderAdverts to border neighbours and exchange interior destinations with border components
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalTemporalLSRC::distributeBorderAdvertisements);
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalTemporalLSRC::computeBorderDijkstra);
+        borderRCs.forEach(RegionalTemporalLSRC::distributeBorderAdvertisements);
+        runPhase(borderRCs, RegionalTemporalLSRC::computeBorderDijkstra);
 
         // Create new virtual LinkStateDatabase entries in border
         // neighbours and send as interiorAdverts with direct destinations
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.BORDER).forEach(RegionalTemporalLSRC::distributeVirtualInteriorAdverts);
+        borderRCs.forEach(RegionalTemporalLSRC::distributeVirtualInteriorAdverts);
 
         // Compute all interior components interior Dijkstra
-        rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.INTERIOR).forEach(RegionalTemporalLSRC::computeInteriorDijkstra);
+        runPhase(rcs.stream().filter(rc -> rc.getRegionalRCType() == RoutingComponent.RegionalType.INTERIOR).collect(Collectors.toList()), RegionalTemporalLSRC::computeInteriorDijkstra);
     }
 
     /**
@@ -118,10 +126,31 @@ public final class RoutingManager {
             this.isRoutingEnabled = true;
         }
 
+        if (DefaultParams.ROUTING_PARALLELISM > 1) {
+            this.routingPool = new ForkJoinPool(DefaultParams.ROUTING_PARALLELISM);
+        }
+
         // TODO 600 für 10-Min.-Statistiken, abhängig von AIMSUN-Netz Setting
         this.nextProtocolRun = 300 + DefaultParams.ROUTING_INTERVAL;
     }
 
+    /**
+     * Resets the manager for a new simulation run: shuts the pool of the
+     * parallel routing phases down and reads the routing parameters again,
+     * so changes of {@link DefaultParams#ROUTING_PROTOCOL} and
+     * {@link DefaultParams#ROUTING_PARALLELISM} take effect. The regional
+     * routing components are initialised again with the next protocol run.
+     */
+    public void reset() {
+        if (routingPool != null) {
+            routingPool.shutdown();
+            this.routingPool = null;
+        }
+        this.isRoutingInitialized = false;
+        this.isRoutingEnabled = false;
+        initParameters();
+    }
+
     public float getNextProtocolRun() {
         return nextProtocolRun;
     }
@@ -250,6 +279,27 @@ public final class RoutingManager {
         this.isRoutingInitialized = true;
     }
 
+    /**
+     * Runs one phase of a regional link state protocol for all given routing
+     * components and returns when all of them are done. The phase must only
+     * modify the state of the component it is called on (its databases,
+     * advertisement queues and routing tables), so the components can be
+     * processed in parallel with the same result as sequentially. Phases that
+     * send advertisements to neighbours do not satisfy this and have to be
+     * run sequentially.
+     *
+     * @param rcs   routing components
+     * @param phase to be run for each routing component
+     * @param <T>   type of the routing components
+     */
+    private <T extends RoutingComponent> void runPhase(final Collection<T> rcs, final Consumer<T> phase) {
+        if (routingPool == null || rcs.size() < 2) {
+            rcs.forEach(phase);
+        } else {
+            routingPool.submit(() -> rcs.parallelStream().forEach(phase)).join();
+        }
+    }
+
     private void resetRoutingData(final List<AimsunJunction> junctions) {
         junctions.stream().filter(junction -> junction.getNode().getRoutingComponent() != null).forEach(junction -> junction.getNode().getRoutingComponent().resetRoutingData());
     }
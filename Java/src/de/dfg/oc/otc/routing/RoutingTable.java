@@ -11,6 +11,9 @@ import java.util.*;
  * <p>
  * Each routing table stands for one dynamic traffic sign. This would be shown
  * on a sign like "For region X turn left, 10 min."
+ * <p>
+ * Routing tables are not synchronised. During the parallel routing phases a
+ * table is only updated by the routing component it belongs to.
  *
  * @author tomforde
  */
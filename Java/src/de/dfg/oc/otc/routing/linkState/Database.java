@@ -12,6 +12,10 @@ import java.util.Map;
 /**
  * Saves link data between routing components in the network for computing
  * routing information over the network.
+ * <p>
+ * A database is not synchronised. It is only modified by its owning routing
+ * component, which allows the {@link de.dfg.oc.otc.routing.RoutingManager} to
+ * run the Dijkstra phases of different components in parallel.
  *
  * @author lyda
  */
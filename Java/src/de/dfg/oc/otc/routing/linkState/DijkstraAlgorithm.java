@@ -2,6 +2,7 @@ package de.dfg.oc.otc.routing.linkState;
 
 import de.dfg.oc.otc.manager.aimsun.Centroid;
 import de.dfg.oc.otc.manager.aimsun.Section;
+import de.dfg.oc.otc.routing.IndexedPriorityQueue;
 import de.dfg.oc.otc.routing.RouteEntry;
 import de.dfg.oc.otc.routing.RoutePriorityEntry;
 import de.dfg.oc.otc.routing.RoutingComponent;
@@ -18,33 +19,42 @@ import java.util.*;
  */
 public class DijkstraAlgorithm {
     /**
-     * When the algorithm terminates, this lists holds the costs from the source RC to all reachable Centroids.
+     * Node index used for nodes that have not been reached yet.
      */
-    protected final Map<Centroid, Float> centroidToCost = new HashMap<>(10);
+    private static final int NO_NODE = -1;
     /**
-     * Mapping of a Centroid to a direct predecessing RoutingComponent.
+     * Compacted id space: maps every RoutingComponent reached so far to a dense node index.
      */
-    protected final Map<Centroid, RoutingComponent> centroidToPredecessor = new HashMap<>(3);
+    private final Map<RoutingComponent, Integer> rcToIndex = new HashMap<>();
     /**
-     * Mapping of a Centroid to a NetworkGraphPriorityEntry (neigbour RC, insection of RC, outsection from RC to Centroid).
+     * Compacted id space: maps every Centroid reached so far to a dense node index.
      */
-    protected final Map<Centroid, RoutePriorityEntry> centroidToPriorityEntry = new HashMap<>(3);
+    private final Map<Centroid, Integer> centroidToIndex = new HashMap<>();
     /**
-     * Priority queue for entry processing (entries get sorted by costs ascending).
+     * Priority queue for entry processing (node indices ordered by costs ascending).
      */
-    protected final List<RoutePriorityEntry> entryPriorityQueue = new LinkedList<>();
+    private final IndexedPriorityQueue priorityQueue = new IndexedPriorityQueue(32);
     /**
-     * When the algorithm terminates, this lists holds the costs from the source RC to all reachable RoutingComponents.
+     * Node index -> RoutingComponent (null for Centroids).
      */
-    protected final Map<RoutingComponent, Float> rcToCost = new HashMap<>();
+    private RoutingComponent[] nodeToRC = new RoutingComponent[32];
     /**
-     * Mapping of a RoutingComponent to its direct predecessor.
+     * Node index -> route entry by which the node was reached with the lowest costs so far.
      */
-    protected final Map<RoutingComponent, RoutingComponent> rcToPredecessor = new HashMap<>(3);
+    private RouteEntry[] nodeToEntry = new RouteEntry[32];
     /**
-     * Mapping of the source RC to a NetworkGraphPriorityEntry (neigbour RC, insection of RC, outsection from RC to RC).
+     * Node index -> costs from the source RC. Only valid for reached nodes.
      */
-    protected final Map<RoutingComponent, RoutePriorityEntry> rcToPriorityEntry = new HashMap<>(3);
+    private float[] costs = new float[32];
+    /**
+     * Node index -> node index of the direct predecessing RoutingComponent.
+     */
+    private int[] predecessors = new int[32];
+    /**
+     * Node index -> whether costs have been assigned to the node.
+     */
+    private boolean[] reached = new boolean[32];
+    private int numNodes;
 
     /**
      * For {@link RegionalLinkStateRC}s check the costs to border components in
@@ -72,7 +82,7 @@ public class DijkstraAlgorithm {
                     // Determine paths from this rc to sourceRC to find outSection for virtual link
                     while (rcLastOne != sourceRC) {
                         rcSuccessor = rcLastOne;
-                        rcLastOne = rcToPredecessor.get(rcLastOne);
+                        rcLastOne = getPredecessor(rcLastOne);
                     }
 
                     DatabaseEntry nextVirtualHopDBEntry;
@@ -83,7 +93,7 @@ public class DijkstraAlgorithm {
                             // Create virtual entry
                             DatabaseEntry virtualDatabaseEntry = new DatabaseEntry(
                                     sourceRC, (LinkStateRC) entryToExpand.getDestinationRC(), null, inSection,
-                                    entryToExpand.getOutSection(), rcToCost.get(entryToExpand.getDestinationRC()), nextVirtualHopDBEntry.getOutSection().getId(), sourceRC.sequenceNumberCounter);
+                                    entryToExpand.getOutSection(), costs[getNode(entryToExpand.getDestinationRC())], nextVirtualHopDBEntry.getOutSection().getId(), sourceRC.sequenceNumberCounter);
                             virtualBorderLinkAdvert.addLinkStateDataBaseEntry(virtualDatabaseEntry);
                         }
                     }
@@ -111,10 +121,10 @@ public class DijkstraAlgorithm {
 
             final Set<Centroid> destinations = database.getCentroidSet();
             // Routes to all targets from the sourceRC found or priorityQueue is empty
-            while (!destinations.isEmpty() && !entryPriorityQueue.isEmpty()) {
+            while (!destinations.isEmpty() && !priorityQueue.isEmpty()) {
                 calculateCosts(database, sourceRC, inSection, destinations, virtualBorderLinkAdvert, borderDijkstra);
             }
-            entryPriorityQueue.clear();
+            priorityQueue.clear();
 
             determineShortestPaths(database, sourceRC, inSection);
         }
@@ -134,7 +144,8 @@ public class DijkstraAlgorithm {
                                 final Collection<Centroid> destinations, final Advertisement virtualBorderLinkAdvert,
                                 final boolean borderDijkstra) {
         // Entry with the lowest costs will be expanded if destination is a node
-        final RoutePriorityEntry entryToExpand = entryPriorityQueue.remove(0);
+        final int nodeToExpand = priorityQueue.poll();
+        final RoutePriorityEntry entryToExpand = new RoutePriorityEntry(nodeToEntry[nodeToExpand], costs[nodeToExpand]);
 
         // Check if destination is Centroid or RoutingComponent
         if (entryToExpand.getDestinationRC() != null) {
@@ -147,9 +158,6 @@ public class DijkstraAlgorithm {
                     entryToExpand.getDestinationRC(), entryToExpand.getOutSection());
             updateOrInsertCostsForCentroids(localCentroidEntries, entryToExpand);
 
-            // sort queue ascending by costs
-            Collections.sort(entryPriorityQueue);
-
             if (!borderDijkstra) {
                 determineCostsToBorder(sourceRC, entryToExpand, database, inSection, virtualBorderLinkAdvert);
             }
@@ -174,8 +182,67 @@ public class DijkstraAlgorithm {
     private void createSourceEntry(final LinkStateRC sourceRC, final Section inSection) {
         final DatabaseEntry sourceEntry = new DatabaseEntry(sourceRC, sourceRC, null, inSection,
                 inSection, 0, -1, 0);
-        entryPriorityQueue.add(new RoutePriorityEntry(sourceEntry, 0));
-        rcToCost.put(sourceRC, 0f);
+        final int sourceNode = getNode(sourceRC);
+        costs[sourceNode] = 0;
+        reached[sourceNode] = true;
+        nodeToEntry[sourceNode] = sourceEntry;
+        priorityQueue.insertOrUpdate(sourceNode, 0);
+    }
+
+    /**
+     * Returns the dense node index of a Centroid, assigning a new one if the Centroid is reached for the first time.
+     */
+    private int getNode(final Centroid centroid) {
+        Integer node = centroidToIndex.get(centroid);
+        if (node == null) {
+            node = newNode(null);
+            centroidToIndex.put(centroid, node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the dense node index of a RoutingComponent, assigning a new one if the RoutingComponent is reached
+     * for the first time.
+     */
+    private int getNode(final RoutingComponent rc) {
+        Integer node = rcToIndex.get(rc);
+        if (node == null) {
+            node = newNode(rc);
+            rcToIndex.put(rc, node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the direct predecessor of a RoutingComponent on its currently shortest path.
+     *
+     * @param rc RoutingComponent
+     * @return predecessor or {@code null} if none is known
+     */
+    private RoutingComponent getPredecessor(final RoutingComponent rc) {
+        final Integer node = rcToIndex.get(rc);
+        if (node == null || predecessors[node] == NO_NODE) {
+            return null;
+        }
+        return nodeToRC[predecessors[node]];
+    }
+
+    private int newNode(final RoutingComponent rc) {
+        if (numNodes == costs.length) {
+            final int capacity = numNodes * 2;
+            nodeToRC = Arrays.copyOf(nodeToRC, capacity);
+            nodeToEntry = Arrays.copyOf(nodeToEntry, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            reached = Arrays.copyOf(reached, capacity);
+        }
+
+        final int node = numNodes++;
+        nodeToRC[node] = rc;
+        predecessors[node] = NO_NODE;
+        reached[node] = false;
+        return node;
     }
 
     /**
@@ -190,14 +257,15 @@ public class DijkstraAlgorithm {
     private void determineShortestPaths(final Database database, final LinkStateRC sourceRC,
                                         final Section inSection) {
         for (Centroid destination : database.getCentroidSet()) {
-            RoutingComponent lastRC = centroidToPredecessor.get(destination);
-            if (lastRC != null) {
+            final Integer destinationNode = centroidToIndex.get(destination);
+            if (destinationNode != null && predecessors[destinationNode] != NO_NODE) {
+                RoutingComponent lastRC = nodeToRC[predecessors[destinationNode]];
                 RoutingComponent successor = null;
 
                 // Determine paths from centroids to source
                 while (lastRC != sourceRC) {
                     successor = lastRC;
-                    lastRC = rcToPredecessor.get(lastRC);
+                    lastRC = getPredecessor(lastRC);
                 }
 
                 RouteEntry nextHopDBEntry;
@@ -237,7 +305,7 @@ public class DijkstraAlgorithm {
         }
 
         final RoutingTable routingTable = sourceRC.getRoutingTableForSection(inSection.getId());
-        routingTable.updateRoutingData(destination.getId(), nextSectionID, centroidToCost.get(destination));
+        routingTable.updateRoutingData(destination.getId(), nextSectionID, costs[getNode(destination)]);
     }
 
     /**
@@ -259,34 +327,14 @@ public class DijkstraAlgorithm {
     /**
      * Update or insert costs in priority queue for routes from the sourceRC to all Centroids.
      *
-     * @param localCentroidEntries
-     * @param firstPriorityEntry
+     * @param localCentroidEntries routes from a RC (priorityEntry) to a neighbouring Centroid
+     * @param priorityEntry        the current considered RC
      */
-    protected void updateOrInsertCostsForCentroids(final List<RouteEntry> localCentroidEntries,
-                                                   final RoutePriorityEntry firstPriorityEntry) {
+    private void updateOrInsertCostsForCentroids(final List<RouteEntry> localCentroidEntries,
+                                                 final RoutePriorityEntry priorityEntry) {
         for (RouteEntry entry : localCentroidEntries) {
-            final Centroid target = entry.getDestinationCentroid();
-
-            final Float oldCostsToTarget = centroidToCost.get(target);
-            final Float newCostsToTarget = firstPriorityEntry.getCosts() + entry.getCosts();
-
-            if (oldCostsToTarget != null) {
-                if (newCostsToTarget < oldCostsToTarget) {
-                    // Exchange old priority entry with the new one with lower costs
-                    final RoutePriorityEntry oldPriorityEntry = centroidToPriorityEntry.get(target);
-                    entryPriorityQueue.remove(oldPriorityEntry);
-                } else {
-                    continue;
-                }
-            }
-
-            centroidToCost.put(target, newCostsToTarget);
-
-            final RoutePriorityEntry newPriorityEntry = new RoutePriorityEntry(entry, newCostsToTarget);
-            entryPriorityQueue.add(newPriorityEntry);
-
-            centroidToPriorityEntry.put(target, newPriorityEntry);
-            centroidToPredecessor.put(target, entry.getSourceRC());
+            final int targetNode = getNode(entry.getDestinationCentroid());
+            relax(targetNode, entry, calculateCostsToCentroid(entry, priorityEntry));
         }
     }
 
@@ -296,31 +344,53 @@ public class DijkstraAlgorithm {
      * @param localRcEntries routes from a RC (priorityEntry) to a neighbouring RC
      * @param priorityEntry  the current considered RC
      */
-    protected void updateOrInsertCostsForRC(final List<RouteEntry> localRcEntries,
-                                            final RoutePriorityEntry priorityEntry) {
+    private void updateOrInsertCostsForRC(final List<RouteEntry> localRcEntries,
+                                          final RoutePriorityEntry priorityEntry) {
         for (RouteEntry entry : localRcEntries) {
-            final RoutingComponent destinationRC = entry.getDestinationRC();
-
-            final Float oldCostsToNode = rcToCost.get(destinationRC);
-            final Float newCostsToNode = priorityEntry.getCosts() + entry.getCosts();
+            final int targetNode = getNode(entry.getDestinationRC());
+            relax(targetNode, entry, calculateCostsToRC(entry, priorityEntry));
+        }
+    }
 
-            if (oldCostsToNode != null) {
-                if (newCostsToNode < oldCostsToNode) {
-                    // Exchange old priority entry with the new one with lower costs
-                    final RoutePriorityEntry oldPriorityEntry = rcToPriorityEntry.get(destinationRC);
-                    entryPriorityQueue.remove(oldPriorityEntry);
-                } else {
-                    continue;
-                }
-            }
+    /**
+     * Insert a node into the priority queue or decrease its costs if the new route is cheaper than the
+     * currently known one.
+     *
+     * @param node     index of the reached RC or Centroid
+     * @param entry    route entry leading to the node
+     * @param newCosts total costs from the source RC to the node using the entry
+     */
+    private void relax(final int node, final RouteEntry entry, final float newCosts) {
+        if (reached[node] && !(newCosts < costs[node])) {
+            return;
+        }
 
-            rcToCost.put(destinationRC, newCostsToNode);
+        costs[node] = newCosts;
+        reached[node] = true;
+        nodeToEntry[node] = entry;
+        predecessors[node] = getNode(entry.getSourceRC());
+        priorityQueue.insertOrUpdate(node, newCosts);
+    }
 
-            final RoutePriorityEntry newPriorityEntry = new RoutePriorityEntry(entry, newCostsToNode);
-            entryPriorityQueue.add(newPriorityEntry);
+    /**
+     * Calculates the costs from the source RC to a Centroid using the given route entry.
+     *
+     * @param entry         route from a RC (priorityEntry) to a neighbouring Centroid
+     * @param priorityEntry the current considered RC
+     * @return total costs to the Centroid
+     */
+    protected float calculateCostsToCentroid(final RouteEntry entry, final RoutePriorityEntry priorityEntry) {
+        return priorityEntry.getCosts() + entry.getCosts();
+    }
 
-            rcToPriorityEntry.put(destinationRC, newPriorityEntry);
-            rcToPredecessor.put(destinationRC, entry.getSourceRC());
-        }
+    /**
+     * Calculates the costs from the source RC to another RoutingComponent using the given route entry.
+     *
+     * @param entry         route from a RC (priorityEntry) to a neighbouring RC
+     * @param priorityEntry the current considered RC
+     * @return total costs to the RoutingComponent
+     */
+    protected float calculateCostsToRC(final RouteEntry entry, final RoutePriorityEntry priorityEntry) {
+        return priorityEntry.getCosts() + entry.getCosts();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package de.dfg.oc.otc.routing.linkState.temporal;
 
-import de.dfg.oc.otc.manager.aimsun.Centroid;
 import de.dfg.oc.otc.manager.aimsun.Turning;
 import de.dfg.oc.otc.routing.RouteEntry;
 import de.dfg.oc.otc.routing.RoutePriorityEntry;
@@ -21,99 +20,50 @@ import java.util.List;
  */
 public class TemporalDijkstraAlgorithm extends DijkstraAlgorithm {
     @Override
-    protected void updateOrInsertCostsForCentroids(final List<RouteEntry> localCentroidEntries,
-                                                   final RoutePriorityEntry priorityEntry) {
-        for (RouteEntry entry : localCentroidEntries) {
-            final RoutingComponent node = priorityEntry.getDestinationRC();
-            final Centroid target = entry.getDestinationCentroid();
-
-            final Float oldCostsToTarget = centroidToCost.get(target);
-            final float costs = priorityEntry.getCosts();
-
-            // TurningCost
-            final List<HashMap.SimpleEntry<Integer, Float>> turningForecastMappings = ((TemporalDatabaseEntry) entry).getTimeTurningForecastMappings();
-            float turningForecast = 0;
-            if (turningForecastMappings != null) {
-                turningForecast = timeForecastMapForEntry(costs, turningForecastMappings);
-            }
-
-            // SectionCost
-            final List<HashMap.SimpleEntry<Integer, Float>> linkForecastMappings =
-                    ((TemporalDatabaseEntry) entry).getTimeSectionForecastMappings();
-            float linkForecast = 0;
-            if (linkForecastMappings != null) {
-                linkForecast = timeForecastMapForEntry(costs, linkForecastMappings);
-            }
-
-            Turning turning = node.getJunction().getTurning(entry.getInSection().getId(), entry.getOutSection().getId());
-            final Float newCostsToTarget = determineNewCostToNode(turning, entry, turningForecast, linkForecast, costs);
-
-            if (oldCostsToTarget != null) {
-                if (newCostsToTarget < oldCostsToTarget) {
-                    // Exchange old priority entry with the new one with lower costs
-                    final RoutePriorityEntry oldPriorityEntry = centroidToPriorityEntry.get(target);
-                    entryPriorityQueue.remove(oldPriorityEntry);
-                } else {
-                    continue;
-                }
-            }
-
-            centroidToCost.put(target, newCostsToTarget);
-
-            final RoutePriorityEntry newPriorityEntry = new RoutePriorityEntry(entry, newCostsToTarget);
-            entryPriorityQueue.add(newPriorityEntry);
+    protected float calculateCostsToCentroid(final RouteEntry entry, final RoutePriorityEntry priorityEntry) {
+        final RoutingComponent node = priorityEntry.getDestinationRC();
+        final float costs = priorityEntry.getCosts();
+
+        // TurningCost
+        final List<HashMap.SimpleEntry<Integer, Float>> turningForecastMappings = ((TemporalDatabaseEntry) entry).getTimeTurningForecastMappings();
+        float turningForecast = 0;
+        if (turningForecastMappings != null) {
+            turningForecast = timeForecastMapForEntry(costs, turningForecastMappings);
+        }
 
-            centroidToPriorityEntry.put(target, newPriorityEntry);
-            centroidToPredecessor.put(target, entry.getSourceRC());
+        // SectionCost
+        final List<HashMap.SimpleEntry<Integer, Float>> linkForecastMappings =
+                ((TemporalDatabaseEntry) entry).getTimeSectionForecastMappings();
+        float linkForecast = 0;
+        if (linkForecastMappings != null) {
+            linkForecast = timeForecastMapForEntry(costs, linkForecastMappings);
         }
+
+        Turning turning = node.getJunction().getTurning(entry.getInSection().getId(), entry.getOutSection().getId());
+        return determineNewCostToNode(turning, entry, turningForecast, linkForecast, costs);
     }
 
     @Override
-    protected void updateOrInsertCostsForRC(final List<RouteEntry> localRcEntries,
-                                            final RoutePriorityEntry priorityEntry) {
-        for (RouteEntry entry : localRcEntries) {
-            final RoutingComponent destinationRC = entry.getDestinationRC();
-
-            final Float oldCostsToNode = rcToCost.get(destinationRC);
-            final float costs = priorityEntry.getCosts();
-            final Float newCostsToNode;
-
-            // Workaround for initial source entries
-            if (!(entry instanceof TemporalDatabaseEntry)) {
-                newCostsToNode = priorityEntry.getCosts() + entry.getCosts();
-            } else {
-                // Turning Cost
-                final List<HashMap.SimpleEntry<Integer, Float>> turningForecastMappings =
-                        ((TemporalDatabaseEntry) entry).getTimeTurningForecastMappings();
-                float turningForecast = timeForecastMapForEntry(costs, turningForecastMappings);
-
-                // Section Cost
-                final List<HashMap.SimpleEntry<Integer, Float>> linkForecastMappings =
-                        ((TemporalDatabaseEntry) entry).getTimeSectionForecastMappings();
-                float linkForecast = timeForecastMapForEntry(costs, linkForecastMappings);
-
-                Turning turning = priorityEntry.getDestinationRC().getJunction().getTurning(entry.getInSection().getId(), entry.getOutSection().getId());
-                newCostsToNode = determineNewCostToNode(turning, entry, turningForecast, linkForecast, costs);
-            }
+    protected float calculateCostsToRC(final RouteEntry entry, final RoutePriorityEntry priorityEntry) {
+        // Workaround for initial source entries
+        if (!(entry instanceof TemporalDatabaseEntry)) {
+            return priorityEntry.getCosts() + entry.getCosts();
+        }
 
-            if (oldCostsToNode != null) {
-                if (newCostsToNode < oldCostsToNode) {
-                    // Exchange old priority entry with the new one with lower costs
-                    final RoutePriorityEntry oldPriorityEntry = rcToPriorityEntry.get(destinationRC);
-                    entryPriorityQueue.remove(oldPriorityEntry);
-                } else {
-                    continue;
-                }
-            }
+        final float costs = priorityEntry.getCosts();
 
-            rcToCost.put(destinationRC, newCostsToNode);
+        // Turning Cost
+        final List<HashMap.SimpleEntry<Integer, Float>> turningForecastMappings =
+                ((TemporalDatabaseEntry) entry).getTimeTurningForecastMappings();
+        float turningForecast = timeForecastMapForEntry(costs, turningForecastMappings);
 
-            final RoutePriorityEntry newPriorityEntry = new RoutePriorityEntry(entry, newCostsToNode);
-            entryPriorityQueue.add(newPriorityEntry);
+        // Section Cost
+        final List<HashMap.SimpleEntry<Integer, Float>> linkForecastMappings =
+                ((TemporalDatabaseEntry) entry).getTimeSectionForecastMappings();
+        float linkForecast = timeForecastMapForEntry(costs, linkForecastMappings);
 
-            rcToPriorityEntry.put(destinationRC, newPriorityEntry);
-            rcToPredecessor.put(destinationRC, entry.getSourceRC());
-        }
+        Turning turning = priorityEntry.getDestinationRC().getJunction().getTurning(entry.getInSection().getId(), entry.getOutSection().getId());
+        return determineNewCostToNode(turning, entry, turningForecast, linkForecast, costs);
     }
 
     /**
@@ -0,0 +1,204 @@
+package de.dfg.oc.otc.tools;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes log lines to files on a background thread. Each file is opened once
+ * in append mode and kept open with a buffered writer, so logging a line only
+ * costs putting it into a queue.
+ * <p>
+ * The queue is bounded. If it is full, the logging thread waits until the
+ * background thread has written some lines (backpressure), so no lines get
+ * lost. The number of these stalls is counted and reported when the files are
+ * closed. The files are flushed periodically, on {@link #flush()} and on
+ * {@link #close()}.
+ */
+public final class AsyncLogWriter {
+    private static final Logger log = Logger.getLogger(AsyncLogWriter.class);
+    /**
+     * Maximum number of lines waiting to be written.
+     */
+    private static final int QUEUE_CAPACITY = 8192;
+    /**
+     * Time in milliseconds after which buffered lines are flushed to disk.
+     */
+    private static final long FLUSH_INTERVAL = 1000;
+    private static AsyncLogWriter instance;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    /**
+     * Open files, only accessed by the background thread.
+     */
+    private final Map<String, Writer> writers = new HashMap<>();
+    /**
+     * Number of times a line could not be queued immediately because the queue was full.
+     */
+    private final AtomicLong stalls = new AtomicLong();
+    private long lastFlush = System.currentTimeMillis();
+
+    private AsyncLogWriter() {
+        final Thread thread = new Thread(this::run, "AsyncLogWriter");
+        thread.setDaemon(true);
+        thread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "AsyncLogWriter shutdown"));
+    }
+
+    public static synchronized AsyncLogWriter getInstance() {
+        if (instance == null) {
+            instance = new AsyncLogWriter();
+        }
+        return instance;
+    }
+
+    /**
+     * Writes all queued lines and closes all files. Files are reopened in
+     * append mode when new lines are logged. Blocks until the files are
+     * closed.
+     */
+    public void close() {
+        awaitControlEntry(true);
+
+        final long numStalls = stalls.getAndSet(0);
+        if (numStalls > 0) {
+            log.warn("Log queue was full " + numStalls + " times, logging slowed down the simulation.");
+        }
+    }
+
+    private void awaitControlEntry(final boolean close) {
+        final CountDownLatch done = new CountDownLatch(1);
+        enqueue(new Entry(null, null, done, close));
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeWriters() {
+        for (Map.Entry<String, Writer> entry : writers.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (IOException e) {
+                log.error("Unable to close file " + entry.getKey(), e);
+            }
+        }
+        writers.clear();
+    }
+
+    private void enqueue(final Entry entry) {
+        if (queue.offer(entry)) {
+            return;
+        }
+
+        stalls.incrementAndGet();
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes all queued lines to disk. Blocks until they are written.
+     */
+    public void flush() {
+        awaitControlEntry(false);
+    }
+
+    private void flushWriters() {
+        for (Map.Entry<String, Writer> entry : writers.entrySet()) {
+            try {
+                entry.getValue().flush();
+            } catch (IOException e) {
+                log.error("Unable to write to file " + entry.getKey(), e);
+            }
+        }
+        lastFlush = System.currentTimeMillis();
+    }
+
+    /**
+     * Appends a line to the given file. Returns immediately unless the queue
+     * is full.
+     *
+     * @param fileName name of the log file
+     * @param line     to be appended (without line separator)
+     */
+    public void println(final String fileName, final String line) {
+        enqueue(new Entry(fileName, line, null, false));
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                final Entry entry = queue.poll(FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    flushWriters();
+                } else if (entry.done != null) {
+                    if (entry.close) {
+                        closeWriters();
+                    } else {
+                        flushWriters();
+                    }
+                    entry.done.countDown();
+                } else {
+                    write(entry);
+                    if (queue.isEmpty() && System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL) {
+                        flushWriters();
+                    }
+                }
+            } catch (InterruptedException e) {
+                flushWriters();
+                return;
+            }
+        }
+    }
+
+    private void write(final Entry entry) {
+        try {
+            Writer writer = writers.get(entry.fileName);
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(entry.fileName, true),
+                        Charset.defaultCharset()));
+                writers.put(entry.fileName, writer);
+            }
+
+            writer.write(entry.line);
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            log.error("Unable to write to file " + entry.fileName, e);
+        }
+    }
+
+    /**
+     * A line to be written or, if {@code done} is set, a request to flush or
+     * close the files.
+     */
+    private static final class Entry {
+        private final String fileName;
+        private final String line;
+        private final CountDownLatch done;
+        private final boolean close;
+
+        private Entry(final String fileName, final String line, final CountDownLatch done, final boolean close) {
+            this.fileName = fileName;
+            this.line = line;
+            this.done = done;
+            this.close = close;
+        }
+    }
+}
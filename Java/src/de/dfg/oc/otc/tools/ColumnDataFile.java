@@ -0,0 +1,201 @@
+package de.dfg.oc.otc.tools;
+
+import de.dfg.oc.otc.config.DefaultParams;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file with columns of {@code float} values, used to cache data that is
+ * otherwise parsed from text files (e.g. the AID training and evaluation data).
+ * The file is memory-mapped when read, so the columns are available as
+ * {@link FloatBuffer}s without parsing or creating objects per value.
+ * <p>
+ * Layout (little endian): magic number, version, number of rows, number of
+ * columns (one {@code int} each), followed by the values of each column.
+ */
+public final class ColumnDataFile {
+    /**
+     * Extension of the cache file of a text file, see {@link #getCacheFile(File)}.
+     */
+    public static final String EXTENSION = ".col";
+    private static final int MAGIC = 0x4f54434c;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private final FloatBuffer values;
+    private final int rows;
+    private final int columns;
+
+    private ColumnDataFile(final FloatBuffer values, final int rows, final int columns) {
+        this.values = values;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the cache file of a text file, i.e. the file with the absolute
+     * path of the text file and {@link #EXTENSION} appended below
+     * {@link DefaultParams#AID_DATA_CACHE_FOLDER}, or next to the text file if
+     * no folder is set.
+     */
+    public static File getCacheFile(final File textFile) {
+        final Path path = textFile.toPath().toAbsolutePath().normalize();
+        if (DefaultParams.AID_DATA_CACHE_FOLDER.isEmpty()) {
+            return new File(path + EXTENSION);
+        }
+
+        final Path relativePath = path.getRoot() != null ? path.getRoot().relativize(path) : path;
+        return new File(DefaultParams.AID_DATA_CACHE_FOLDER, relativePath + EXTENSION);
+    }
+
+    /**
+     * Checks whether the cache file of a text file exists and is not older
+     * than the text file.
+     */
+    public static boolean isCacheUpToDate(final File textFile) {
+        final File cacheFile = getCacheFile(textFile);
+        return cacheFile.isFile() && cacheFile.lastModified() >= textFile.lastModified();
+    }
+
+    /**
+     * Maps a file into memory.
+     *
+     * @param file written by {@link #write(File, float[][])}
+     * @return the mapped file
+     * @throws IOException if the file can't be read or has an invalid format
+     */
+    public static ColumnDataFile map(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Invalid column data file " + file);
+            }
+            final int rows = buffer.getInt();
+            final int columns = buffer.getInt();
+            if (rows < 0 || columns < 0 || buffer.remaining() != (long) rows * columns * Float.BYTES) {
+                throw new IOException("Invalid size of column data file " + file);
+            }
+
+            // The mapping stays valid after the channel has been closed
+            return new ColumnDataFile(buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer(), rows, columns);
+        }
+    }
+
+    /**
+     * Writes columns of equal length to a file. The file is replaced
+     * atomically, so concurrent readers never see a partially written file.
+     * Missing parent folders are created.
+     *
+     * @param file    the file to be written
+     * @param columns the values, {@code columns[column][row]}
+     * @throws IOException if the file can't be written
+     */
+    public static void write(final File file, final float[][] columns) throws IOException {
+        final int rows = columns.length > 0 ? columns[0].length : 0;
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + rows * columns.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns.length);
+        for (float[] column : columns) {
+            if (column.length != rows) {
+                throw new IllegalArgumentException("Columns must have the same length.");
+            }
+            buffer.asFloatBuffer().put(column);
+            buffer.position(buffer.position() + rows * Float.BYTES);
+        }
+        buffer.flip();
+
+        final File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null) {
+            Files.createDirectories(folder.toPath());
+        }
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Wraps columns that are kept in memory (e.g. if a cache file can't be
+     * written).
+     *
+     * @param columns the values, {@code columns[column][row]}
+     */
+    public static ColumnDataFile wrap(final float[][] columns) {
+        final int rows = columns.length > 0 ? columns[0].length : 0;
+        final FloatBuffer values = FloatBuffer.allocate(rows * columns.length);
+        for (float[] column : columns) {
+            if (column.length != rows) {
+                throw new IllegalArgumentException("Columns must have the same length.");
+            }
+            values.put(column);
+        }
+        values.flip();
+        return new ColumnDataFile(values, rows, columns.length);
+    }
+
+    /**
+     * Returns a value.
+     */
+    public float get(final int row, final int column) {
+        return values.get(column * rows + row);
+    }
+
+    /**
+     * Returns a read-only view of a column, one value per row.
+     */
+    public FloatBuffer getColumn(final int column) {
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Column " + column + " of " + columns);
+        }
+        final FloatBuffer view = values.duplicate();
+        view.position(column * rows);
+        view.limit((column + 1) * rows);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Copies the values row by row (all columns of the first row, then all
+     * columns of the second row, ...).
+     *
+     * @param target receives the values, at least {@code offset + rows * columns} entries
+     * @param offset index of the first value in the target array
+     */
+    public void copyRows(final double[] target, final int offset) {
+        for (int column = 0; column < columns; column++) {
+            final FloatBuffer columnValues = getColumn(column);
+            for (int row = 0; row < rows; row++) {
+                target[offset + row * columns + column] = columnValues.get(row);
+            }
+        }
+    }
+}
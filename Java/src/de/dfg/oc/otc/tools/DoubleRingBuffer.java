@@ -0,0 +1,265 @@
+package de.dfg.oc.otc.tools;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO buffer of primitive {@code double} values with fixed maximum size. If a
+ * new value is added to a full buffer, the oldest value is dropped. Values are
+ * stored in a preallocated array, so adding does not allocate any objects.
+ * <p>
+ * The buffer keeps a running sum as well as the minimum and maximum of the
+ * stored values (using monotonic queues), all available in constant time.
+ */
+public class DoubleRingBuffer {
+    private double[] values;
+    /**
+     * Absolute positions of the candidates for the minimum (ascending values).
+     */
+    private long[] minQueue;
+    /**
+     * Absolute positions of the candidates for the maximum (descending values).
+     */
+    private long[] maxQueue;
+    private int minHead;
+    private int minSize;
+    private int maxHead;
+    private int maxSize;
+    /**
+     * Absolute position of the oldest value.
+     */
+    private long first;
+    private int size;
+    private double sum;
+    /**
+     * Number of values dropped since the sum was last recomputed.
+     */
+    private int evictionsSinceRecompute;
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param capacity maximum number of values
+     */
+    public DoubleRingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Adds a value. If the buffer is full, the oldest value is removed.
+     *
+     * @param value to be added
+     */
+    public final void add(final double value) {
+        if (size == values.length) {
+            removeFirst();
+        }
+
+        final long position = first + size;
+        values[slot(position)] = value;
+        size++;
+        sum += value;
+
+        // Keep minimum queue ascending and maximum queue descending
+        while (minSize > 0 && valueAt(minQueue[(minHead + minSize - 1) % minQueue.length]) >= value) {
+            minSize--;
+        }
+        minQueue[(minHead + minSize) % minQueue.length] = position;
+        minSize++;
+
+        while (maxSize > 0 && valueAt(maxQueue[(maxHead + maxSize - 1) % maxQueue.length]) <= value) {
+            maxSize--;
+        }
+        maxQueue[(maxHead + maxSize) % maxQueue.length] = position;
+        maxSize++;
+    }
+
+    private void allocate(final int capacity) {
+        this.values = new double[capacity];
+        this.minQueue = new long[capacity];
+        this.maxQueue = new long[capacity];
+        clear();
+    }
+
+    /**
+     * Removes all values.
+     */
+    public final void clear() {
+        this.first = 0;
+        this.size = 0;
+        this.sum = 0;
+        this.evictionsSinceRecompute = 0;
+        this.minHead = 0;
+        this.minSize = 0;
+        this.maxHead = 0;
+        this.maxSize = 0;
+    }
+
+    /**
+     * Returns the value at the given index (0 is the oldest value).
+     *
+     * @param index of the value
+     * @return the value
+     */
+    public final double get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[slot(first + index)];
+    }
+
+    /**
+     * Returns the average of the stored values, or NaN if the buffer is
+     * empty.
+     */
+    public final double getAverage() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        return sum / size;
+    }
+
+    /**
+     * Returns the maximum number of values.
+     */
+    public final int getCapacity() {
+        return values.length;
+    }
+
+    /**
+     * Returns the oldest value.
+     */
+    public final double getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[slot(first)];
+    }
+
+    /**
+     * Returns the newest value.
+     */
+    public final double getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[slot(first + size - 1)];
+    }
+
+    /**
+     * Returns the largest stored value, or NaN if the buffer is empty.
+     */
+    public final double getMax() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        return valueAt(maxQueue[maxHead]);
+    }
+
+    /**
+     * Returns the smallest stored value, or NaN if the buffer is empty.
+     */
+    public final double getMin() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        return valueAt(minQueue[minHead]);
+    }
+
+    /**
+     * Returns the sum of the stored values.
+     */
+    public final double getSum() {
+        return sum;
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the buffer is full.
+     *
+     * @return {@code true} if the buffer is full, {@code false} otherwise
+     */
+    public final boolean isFull() {
+        return size == values.length;
+    }
+
+    private void removeFirst() {
+        if (minSize > 0 && minQueue[minHead] == first) {
+            minHead = (minHead + 1) % minQueue.length;
+            minSize--;
+        }
+        if (maxSize > 0 && maxQueue[maxHead] == first) {
+            maxHead = (maxHead + 1) % maxQueue.length;
+            maxSize--;
+        }
+
+        sum -= values[slot(first)];
+        first++;
+        size--;
+
+        // Avoid accumulation of rounding errors in the running sum
+        evictionsSinceRecompute++;
+        if (evictionsSinceRecompute >= values.length) {
+            evictionsSinceRecompute = 0;
+            sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[slot(first + i)];
+            }
+        }
+    }
+
+    /**
+     * Changes the maximum number of values. If the buffer holds more values
+     * than the new capacity, the oldest ones are dropped.
+     *
+     * @param capacity new maximum number of values
+     */
+    public final void setCapacity(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (capacity == values.length) {
+            return;
+        }
+
+        final double[] stored = toArray();
+        allocate(capacity);
+        for (int i = Math.max(0, stored.length - capacity); i < stored.length; i++) {
+            add(stored[i]);
+        }
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    private int slot(final long position) {
+        return (int) (position % values.length);
+    }
+
+    /**
+     * Returns the stored values, ordered from oldest to newest.
+     */
+    public final double[] toArray() {
+        final double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[slot(first + i)];
+        }
+        return result;
+    }
+
+    @Override
+    public final String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private double valueAt(final long position) {
+        return values[slot(position)];
+    }
+}
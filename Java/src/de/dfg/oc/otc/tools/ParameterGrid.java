@@ -0,0 +1,249 @@
+package de.dfg.oc.otc.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Grid of parameter values for parameter studies. Each parameter has a list
+ * of values, a {@link Configuration} combines one value of each parameter.
+ * The configurations are enumerated like nested loops over the parameters in
+ * the order they have been added (first parameter = outermost loop), so the
+ * grid can be used in place of hand-written loops without changing the order.
+ * For random search, {@link #sample(int, long)} draws a random subset of the
+ * configurations.
+ */
+public final class ParameterGrid {
+    private final Map<String, List<Object>> parameters = new LinkedHashMap<>();
+
+    /**
+     * Adds a parameter with its values.
+     *
+     * @param name   unique name of the parameter
+     * @param values the values, at least one
+     * @return this grid
+     */
+    public ParameterGrid add(final String name, final List<?> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Parameter " + name + " has no values.");
+        }
+        if (parameters.put(name, new ArrayList<>(values)) != null) {
+            throw new IllegalArgumentException("Parameter " + name + " has already been added.");
+        }
+        return this;
+    }
+
+    public ParameterGrid add(final String name, final int... values) {
+        final List<Object> list = new ArrayList<>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return add(name, list);
+    }
+
+    public ParameterGrid add(final String name, final float... values) {
+        final List<Object> list = new ArrayList<>(values.length);
+        for (float value : values) {
+            list.add(value);
+        }
+        return add(name, list);
+    }
+
+    public ParameterGrid add(final String name, final double... values) {
+        final List<Object> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return add(name, list);
+    }
+
+    public ParameterGrid add(final String name, final boolean... values) {
+        final List<Object> list = new ArrayList<>(values.length);
+        for (boolean value : values) {
+            list.add(value);
+        }
+        return add(name, list);
+    }
+
+    /**
+     * Returns the configuration with the given index.
+     *
+     * @param index between 0 and {@link #size()} - 1
+     */
+    public Configuration get(final long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Configuration " + index + " of " + size());
+        }
+
+        // Mixed radix, the last parameter changes fastest
+        final Object[] values = new Object[parameters.size()];
+        final int[] valueIndices = new int[parameters.size()];
+        final List<List<Object>> valueLists = new ArrayList<>(parameters.values());
+        long remainder = index;
+        for (int i = values.length - 1; i >= 0; i--) {
+            final List<Object> parameterValues = valueLists.get(i);
+            valueIndices[i] = (int) (remainder % parameterValues.size());
+            values[i] = parameterValues.get(valueIndices[i]);
+            remainder /= parameterValues.size();
+        }
+        return new Configuration(index, new ArrayList<>(parameters.keySet()), values, valueIndices);
+    }
+
+    /**
+     * Returns all configurations in grid order.
+     */
+    public List<Configuration> getConfigurations() {
+        final int size = (int) Math.min(size(), Integer.MAX_VALUE);
+        final List<Configuration> configurations = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            configurations.add(get(i));
+        }
+        return configurations;
+    }
+
+    /**
+     * Draws distinct configurations at random (random search), ordered by
+     * their index in the grid.
+     *
+     * @param number maximum number of configurations
+     * @param seed   seed of the random generator
+     */
+    public List<Configuration> sample(final int number, final long seed) {
+        final long size = size();
+        if (number >= size) {
+            return getConfigurations();
+        }
+
+        // Floyd's algorithm, uniform without replacement
+        final Random random = new Random(seed);
+        final Set<Long> indices = new HashSet<>();
+        for (long j = size - number; j < size; j++) {
+            final long index = (long) (random.nextDouble() * (j + 1));
+            if (!indices.add(index)) {
+                indices.add(j);
+            }
+        }
+
+        final List<Long> sortedIndices = new ArrayList<>(indices);
+        Collections.sort(sortedIndices);
+        final List<Configuration> configurations = new ArrayList<>(number);
+        for (long index : sortedIndices) {
+            configurations.add(get(index));
+        }
+        return configurations;
+    }
+
+    /**
+     * Returns the number of configurations.
+     */
+    public long size() {
+        if (parameters.isEmpty()) {
+            return 0;
+        }
+
+        long size = 1;
+        for (List<Object> values : parameters.values()) {
+            size = Math.multiplyExact(size, values.size());
+        }
+        return size;
+    }
+
+    /**
+     * One value for each parameter of a grid.
+     */
+    public static final class Configuration {
+        private final long index;
+        private final List<String> names;
+        private final Object[] values;
+        private final int[] valueIndices;
+        private final String key;
+
+        private Configuration(final long index, final List<String> names, final Object[] values,
+                              final int[] valueIndices) {
+            this.index = index;
+            this.names = names;
+            this.values = values;
+            this.valueIndices = valueIndices;
+
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(names.get(i)).append('=').append(values[i]);
+            }
+            this.key = builder.toString();
+        }
+
+        public Object get(final String name) {
+            return values[indexOf(name)];
+        }
+
+        public boolean getBoolean(final String name) {
+            return (Boolean) get(name);
+        }
+
+        public double getDouble(final String name) {
+            return ((Number) get(name)).doubleValue();
+        }
+
+        public float getFloat(final String name) {
+            return ((Number) get(name)).floatValue();
+        }
+
+        /**
+         * Returns the index of the configuration in the grid.
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        public int getInt(final String name) {
+            return ((Number) get(name)).intValue();
+        }
+
+        /**
+         * Returns the position of the parameter value in the list of values
+         * of the parameter.
+         */
+        public int getValueIndex(final String name) {
+            return valueIndices[indexOf(name)];
+        }
+
+        private int indexOf(final String name) {
+            final int i = names.indexOf(name);
+            if (i < 0) {
+                throw new IllegalArgumentException("Unknown parameter " + name);
+            }
+            return i;
+        }
+
+        /**
+         * Returns the parameter values as text ({@code name=value,...}), which
+         * identifies the configuration in a results file.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Configuration && key.equals(((Configuration) o).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package de.dfg.oc.otc.tools;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a parameter study: evaluates a list of {@link ParameterGrid.Configuration}s
+ * in parallel on a work-stealing {@link ForkJoinPool}.
+ * <p>
+ * Data needed by all evaluations (e.g. traffic data) should be loaded once
+ * before the sweep and only be read by the evaluations. The result of each
+ * configuration is appended to the results file as soon as it is available
+ * ({@code key<TAB>result}, one line per configuration). When a study is
+ * started again with the same results file, configurations that already have a
+ * result are skipped, so an interrupted study can be resumed.
+ *
+ * @param <R> result of an evaluation
+ */
+public class ParameterSweep<R> {
+    private static final Logger log = Logger.getLogger(ParameterSweep.class);
+    private final List<ParameterGrid.Configuration> configurations;
+    private final Evaluation<R> evaluation;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private File resultsFile;
+
+    /**
+     * Evaluates one configuration, called concurrently for different
+     * configurations. {@code null} is no result, i.e. the evaluation failed.
+     */
+    public interface Evaluation<R> {
+        R evaluate(ParameterGrid.Configuration configuration) throws Exception;
+    }
+
+    public ParameterSweep(final List<ParameterGrid.Configuration> configurations, final Evaluation<R> evaluation) {
+        this.configurations = configurations;
+        this.evaluation = evaluation;
+    }
+
+    /**
+     * Reads the keys of the configurations that have a result in the results file.
+     */
+    private Set<String> readFinishedConfigurations() throws IOException {
+        final Set<String> keys = new HashSet<>();
+        if (resultsFile == null || !resultsFile.isFile()) {
+            return keys;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(resultsFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf('\t');
+                if (separator > 0) {
+                    keys.add(line.substring(0, separator));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Evaluates all configurations that have no result in the results file yet.
+     * Failed evaluations (an exception or a {@code null} result) are reported
+     * and don't get a result, so they are repeated when the study is resumed.
+     *
+     * @return the results of this run in the order of the configurations
+     * @throws IOException if the results file can't be read or written
+     */
+    public Map<ParameterGrid.Configuration, R> run() throws IOException {
+        final Set<String> finished = readFinishedConfigurations();
+        final List<ParameterGrid.Configuration> pending = new ArrayList<>();
+        for (ParameterGrid.Configuration configuration : configurations) {
+            if (!finished.contains(configuration.getKey())) {
+                pending.add(configuration);
+            }
+        }
+        log.info("Parameter sweep: " + pending.size() + " of " + configurations.size()
+                + " configurations to evaluate, " + parallelism + " threads");
+
+        final File folder = resultsFile != null ? resultsFile.getAbsoluteFile().getParentFile() : null;
+        if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Couldn't create folder: " + folder);
+        }
+
+        final Map<ParameterGrid.Configuration, R> results = new ConcurrentHashMap<>();
+        final AtomicInteger done = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (Writer writer = resultsFile != null ? new BufferedWriter(new FileWriter(resultsFile, true)) : null) {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>(pending.size());
+            for (ParameterGrid.Configuration configuration : pending) {
+                tasks.add(pool.submit(() -> {
+                    final R result;
+                    try {
+                        result = evaluation.evaluate(configuration);
+                    } catch (Exception e) {
+                        log.warn("Evaluation of " + configuration + " failed", e);
+                        return;
+                    }
+                    if (result == null) {
+                        log.warn("Evaluation of " + configuration + " failed: no result");
+                        return;
+                    }
+
+                    results.put(configuration, result);
+                    if (writer != null) {
+                        writeResult(writer, configuration, result);
+                    }
+                    log.info("Parameter sweep: " + done.incrementAndGet() + "/" + pending.size()
+                            + " finished (" + configuration + ")");
+                }));
+            }
+
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        final Map<ParameterGrid.Configuration, R> orderedResults = new LinkedHashMap<>();
+        for (ParameterGrid.Configuration configuration : pending) {
+            if (results.containsKey(configuration)) {
+                orderedResults.put(configuration, results.get(configuration));
+            }
+        }
+        return orderedResults;
+    }
+
+    /**
+     * Sets the number of threads (default: number of processors).
+     */
+    public ParameterSweep<R> setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the file the results are appended to, {@code null} for none.
+     */
+    public ParameterSweep<R> setResultsFile(final File resultsFile) {
+        this.resultsFile = resultsFile;
+        return this;
+    }
+
+    /**
+     * Appends a result and flushes it, so it is not lost if the study is interrupted.
+     */
+    private static void writeResult(final Writer writer, final ParameterGrid.Configuration configuration,
+                                    final Object result) {
+        final String line = configuration.getKey() + '\t' + String.valueOf(result).replace('\n', ' ')
+                + System.lineSeparator();
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.flush();
+            } catch (IOException e) {
+                log.error("Result of " + configuration + " could not be written: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package de.dfg.oc.otc.tools;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO buffer of objects with fixed maximum size and constant time random
+ * access. If a new element is added to a full buffer, the oldest element is
+ * dropped. Elements are stored in a preallocated array, so adding does not
+ * allocate any list nodes.
+ *
+ * @param <E> type of the stored elements
+ */
+public class RingBuffer<E> implements Iterable<E> {
+    private Object[] elements;
+    /**
+     * Index of the oldest element.
+     */
+    private int head;
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param capacity maximum number of elements
+     */
+    public RingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Adds an element. If the buffer is full, the oldest element is removed.
+     *
+     * @param element to be added
+     */
+    public final void add(final E element) {
+        if (size == elements.length) {
+            elements[head] = element;
+            head = (head + 1) % elements.length;
+        } else {
+            elements[(head + size) % elements.length] = element;
+            size++;
+        }
+        modCount++;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public final void clear() {
+        for (int i = 0; i < size; i++) {
+            elements[(head + i) % elements.length] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the element at the given index (0 is the oldest element).
+     *
+     * @param index of the element
+     * @return the element
+     */
+    @SuppressWarnings("unchecked")
+    public final E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) elements[(head + index) % elements.length];
+    }
+
+    /**
+     * Returns the maximum number of elements.
+     */
+    public final int getCapacity() {
+        return elements.length;
+    }
+
+    /**
+     * Returns the oldest element.
+     */
+    public final E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(0);
+    }
+
+    /**
+     * Returns the newest element.
+     */
+    public final E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(size - 1);
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the buffer is full.
+     *
+     * @return {@code true} if the buffer is full, {@code false} otherwise
+     */
+    public final boolean isFull() {
+        return size == elements.length;
+    }
+
+    /**
+     * Iterates from the oldest to the newest element.
+     */
+    @Override
+    public final Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final int expectedModCount = modCount;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public E next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * Changes the maximum number of elements. If the buffer holds more
+     * elements than the new capacity, the oldest ones are dropped.
+     *
+     * @param capacity new maximum number of elements
+     */
+    public final void setCapacity(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (capacity == elements.length) {
+            return;
+        }
+
+        final int retained = Math.min(size, capacity);
+        final Object[] resized = new Object[capacity];
+        for (int i = 0; i < retained; i++) {
+            resized[i] = elements[(head + size - retained + i) % elements.length];
+        }
+        this.elements = resized;
+        this.head = 0;
+        this.size = retained;
+        modCount++;
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,85 @@
+package de.dfg.oc.otc.tools;
+
+import java.util.Arrays;
+
+/**
+ * Defers events of {@link Topic}s to the end of a simulation step. A deferred
+ * subscriber (see {@link #defer(Subscriber)}) receives only the latest event
+ * of the step, even if it is subscribed to several topics, when the owner of
+ * the batch calls {@link #flush()}.
+ * <p>
+ * Publishing to a deferred subscriber does not allocate. The batch is not
+ * thread-safe, events have to be published and flushed by the simulation
+ * thread.
+ */
+public final class StepBatch {
+    private Deferred<?, ?>[] pending = new Deferred<?, ?>[16];
+    private int size;
+
+    /**
+     * Wraps a subscriber so that its events are collected until the next
+     * {@link #flush()}. The returned subscriber has to be used for
+     * subscribing and unsubscribing.
+     */
+    public <S, V> Subscriber<S, V> defer(final Subscriber<? super S, ? super V> subscriber) {
+        return new Deferred<>(subscriber);
+    }
+
+    /**
+     * Delivers the collected events in the order in which their subscribers
+     * were first notified during the step. Events published while flushing are
+     * delivered as well.
+     */
+    public void flush() {
+        for (int i = 0; i < size; i++) {
+            final Deferred<?, ?> deferred = pending[i];
+            pending[i] = null;
+            deferred.deliver();
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of subscribers with pending events.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void add(final Deferred<?, ?> deferred) {
+        if (size == pending.length) {
+            pending = Arrays.copyOf(pending, size * 2);
+        }
+        pending[size++] = deferred;
+    }
+
+    private final class Deferred<S, V> implements Subscriber<S, V> {
+        private final Subscriber<? super S, ? super V> subscriber;
+        private boolean isPending;
+        private S source;
+        private V value;
+
+        private Deferred(final Subscriber<? super S, ? super V> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void update(final S source, final V value) {
+            this.source = source;
+            this.value = value;
+            if (!isPending) {
+                isPending = true;
+                add(this);
+            }
+        }
+
+        private void deliver() {
+            final S source = this.source;
+            final V value = this.value;
+            this.source = null;
+            this.value = null;
+            isPending = false;
+            subscriber.update(source, value);
+        }
+    }
+}
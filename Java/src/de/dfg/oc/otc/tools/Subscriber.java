@@ -0,0 +1,19 @@
+package de.dfg.oc.otc.tools;
+
+/**
+ * Receives the events of a {@link Topic}.
+ *
+ * @param <S> type of the publishing object
+ * @param <V> type of the published value
+ */
+@FunctionalInterface
+public interface Subscriber<S, V> {
+    /**
+     * Called for each event of the subscribed topics, on the publishing thread.
+     *
+     * @param source publishing object
+     * @param value  published value, shared by all subscribers and not to be
+     *               changed
+     */
+    void update(S source, V value);
+}
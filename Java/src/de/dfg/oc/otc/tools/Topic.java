@@ -0,0 +1,80 @@
+package de.dfg.oc.otc.tools;
+
+import java.util.Arrays;
+
+/**
+ * Typed replacement for {@link java.util.Observable}. Subscribers are kept in
+ * an array that is replaced on every (rare) change, so publishing neither
+ * locks nor allocates and subscribers need no casts.
+ * <p>
+ * Like {@code Observable}, a subscriber is registered at most once and the
+ * most recently registered subscriber is notified first (the reverse order of
+ * registration). Subscribers may be added and removed from any thread.
+ *
+ * @param <S> type of the publishing object
+ * @param <V> type of the published value
+ * @see StepBatch
+ */
+public final class Topic<S, V> {
+    private static final Subscriber<?, ?>[] NONE = new Subscriber<?, ?>[0];
+    private volatile Subscriber<? super S, ? super V>[] subscribers = none();
+
+    @SuppressWarnings("unchecked")
+    private static <S, V> Subscriber<? super S, ? super V>[] none() {
+        return (Subscriber<? super S, ? super V>[]) NONE;
+    }
+
+    /**
+     * Adds a subscriber, if it is not subscribed yet.
+     */
+    public synchronized void subscribe(final Subscriber<? super S, ? super V> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+        if (indexOf(subscriber) < 0) {
+            final Subscriber<? super S, ? super V>[] extended = Arrays.copyOf(subscribers, subscribers.length + 1);
+            extended[subscribers.length] = subscriber;
+            subscribers = extended;
+        }
+    }
+
+    public synchronized void unsubscribe(final Subscriber<? super S, ? super V> subscriber) {
+        final int index = indexOf(subscriber);
+        if (index >= 0) {
+            final Subscriber<? super S, ? super V>[] reduced = Arrays.copyOf(subscribers, subscribers.length - 1);
+            System.arraycopy(subscribers, index + 1, reduced, index, reduced.length - index);
+            subscribers = reduced;
+        }
+    }
+
+    public synchronized void unsubscribeAll() {
+        subscribers = none();
+    }
+
+    public int countSubscribers() {
+        return subscribers.length;
+    }
+
+    private int indexOf(final Subscriber<?, ?> subscriber) {
+        for (int i = 0; i < subscribers.length; i++) {
+            if (subscribers[i].equals(subscriber)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Notifies all subscribers (registered at the time of the call), the most
+     * recently registered first.
+     *
+     * @param source publishing object
+     * @param value  value of the event
+     */
+    public void publish(final S source, final V value) {
+        final Subscriber<? super S, ? super V>[] current = this.subscribers;
+        for (int i = current.length - 1; i >= 0; i--) {
+            current[i].update(source, value);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package tests.aid.knn;
+
+import de.dfg.oc.otc.aid.algorithms.knn.KNNDetectorDataValue;
+import de.dfg.oc.otc.aid.algorithms.knn.KNNIndex;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Compares the nearest training values found by the {@link KNNIndex} with a linear search.
+ */
+public class KNNIndexTest {
+    private final EuclideanDistance euclideanDistance = new EuclideanDistance();
+
+    private static DetectorDataValue createValue(Random random) {
+        float[] values = new float[7];
+        // Few different values to get equal distances
+        values[DetectorCapabilities.COUNT] = random.nextInt(50);
+        values[DetectorCapabilities.SPEED] = random.nextInt(12) * 10;
+        values[DetectorCapabilities.OCCUPANCY] = random.nextInt(10) * 0.1f;
+        values[DetectorCapabilities.DENSITY] = random.nextInt(8) * 5;
+        return new DetectorDataValue(0, values);
+    }
+
+    private float distance(DetectorDataValue a, DetectorDataValue b) {
+        return (float) euclideanDistance.compute(getUsedFeatures(a), getUsedFeatures(b));
+    }
+
+    private static double[] getUsedFeatures(DetectorDataValue value) {
+        return new double[]{0, 0, value.getValues()[DetectorCapabilities.SPEED],
+                value.getValues()[DetectorCapabilities.OCCUPANCY], 0, value.getValues()[DetectorCapabilities.DENSITY], 0};
+    }
+
+    private void assertNearest(KNNIndex index, List<KNNDetectorDataValue> trainingSet, DetectorDataValue instance,
+                               KNNDetectorDataValue excluded, int k) {
+        // Linear search, equal distances ordered by the training set
+        List<KNNDetectorDataValue> expected = new ArrayList<>(trainingSet);
+        expected.remove(excluded);
+        expected.sort(Comparator.comparingDouble(value -> distance(value.getDetectorDataValue(), instance)));
+
+        KNNDetectorDataValue[] neighbors = new KNNDetectorDataValue[k];
+        float[] distances = new float[k];
+        int count = index.nearest(instance, k, excluded, neighbors, distances);
+
+        assertEquals(Math.min(k, expected.size()), count);
+        for (int i = 0; i < count; i++) {
+            assertSame(expected.get(i), neighbors[i]);
+            assertEquals(distance(expected.get(i).getDetectorDataValue(), instance), distances[i], 0);
+        }
+    }
+
+    @Test
+    public void nearestValuesShouldEqualLinearSearch() {
+        Random random = new Random(11);
+        List<KNNDetectorDataValue> trainingSet = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            trainingSet.add(new KNNDetectorDataValue(createValue(random), random.nextBoolean()));
+        }
+
+        KNNIndex index = new KNNIndex(trainingSet);
+        assertEquals(trainingSet.size(), index.size());
+
+        for (int i = 0; i < 500; i++) {
+            assertNearest(index, trainingSet, createValue(random), null, 1 + random.nextInt(8));
+        }
+    }
+
+    @Test
+    public void shouldExcludeTrainingValue() {
+        Random random = new Random(12);
+        List<KNNDetectorDataValue> trainingSet = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            trainingSet.add(new KNNDetectorDataValue(createValue(random), random.nextBoolean()));
+        }
+
+        KNNIndex index = new KNNIndex(trainingSet);
+        for (KNNDetectorDataValue value : trainingSet) {
+            assertNearest(index, trainingSet, value.getDetectorDataValue(), value, 4);
+        }
+    }
+
+    @Test
+    public void addedValuesShouldBeFound() {
+        Random random = new Random(13);
+        List<KNNDetectorDataValue> trainingSet = new ArrayList<>();
+        KNNIndex index = new KNNIndex(trainingSet);
+
+        for (int i = 0; i < 1000; i++) {
+            // Increasing speeds like data recorded over time
+            float[] values = createValue(random).getValues().clone();
+            values[DetectorCapabilities.SPEED] = i / 10;
+            KNNDetectorDataValue value = new KNNDetectorDataValue(new DetectorDataValue(i, values), random.nextBoolean());
+            trainingSet.add(value);
+            index.add(value);
+
+            assertNearest(index, trainingSet, createValue(random), null, 4);
+        }
+        assertEquals(trainingSet.size(), index.size());
+    }
+}
@@ -14,7 +14,6 @@ import org.junit.Test;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Observable;
 
 import static org.junit.Assert.assertEquals;
 
@@ -45,13 +44,12 @@ public class LASVMTest {
     public void updateCheckArchive() {
         OTCManager manager = OTCManager.getInstance();
 
-        Observable obs = new Observable();
         DetectorDataValue object = new DetectorDataValue(0, new float[]{1, 1, 1, 1, 1, 1});
 
         // Action
         for (OTCNode node : manager.getNetwork().getNodes()) {
             for (AIDMonitoringZone zone : node.getAIDComponent().getMonitoringZones()) {
-                zone.getAIDAlgorithm().update(obs, object);
+                zone.getAIDAlgorithm().update(null, object);
             }
         }
     }
@@ -60,13 +58,12 @@ public class LASVMTest {
     public void updateCheck() {
         OTCManager manager = OTCManager.getInstance();
 
-        Observable obs = new Observable();
         DetectorDataValue object = new DetectorDataValue(0, new float[]{1, 1, 1, 1, 1, 1});
 
         // Action
         for (OTCNode node : manager.getNetwork().getNodes()) {
             for (AIDMonitoringZone zone : node.getAIDComponent().getMonitoringZones()) {
-                zone.getAIDAlgorithm().update(obs, object);
+                zone.getAIDAlgorithm().update(null, object);
             }
         }
     }
@@ -0,0 +1,78 @@
+package tests.aid.laSVM;
+
+import de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.classifier.LaSVMI;
+import de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.kernel.typed.DoubleGaussL2;
+import de.dfg.oc.otc.aid.algorithms.svm.jkernelmachines.type.TrainingSample;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the kernel row cache and the support vector budget of {@link LaSVMI}.
+ */
+public class LaSVMIBudgetTest {
+    private static List<TrainingSample<double[]>> createSamples(int number, long seed) {
+        Random random = new Random(seed);
+        List<TrainingSample<double[]>> samples = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            double[] sample = {random.nextGaussian(), random.nextGaussian()};
+            samples.add(new TrainingSample<>(sample, sample[0] + sample[1] * sample[1] > 0.5 ? 1 : -1));
+        }
+        return samples;
+    }
+
+    private static LaSVMI<double[]> createSVM() {
+        DoubleGaussL2 kernel = new DoubleGaussL2();
+        kernel.setGamma(0.5);
+        LaSVMI<double[]> svm = new LaSVMI<>(kernel);
+        svm.setC(1.0);
+        return svm;
+    }
+
+    @Test
+    public void smallCacheShouldNotChangeResult() {
+        List<TrainingSample<double[]>> samples = createSamples(300, 1);
+
+        LaSVMI<double[]> svm = createSVM();
+        svm.train(samples);
+
+        // Cache holds only a few rows, evicted rows are recomputed
+        LaSVMI<double[]> cachedSVM = createSVM();
+        cachedSVM.setKernelCacheSize(10 * 300 * 8);
+        cachedSVM.train(samples);
+
+        assertArrayEquals(svm.getAlphas(), cachedSVM.getAlphas(), 0);
+    }
+
+    @Test
+    public void onlineLearningShouldRespectBudget() {
+        for (LaSVMI.RemovalPolicy policy : LaSVMI.RemovalPolicy.values()) {
+            LaSVMI<double[]> svm = createSVM();
+            svm.setBudget(50);
+            svm.setRemovalPolicy(policy);
+            svm.setKernelCacheSize(20 * 60 * 8);
+
+            List<TrainingSample<double[]>> samples = createSamples(1000, 2);
+            svm.train(samples.subList(0, 100));
+            assertTrue(svm.getNumberOfSamples() <= 50);
+
+            for (TrainingSample<double[]> sample : samples.subList(100, samples.size())) {
+                svm.train(sample);
+                assertTrue(svm.getNumberOfSamples() <= 50);
+            }
+
+            int correct = 0;
+            for (TrainingSample<double[]> sample : createSamples(500, 3)) {
+                if (svm.valueOf(sample.sample) * sample.label > 0) {
+                    correct++;
+                }
+            }
+            assertTrue(policy + ": " + correct, correct > 350);
+        }
+    }
+}
@@ -3,14 +3,20 @@ package tests.evaluation.aid;
 import de.dfg.oc.otc.aid.Incident;
 import de.dfg.oc.otc.aid.algorithms.svm.IncidentStorage;
 import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import de.dfg.oc.otc.tools.ColumnDataFile;
 import de.dfg.oc.otc.tools.FileUtilities;
+import org.apache.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * See folder TrafficData/AIDTrafficData
@@ -21,6 +27,7 @@ import java.util.stream.Collectors;
  * Created by oc6admin on 07.01.2016.
  */
 public abstract class AIDTrafficDataReader {
+    private static final Logger log = Logger.getLogger(AIDTrafficDataReader.class);
     public static final int NUMBER_TRAINING_DAYS = 21;
     public static final int NUMBER_TEST_DAYS = 7;
     public static final String[] FOLDER_NAMES = {
@@ -48,6 +55,7 @@ public abstract class AIDTrafficDataReader {
     public static final int OCCUPANCY = 3;
     public static final int SPEED = 4;
     public static final int VOLUME = 5;
+    public static final int LABEL = 6;
     /**
      * Folder where the evaluation data sets are stored.
      */
@@ -63,33 +71,129 @@ public abstract class AIDTrafficDataReader {
      *
      * @param filename
      * @return list of traffic sensor feature vectors
+     * @see #readDataArrayFromFile(String)
      */
     public static List<Float> readDataFromFile(@NotNull String filename) {
-        List<Float> data = new ArrayList<>();
+        double[] values = readDataArrayFromFile(filename);
+
+        List<Float> data = new ArrayList<>(values.length);
+        for (double value : values) {
+            data.add((float) value);
+        }
+        return data;
+    }
+
+    /**
+     * Same as {@link #readDataFromFile(String)}, but returns the feature vectors in one array
+     * ({@link #SITUATION_LENGTH} values per five minutes interval).
+     * The values are read from the binary cache file of the CSV file (see {@link #readColumns(String)}).
+     *
+     * @param filename complete path to the CSV file
+     * @return traffic sensor feature vectors, empty if the file can't be read
+     */
+    public static double[] readDataArrayFromFile(@NotNull String filename) {
+        ColumnDataFile columns = readColumns(filename);
+        if (columns == null) {
+            return new double[0];
+        }
+
+        double[] data = new double[columns.getRows() * SITUATION_LENGTH];
+        columns.copyRows(data, 0);
+        for (int i = LABEL; i < data.length; i += SITUATION_LENGTH) {
+            data[i] = data[i] < 0 ? 0 : 1;
+        }
+        return data;
+    }
+
+    /**
+     * Returns the columns {@link #DENSITY} to {@link #VOLUME} and {@link #LABEL} (original class labels) of a CSV
+     * file from the AID data folder. The columns are memory-mapped from a binary cache file (see
+     * {@link ColumnDataFile#getCacheFile(java.io.File)}), which is created if it is missing, older than the CSV file or
+     * hasn't {@link #SITUATION_LENGTH} columns (e.g. written by another reader of the same file).
+     *
+     * @param filename complete path to the CSV file
+     * @return the columns, null if the file can't be read
+     */
+    @Nullable
+    public static ColumnDataFile readColumns(@NotNull String filename) {
+        File csvFile = new File(filename);
+        if (ColumnDataFile.isCacheUpToDate(csvFile)) {
+            try {
+                ColumnDataFile columns = ColumnDataFile.map(ColumnDataFile.getCacheFile(csvFile));
+                if (columns.getColumns() == SITUATION_LENGTH) {
+                    return columns;
+                }
+                log.warn("Invalid number of columns in cache of " + csvFile + ": " + columns.getColumns());
+            } catch (IOException e) {
+                log.warn("Cache of " + csvFile + " can't be read: " + e.getMessage());
+            }
+        }
+
+        float[][] columns;
         try {
-            String line;
+            columns = parseCSVFile(csvFile);
+        } catch (IOException | NumberFormatException e) {
+            log.error(csvFile + " can't be read: " + e.getMessage());
+            return null;
+        }
 
-            BufferedReader br = new BufferedReader(new FileReader(filename));
+        try {
+            ColumnDataFile.write(ColumnDataFile.getCacheFile(csvFile), columns);
+        } catch (IOException e) {
+            // e.g. read-only data folder, use the parsed values
+            log.warn("Cache of " + csvFile + " can't be written: " + e.getMessage());
+        }
+        return ColumnDataFile.wrap(columns);
+    }
 
+    /**
+     * Parses a CSV file of the AID data folder (empty first field, time, the six sensor values and the class label).
+     *
+     * @return the values, {@code columns[column][row]}
+     */
+    private static float[][] parseCSVFile(File csvFile) throws IOException {
+        List<float[]> rows = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+            String line;
             while ((line = br.readLine()) != null) {
                 String[] arguments = line.split(",");
 
+                float[] row = new float[SITUATION_LENGTH];
                 for (int i = 2; i < arguments.length - 1; i++) {
-                    data.add(Float.parseFloat(arguments[i]));
-                }
-                try {
-                    float label = Float.parseFloat(arguments[arguments.length - 1]);
-                    data.add(label < 0 ? 0f : 1f);
-                } catch (NumberFormatException e) {
-                    e.getMessage();
+                    row[i - 2] = Float.parseFloat(arguments[i]);
                 }
+                row[LABEL] = Float.parseFloat(arguments[arguments.length - 1]);
+                rows.add(row);
             }
-            br.close();
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
         }
 
-        return data;
+        float[][] columns = new float[SITUATION_LENGTH][rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            for (int j = 0; j < SITUATION_LENGTH; j++) {
+                columns[j][i] = rows.get(i)[j];
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Creates the binary cache files of all CSV files in the AID data folder (or the given folder).
+     */
+    public static void main(String[] args) throws IOException {
+        Path folder = Paths.get(args.length > 0 ? args[0] : AID_DATA_FOLDER);
+
+        List<Path> csvFiles;
+        try (Stream<Path> files = Files.walk(folder)) {
+            csvFiles = files.filter(file -> file.toString().toLowerCase().endsWith(".csv")).collect(Collectors.toList());
+        }
+
+        int converted = 0;
+        for (Path csvFile : csvFiles) {
+            if (!ColumnDataFile.isCacheUpToDate(csvFile.toFile()) && readColumns(csvFile.toString()) != null) {
+                converted++;
+            }
+        }
+        System.out.println(converted + " of " + csvFiles.size() + " CSV files converted.");
     }
 
     public static void addLabelsToCSVFile() {
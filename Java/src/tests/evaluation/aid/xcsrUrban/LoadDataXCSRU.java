@@ -1,10 +1,13 @@
 package tests.evaluation.aid.xcsrUrban;
 
 import de.dfg.oc.otc.aid.algorithms.xcsrUrban.XCSRUrbanParameters;
+import de.dfg.oc.otc.tools.ColumnDataFile;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -15,6 +18,8 @@ import java.util.List;
  */
 public class LoadDataXCSRU
 {
+    private static final Logger log = Logger.getLogger(LoadDataXCSRU.class);
+
     /**
      * Positions of the sensor values in the input vector from the data files.
      */
@@ -116,31 +121,79 @@ public class LoadDataXCSRU
     }
 
     /**
+     * Reads a data file. The values are taken from the binary cache file of the data file
+     * (see {@link ColumnDataFile}) if it is up to date and has {@link #SITUATION_LENGTH} columns, otherwise the data
+     * file is parsed and the cache file is created.
+     *
      * @param filename
      * @return list of traffic sensor feature vectors
      */
     public static double[] readDataFromFile(@NotNull String filename) {
-        List<Float> data = new ArrayList<>(NUMBER_DATA_PER_DAY * SITUATION_LENGTH);
-        try {
-            String line;
-
-            BufferedReader br = new BufferedReader(new FileReader(filename));
+        File file = new File(filename);
+        if (ColumnDataFile.isCacheUpToDate(file)) {
+            try {
+                ColumnDataFile columns = ColumnDataFile.map(ColumnDataFile.getCacheFile(file));
+                if (columns.getColumns() == SITUATION_LENGTH) {
+                    double[] d = new double[columns.getRows() * columns.getColumns()];
+                    columns.copyRows(d, 0);
+                    return d;
+                }
+                log.warn("Invalid number of columns in cache of " + file + ": " + columns.getColumns());
+            } catch (IOException e) {
+                log.warn("Cache of " + file + " can't be read: " + e.getMessage());
+            }
+        }
 
+        List<float[]> rows = new ArrayList<>(NUMBER_DATA_PER_DAY);
+        int values = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
             while ((line = br.readLine()) != null) {
                 String[] arguments = line.split(delimiter);
 
+                float[] row = new float[arguments.length];
                 for (int i = 0; i < arguments.length; i++)
                 {
-                    data.add(Float.parseFloat(arguments[i]));
+                    row[i] = Float.parseFloat(arguments[i]);
                 }
+                rows.add(row);
+                values += row.length;
             }
-            br.close();
         } catch (IOException e) {
-            System.out.println(e.getMessage());
+            log.error(file + " can't be read: " + e.getMessage());
+        }
+
+        double[] d = new double[values];
+        int i = 0;
+        for (float[] row : rows) {
+            for (float value : row) {
+                d[i++] = value;
+            }
         }
-        double[] d = new double[data.size()];
-        for (int i = 0; i < data.size(); i++)
-            d[i] = data.get(i);
+
+        writeCacheFile(file, rows);
         return d;
     }
+
+    /**
+     * Writes the binary cache file of a data file, if all lines have the same number of values.
+     */
+    private static void writeCacheFile(File file, List<float[]> rows) {
+        if (rows.isEmpty() || rows.stream().anyMatch(row -> row.length != rows.get(0).length)) {
+            return;
+        }
+
+        float[][] columns = new float[rows.get(0).length][rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            for (int j = 0; j < columns.length; j++) {
+                columns[j][i] = rows.get(i)[j];
+            }
+        }
+
+        try {
+            ColumnDataFile.write(ColumnDataFile.getCacheFile(file), columns);
+        } catch (IOException e) {
+            log.warn("Cache of " + file + " can't be written: " + e.getMessage());
+        }
+    }
 }
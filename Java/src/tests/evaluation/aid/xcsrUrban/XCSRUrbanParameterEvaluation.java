@@ -2,10 +2,16 @@ package tests.evaluation.aid.xcsrUrban;
 import de.dfg.oc.otc.aid.algorithms.xcsrUrban.OperationMode;
 import de.dfg.oc.otc.aid.algorithms.xcsrUrban.XCSRUrbanParameters;
 import de.dfg.oc.otc.aid.algorithms.xcsrUrban.environments.CongestionDetectionEnvironment;
+import de.dfg.oc.otc.tools.ParameterGrid;
+import de.dfg.oc.otc.tools.ParameterSweep;
 //import tests.evaluation.aid.AIDTrafficDataReader;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by oc6admin on 03.02.2016.
@@ -20,37 +26,38 @@ public class XCSRUrbanParameterEvaluation
     static double[] predictionErrorReduction_values = {0.1, 1.0};
 
     static boolean crossValidation = true;
-    static int numThreads = 8;
-    static Thread[] threads = new Thread[numThreads];
+    static int numThreads = Runtime.getRuntime().availableProcessors();
 
 
-    public static void main(String[] args)
+    public static void main(String[] args) throws IOException
     {
-        double[][] data = new double[LoadDataXCSRU.NUMBER_OF_EVALUATION_FOLDERS][];
+        // the data is loaded once, the partitions for cross validation are copies of it
+        double[][] sequentialData = new double[LoadDataXCSRU.NUMBER_OF_EVALUATION_FOLDERS][];
+        for (int j = 0; j < LoadDataXCSRU.NUMBER_OF_EVALUATION_FOLDERS; j++)
+        {
+            sequentialData[j] = LoadDataXCSRU.loadSequentialData(j);
+        }
+
+        ParameterGrid grid = new ParameterGrid()
+                .add("maxPopSize", maxPopSize_values)
+                .add("beta", beta_values)
+                .add("theta_GA", theta_GA_values)
+                .add("pX", pX_values)
+                .add("pM", pM_values)
+                .add("predictionErrorReduction", predictionErrorReduction_values);
+
         for (int i = 0; i < (LoadDataXCSRU.NUMBER_TRAINING_DAYS + LoadDataXCSRU.NUMBER_TEST_DAYS); i++)
         {
-            try
+            double[][] data = new double[LoadDataXCSRU.NUMBER_OF_EVALUATION_FOLDERS][];
+            for (int j = 0; j < LoadDataXCSRU.NUMBER_OF_EVALUATION_FOLDERS; j++)
             {
-                for (int j = 0; j < LoadDataXCSRU.NUMBER_OF_EVALUATION_FOLDERS; j++)
-                {
-                    data[j] = null;
-                    if (crossValidation) {
-                        data[j] = LoadDataXCSRU.partitionDataForCrossvalidation(LoadDataXCSRU.loadSequentialData(j), i);
-                    } else {
-                        data[j] = LoadDataXCSRU.loadSequentialData(j);
-                    }
-                }
-                System.out.println("Evaluating " + i);
-                evaluate(data, i);
-
-                if (!crossValidation)
-                    break;
-            }
-            catch (OutOfMemoryError e)
-            {
-                System.out.println(e.toString());
-                System.out.println("Exception bei " + i);
+                data[j] = crossValidation ? LoadDataXCSRU.partitionDataForCrossvalidation(sequentialData[j], i) : sequentialData[j];
             }
+            System.out.println("Evaluating " + i);
+            evaluate(grid, data, i);
+
+            if (!crossValidation)
+                break;
         }
 
         System.out.println("generating optimal population");
@@ -60,61 +67,46 @@ public class XCSRUrbanParameterEvaluation
 
     }
 
-    private static void evaluate(double[][] data, int crossValidationIndex)
+    /**
+     * Evaluates all configurations of the grid for one cross validation index in parallel. The data is only read by
+     * the environments. Configurations that are listed in the results file or whose result folder exists (e.g. from
+     * a study before the results file was written) are skipped when the study is restarted.
+     */
+    private static void evaluate(ParameterGrid grid, double[][] data, int crossValidationIndex) throws IOException
+    {
+        String resultsFile = LoadDataXCSRU.pathResults + crossValidationIndex + "\\ParameterSweep.txt";
+
+        List<ParameterGrid.Configuration> configurations = new ArrayList<>();
+        for (ParameterGrid.Configuration configuration : grid.getConfigurations())
+        {
+            if (!Files.exists(Paths.get(getEvaluationFolder(configuration, crossValidationIndex))))
+            {
+                configurations.add(configuration);
+            }
+        }
+
+        new ParameterSweep<>(configurations, configuration -> {
+            String evalFolder = getEvaluationFolder(configuration, crossValidationIndex);
+
+            CongestionDetectionEnvironment env = new CongestionDetectionEnvironment();
+            env.setParameters(configuration.getInt("maxPopSize"), configuration.getDouble("beta"), configuration.getDouble("theta_GA"),
+                    configuration.getDouble("pX"), configuration.getDouble("pM"), configuration.getDouble("predictionErrorReduction"));
+            env.setUseLastPrediction(false);
+            env.init(false, true, true, false, data, (int) configuration.getIndex(), evalFolder, OperationMode.OFFLINE_EVALUATION, false);
+            env.run();
+            return evalFolder;
+        }).setParallelism(numThreads).setResultsFile(new File(resultsFile)).run();
+    }
+
+    /**
+     * Returns the result folder of a configuration, named by the value indices of the parameters.
+     */
+    private static String getEvaluationFolder(ParameterGrid.Configuration configuration, int crossValidationIndex)
     {
-        int count = 0;
-
-        for (int i = 0; i < maxPopSize_values.length; i++)
-            for (int j = 0; j < beta_values.length; j++)
-                for (int k = 0; k < theta_GA_values.length; k++)
-                    for (int l = 0; l < pX_values.length; l++)
-                        for (int m = 0; m < pM_values.length; m++)
-                            for (int n = 0; n < predictionErrorReduction_values.length; n++)
-                            {
-                                int identifier = n * 1 + m * 10 + l * 100 + k * 1000 + j * 10000 + i * 100000;
-                                String evalFolder = LoadDataXCSRU.pathResults + crossValidationIndex + "\\" + String.format("%06d", identifier);
-                                if (Files.exists(Paths.get(evalFolder)))
-                                {
-                                    continue;
-                                }
-
-                                // block here if no free thread slot is available
-                                boolean allAlive = true;
-                                int freeThread = -1;
-                                while (allAlive)
-                                {
-                                    for (int x = 0; x < threads.length; x++)
-                                    {
-                                        if (threads[x] == null || !threads[x].isAlive())
-                                        {
-                                            allAlive = false;
-                                            freeThread = x;
-                                        }
-                                    }
-
-                                    // avoid high CPU load caused by busy-wait while waiting for a free thread slot
-                                    if (allAlive)
-                                    {
-                                        try
-                                        {
-                                            Thread.sleep(100);
-                                        }
-                                        catch (Exception e)
-                                        {
-                                            System.err.println(e.toString());
-                                        }
-                                    }
-                                }
-
-                                CongestionDetectionEnvironment env = new CongestionDetectionEnvironment();
-                                env.setParameters(maxPopSize_values[i], beta_values[j], theta_GA_values[k], pX_values[l], pM_values[m], predictionErrorReduction_values[n]);
-                                env.setUseLastPrediction(false);
-                                env.init(false, true, true, false, data, count++, evalFolder, OperationMode.OFFLINE_EVALUATION, false);
-                                threads[freeThread] = null;
-                                threads[freeThread] = new Thread(env);
-                                env.setDataSet(data);
-                                threads[freeThread].start();
-                            }
+        int identifier = configuration.getValueIndex("predictionErrorReduction") + configuration.getValueIndex("pM") * 10
+                + configuration.getValueIndex("pX") * 100 + configuration.getValueIndex("theta_GA") * 1000
+                + configuration.getValueIndex("beta") * 10000 + configuration.getValueIndex("maxPopSize") * 100000;
+        return LoadDataXCSRU.pathResults + crossValidationIndex + "\\" + String.format("%06d", identifier);
     }
 
     private static void generateXCSRUPopulation(double[][] data)
@@ -0,0 +1,108 @@
+package tests.layer1;
+
+import de.dfg.oc.otc.layer1.controller.ClassifierException;
+import de.dfg.oc.otc.layer1.controller.ConditionIndex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConditionIndexTest {
+    private static final int DIMENSIONS = 4;
+
+    private static boolean matches(final float[][] condition, final float[] situation) {
+        for (int i = 0; i < situation.length; i++) {
+            if (situation[i] < condition[0][i] || situation[i] > condition[1][i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static float[][] randomCondition(final Random random) {
+        final float[][] condition = new float[2][DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            final float lower = random.nextInt(100);
+            condition[0][i] = lower;
+            condition[1][i] = lower + random.nextInt(40);
+        }
+        return condition;
+    }
+
+    @Test
+    public final void testQueryEqualsFullScan() throws ClassifierException {
+        final Random random = new Random(3);
+        final ConditionIndex index = new ConditionIndex();
+        final List<float[][]> conditions = new ArrayList<>();
+        final List<Integer> slots = new ArrayList<>();
+        final BitSet result = new BitSet();
+
+        for (int step = 0; step < 3000; step++) {
+            if (conditions.size() < 20 || random.nextInt(3) > 0) {
+                final float[][] condition = randomCondition(random);
+                conditions.add(condition);
+                slots.add(index.add(condition, condition[0], condition[1]));
+            } else {
+                final int i = random.nextInt(conditions.size());
+                assertTrue(index.release(slots.get(i)));
+                conditions.remove(i);
+                slots.remove(i);
+            }
+
+            final float[] situation = new float[DIMENSIONS];
+            for (int i = 0; i < DIMENSIONS; i++) {
+                situation[i] = random.nextInt(140);
+            }
+
+            index.query(situation, result);
+            for (int i = 0; i < conditions.size(); i++) {
+                assertEquals(matches(conditions.get(i), situation), result.get(slots.get(i)));
+            }
+            assertEquals(conditions.size(), index.size());
+        }
+    }
+
+    @Test
+    public final void testRetainAndRelease() throws ClassifierException {
+        final ConditionIndex index = new ConditionIndex();
+        final Object owner = new Object();
+        final int slot = index.add(owner, new float[]{0, 0}, new float[]{10, 10});
+        index.retain(slot);
+
+        assertFalse(index.release(slot));
+        assertEquals(owner, index.getOwner(slot));
+        assertTrue(index.release(slot));
+        assertEquals(null, index.getOwner(slot));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public final void testBoundsAndNaN() throws ClassifierException {
+        final ConditionIndex index = new ConditionIndex();
+        final int slot = index.add(this, new float[]{5, 5}, new float[]{10, 10});
+        final BitSet result = new BitSet();
+
+        index.query(new float[]{5, 10}, result);
+        assertTrue(result.get(slot));
+
+        index.query(new float[]{4.9f, 10}, result);
+        assertFalse(result.get(slot));
+
+        // NaN is contained in every interval (see Interval.contains())
+        index.query(new float[]{Float.NaN, 7}, result);
+        assertTrue(result.get(slot));
+    }
+
+    @Test(expected = ClassifierException.class)
+    public final void testWrongLength() throws ClassifierException {
+        final ConditionIndex index = new ConditionIndex();
+        index.add(this, new float[]{5, 5}, new float[]{10, 10});
+        index.query(new float[]{5}, new BitSet());
+    }
+}
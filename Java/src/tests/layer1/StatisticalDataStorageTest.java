@@ -0,0 +1,67 @@
+package tests.layer1;
+
+import de.dfg.oc.otc.layer1.observer.monitoring.StatisticalDataStorage;
+import de.dfg.oc.otc.layer1.observer.monitoring.StatisticalDataValue;
+import de.dfg.oc.otc.layer1.observer.monitoring.StatisticsCapabilities;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StatisticalDataStorageTest {
+    private StatisticalDataStorage storage;
+
+    @Before
+    public final void setUp() {
+        storage = new StatisticalDataStorage(null);
+    }
+
+    private void addConstantEntries(final int numEntries, final float flow, final float queueLength) {
+        for (int time = 1; time <= numEntries; time++) {
+            final float[] values = new float[StatisticsCapabilities.NUM];
+            values[StatisticsCapabilities.FLOW] = flow;
+            values[StatisticsCapabilities.QUEUELENGTH] = queueLength;
+            storage.addDatum(new StatisticalDataValue(time, values));
+        }
+    }
+
+    @Test
+    public final void testVehicleBasedTimeAverage() {
+        addConstantEntries(400, 1, 5);
+
+        // One vehicle per second, smoothing at both window borders cancels out
+        assertEquals("Flow per hour", 3600, storage.getAverage(StatisticsCapabilities.FLOW, 300f), 0.1f);
+    }
+
+    @Test
+    public final void testContinuousTimeAverage() {
+        addConstantEntries(400, 1, 5);
+
+        assertEquals("Average queue length", 5, storage.getAverage(StatisticsCapabilities.QUEUELENGTH, 300f), 0.001f);
+    }
+
+    @Test
+    public final void testAverageOverRingBufferLimit() {
+        // More entries than the storage can hold
+        addConstantEntries(2000, 1, 5);
+
+        assertEquals("Flow per hour", 3600, storage.getAverage(StatisticsCapabilities.FLOW, 300f), 0.1f);
+        assertEquals("Average queue length", 5, storage.getAverage(StatisticsCapabilities.QUEUELENGTH, 300f), 0.001f);
+    }
+
+    @Test
+    public final void testEntryBasedAverage() {
+        addConstantEntries(50, 2, 5);
+
+        assertEquals("Flow per entry", 2, storage.getAverage(StatisticsCapabilities.FLOW, 10), 0.001f);
+        assertEquals("Last relevant flow", 2, storage.getLastRelevantDatum(StatisticsCapabilities.FLOW), 0.001f);
+    }
+
+    @Test
+    public final void testNotEnoughEntries() {
+        addConstantEntries(3, 1, 5);
+
+        assertTrue(Float.isNaN(storage.getAverage(StatisticsCapabilities.FLOW, 300f)));
+    }
+}
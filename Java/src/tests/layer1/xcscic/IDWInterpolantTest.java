@@ -220,6 +220,7 @@ public class IDWInterpolantTest {
                         "fillNumberOfLanesForSignalGroups")).withNoArguments();
 
         when(queryPoint.getFlowsOfSignalGroup()).thenReturn(queryPointFlowsOfSignalGroups);
+        when(queryPoint.getFlows()).thenReturn(new double[]{60.0, 120.0, 180.0});
 
         when(firstClassifier.getAction()).thenReturn(firstAction);
         when(secondClassifier.getAction()).thenReturn(secondAction);
@@ -227,13 +228,13 @@ public class IDWInterpolantTest {
         when(firstClassifier.getPrediction()).thenReturn(0.3f);
         when(secondClassifier.getPrediction()).thenReturn(0.5f);
 
-        when(firstClassifierFirstInterval.getCenter()).thenReturn(30.0f);
-        when(firstClassifierSecondInterval.getCenter()).thenReturn(90.0f);
-        when(firstClassifierThirdInterval.getCenter()).thenReturn(150.0f);
+        stubCenter(firstClassifierFirstInterval, 30.0f);
+        stubCenter(firstClassifierSecondInterval, 90.0f);
+        stubCenter(firstClassifierThirdInterval, 150.0f);
 
-        when(secondClassifierFirstInterval.getCenter()).thenReturn(90.0f);
-        when(secondClassifierSecondInterval.getCenter()).thenReturn(150.0f);
-        when(secondClassifierThirdInterval.getCenter()).thenReturn(210.0f);
+        stubCenter(secondClassifierFirstInterval, 90.0f);
+        stubCenter(secondClassifierSecondInterval, 150.0f);
+        stubCenter(secondClassifierThirdInterval, 210.0f);
 
         List<Interval> firstIntervals = new ArrayList<>();
         firstIntervals.add(firstClassifierFirstInterval);
@@ -322,6 +323,7 @@ public class IDWInterpolantTest {
                         "fillNumberOfLanesForSignalGroups")).withNoArguments();
 
         when(queryPoint.getFlowsOfSignalGroup()).thenReturn(queryPointFlowsOfSignalGroups);
+        when(queryPoint.getFlows()).thenReturn(new double[]{60.0, 120.0, 180.0});
 
         when(firstClassifier.getAction()).thenReturn(firstAction);
         when(secondClassifier.getAction()).thenReturn(secondAction);
@@ -329,13 +331,13 @@ public class IDWInterpolantTest {
         when(firstClassifier.getPrediction()).thenReturn(0.3f);
         when(secondClassifier.getPrediction()).thenReturn(0.5f);
 
-        when(firstClassifierFirstInterval.getCenter()).thenReturn(30.0f);
-        when(firstClassifierSecondInterval.getCenter()).thenReturn(90.0f);
-        when(firstClassifierThirdInterval.getCenter()).thenReturn(150.0f);
+        stubCenter(firstClassifierFirstInterval, 30.0f);
+        stubCenter(firstClassifierSecondInterval, 90.0f);
+        stubCenter(firstClassifierThirdInterval, 150.0f);
 
-        when(secondClassifierFirstInterval.getCenter()).thenReturn(120.0f);
-        when(secondClassifierSecondInterval.getCenter()).thenReturn(180.0f);
-        when(secondClassifierThirdInterval.getCenter()).thenReturn(250.0f);
+        stubCenter(secondClassifierFirstInterval, 120.0f);
+        stubCenter(secondClassifierSecondInterval, 180.0f);
+        stubCenter(secondClassifierThirdInterval, 250.0f);
 
         List<Interval> firstIntervals = new ArrayList<>();
         firstIntervals.add(firstClassifierFirstInterval);
@@ -370,4 +372,10 @@ public class IDWInterpolantTest {
         this.population.add(firstClassifier);
         this.population.add(secondClassifier);
     }
+
+    private static void stubCenter(Interval interval, float center) {
+        when(interval.getCenter()).thenReturn(center);
+        when(interval.getLower()).thenReturn(center);
+        when(interval.getUpper()).thenReturn(center);
+    }
 }
@@ -166,8 +166,11 @@ public class IDWInterpolantTest {
         when(thirdSignalGroup.toString()).thenReturn("SignalGroup3");
 
         when(firstSituation.getFlowsOfSignalGroup()).thenReturn(firstFlowsOfSignalGroups);
+        stubFlows(firstSituation, 10.0, 20.0, 30.0);
         when(secondSituation.getFlowsOfSignalGroup()).thenReturn(secondFlowsOfSignalGroups);
+        stubFlows(secondSituation, 30.0, 40.0, 50.0);
         when(queryPoint.getFlowsOfSignalGroup()).thenReturn(queryPointFlowsOfSignalGroups);
+        stubFlows(queryPoint, 20.0, 30.0, 40.0);
 
         when(firstAction.getGreenTimes()).thenReturn(new float[]{10.0f, 20.0f, 30.0f});
         when(secondAction.getGreenTimes()).thenReturn(new float[]{30.0f, 40.0f, 50.0f});
@@ -199,8 +202,11 @@ public class IDWInterpolantTest {
         when(thirdSignalGroup.toString()).thenReturn("SignalGroup3");
 
         when(firstSituation.getFlowsOfSignalGroup()).thenReturn(firstFlowsOfSignalGroups);
+        stubFlows(firstSituation, 10.0, 20.0, 30.0);
         when(secondSituation.getFlowsOfSignalGroup()).thenReturn(secondFlowsOfSignalGroups);
+        stubFlows(secondSituation, 30.0, 40.0, 50.0);
         when(queryPoint.getFlowsOfSignalGroup()).thenReturn(queryPointFlowsOfSignalGroups);
+        stubFlows(queryPoint, 25.0, 35.0, 45.0);
 
         when(firstAction.getGreenTimes()).thenReturn(new float[]{10.0f, 20.0f, 30.0f});
         when(secondAction.getGreenTimes()).thenReturn(new float[]{30.0f, 40.0f, 50.0f});
@@ -209,4 +215,13 @@ public class IDWInterpolantTest {
         this.interpolant.addNewSite(firstSituation, new Object[]{firstAction});
         this.interpolant.addNewSite(secondSituation, new Object[]{secondAction});
     }
+
+    private static void stubFlows(Situation situation, double... flows) {
+        int[] signalGroupIds = new int[flows.length];
+        for (int i = 0; i < flows.length; i++) {
+            signalGroupIds[i] = i + 1;
+        }
+        when(situation.getFlows()).thenReturn(flows);
+        when(situation.getSignalGroupIds()).thenReturn(signalGroupIds);
+    }
 }
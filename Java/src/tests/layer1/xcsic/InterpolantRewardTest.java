@@ -0,0 +1,160 @@
+package tests.layer1.xcsic;
+
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import de.dfg.oc.otc.layer1.controller.xcsic.SignalGroupComparator;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationComponentException;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationConstants;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.AbstractInterpolationTechnique;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.InterpolantType;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.AccumulatedIDWOTCValue;
+import de.dfg.oc.otc.manager.aimsun.SignalGroup;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the reward of the actions interpolated by inverse distance weighting and natural neighbour interpolation
+ * on the situations of {@link IDWInterpolantTest}.
+ * <p>
+ * As in {@link IDWInterpolantTest}, the green times of each action equal the flows of its situation. The reward of
+ * an interpolated action is the negative mean deviation of its green times from the flows of the query point, i.e.
+ * from the action a sampling point at the query point would have.
+ */
+@RunWith(PowerMockRunner.class)
+@SuppressStaticInitializationFor("de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationConstants")
+public class InterpolantRewardTest {
+
+    private static final double EPSILON = 0.01;
+
+    /** Situations of the sampling points in {@link IDWInterpolantTest} */
+    private static final double[][] SITES = {{10, 20, 30}, {30, 40, 50}};
+    /** Query points of {@link IDWInterpolantTest} */
+    private static final double[][] QUERY_POINTS = {{20, 30, 40}, {25, 35, 45}};
+
+    private SignalGroup[] signalGroups;
+
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(InterpolationConstants.class, "p_max", 20);
+        Whitebox.setInternalState(InterpolationConstants.class, "IDW_EXPO", 5);
+
+        Constructor<SignalGroup> signalGroupConstructor = SignalGroup.class.getDeclaredConstructor(Integer.TYPE);
+        signalGroupConstructor.setAccessible(true);
+
+        signalGroups = new SignalGroup[3];
+        for (int i = 0; i < signalGroups.length; i++) {
+            signalGroups[i] = signalGroupConstructor.newInstance(i + 1);
+        }
+    }
+
+    private Situation createSituation(double... flows) {
+        TreeMap<SignalGroup, Double> flowsOfSignalGroups = new TreeMap<>(new SignalGroupComparator());
+        for (int i = 0; i < flows.length; i++) {
+            flowsOfSignalGroups.put(signalGroups[i], flows[i]);
+        }
+        return new Situation(flowsOfSignalGroups, null);
+    }
+
+    private static TrafficLightControllerParameters createAction(double... flows) {
+        float[] greenTimes = new float[flows.length];
+        int[] ids = new int[flows.length];
+        for (int i = 0; i < flows.length; i++) {
+            greenTimes[i] = (float) flows[i];
+            ids[i] = i + 1;
+        }
+        return new TrafficLightControllerParameters(0, ids, greenTimes, new String[0], new boolean[flows.length]);
+    }
+
+    private AbstractInterpolationTechnique createInterpolant(InterpolantType type, List<double[]> sites)
+            throws InterpolationComponentException {
+        AbstractInterpolationTechnique interpolant = type.create();
+        for (double[] site : sites) {
+            interpolant.addNewSite(createSituation(site), new Object[]{createAction(site)});
+        }
+        return interpolant;
+    }
+
+    /**
+     * @return the mean reward of the actions interpolated for the query points
+     */
+    private double getMeanReward(InterpolantType type, List<double[]> sites, List<double[]> queryPoints)
+            throws InterpolationComponentException {
+        AbstractInterpolationTechnique interpolant = createInterpolant(type, sites);
+
+        double sumOfRewards = 0;
+        for (double[] queryPoint : queryPoints) {
+            AccumulatedIDWOTCValue value = (AccumulatedIDWOTCValue) interpolant.interpolate(
+                    createSituation(queryPoint));
+            float[] greenTimes = value.getInterpolatedAction().getGreenTimes();
+
+            double deviation = 0;
+            for (int i = 0; i < queryPoint.length; i++) {
+                deviation += Math.abs(greenTimes[i] - queryPoint[i]);
+            }
+            sumOfRewards -= deviation / queryPoint.length;
+        }
+        return sumOfRewards / queryPoints.size();
+    }
+
+    private static List<double[]> asList(double[]... points) {
+        List<double[]> list = new ArrayList<>();
+        for (double[] point : points) {
+            list.add(point);
+        }
+        return list;
+    }
+
+    /**
+     * Two sampling points span no tetrahedron, so the natural neighbour interpolant falls back to inverse distance
+     * weighting and both get the same reward.
+     */
+    @Test
+    public void sameRewardForTwoSites() throws InterpolationComponentException {
+        List<double[]> sites = asList(SITES);
+        List<double[]> queryPoints = asList(QUERY_POINTS);
+
+        double idwReward = getMeanReward(InterpolantType.INVERSE_DISTANCE_WEIGHTING, sites, queryPoints);
+        double naturalNeighbourReward = getMeanReward(InterpolantType.NATURAL_NEIGHBOUR, sites, queryPoints);
+
+        assertEquals(idwReward, naturalNeighbourReward, EPSILON);
+    }
+
+    /**
+     * With the corners of the box spanned by the two sampling points, the query points are inside the mesh and are
+     * interpolated from their natural neighbours. The green times are linear in the flows, which natural neighbour
+     * interpolation reproduces, while inverse distance weighting is pulled towards the nearest sampling points.
+     */
+    @Test
+    public void higherRewardInsideOfMesh() throws InterpolationComponentException {
+        List<double[]> sites = new ArrayList<>();
+        for (int corner = 0; corner < 8; corner++) {
+            double[] site = new double[3];
+            for (int i = 0; i < 3; i++) {
+                site[i] = SITES[corner >> i & 1][i];
+            }
+            sites.add(site);
+        }
+        List<double[]> queryPoints = asList(QUERY_POINTS);
+        queryPoints.add(new double[]{15, 35, 32});
+        queryPoints.add(new double[]{28, 22, 41});
+
+        double idwReward = getMeanReward(InterpolantType.INVERSE_DISTANCE_WEIGHTING, sites, queryPoints);
+        double naturalNeighbourReward = getMeanReward(InterpolantType.NATURAL_NEIGHBOUR, sites, queryPoints);
+
+        assertEquals(0, naturalNeighbourReward, EPSILON);
+        assertTrue("IDW: " + idwReward + ", natural neighbour: " + naturalNeighbourReward,
+                idwReward < naturalNeighbourReward - 1);
+    }
+}
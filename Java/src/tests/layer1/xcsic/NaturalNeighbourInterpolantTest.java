@@ -0,0 +1,177 @@
+package tests.layer1.xcsic;
+
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import de.dfg.oc.otc.layer1.controller.xcsic.SignalGroupComparator;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationComponentException;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationConstants;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.IDWInterpolant;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.NaturalNeighbourInterpolant;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.values.AccumulatedIDWOTCValue;
+import de.dfg.oc.otc.manager.aimsun.SignalGroup;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import java.lang.reflect.Constructor;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the natural neighbour weights of the {@link NaturalNeighbourInterpolant} and the fallback to inverse
+ * distance weighting.
+ */
+@RunWith(PowerMockRunner.class)
+@SuppressStaticInitializationFor("de.dfg.oc.otc.layer1.controller.xcsic.interpolation.InterpolationConstants")
+public class NaturalNeighbourInterpolantTest {
+
+    private static final double EPSILON = 0.01;
+
+    private SignalGroup[] signalGroups;
+
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(InterpolationConstants.class, "p_max", 20);
+        Whitebox.setInternalState(InterpolationConstants.class, "IDW_EXPO", 5);
+
+        Constructor<SignalGroup> signalGroupConstructor = SignalGroup.class.getDeclaredConstructor(Integer.TYPE);
+        signalGroupConstructor.setAccessible(true);
+
+        signalGroups = new SignalGroup[4];
+        for (int i = 0; i < signalGroups.length; i++) {
+            signalGroups[i] = signalGroupConstructor.newInstance(i + 1);
+        }
+    }
+
+    private Situation createSituation(double... flows) {
+        TreeMap<SignalGroup, Double> flowsOfSignalGroups = new TreeMap<>(new SignalGroupComparator());
+        for (int i = 0; i < flows.length; i++) {
+            flowsOfSignalGroups.put(signalGroups[i], flows[i]);
+        }
+        return new Situation(flowsOfSignalGroups, null);
+    }
+
+    /**
+     * Creates an action whose green times equal the given flows, natural neighbour interpolation reproduces
+     * such linear functions exactly inside the convex hull.
+     */
+    private TrafficLightControllerParameters createAction(double... flows) {
+        float[] greenTimes = new float[flows.length];
+        int[] ids = new int[flows.length];
+        for (int i = 0; i < flows.length; i++) {
+            greenTimes[i] = (float) flows[i];
+            ids[i] = i + 1;
+        }
+        return new TrafficLightControllerParameters(0, ids, greenTimes, new String[0], new boolean[flows.length]);
+    }
+
+    private void addSite(NaturalNeighbourInterpolant interpolant, double... flows)
+            throws InterpolationComponentException {
+        interpolant.addNewSite(createSituation(flows), new Object[]{createAction(flows)});
+    }
+
+    private void addCorners(NaturalNeighbourInterpolant interpolant, int dimensions)
+            throws InterpolationComponentException {
+        for (int corner = 0; corner < 1 << dimensions; corner++) {
+            double[] flows = new double[dimensions];
+            for (int i = 0; i < dimensions; i++) {
+                flows[i] = (corner >> i & 1) == 0 ? 100 : 300;
+            }
+            addSite(interpolant, flows);
+        }
+    }
+
+    @Test
+    public void centerShouldHaveEqualWeights() throws InterpolationComponentException {
+        NaturalNeighbourInterpolant interpolant = new NaturalNeighbourInterpolant();
+        addCorners(interpolant, 2);
+
+        AccumulatedIDWOTCValue value = (AccumulatedIDWOTCValue) interpolant.interpolate(createSituation(200, 200));
+
+        assertEquals(4, value.getWeightsForActions().size());
+        for (double weight : value.getWeightsForActions().values()) {
+            assertEquals(0.25, weight, EPSILON);
+        }
+        assertArrayEquals(new float[]{200, 200}, value.getInterpolatedAction().getGreenTimes(), (float) EPSILON);
+    }
+
+    @Test
+    public void shouldReproduceLinearGreenTimes() throws InterpolationComponentException {
+        NaturalNeighbourInterpolant interpolant = new NaturalNeighbourInterpolant();
+        addCorners(interpolant, 3);
+        addSite(interpolant, 180, 220, 150);
+
+        AccumulatedIDWOTCValue value = (AccumulatedIDWOTCValue) interpolant.interpolate(
+                createSituation(170, 260, 130));
+
+        assertArrayEquals(new float[]{170, 260, 130}, value.getInterpolatedAction().getGreenTimes(),
+                (float) EPSILON);
+        assertEquals(createSituation(180, 220, 150), value.getSituation());
+    }
+
+    @Test
+    public void shouldUseInverseDistanceWeightingOutsideOfConvexHull() throws InterpolationComponentException {
+        NaturalNeighbourInterpolant interpolant = new NaturalNeighbourInterpolant();
+        IDWInterpolant idwInterpolant = new IDWInterpolant();
+        addCorners(interpolant, 2);
+        for (Situation site : interpolant.getSamplingPoints()) {
+            idwInterpolant.addNewSite(site, new Object[]{createAction(site.getFlows())});
+        }
+
+        Situation queryPoint = createSituation(50, 400);
+        AccumulatedIDWOTCValue value = (AccumulatedIDWOTCValue) interpolant.interpolate(queryPoint);
+        AccumulatedIDWOTCValue idwValue = (AccumulatedIDWOTCValue) idwInterpolant.interpolate(queryPoint);
+
+        assertArrayEquals(idwValue.getInterpolatedAction().getGreenTimes(),
+                value.getInterpolatedAction().getGreenTimes(), 0);
+        assertSame(queryPoint, interpolant.getLastQueryPoint());
+    }
+
+    @Test
+    public void shouldUseInverseDistanceWeightingForMoreSignalGroups() throws InterpolationComponentException {
+        NaturalNeighbourInterpolant interpolant = new NaturalNeighbourInterpolant();
+        IDWInterpolant idwInterpolant = new IDWInterpolant();
+        addCorners(interpolant, 4);
+        for (Situation site : interpolant.getSamplingPoints()) {
+            idwInterpolant.addNewSite(site, new Object[]{createAction(site.getFlows())});
+        }
+
+        Situation queryPoint = createSituation(150, 200, 250, 120);
+        AccumulatedIDWOTCValue value = (AccumulatedIDWOTCValue) interpolant.interpolate(queryPoint);
+        AccumulatedIDWOTCValue idwValue = (AccumulatedIDWOTCValue) idwInterpolant.interpolate(queryPoint);
+
+        assertArrayEquals(idwValue.getInterpolatedAction().getGreenTimes(),
+                value.getInterpolatedAction().getGreenTimes(), 0);
+    }
+
+    @Test
+    public void shouldRemoveSiteFromMesh() throws InterpolationComponentException {
+        NaturalNeighbourInterpolant interpolant = new NaturalNeighbourInterpolant();
+        addCorners(interpolant, 2);
+        addSite(interpolant, 200, 200);
+
+        AccumulatedIDWOTCValue value = (AccumulatedIDWOTCValue) interpolant.interpolate(createSituation(210, 190));
+        assertEquals(createSituation(200, 200), value.getSituation());
+
+        interpolant.removeSite(createSituation(200, 200));
+        value = (AccumulatedIDWOTCValue) interpolant.interpolate(createSituation(210, 190));
+
+        assertEquals(4, interpolant.getSamplingPoints().size());
+        assertEquals(4, value.getWeightsForActions().size());
+        assertArrayEquals(new float[]{210, 190}, value.getInterpolatedAction().getGreenTimes(), (float) EPSILON);
+    }
+
+    @Test(expected = InterpolationComponentException.class)
+    public void shouldNotRemoveUnknownSite() throws InterpolationComponentException {
+        NaturalNeighbourInterpolant interpolant = new NaturalNeighbourInterpolant();
+        addCorners(interpolant, 2);
+
+        interpolant.removeSite(createSituation(200, 200));
+    }
+}
@@ -0,0 +1,113 @@
+package tests.layer1.xcsic;
+
+import de.dfg.oc.otc.layer1.controller.xcsic.SignalGroupComparator;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.Situation;
+import de.dfg.oc.otc.layer1.controller.xcsic.interpolation.components.interpolants.SiteIndex;
+import de.dfg.oc.otc.manager.aimsun.SignalGroup;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the nearest sampling points found by the {@link SiteIndex} with a linear search.
+ */
+public class SiteIndexTest {
+    private static final int DIMENSIONS = 4;
+
+    private SignalGroup[] signalGroups;
+
+    @Before
+    public void setUp() throws Exception {
+        Constructor<SignalGroup> signalGroupConstructor = SignalGroup.class.getDeclaredConstructor(Integer.TYPE);
+        signalGroupConstructor.setAccessible(true);
+
+        signalGroups = new SignalGroup[DIMENSIONS + 1];
+        for (int i = 0; i < signalGroups.length; i++) {
+            signalGroups[i] = signalGroupConstructor.newInstance(i + 1);
+        }
+    }
+
+    private Situation createSituation(double... flows) {
+        TreeMap<SignalGroup, Double> flowsOfSignalGroups = new TreeMap<>(new SignalGroupComparator());
+        for (int i = 0; i < flows.length; i++) {
+            flowsOfSignalGroups.put(signalGroups[i], flows[i]);
+        }
+        return new Situation(flowsOfSignalGroups, null);
+    }
+
+    @Test
+    public void nearestSitesShouldEqualLinearSearch() {
+        Random random = new Random(5);
+        SiteIndex index = new SiteIndex();
+        List<Situation> sites = new ArrayList<>();
+
+        Situation[] result = new Situation[10];
+        double[] distances = new double[10];
+
+        for (int step = 0; step < 2000; step++) {
+            if (sites.size() < 10 || random.nextInt(3) > 0) {
+                // Few different values to get equal distances, equal sites are not allowed (see IDWInterpolant)
+                Situation site = createSituation(random.nextInt(20), random.nextInt(20), random.nextInt(20),
+                        random.nextInt(20));
+                if (!sites.contains(site)) {
+                    sites.add(site);
+                    index.add(site);
+                }
+            } else {
+                assertTrue(index.remove(sites.remove(random.nextInt(sites.size()))));
+            }
+
+            Situation queryPoint = createSituation(random.nextInt(20), random.nextInt(20), random.nextInt(20),
+                    random.nextInt(20));
+            double radius = random.nextBoolean() ? Double.POSITIVE_INFINITY : 10;
+            int k = 1 + random.nextInt(10);
+
+            int count = index.nearest(queryPoint, k, radius, result, distances);
+
+            // Linear search, equal distances ordered by decreasing insertion order
+            List<Situation> expected = new ArrayList<>();
+            for (int i = sites.size() - 1; i >= 0; i--) {
+                if (Math.sqrt(Situation.squaredDistance(sites.get(i), queryPoint)) <= radius) {
+                    expected.add(sites.get(i));
+                }
+            }
+            expected.sort((a, b) -> Double.compare(Situation.squaredDistance(a, queryPoint),
+                    Situation.squaredDistance(b, queryPoint)));
+
+            assertEquals(Math.min(k, expected.size()), count);
+            for (int i = 0; i < count; i++) {
+                assertSame(expected.get(i), result[i]);
+                assertEquals(Math.sqrt(Situation.squaredDistance(expected.get(i), queryPoint)), distances[i], 0);
+            }
+            assertEquals(sites.size(), index.size());
+        }
+    }
+
+    @Test
+    public void shouldNotSupportOtherSignalGroups() {
+        SiteIndex index = new SiteIndex();
+        Situation site = createSituation(1, 2, 3);
+        Situation otherSite = createSituation(1, 2, 3, 4);
+
+        index.add(site);
+        assertTrue(index.supports(createSituation(5, 5, 5)));
+        assertFalse(index.supports(otherSite));
+
+        index.add(otherSite);
+        assertFalse(index.supports(createSituation(5, 5, 5)));
+
+        index.remove(otherSite);
+        assertTrue(index.supports(createSituation(5, 5, 5)));
+        assertEquals(1, index.size());
+    }
+}
@@ -16,6 +16,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.TreeMap;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -124,6 +126,29 @@ public class SituationTest {
         assertFalse(situations.add(secondSituation));
     }
 
+    @Test
+    public void flowsShouldBeOrderedBySignalGroupId() {
+        TreeMap<SignalGroup, Double> flowsOfFirstSignalGroups = new TreeMap<>(new SignalGroupComparator());
+        flowsOfFirstSignalGroups.put(this.thirdSignalGroupStub, 5.0);
+        flowsOfFirstSignalGroups.put(this.firstSignalGroupStub, 10.1);
+
+        TreeMap<SignalGroup, Double> flowsOfSecondSignalGroups = new TreeMap<>(new SignalGroupComparator());
+        flowsOfSecondSignalGroups.put(this.firstSignalGroupStub, 7.1);
+        flowsOfSecondSignalGroups.put(this.secondSignalGroupStub, 2.3);
+        flowsOfSecondSignalGroups.put(this.thirdSignalGroupStub, 1.0);
+
+        firstSituation = new Situation(flowsOfFirstSignalGroups, null);
+        secondSituation = new Situation(flowsOfSecondSignalGroups, null);
+
+        assertArrayEquals(new int[]{1, 3}, firstSituation.getSignalGroupIds());
+        assertArrayEquals(new double[]{10.1, 5.0}, firstSituation.getFlows(), 0);
+
+        // Signal group 2 is missing in the first situation and skipped
+        assertEquals(9 + 16, Situation.squaredDistance(secondSituation, firstSituation), 1e-9);
+        assertTrue(Situation.containsSignalGroupsOf(secondSituation, firstSituation));
+        assertFalse(Situation.containsSignalGroupsOf(firstSituation, secondSituation));
+    }
+
     private void setUpSituationsShouldBeEqual() {
         TreeMap<SignalGroup, Double> flowsOfFirstSignalGroups = new TreeMap<>(new SignalGroupComparator());
         flowsOfFirstSignalGroups.put(this.firstSignalGroupStub, 10.1);
@@ -140,9 +140,13 @@ public class WebstersDecisionFunctionTest
         when(fourthSituation.toString()).thenReturn("SignalGroup4");
 
         when(firstSituation.getFlowsOfSignalGroup()).thenReturn(firstFlowsOfSignalGroups);
+        stubFlows(firstSituation, 10.0, 20.0, 30.0);
         when(secondSituation.getFlowsOfSignalGroup()).thenReturn(secondFlowsOfSignalGroups);
+        stubFlows(secondSituation, 40.0, 50.0, 60.0);
         when(thirdSituation.getFlowsOfSignalGroup()).thenReturn(thirdFlowsOfSignalGroups);
+        stubFlows(thirdSituation, 70.0, 80.0, 90.0);
         when(fourthSituation.getFlowsOfSignalGroup()).thenReturn(fourthFlowsOfSignalGroups);
+        stubFlows(fourthSituation, 100.0, 110.0, 120.0);
 
         when(interpolant.getSamplingPoints()).thenReturn(samplingPoints);
         when(interpolationComponent.getInterpolant()).thenReturn(interpolant);
@@ -169,6 +173,7 @@ public class WebstersDecisionFunctionTest
         when(fourthSituation.toString()).thenReturn("SignalGroup4");
 
         when(firstSituation.getFlowsOfSignalGroup()).thenReturn(firstFlowsOfSignalGroups);
+        stubFlows(firstSituation, 10.0, 20.0, 30.0);
         when(interpolatedValue.getSituation()).thenReturn(firstSituation);
         when(interpolatedValue.getNearestNeighborAction()).thenReturn(neNeAction);
 
@@ -213,6 +218,7 @@ public class WebstersDecisionFunctionTest
         when(fourthSituation.toString()).thenReturn("SignalGroup4");
 
         when(firstSituation.getFlowsOfSignalGroup()).thenReturn(firstFlowsOfSignalGroups);
+        stubFlows(firstSituation, 10.0, 20.0, 30.0);
         when(interpolatedValue.getSituation()).thenReturn(firstSituation);
         when(interpolatedValue.getNearestNeighborAction()).thenReturn(neNeAction);
 
@@ -237,4 +243,15 @@ public class WebstersDecisionFunctionTest
                         TrafficLightControllerParameters.class)).withArguments(anyObject(), eq(neNeAction));
 
     }
+
+    private static void stubFlows(Situation situation, double... flows)
+    {
+        int[] signalGroupIds = new int[flows.length];
+        for (int i = 0; i < flows.length; i++)
+        {
+            signalGroupIds[i] = i + 1;
+        }
+        when(situation.getFlows()).thenReturn(flows);
+        when(situation.getSignalGroupIds()).thenReturn(signalGroupIds);
+    }
 }
@@ -0,0 +1,142 @@
+package tests.layer2;
+
+import de.dfg.oc.otc.layer2.ea.Database;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the LoS queries of {@link Database} on an embedded H2 database in SQL
+ * Server mode, which holds a table of turning statistics like the one AIMSUN
+ * writes.
+ */
+public class DatabaseQueryTest {
+    private static final String URL = "jdbc:h2:mem:DatabaseQueryTest;MODE=MSSQLServer";
+    private static final String TABLE = "TurnStatistics";
+    private static final int[] TURNINGS = {10, 20, 10, 30, 40, 20};
+    /**
+     * Keeps the in-memory database open during a test.
+     */
+    private Connection connection;
+    private Database database;
+
+    @Before
+    public void setUp() throws SQLException {
+        createDatabase();
+        database = new Database(URL, TABLE);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        database.close();
+        connection.close();
+    }
+
+    private void createDatabase() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE + " (rid INT, fromsect INT, tosect INT, tfrom DOUBLE, "
+                    + "tto DOUBLE, flow DOUBLE, dtime1 DOUBLE)");
+        }
+
+        // Statistics intervals of 1800 s and the whole simulation (AIMSUN writes both)
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (rid, fromsect, tosect, tfrom, tto, flow, dtime1) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int rid = 1; rid <= 2; rid++) {
+                addEntry(insert, rid, 10, 20, 0, 1800, 400 * rid, 10);
+                addEntry(insert, rid, 10, 20, 1800, 3600, 600 * rid, 20);
+                addEntry(insert, rid, 10, 20, 0, 3600, 500 * rid, 16);
+                addEntry(insert, rid, 10, 30, 0, 1800, 100, 40);
+                addEntry(insert, rid, 10, 30, 1800, 3600, 300, 50);
+                addEntry(insert, rid, 10, 30, 0, 3600, 200, 45);
+                addEntry(insert, rid, 40, 20, 0, 1800, 50, 5);
+                addEntry(insert, rid, 40, 20, 1800, 3600, 150, 6);
+                addEntry(insert, rid, 40, 20, 0, 3600, 100, 5.5);
+            }
+        }
+    }
+
+    private static void addEntry(final PreparedStatement insert, final int rid, final int fromSection,
+                                 final int toSection, final double from, final double to, final double flow,
+                                 final double delay) throws SQLException {
+        insert.setInt(1, rid);
+        insert.setInt(2, fromSection);
+        insert.setInt(3, toSection);
+        insert.setDouble(4, from);
+        insert.setDouble(5, to);
+        insert.setDouble(6, flow);
+        insert.setDouble(7, delay);
+        insert.executeUpdate();
+    }
+
+    private int getNumberOfSessions() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Test
+    public void wholeSimulation() {
+        final float expected = (500 * 16 + 200 * 45 + 100 * 5.5f) / (500 + 200 + 100);
+        assertEquals(expected, database.calculateLoS(1, TURNINGS, -1, -1), 1e-4);
+
+        final float expected2 = (1000 * 16 + 200 * 45 + 100 * 5.5f) / (1000 + 200 + 100);
+        assertEquals(expected2, database.calculateLoS(2, TURNINGS, -1, -1), 1e-4);
+    }
+
+    @Test
+    public void interval() {
+        final float expected = (600 * 20 + 300 * 50 + 150 * 6) / (600f + 300 + 150);
+        assertEquals(expected, database.calculateLoS(1, TURNINGS, 1800, 3600), 1e-4);
+
+        final float expected2 = (400 * 10 + 100 * 40 + 50 * 5) / (400f + 100 + 50);
+        assertEquals(expected2, database.calculateLoS(1, TURNINGS, 0, 1800), 1e-4);
+    }
+
+    @Test
+    public void missingTurningCountsAsBefore() {
+        // A turning without entries adds delay -1 and flow -1
+        final int[] turnings = {10, 20, 99, 98};
+        final float expected = (500 * 16 + 1) / (500f - 1);
+        assertEquals(expected, database.calculateLoS(1, turnings, -1, -1), 1e-4);
+    }
+
+    @Test
+    public void reusesConnection() throws SQLException {
+        database.calculateLoS(1, TURNINGS, -1, -1);
+        final int sessions = getNumberOfSessions();
+
+        for (int i = 0; i < 10; i++) {
+            database.calculateLoS(1, TURNINGS, -1, -1);
+            database.calculateLoS(1, TURNINGS, 1800, 3600);
+        }
+
+        // The connection of the test and the one of the database
+        assertEquals(2, sessions);
+        assertEquals(sessions, getNumberOfSessions());
+    }
+
+    @Test
+    public void reconnectsAfterRestart() throws SQLException {
+        final float expected = database.calculateLoS(1, TURNINGS, -1, -1);
+
+        // Closes all connections, the database is created again
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        createDatabase();
+
+        assertEquals(expected, database.calculateLoS(1, TURNINGS, -1, -1), 0);
+    }
+}
@@ -0,0 +1,125 @@
+package tests.layer2;
+
+import de.dfg.oc.otc.config.DefaultParams;
+import de.dfg.oc.otc.layer1.observer.Attribute;
+import de.dfg.oc.otc.layer2.OptimisationTask;
+import de.dfg.oc.otc.layer2.TurningData;
+import de.dfg.oc.otc.layer2.ea.EAConfig;
+import org.junit.After;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Runs some generations of an {@code EAInternalFTC} with Webster's formula
+ * sequentially and in parallel: each child has its own random number stream,
+ * so the children and their fitness must not depend on
+ * {@link DefaultParams#EA_PARALLELISM}.
+ */
+public class EAParallelismTest {
+    private static final int GENERATIONS = 5;
+    private static final long SEED = 4711;
+    /**
+     * Fixed time controller of the junction: three phases, each followed by
+     * an interphase.
+     */
+    private static final int[] PHASE_DURATIONS = {30, 5, 20, 5, 25, 5};
+    private static final boolean[] INTERPHASES = {false, true, false, true, false, true};
+    private final int parallelism = DefaultParams.EA_PARALLELISM;
+
+    @After
+    public void tearDown() {
+        DefaultParams.EA_PARALLELISM = parallelism;
+    }
+
+    private static OptimisationTask createTask() throws IOException {
+        final EAConfig config = new EAConfig(3600, 0, 16, GENERATIONS, 24, SEED, true, false, true);
+        config.setCrossOverProb(0.8);
+        config.setMutationProb(0.9);
+        final OptimisationTask task = new OptimisationTask(null, 1, 0, new float[0], null, 1, config,
+                Attribute.LOS, 0);
+
+        // Two turnings per phase
+        final Map<String, TurningData> turnings = new HashMap<>();
+        final int[] phases = {1, 3, 5};
+        for (int i = 0; i < 6; i++) {
+            final TurningData turning = new TurningData(i + 1, i + 11, 1 + i % 2, 150 + 60 * i);
+            turning.addPhase(phases[i / 2]);
+            turnings.put(i + 1 + ";" + (i + 11), turning);
+        }
+        task.setTurningData(turnings);
+        return task;
+    }
+
+    /**
+     * Runs the generations with the given number of threads.
+     *
+     * @return genes and fitness of the population after each generation
+     */
+    private static List<double[]> runGenerations(final int threads) throws Exception {
+        DefaultParams.EA_PARALLELISM = threads;
+
+        final Class<?> eaClass = Class.forName("de.dfg.oc.otc.layer2.ea.EAInternalFTC");
+        final Object ea = Whitebox.invokeConstructor(eaClass, new Class<?>[]{OptimisationTask.class},
+                new Object[]{createTask()});
+        final List<double[]> generations = new ArrayList<>();
+        try {
+            Whitebox.invokeMethod(ea, "setReferencePhases", PHASE_DURATIONS, INTERPHASES);
+            Whitebox.invokeMethod(ea, "createPopulation");
+            Whitebox.invokeMethod(ea, "sortList");
+
+            // Like EA.optimize()
+            for (int generation = 0; generation < GENERATIONS; generation++) {
+                Whitebox.invokeMethod(ea, "createChildren");
+                Whitebox.invokeMethod(ea, "sortList");
+                Whitebox.invokeMethod(ea, "resizePopulation");
+
+                final List<?> population = Whitebox.getInternalState(ea, "population");
+                for (Object individual : population) {
+                    final double[] genes = Whitebox.getInternalState(individual, "genes");
+                    final float fitness = Whitebox.getInternalState(individual, "fitness");
+                    final double[] entry = new double[genes.length + 1];
+                    System.arraycopy(genes, 0, entry, 0, genes.length);
+                    entry[genes.length] = fitness;
+                    generations.add(entry);
+                }
+            }
+        } finally {
+            Whitebox.invokeMethod(ea, "close");
+        }
+        return generations;
+    }
+
+    @Test
+    public void sameResultsSequentialAndParallel() throws Exception {
+        final List<double[]> sequential = runGenerations(1);
+        final List<double[]> parallel = runGenerations(4);
+
+        assertEquals(GENERATIONS * 16, sequential.size());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            final double[] entry = sequential.get(i);
+            assertFalse(Double.isNaN(entry[entry.length - 1]));
+            assertArrayEquals("Individual " + i, entry, parallel.get(i), 0);
+        }
+    }
+
+    @Test
+    public void sameResultsForRepeatedParallelRuns() throws Exception {
+        final List<double[]> first = runGenerations(4);
+        final List<double[]> second = runGenerations(4);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals("Individual " + i, first.get(i), second.get(i), 0);
+        }
+    }
+}
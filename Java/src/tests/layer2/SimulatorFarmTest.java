@@ -0,0 +1,143 @@
+package tests.layer2;
+
+import de.dfg.oc.otc.layer2.ea.SimulatorFarm;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs a {@link SimulatorFarm} against {@link StandInSimulator}s.
+ */
+public class SimulatorFarmTest {
+    private final List<StandInSimulator> standIns = new ArrayList<>();
+    private SimulatorFarm farm;
+
+    @After
+    public void tearDown() throws IOException {
+        if (farm != null) {
+            farm.close();
+        }
+        for (StandInSimulator standIn : standIns) {
+            standIn.close();
+        }
+    }
+
+    private SimulatorFarm startFarm(final int firstPortOffset, final int simulators, final int simulationTime)
+            throws IOException {
+        final int[] portOffsets = new int[simulators];
+        for (int i = 0; i < simulators; i++) {
+            portOffsets[i] = firstPortOffset + i;
+            standIns.add(new StandInSimulator(portOffsets[i], simulationTime));
+        }
+        farm = new SimulatorFarm(portOffsets, SimulatorFarmTest::sendTask);
+        return farm;
+    }
+
+    /**
+     * Sends a task like {@code SocketConnector} and reads the reference data.
+     */
+    private static void sendTask(final SimulatorFarm.Simulator simulator) throws IOException {
+        simulator.request("NONE", "ANGFILE_OK");
+        simulator.request("1", "REPLICATION_ID_OK");
+        simulator.request("3600.0", "TIME_OK");
+        simulator.request("7", "NODE_ID_OK");
+        simulator.request("1800", "SIMDUR_OK");
+        simulator.request("0", "WARMDUR_OK");
+        simulator.request("450.0", "SITUATION_ENTRY_OK");
+        simulator.request("SITUATION_DONE", "SITUATION_DONE_OK");
+        simulator.request("SECTION_IDS_DONE", "SECTION_IDS_DONE_OK");
+
+        simulator.send("WAITING_FOR_TURNINGS");
+        assertEquals(StandInSimulator.TURNINGS, simulator.recv());
+        simulator.send("WAITING_FOR_PHASES");
+        final int phases = Integer.parseInt(simulator.recv());
+        for (int i = 0; i < phases; i++) {
+            simulator.send("WAITING_NEXT_PHASE");
+            simulator.recv();
+        }
+    }
+
+    /**
+     * Simulates an individual and returns the given value as fitness.
+     */
+    private static List<SimulatorFarm.Job> createJobs(final int number) {
+        final List<SimulatorFarm.Job> jobs = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            final float fitness = i;
+            jobs.add(simulator -> {
+                simulator.send("NEW_IND");
+                for (int j = 0; j < StandInSimulator.ALLELES; j++) {
+                    simulator.expect("NEXT_ALLELE");
+                    simulator.send("20");
+                }
+                simulator.expect("SIM_DONE");
+                return fitness;
+            });
+        }
+        return jobs;
+    }
+
+    @Test
+    public void evaluatesOnAllSimulators() throws IOException {
+        startFarm(4100, 3, 100);
+        farm.setSeed(42);
+        farm.setSimulationDuration(3600);
+
+        final long start = System.currentTimeMillis();
+        final float[] results = farm.evaluate(createJobs(9));
+        final long duration = System.currentTimeMillis() - start;
+
+        for (int i = 0; i < results.length; i++) {
+            assertEquals(i, results[i], 0);
+        }
+        for (StandInSimulator standIn : standIns) {
+            assertTrue(standIn.getNumberOfIndividuals() > 0);
+            assertEquals(42, standIn.getSeed());
+            assertEquals(3600, standIn.getSimulationDuration());
+        }
+        // 9 simulations of 100 ms on 3 simulators
+        assertTrue("Took " + duration + " ms", duration < 800);
+
+        // Tasks are ended, the next one is sent again
+        farm.finishTask();
+        farm.setSeed(7);
+        assertEquals(2f, farm.evaluate(createJobs(3))[2], 0);
+        assertEquals(7, standIns.get(0).getSeed());
+    }
+
+    @Test
+    public void repeatsFailedSimulations() throws IOException {
+        startFarm(4110, 2, 20);
+        standIns.get(0).setFailAtIndividual(2);
+
+        final float[] results = farm.evaluate(createJobs(10));
+
+        for (int i = 0; i < results.length; i++) {
+            assertEquals(i, results[i], 0);
+        }
+        assertEquals(2, farm.getNumberOfSimulators());
+    }
+
+    @Test
+    public void retiresSimulatorAfterTimeouts() throws IOException {
+        startFarm(4120, 2, 20);
+        standIns.get(1).setSimulationTime(60000);
+        farm.setTimeout(300).setMaxAttempts(2);
+
+        // The other simulator needs about 1 s, enough for two timeouts
+        final long start = System.currentTimeMillis();
+        final float[] results = farm.evaluate(createJobs(50));
+        final long duration = System.currentTimeMillis() - start;
+
+        for (int i = 0; i < results.length; i++) {
+            assertEquals(i, results[i], 0);
+        }
+        assertEquals(1, farm.getNumberOfSimulators());
+        assertTrue("Took " + duration + " ms", duration < 10000);
+    }
+}
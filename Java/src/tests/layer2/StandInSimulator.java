@@ -0,0 +1,264 @@
+package tests.layer2;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the Python/AIMSUN side of the layer 2 socket protocol (see
+ * {@code SocketConnector} and the individuals of the EA). It answers like the
+ * AIMSUN script, but a simulation only waits for the configured time, so EAs
+ * and the {@code SimulatorFarm} can be tested without AIMSUN. No results are
+ * written to the database.
+ * <p>
+ * Start: {@code StandInSimulator [-time <ms>] <port offset>...}
+ */
+public class StandInSimulator implements Closeable {
+    /**
+     * Same base port as {@code SocketConnection}.
+     */
+    private static final int PORT = 1234;
+    /**
+     * Turning ids of the simulated node (pairs of in and out section).
+     */
+    public static final String TURNINGS = "1 2 3 4 5 6";
+    /**
+     * Phases of the reference controller ({@code IP} = interphase).
+     */
+    public static final String[] PHASES = {"30.0 NIP", "5.0 IP", "25.0 NIP", "5.0 IP"};
+    /**
+     * Number of alleles of an individual (non-interphases).
+     */
+    public static final int ALLELES = 2;
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger individuals = new AtomicInteger();
+    private volatile Socket socket;
+    private volatile int simulationTime;
+    private volatile int failAtIndividual = -1;
+    private volatile int seed = -1;
+    private volatile int simulationDuration = -1;
+
+    /**
+     * Starts a stand-in listening on {@code 1234 + portOffset}.
+     *
+     * @param portOffset     port offset of the simulator
+     * @param simulationTime time in ms a simulation takes
+     */
+    public StandInSimulator(final int portOffset, final int simulationTime) throws IOException {
+        this.serverSocket = new ServerSocket(PORT + portOffset, 1, InetAddress.getByName("127.0.0.1"));
+        this.simulationTime = simulationTime;
+
+        final Thread thread = new Thread(this::acceptConnections, "StandInSimulator " + portOffset);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static void main(final String[] args) throws IOException {
+        int simulationTime = 1000;
+        int i = 0;
+        if (args.length > 1 && args[0].equals("-time")) {
+            simulationTime = Integer.parseInt(args[1]);
+            i = 2;
+        }
+        if (i == args.length) {
+            System.out.println("Usage: StandInSimulator [-time <ms>] <port offset>...");
+            return;
+        }
+
+        for (; i < args.length; i++) {
+            new StandInSimulator(Integer.parseInt(args[i]), simulationTime);
+            System.out.println("Stand-in simulator listening on port " + (PORT + Integer.parseInt(args[i])));
+        }
+
+        // The simulators run in daemon threads
+        while (true) {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Serves one connection after the other, like AIMSUN waiting for a new EA.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try (Socket connection = serverSocket.accept()) {
+                this.socket = connection;
+                serve(new Messages(connection.getInputStream()), connection.getOutputStream());
+            } catch (IOException e) {
+                // Connection closed, wait for the next one
+            }
+        }
+    }
+
+    /**
+     * Receives tasks and runs their commands until the connection is closed.
+     */
+    private void serve(final Messages in, final OutputStream out) throws IOException {
+        while (true) {
+            receiveTask(in, out);
+
+            int phase = 0;
+            String command;
+            while (!(command = in.next()).equals("DONE")) {
+                switch (command) {
+                    case "WAITING_FOR_TURNINGS":
+                        reply(out, TURNINGS);
+                        break;
+                    case "WAITING_FOR_PHASES":
+                        phase = 0;
+                        reply(out, String.valueOf(PHASES.length));
+                        break;
+                    case "WAITING_NEXT_PHASE":
+                        reply(out, PHASES[phase++]);
+                        break;
+                    case "NEW_GEN":
+                        reply(out, "NEW_GEN_RECV");
+                        seed = Integer.parseInt(in.next());
+                        reply(out, "SEED_SET");
+                        break;
+                    case "NEW_SIMDUR":
+                        reply(out, "NEW_SIMDUR_RECV");
+                        simulationDuration = Integer.parseInt(in.next());
+                        reply(out, "SIMDUR_SET");
+                        break;
+                    case "NEW_IND":
+                        simulateIndividual(in, out);
+                        break;
+                    default:
+                        throw new IOException("Unknown command " + command);
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the optimisation task ({@code SocketConnector.sendOptimisationTask}).
+     */
+    private void receiveTask(final Messages in, final OutputStream out) throws IOException {
+        in.next();
+        reply(out, "ANGFILE_OK");
+        in.next();
+        reply(out, "REPLICATION_ID_OK");
+        in.next();
+        reply(out, "TIME_OK");
+        in.next();
+        reply(out, "NODE_ID_OK");
+        simulationDuration = Integer.parseInt(in.next());
+        reply(out, "SIMDUR_OK");
+        in.next();
+        reply(out, "WARMDUR_OK");
+
+        while (!in.next().equals("SITUATION_DONE")) {
+            reply(out, "SITUATION_ENTRY_OK");
+        }
+        reply(out, "SITUATION_DONE_OK");
+
+        while (!in.next().equals("SECTION_IDS_DONE")) {
+            reply(out, "SECTION_ID_OK");
+        }
+        reply(out, "SECTION_IDS_DONE_OK");
+    }
+
+    private void simulateIndividual(final Messages in, final OutputStream out) throws IOException {
+        if (individuals.incrementAndGet() == failAtIndividual) {
+            throw new SocketException("Simulator crashed");
+        }
+
+        for (int i = 0; i < ALLELES; i++) {
+            reply(out, "NEXT_ALLELE");
+            Integer.parseInt(in.next());
+        }
+
+        try {
+            Thread.sleep(simulationTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        reply(out, "SIM_DONE");
+    }
+
+    private static void reply(final OutputStream out, final String message) throws IOException {
+        out.write((message + '\n').getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        final Socket connection = socket;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Returns the number of individuals received so far.
+     */
+    public int getNumberOfIndividuals() {
+        return individuals.get();
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public int getSimulationDuration() {
+        return simulationDuration;
+    }
+
+    /**
+     * Closes the connection when the given individual (counted from 1) is received.
+     */
+    public void setFailAtIndividual(final int individual) {
+        this.failAtIndividual = individual;
+    }
+
+    public void setSimulationTime(final int simulationTime) {
+        this.simulationTime = simulationTime;
+    }
+
+    /**
+     * Splits the received data into messages. The EA sends messages without a
+     * separator, but waits for an answer after each one, except for
+     * {@code DONE}.
+     */
+    private static final class Messages {
+        private final InputStream in;
+        private final byte[] buffer = new byte[4096];
+        private String pending = "";
+
+        private Messages(final InputStream in) {
+            this.in = in;
+        }
+
+        private String next() throws IOException {
+            if (pending.isEmpty()) {
+                final int length = in.read(buffer);
+                if (length < 0) {
+                    throw new EOFException();
+                }
+                pending = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            }
+
+            String message = pending;
+            if (message.startsWith("DONE") && message.length() > 4) {
+                message = "DONE";
+            }
+            pending = pending.substring(message.length());
+            return message;
+        }
+    }
+}
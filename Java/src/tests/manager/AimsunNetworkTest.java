@@ -4,14 +4,18 @@ import de.dfg.oc.otc.manager.OTCManager;
 import de.dfg.oc.otc.manager.OTCManagerException;
 import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
 import de.dfg.oc.otc.manager.aimsun.Section;
+import de.dfg.oc.otc.manager.aimsun.Turning;
 import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
 import tests.testNetworks.AbstractTestNetwork;
 import tests.testNetworks.MinimalNetwork;
+import tests.tlc.NetworkGenerator;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 public class AimsunNetworkTest {
@@ -121,4 +125,32 @@ public class AimsunNetworkTest {
             fail("G�ltiger Weg von Section 21 nach 13, hier sollte keine Exception geworfen werden.");
         }
     }
+
+    @Test
+    public final void bulkDetectorLookup() {
+        AimsunNetwork testNetwork = NetworkGenerator.generateTestNetwork(3);
+        int[] ids = {11, 1, 4711};
+        Detector[] detectors = testNetwork.getDetectors(ids);
+
+        assertEquals(3, detectors.length);
+        assertSame(testNetwork.getDetectors().get(11), detectors[0]);
+        assertSame(testNetwork.getDetectors().get(1), detectors[1]);
+        assertNull("Unbekannte Detector-Id", detectors[2]);
+
+        // Gleiche Reihenfolge: Ergebnis wird wiederverwendet
+        assertSame(detectors, testNetwork.getDetectors(ids.clone()));
+    }
+
+    @Test
+    public final void bulkTurningLookup() {
+        AimsunNetwork testNetwork = NetworkGenerator.generateTestNetwork(3);
+        int[] inSections = {1, 2, 99};
+        int[] outSections = {12, 11, 12};
+        Turning[] turnings = testNetwork.getTurnings(inSections, outSections);
+
+        assertSame(testNetwork.getTurning(1, 12), turnings[0]);
+        assertSame(testNetwork.getTurning(2, 11), turnings[1]);
+        assertNull("Unbekanntes Turning", turnings[2]);
+        assertSame(turnings, testNetwork.getTurnings(inSections.clone(), outSections.clone()));
+    }
 }
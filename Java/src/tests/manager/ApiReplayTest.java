@@ -0,0 +1,87 @@
+package tests.manager;
+
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
+import de.dfg.oc.otc.manager.OTCManager;
+import de.dfg.oc.otc.manager.replay.ApiCall;
+import de.dfg.oc.otc.manager.replay.ApiRecorder;
+import de.dfg.oc.otc.manager.replay.ApiReplayer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tests.testNetworks.SimpleJunction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Records the API calls of a simple network and replays them.
+ */
+public class ApiReplayTest {
+    private static final int STEPS = 20;
+    private OTCManager manager;
+
+    @Before
+    public void setUp() {
+        manager = OTCManager.getInstance();
+        // No GUI
+        manager.addObserver((observable, argument) -> {
+        });
+    }
+
+    @After
+    public void tearDown() {
+        if (manager != null) {
+            manager.setApiRecorder(null);
+        }
+    }
+
+    private byte[] record(final int detectorValue) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manager.setApiRecorder(new ApiRecorder(bytes));
+
+        new SimpleJunction().create(4);
+        final float[] values = new float[DetectorCapabilities.NUM];
+        Arrays.fill(values, detectorValue);
+        for (int i = 1; i <= STEPS; i++) {
+            manager.setDetectorValues(new int[]{1, 2, 3, 4}, values);
+            manager.setTime(i * OTCManager.getSimulationStepSize());
+            manager.getPhases();
+        }
+
+        manager.setApiRecorder(null);
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void replayMatchesRecording() throws IOException {
+        final byte[] recording = record(1);
+
+        final ApiReplayer.Result result = new ApiReplayer(manager, 0).replay(new ByteArrayInputStream(recording));
+        // SimpleJunction calls setTime once
+        assertEquals(STEPS + 1, result.getSteps());
+        assertEquals(0, result.getMismatches());
+        assertTrue(Float.isNaN(result.getFirstMismatchTime()));
+        assertEquals(STEPS * OTCManager.getSimulationStepSize(), manager.getTime(), 0.001f);
+    }
+
+    @Test
+    public void replayDetectsDifferentPhases() throws IOException {
+        final byte[] recording = record(1);
+        // Change the recorded phase of the last step
+        recording[recording.length - 1]++;
+
+        final ApiReplayer.Result result = new ApiReplayer(manager, 0).replay(new ByteArrayInputStream(recording));
+        assertEquals(1, result.getMismatches(ApiCall.GET_PHASES));
+        assertEquals(STEPS * OTCManager.getSimulationStepSize(), result.getFirstMismatchTime(), 0.001f);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        new ApiReplayer(manager, 0).replay(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
@@ -0,0 +1,130 @@
+package tests.manager;
+
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorCapabilities;
+import de.dfg.oc.otc.layer1.observer.monitoring.DetectorDataValue;
+import de.dfg.oc.otc.manager.aimsun.Link;
+import de.dfg.oc.otc.manager.aimsun.detectors.AbstractDetectorGroup;
+import de.dfg.oc.otc.manager.aimsun.detectors.CurrentDetectorValue;
+import de.dfg.oc.otc.manager.aimsun.detectors.Detector;
+import de.dfg.oc.otc.manager.aimsun.detectors.DetectorForkGroup;
+import de.dfg.oc.otc.manager.aimsun.detectors.DetectorPair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the values published by the detectors: each detector publishes the
+ * same {@link CurrentDetectorValue} in every time step, the detector groups
+ * copy what they need and publish values the AID algorithms can keep.
+ */
+public class DetectorValueTest {
+    private static final float EPSILON = 0.0001f;
+
+    private Detector upstream;
+    private Detector downstream;
+
+    @Before
+    public void setUp() {
+        upstream = new Detector(1, 1, 0, 5, 1, 1);
+        downstream = new Detector(2, 1, 95, 100, 1, 1);
+    }
+
+    private static float[] values(final float value) {
+        final float[] values = new float[DetectorCapabilities.NUM];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value + i;
+        }
+        return values;
+    }
+
+    private static List<DetectorDataValue> collect(final AbstractDetectorGroup group) {
+        final List<DetectorDataValue> published = new ArrayList<>();
+        group.subscribe((source, value) -> published.add(value));
+        group.registerAsObserver();
+        return published;
+    }
+
+    @Test
+    public void sameValuePublishedEachStep() throws Exception {
+        final List<CurrentDetectorValue> received = new ArrayList<>();
+        final List<Float> times = new ArrayList<>();
+        upstream.subscribe((detector, value) -> {
+            received.add(value);
+            times.add(value.getTime());
+            assertArrayEquals(values(value.getTime()), value.getValues(), EPSILON);
+        });
+
+        // The values of all detectors in one array
+        final float[] allValues = new float[2 * DetectorCapabilities.NUM];
+        System.arraycopy(values(3), 0, allValues, DetectorCapabilities.NUM, DetectorCapabilities.NUM);
+        upstream.setValues(3, allValues, DetectorCapabilities.NUM);
+        upstream.setValues(4, values(4));
+
+        assertEquals(2, received.size());
+        assertSame(received.get(0), received.get(1));
+        assertEquals(3, times.get(0), EPSILON);
+        assertEquals(4, times.get(1), EPSILON);
+
+        // The copy isn't overwritten
+        final DetectorDataValue copy = received.get(1).clone();
+        upstream.setValues(5, values(5));
+        assertEquals(4, copy.getTime(), EPSILON);
+        assertArrayEquals(values(4), copy.getValues(), EPSILON);
+    }
+
+    @Test
+    public void detectorPairAggregatesEachStep() throws Exception {
+        // Both detectors are on the same section, the distance doesn't need the sections of the link
+        final DetectorPair pair = new DetectorPair(upstream, downstream, mock(Link.class));
+        final List<DetectorDataValue> published = collect(pair);
+
+        for (int step = 1; step <= 3; step++) {
+            upstream.setValues(step, values(step));
+            // An older value is ignored
+            upstream.setValues(step - 1, values(-100));
+            assertEquals(step - 1, published.size());
+            downstream.setValues(step, values(step + 10));
+        }
+
+        assertEquals(3, published.size());
+        for (int step = 1; step <= 3; step++) {
+            final DetectorDataValue value = published.get(step - 1);
+            assertEquals(step, value.getTime(), EPSILON);
+            assertArrayEquals(values(step + 5), value.getValues(), EPSILON);
+        }
+        assertNotSame(published.get(0).getValues(), published.get(1).getValues());
+    }
+
+    @Test
+    public void forkGroupAggregatesEachStep() throws Exception {
+        final Detector otherDownstream = new Detector(3, 1, 95, 100, 2, 2);
+        final DetectorForkGroup group = new DetectorForkGroup(upstream, downstream, 1, 2, new ArrayList<>());
+        final DetectorForkGroup other = new DetectorForkGroup(upstream, otherDownstream, 1, 2, new ArrayList<>());
+        group.mergeWithPair(other);
+        final List<DetectorDataValue> published = collect(group);
+
+        for (int step = 1; step <= 3; step++) {
+            upstream.setValues(step, values(step));
+            downstream.setValues(step, values(step + 3));
+            // Only the first value of a detector in a time step is used
+            downstream.setValues(step, values(-100));
+            assertEquals(step - 1, published.size());
+            otherDownstream.setValues(step, values(step + 6));
+        }
+
+        assertEquals(3, published.size());
+        for (int step = 1; step <= 3; step++) {
+            final DetectorDataValue value = published.get(step - 1);
+            assertEquals(step, value.getTime(), EPSILON);
+            assertArrayEquals(values(step + 3), value.getValues(), EPSILON);
+        }
+    }
+}
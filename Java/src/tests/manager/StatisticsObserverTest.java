@@ -5,7 +5,6 @@ import de.dfg.oc.otc.layer1.observer.StatisticsObserver;
 import de.dfg.oc.otc.layer1.observer.monitoring.StatisticalDataValue;
 import de.dfg.oc.otc.layer1.observer.monitoring.StatisticsCapabilities;
 import de.dfg.oc.otc.manager.OTCManager;
-import de.dfg.oc.otc.manager.OTCManagerException;
 import de.dfg.oc.otc.manager.OTCNode;
 import de.dfg.oc.otc.manager.aimsun.AimsunNetwork;
 import de.dfg.oc.otc.manager.aimsun.TrafficType;
@@ -193,21 +192,13 @@ public class StatisticsObserverTest {
 
     /**
      * Test method for
-     * {@link StatisticsObserver#update(java.util.Observable, java.lang.Object)}
+     * {@link StatisticsObserver#update(de.dfg.oc.otc.layer1.observer.monitoring.AbstractObservableStatistics, de.dfg.oc.otc.layer1.observer.monitoring.StatisticalDataValue)}
      * . Testet auf kontinuierliche Werte, sowie auf korrekte Fehlererkennung,
      * wenn zu wenige Werte vorhanden sind.
      */
     @Test
     public final void update() {
         Turning turning1 = network.getJunction(1).getTurnings(TrafficType.ALL).get(0);
-        Object testObject = new Object();
-
-        try {
-            statObserver.update(turning1, testObject);
-            fail("�bergebenes Argument ist kein StatisticalDataValue, h�tte zu Exception f�hren m�ssen.");
-        } catch (OTCManagerException ome) {
-            ome.getStackTrace();
-        }
 
         float[] values = new float[StatisticsCapabilities.NUM];
         float[] averages = new float[StatisticsCapabilities.NUM];
@@ -0,0 +1,169 @@
+package tests.manager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the channels between the simulation thread and the GUI: the
+ * simulation thread samples ({@code Channel.sample()}) after each step, the
+ * EDT polls ({@code Channel.poll()}) once per frame. Both are called directly
+ * here, without Swing timer.
+ */
+public class TelemetryTest {
+    private Object telemetry;
+    /**
+     * Number of snapshots created by the sampler, the value of the next
+     * snapshot.
+     */
+    private final AtomicInteger samples = new AtomicInteger();
+    /**
+     * Snapshots shown by the view.
+     */
+    private final List<Integer> shown = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        telemetry = Whitebox.invokeConstructor(Class.forName("de.dfg.oc.otc.manager.gui.Telemetry"),
+                new Class<?>[]{int.class}, new Object[]{25});
+    }
+
+    private Object register(final Supplier<Integer> sampler) throws Exception {
+        final Consumer<Integer> view = shown::add;
+        return Whitebox.invokeMethod(telemetry, "register", sampler, view);
+    }
+
+    private Object register() throws Exception {
+        return register(samples::incrementAndGet);
+    }
+
+    private static void markChanged(final Object channel) throws Exception {
+        Whitebox.invokeMethod(channel, "markChanged");
+    }
+
+    private static void sample(final Object channel) throws Exception {
+        Whitebox.invokeMethod(channel, "sample");
+    }
+
+    private static void poll(final Object channel) throws Exception {
+        Whitebox.invokeMethod(channel, "poll");
+    }
+
+    @Test
+    public void oneSamplePerFrame() throws Exception {
+        final Object channel = register();
+
+        // Several changes in several steps between two frames
+        for (int step = 0; step < 5; step++) {
+            for (int i = 0; i < 10; i++) {
+                markChanged(channel);
+            }
+            sample(channel);
+        }
+        assertEquals(1, samples.get());
+
+        poll(channel);
+        assertEquals(Collections.singletonList(1), shown);
+
+        // The changes after the first step are sampled once after the frame
+        sample(channel);
+        sample(channel);
+        poll(channel);
+        assertEquals(2, samples.get());
+        assertEquals(Arrays.asList(1, 2), shown);
+
+        // Nothing changed
+        sample(channel);
+        poll(channel);
+        assertEquals(2, samples.get());
+        assertEquals(Arrays.asList(1, 2), shown);
+    }
+
+    @Test
+    public void noSampleWithoutChange() throws Exception {
+        final Object channel = register();
+
+        sample(channel);
+        poll(channel);
+
+        assertEquals(0, samples.get());
+        assertEquals(Collections.emptyList(), shown);
+    }
+
+    @Test
+    public void pendingSnapshotNotReplaced() throws Exception {
+        final Object channel = register();
+
+        markChanged(channel);
+        sample(channel);
+        // Changed again before the snapshot has been shown
+        markChanged(channel);
+        sample(channel);
+        sample(channel);
+        assertEquals(1, samples.get());
+
+        poll(channel);
+        assertEquals(Collections.singletonList(1), shown);
+
+        // The change is sampled in the next step and shown in the next frame
+        sample(channel);
+        assertEquals(2, samples.get());
+        poll(channel);
+        assertEquals(Arrays.asList(1, 2), shown);
+
+        // Each snapshot is shown once
+        poll(channel);
+        assertEquals(Arrays.asList(1, 2), shown);
+    }
+
+    @Test
+    public void nullSnapshotDropped() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Object channel = register(() -> calls.incrementAndGet() == 1 ? null : calls.get());
+
+        markChanged(channel);
+        sample(channel);
+        poll(channel);
+        assertEquals(1, calls.get());
+        assertEquals(Collections.emptyList(), shown);
+
+        // The change has been consumed, the sampler isn't asked again
+        sample(channel);
+        poll(channel);
+        assertEquals(1, calls.get());
+        assertEquals(Collections.emptyList(), shown);
+
+        // The next change is shown again
+        markChanged(channel);
+        sample(channel);
+        poll(channel);
+        assertEquals(Collections.singletonList(2), shown);
+    }
+
+    @Test
+    public void sampleAndPollAllChannels() throws Exception {
+        final Object changed = register();
+        final Object unchanged = register(() -> -1);
+        final Object unregistered = register(() -> -2);
+        Whitebox.invokeMethod(telemetry, "unregister", unregistered);
+
+        markChanged(changed);
+        markChanged(unregistered);
+        Whitebox.invokeMethod(telemetry, "sample");
+        Whitebox.invokeMethod(telemetry, "poll");
+
+        assertEquals(Collections.singletonList(1), shown);
+        poll(unchanged);
+        assertEquals(Collections.singletonList(1), shown);
+    }
+}
@@ -0,0 +1,198 @@
+package tests.region;
+
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the heap of edges used by the region graph. Edges are polled by
+ * ascending cost, edges of equal cost in the order they have been added.
+ */
+public class EdgeHeapTest {
+    private static final String PACKAGE = "de.dfg.oc.otc.region.";
+
+    private static Object createHeap() throws Exception {
+        return Whitebox.invokeConstructor(Class.forName(PACKAGE + "EdgeHeap"));
+    }
+
+    private static Object createEdge(final int destination, final float cost) throws Exception {
+        final Class<?> vertexClass = Class.forName(PACKAGE + "Vertex");
+        final Object vertex = Whitebox.invokeConstructor(vertexClass, new Class<?>[]{int.class},
+                new Object[]{destination});
+        return Whitebox.invokeConstructor(Class.forName(PACKAGE + "Edge"),
+                new Class<?>[]{vertexClass, float.class}, new Object[]{vertex, cost});
+    }
+
+    private static boolean add(final Object heap, final Object edge) throws Exception {
+        return Whitebox.<Boolean>invokeMethod(heap, "add", edge);
+    }
+
+    private static boolean remove(final Object heap, final Object edge) throws Exception {
+        return Whitebox.<Boolean>invokeMethod(heap, "remove", edge);
+    }
+
+    private static boolean contains(final Object heap, final Object edge) throws Exception {
+        return Whitebox.<Boolean>invokeMethod(heap, "contains", edge);
+    }
+
+    private static Object poll(final Object heap) throws Exception {
+        return Whitebox.invokeMethod(heap, "poll");
+    }
+
+    private static int size(final Object heap) throws Exception {
+        return Whitebox.<Integer>invokeMethod(heap, "size");
+    }
+
+    private static float getCost(final Object edge) throws Exception {
+        return Whitebox.<Float>invokeMethod(edge, "getCost");
+    }
+
+    @Test
+    public final void testPollOrder() throws Exception {
+        final Object heap = createHeap();
+        final Object edge5 = createEdge(1, 5);
+        final Object edge1 = createEdge(2, 1);
+        final Object edge3 = createEdge(3, 3);
+        final Object edge2 = createEdge(4, 2);
+        add(heap, edge5);
+        add(heap, edge1);
+        add(heap, edge3);
+        add(heap, edge2);
+
+        assertEquals(4, size(heap));
+        assertSame(edge1, poll(heap));
+        assertSame(edge2, poll(heap));
+        assertSame(edge3, poll(heap));
+        assertSame(edge5, poll(heap));
+        assertTrue(Whitebox.<Boolean>invokeMethod(heap, "isEmpty"));
+        assertNull(poll(heap));
+    }
+
+    @Test
+    public final void testTiesInInsertionOrder() throws Exception {
+        final Object heap = createHeap();
+        final List<Object> ties = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Object tie = createEdge(i, 2);
+            ties.add(tie);
+            add(heap, tie);
+            add(heap, createEdge(i, 3 + i));
+        }
+        add(heap, createEdge(9, 1));
+
+        assertEquals(1, getCost(poll(heap)), 0);
+        for (Object tie : ties) {
+            assertSame(tie, poll(heap));
+        }
+        assertEquals(3, getCost(poll(heap)), 0);
+    }
+
+    @Test
+    public final void testRemoveMiddle() throws Exception {
+        final Object heap = createHeap();
+        final List<Object> edges = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            final Object edge = createEdge(i, i);
+            edges.add(edge);
+            add(heap, edge);
+        }
+
+        final Object middle = edges.remove(3);
+        assertTrue(remove(heap, middle));
+        assertFalse(contains(heap, middle));
+        assertFalse(remove(heap, middle));
+        assertEquals(6, size(heap));
+
+        for (Object edge : edges) {
+            assertSame(edge, poll(heap));
+        }
+        assertNull(poll(heap));
+    }
+
+    @Test
+    public final void testDuplicateInsert() throws Exception {
+        final Object heap = createHeap();
+        final Object edge = createEdge(1, 4);
+        final Object other = createEdge(1, 4);
+
+        assertTrue(add(heap, edge));
+        assertFalse(add(heap, edge));
+        assertTrue(add(heap, other));
+        assertEquals(2, size(heap));
+
+        assertSame(edge, poll(heap));
+        assertFalse(contains(heap, edge));
+        // Can be added again after it has been polled
+        assertTrue(add(heap, edge));
+        assertSame(other, poll(heap));
+        assertSame(edge, poll(heap));
+        assertNull(poll(heap));
+    }
+
+    @Test
+    public final void testCopyIsIndependent() throws Exception {
+        final Object heap = createHeap();
+        for (int i = 0; i < 5; i++) {
+            add(heap, createEdge(i, 5 - i));
+        }
+
+        final Object copy = Whitebox.invokeConstructor(heap.getClass(), new Class<?>[]{heap.getClass()},
+                new Object[]{heap});
+        final Object first = poll(copy);
+        assertEquals(4, size(copy));
+        assertEquals(5, size(heap));
+        assertTrue(contains(heap, first));
+        assertSame(first, poll(heap));
+    }
+
+    /**
+     * Compares random additions, removals and polls with a stably sorted
+     * list.
+     */
+    @Test
+    public final void testRandomOperations() throws Exception {
+        final Random random = new Random(42);
+        final Object heap = createHeap();
+        final List<Object> expected = new ArrayList<>();
+        final Comparator<Object> byCost = (a, b) -> {
+            try {
+                return Float.compare(getCost(a), getCost(b));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        for (int i = 0; i < 2000; i++) {
+            final int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                // Few different costs to get many ties
+                final Object edge = createEdge(i, random.nextInt(10));
+                assertTrue(add(heap, edge));
+                expected.add(edge);
+                // Stable: ties stay in insertion order
+                expected.sort(byCost);
+            } else if (operation == 2) {
+                final Object edge = expected.remove(random.nextInt(expected.size()));
+                assertTrue(remove(heap, edge));
+            } else {
+                assertSame(expected.remove(0), poll(heap));
+            }
+            assertEquals(expected.size(), size(heap));
+        }
+
+        for (Object edge : expected) {
+            assertSame(edge, poll(heap));
+        }
+        assertNull(poll(heap));
+    }
+}
@@ -0,0 +1,181 @@
+package tests.region;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the incoming edges of the region graph stay in step with the
+ * edges of the vertices when edges are removed and the graph is cloned.
+ */
+public class GraphTest {
+    private Object graph;
+
+    @Before
+    public void setUp() throws Exception {
+        graph = Whitebox.invokeConstructor(Class.forName("de.dfg.oc.otc.region.Graph"));
+    }
+
+    private static void addEdge(final Object graph, final int source, final int destination, final float cost)
+            throws Exception {
+        Whitebox.invokeMethod(graph, "addEdge", source, destination, cost, false);
+    }
+
+    private static List<Object> getEdgesLeadingTo(final Object graph, final int destination) throws Exception {
+        return Whitebox.invokeMethod(graph, "getAllEdgesLeadingToVertex", getVertex(graph, destination));
+    }
+
+    private static Object getVertex(final Object graph, final int id) throws Exception {
+        return Whitebox.invokeMethod(graph, "getVertex", id);
+    }
+
+    private static List<Object> getEdges(final Object vertex) throws Exception {
+        return new ArrayList<>(Whitebox.<List<Object>>invokeMethod(vertex, "getEdges"));
+    }
+
+    private static void removeEdge(final Object graph, final Object edge) throws Exception {
+        Whitebox.invokeMethod(graph, "removeEdge", edge);
+    }
+
+    private static int getNumberOfEdges(final Object graph) throws Exception {
+        final Object edges = Whitebox.invokeMethod(graph, "getCloneOfEdgeQueue");
+        return Whitebox.<Integer>invokeMethod(edges, "size");
+    }
+
+    /**
+     * @return the only edge from the source to the destination vertex
+     */
+    private static Object getEdge(final Object graph, final int source, final int destination) throws Exception {
+        return Whitebox.invokeMethod(getVertex(graph, source), "getEdge", getVertex(graph, destination));
+    }
+
+    @Test
+    public final void testEdgesLeadingToVertex() throws Exception {
+        addEdge(graph, 1, 3, 4);
+        addEdge(graph, 2, 3, 1);
+        addEdge(graph, 4, 3, 2);
+        addEdge(graph, 3, 5, 3);
+
+        final Object edge13 = getEdge(graph, 1, 3);
+        final Object edge23 = getEdge(graph, 2, 3);
+        final Object edge43 = getEdge(graph, 4, 3);
+        final Object edge35 = getEdge(graph, 3, 5);
+
+        // In the order the edges have been added, not by cost
+        assertEquals(Arrays.asList(edge13, edge23, edge43), getEdgesLeadingTo(graph, 3));
+        assertEquals(Arrays.asList(edge35), getEdgesLeadingTo(graph, 5));
+        assertTrue(getEdgesLeadingTo(graph, 1).isEmpty());
+
+        removeEdge(graph, edge23);
+        assertEquals(Arrays.asList(edge13, edge43), getEdgesLeadingTo(graph, 3));
+        assertEquals(Arrays.asList(edge35), getEdgesLeadingTo(graph, 5));
+        assertTrue(getEdges(getVertex(graph, 2)).isEmpty());
+        assertEquals(3, getNumberOfEdges(graph));
+
+        // Removing it again changes nothing
+        removeEdge(graph, edge23);
+        assertEquals(Arrays.asList(edge13, edge43), getEdgesLeadingTo(graph, 3));
+        assertEquals(3, getNumberOfEdges(graph));
+    }
+
+    @Test
+    public final void testReturnedListIsCopy() throws Exception {
+        addEdge(graph, 1, 2, 1);
+        addEdge(graph, 3, 2, 1);
+
+        final List<Object> edges = getEdgesLeadingTo(graph, 2);
+        for (Object edge : edges) {
+            removeEdge(graph, edge);
+        }
+        assertEquals(2, edges.size());
+        assertTrue(getEdgesLeadingTo(graph, 2).isEmpty());
+    }
+
+    @Test
+    public final void testClone() throws Exception {
+        addEdge(graph, 1, 3, 4);
+        addEdge(graph, 2, 3, 1);
+        addEdge(graph, 4, 3, 2);
+        addEdge(graph, 3, 5, 3);
+        final Object edge13 = getEdge(graph, 1, 3);
+        final Object edge23 = getEdge(graph, 2, 3);
+        final Object edge43 = getEdge(graph, 4, 3);
+
+        final Object clone = Whitebox.invokeMethod(graph, "clone");
+        // The clone indexes the edges vertex by vertex
+        assertEquals(new HashSet<>(Arrays.asList(edge13, edge23, edge43)),
+                new HashSet<>(getEdgesLeadingTo(clone, 3)));
+        assertEquals(3, getEdgesLeadingTo(clone, 3).size());
+        assertEquals(4, getNumberOfEdges(clone));
+
+        // The indexes of the graph and its clone are independent
+        removeEdge(clone, edge23);
+        assertEquals(new HashSet<>(Arrays.asList(edge13, edge43)), new HashSet<>(getEdgesLeadingTo(clone, 3)));
+        assertEquals(Arrays.asList(edge13, edge23, edge43), getEdgesLeadingTo(graph, 3));
+        assertEquals(3, getNumberOfEdges(clone));
+        assertEquals(4, getNumberOfEdges(graph));
+
+        // Only in the clone
+        addEdge(clone, 6, 3, 1);
+        assertEquals(3, getEdgesLeadingTo(clone, 3).size());
+        assertEquals(Arrays.asList(edge13, edge23, edge43), getEdgesLeadingTo(graph, 3));
+    }
+
+    /**
+     * Compares the incoming edges after random additions and removals with
+     * the edges added and not yet removed.
+     */
+    @Test
+    public final void testRandomChanges() throws Exception {
+        final Random random = new Random(42);
+        final int vertices = 12;
+        final List<Object> added = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            if (random.nextInt(3) > 0 || added.isEmpty()) {
+                final int source = 1 + random.nextInt(vertices);
+                final int destination = 1 + random.nextInt(vertices);
+                addEdge(graph, source, destination, random.nextInt(20));
+                final List<Object> edges = getEdges(getVertex(graph, source));
+                added.add(edges.get(edges.size() - 1));
+            } else {
+                removeEdge(graph, added.remove(random.nextInt(added.size())));
+            }
+
+            assertEquals(added.size(), getNumberOfEdges(graph));
+            for (int id = 1; id <= vertices; id++) {
+                if (getVertex(graph, id) != null) {
+                    assertEquals(getExpectedEdgesLeadingTo(added, id), getEdgesLeadingTo(graph, id));
+                }
+            }
+        }
+
+        final Object clone = Whitebox.invokeMethod(graph, "clone");
+        for (int id = 1; id <= vertices; id++) {
+            if (getVertex(graph, id) != null) {
+                assertEquals(new HashSet<>(getEdgesLeadingTo(graph, id)), new HashSet<>(getEdgesLeadingTo(clone, id)));
+            }
+        }
+    }
+
+    private static List<Object> getExpectedEdgesLeadingTo(final List<Object> edges, final int destination)
+            throws Exception {
+        final List<Object> expected = new ArrayList<>();
+        for (Object edge : edges) {
+            final Object vertex = Whitebox.getInternalState(edge, "destination");
+            if (Whitebox.<Integer>invokeMethod(vertex, "getID") == destination) {
+                expected.add(edge);
+            }
+        }
+        return expected;
+    }
+}
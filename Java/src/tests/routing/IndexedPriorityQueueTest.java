@@ -0,0 +1,55 @@
+package tests.routing;
+
+import de.dfg.oc.otc.routing.IndexedPriorityQueue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedPriorityQueueTest {
+    @Test
+    public final void testPollOrder() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(2);
+        queue.insertOrUpdate(3, 5);
+        queue.insertOrUpdate(7, 1);
+        queue.insertOrUpdate(1, 3);
+        queue.insertOrUpdate(12, 2);
+
+        assertEquals(4, queue.size());
+        assertEquals(7, queue.poll());
+        assertEquals(12, queue.poll());
+        assertEquals(1, queue.poll());
+        assertEquals(3, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public final void testDecreaseKey() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(8);
+        queue.insertOrUpdate(0, 10);
+        queue.insertOrUpdate(1, 20);
+        queue.insertOrUpdate(2, 30);
+
+        queue.insertOrUpdate(2, 5);
+        assertEquals(3, queue.size());
+        assertEquals(2, queue.poll());
+        assertFalse(queue.contains(2));
+        assertTrue(queue.contains(1));
+    }
+
+    @Test
+    public final void testEqualPrioritiesAreFifo() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(8);
+        queue.insertOrUpdate(4, 1);
+        queue.insertOrUpdate(2, 1);
+        queue.insertOrUpdate(6, 1);
+
+        // Updated node is ordered behind nodes of equal priority
+        queue.insertOrUpdate(4, 1);
+
+        assertEquals(2, queue.poll());
+        assertEquals(6, queue.poll());
+        assertEquals(4, queue.poll());
+    }
+}
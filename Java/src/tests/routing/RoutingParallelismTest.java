@@ -0,0 +1,150 @@
+package tests.routing;
+
+import de.dfg.oc.otc.config.DefaultParams;
+import de.dfg.oc.otc.manager.OTCManager;
+import de.dfg.oc.otc.manager.OTCNode;
+import de.dfg.oc.otc.manager.aimsun.Section;
+import de.dfg.oc.otc.manager.aimsun.TrafficType;
+import de.dfg.oc.otc.manager.aimsun.Turning;
+import de.dfg.oc.otc.routing.RoutingComponent;
+import de.dfg.oc.otc.routing.RoutingManager;
+import org.junit.After;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+import tests.testNetworks.Manhattan6NodeRegional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs regional link state routing on {@link Manhattan6NodeRegional}
+ * sequentially and in parallel: the phases run in parallel only change the
+ * component they are called on, so the routing tables must not depend on
+ * {@link DefaultParams#ROUTING_PARALLELISM}.
+ */
+public class RoutingParallelismTest {
+    private static final int PROTOCOL_RUNS = 3;
+    private final String protocol = DefaultParams.ROUTING_PROTOCOL;
+    private final int parallelism = DefaultParams.ROUTING_PARALLELISM;
+    private final boolean aidActive = DefaultParams.AID_ACTIVE;
+
+    @After
+    public void tearDown() {
+        DefaultParams.ROUTING_PROTOCOL = protocol;
+        DefaultParams.ROUTING_PARALLELISM = parallelism;
+        DefaultParams.AID_ACTIVE = aidActive;
+        RoutingManager.getInstance().reset();
+    }
+
+    /**
+     * Creates the network with a fixed seed, lets it run and runs the
+     * routing protocol several times.
+     *
+     * @return the routing tables of all nodes after each protocol run
+     */
+    private static List<int[]> runProtocol(final int threads) {
+        DefaultParams.ROUTING_PROTOCOL = "REGIONALLSR";
+        DefaultParams.ROUTING_PARALLELISM = threads;
+        DefaultParams.AID_ACTIVE = false;
+        final RoutingManager routingManager = RoutingManager.getInstance();
+        routingManager.reset();
+
+        final OTCManager manager = OTCManager.getInstance();
+        // Without observer the manager opens its GUI
+        manager.addObserver((observable, argument) -> {
+        });
+        final Manhattan6NodeRegional network = new Manhattan6NodeRegional() {
+            {
+                rand.reSeed(1);
+            }
+        };
+        network.create();
+        setTurningLanes(manager);
+
+        final List<int[]> tables = new ArrayList<>();
+        for (int run = 0; run < PROTOCOL_RUNS; run++) {
+            for (int step = 0; step < 1000; step++) {
+                network.incrementTime();
+                if (step % 10 == 0) {
+                    network.generateFlowForTurnings(manager.getTime());
+                }
+            }
+            routingManager.processRoutingProtocol(routingManager.getNextProtocolRun() + 1);
+
+            final List<OTCNode> nodes = new ArrayList<>(manager.getNetwork().getNodes());
+            nodes.sort(Comparator.comparingInt(OTCNode::getId));
+            for (OTCNode node : nodes) {
+                final RoutingComponent rc = node.getRoutingComponent();
+                // The order of the entries isn't defined
+                final int[][] table = rc.getRoutingTable();
+                Arrays.sort(table, RoutingParallelismTest::compareEntries);
+                tables.addAll(Arrays.asList(table));
+            }
+        }
+        return tables;
+    }
+
+    private static int compareEntries(final int[] entry, final int[] other) {
+        for (int i = 0; i < Math.min(entry.length, other.length); i++) {
+            if (entry[i] != other[i]) {
+                return Integer.compare(entry[i], other[i]);
+            }
+        }
+        return Integer.compare(entry.length, other.length);
+    }
+
+    /**
+     * The test network doesn't assign lanes to the turnings. Distributes the
+     * turnings of each incoming section over its lanes, as Aimsun does when
+     * the network is loaded.
+     */
+    private static void setTurningLanes(final OTCManager manager) {
+        final Map<Integer, Integer> turningsPerSection = new HashMap<>();
+        for (OTCNode node : manager.getNetwork().getNodes()) {
+            for (Turning turning : node.getJunction().getTurnings(TrafficType.ALL)) {
+                final Section inSection = turning.getInSection();
+                final int turningNumber = turningsPerSection.merge(inSection.getId(), 1, Integer::sum);
+                final int lane = (turningNumber - 1) % Math.max(inSection.getNumberOfLanes(), 1) + 1;
+                manager.setTurningLanes(inSection.getId(), turning.getOutSection().getId(), lane, lane, 1, 1);
+            }
+        }
+    }
+
+    @Test
+    public void sameRoutingTablesSequentialAndParallel() {
+        final List<int[]> sequential = runProtocol(1);
+        final List<int[]> parallel = runProtocol(4);
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals("Entry " + i, Arrays.toString(sequential.get(i)), Arrays.toString(parallel.get(i)));
+        }
+    }
+
+    @Test
+    public void resetShutsPoolDown() {
+        final RoutingManager routingManager = RoutingManager.getInstance();
+        DefaultParams.ROUTING_PARALLELISM = 4;
+        routingManager.reset();
+        final ForkJoinPool pool = Whitebox.getInternalState(routingManager, "routingPool");
+        assertNotNull(pool);
+        assertEquals(4, pool.getParallelism());
+
+        DefaultParams.ROUTING_PARALLELISM = 1;
+        routingManager.reset();
+        assertTrue(pool.isShutdown());
+        assertNull(Whitebox.getInternalState(routingManager, "routingPool"));
+    }
+}
@@ -0,0 +1,52 @@
+package tests.tlc;
+
+import de.dfg.oc.otc.layer0.tlc.TLCTypes;
+import de.dfg.oc.otc.layer0.tlc.TrafficLightControllerParameters;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TrafficLightControllerParametersTest {
+    private static TrafficLightControllerParameters create(final float... greenTimes) {
+        return new TrafficLightControllerParameters(TLCTypes.FIXEDTIME, new int[]{1, 1, 2, 3},
+                greenTimes, new String[0], new boolean[]{false, true, false});
+    }
+
+    @Test
+    public final void testEqualParametersHaveEqualHashCodes() {
+        TrafficLightControllerParameters a = create(20, 5, 30);
+        TrafficLightControllerParameters b = create(20, 5, 30);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a, a.clone());
+        assertEquals(a.hashCode(), a.clone().hashCode());
+
+        Map<TrafficLightControllerParameters, Double> map = new HashMap<>();
+        map.put(a, 1.0);
+        assertEquals(1.0, map.get(b), 0);
+
+        assertEquals(create(0, 5, 30), create(-0f, 5, 30));
+        assertEquals(create(0, 5, 30).hashCode(), create(-0f, 5, 30).hashCode());
+    }
+
+    @Test
+    public final void testDifferentParameters() {
+        TrafficLightControllerParameters a = create(20, 5, 30);
+
+        assertNotEquals(a, create(20, 5, 31));
+        assertNotEquals(a, new TrafficLightControllerParameters(TLCTypes.FIXEDTIME, new int[]{2, 1, 2, 3},
+                new float[]{20, 5, 30}, new String[0], new boolean[]{false, true, false}));
+        assertNotEquals(a, new TrafficLightControllerParameters(TLCTypes.FIXEDTIME, new int[]{1, 1, 2, 3},
+                new float[]{20, 5, 30}, new String[0], new boolean[]{false, false, false}));
+    }
+
+    @Test
+    public final void testToString() {
+        assertEquals(", 20.0,  5.0, 30.1, false, true, false", create(20, 5, 30.06f).toString());
+    }
+}
@@ -0,0 +1,39 @@
+package tests.tools;
+
+import de.dfg.oc.otc.tools.AsyncLogWriter;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncLogWriterTest {
+    @Test
+    public final void testLinesAreAppendedInOrder() throws IOException {
+        File file = File.createTempFile("AsyncLogWriterTest", ".log");
+        file.deleteOnExit();
+
+        AsyncLogWriter writer = AsyncLogWriter.getInstance();
+        for (int i = 0; i < 20000; i++) {
+            writer.println(file.getPath(), "line " + i);
+        }
+        writer.flush();
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(20000, lines.size());
+        assertEquals("line 0", lines.get(0));
+        assertEquals("line 19999", lines.get(19999));
+
+        // Reopened in append mode after close
+        writer.close();
+        writer.println(file.getPath(), "after close");
+        writer.close();
+
+        lines = Files.readAllLines(file.toPath());
+        assertEquals(20001, lines.size());
+        assertEquals("after close", lines.get(20000));
+    }
+}
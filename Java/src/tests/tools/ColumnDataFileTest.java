@@ -0,0 +1,104 @@
+package tests.tools;
+
+import de.dfg.oc.otc.config.DefaultParams;
+import de.dfg.oc.otc.tools.ColumnDataFile;
+import org.junit.Test;
+import tests.evaluation.aid.AIDTrafficDataReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnDataFileTest {
+    private static final float[][] COLUMNS = {{1, 2, 3}, {-1.5f, 0, 1.5f}};
+
+    @Test
+    public final void testMappedFileHasWrittenValues() throws IOException {
+        File file = File.createTempFile("ColumnDataFileTest", ColumnDataFile.EXTENSION);
+        file.deleteOnExit();
+
+        ColumnDataFile.write(file, COLUMNS);
+        ColumnDataFile columns = ColumnDataFile.map(file);
+
+        assertEquals(3, columns.getRows());
+        assertEquals(2, columns.getColumns());
+        assertEquals(-1.5f, columns.get(0, 1), 0);
+
+        FloatBuffer column = columns.getColumn(0);
+        float[] values = new float[column.remaining()];
+        column.get(values);
+        assertArrayEquals(COLUMNS[0], values, 0);
+
+        double[] rows = new double[7];
+        columns.copyRows(rows, 1);
+        assertArrayEquals(new double[]{0, 1, -1.5, 2, 0, 3, 1.5}, rows, 0);
+    }
+
+    @Test
+    public final void testCacheFileIsUpToDate() throws IOException {
+        File textFile = File.createTempFile("ColumnDataFileTest", ".csv");
+        File cacheFile = ColumnDataFile.getCacheFile(textFile);
+        textFile.deleteOnExit();
+        cacheFile.deleteOnExit();
+
+        assertFalse(ColumnDataFile.isCacheUpToDate(textFile));
+        ColumnDataFile.write(cacheFile, COLUMNS);
+        assertTrue(cacheFile.setLastModified(textFile.lastModified()));
+        assertTrue(ColumnDataFile.isCacheUpToDate(textFile));
+
+        assertTrue(textFile.setLastModified(textFile.lastModified() + 2000));
+        assertFalse(ColumnDataFile.isCacheUpToDate(textFile));
+    }
+
+    @Test
+    public final void testCacheFileIsInCacheFolder() {
+        File cacheFile = ColumnDataFile.getCacheFile(new File("data", "file.csv"));
+
+        assertTrue(cacheFile.toPath().startsWith(Paths.get(DefaultParams.AID_DATA_CACHE_FOLDER)));
+        assertTrue(cacheFile.getPath().endsWith(new File("data", "file.csv").getPath() + ColumnDataFile.EXTENSION));
+    }
+
+    /**
+     * The readers of the AID data share the cache files, a cache with other columns (e.g. of the kNN training data)
+     * is replaced by the parsed CSV file.
+     */
+    @Test
+    public final void testCacheWithOtherColumnsIsReplaced() throws IOException {
+        File csvFile = File.createTempFile("ColumnDataFileTest", ".csv");
+        File cacheFile = ColumnDataFile.getCacheFile(csvFile);
+        csvFile.deleteOnExit();
+        cacheFile.deleteOnExit();
+        Files.write(csvFile.toPath(), Arrays.asList(",0,1,2,3,4,5,6,-1", ",300,7,8,9,10,11,12,1"),
+                StandardCharsets.US_ASCII);
+
+        ColumnDataFile.write(cacheFile, new float[5][2]);
+        assertTrue(cacheFile.setLastModified(csvFile.lastModified()));
+
+        ColumnDataFile columns = AIDTrafficDataReader.readColumns(csvFile.getPath());
+        assertEquals(AIDTrafficDataReader.SITUATION_LENGTH, columns.getColumns());
+        assertEquals(2, columns.getRows());
+        assertEquals(12, columns.get(1, AIDTrafficDataReader.VOLUME), 0);
+        assertEquals(-1, columns.get(0, AIDTrafficDataReader.LABEL), 0);
+
+        // The cache has been written again
+        assertEquals(AIDTrafficDataReader.SITUATION_LENGTH, ColumnDataFile.map(cacheFile).getColumns());
+    }
+
+    @Test(expected = IOException.class)
+    public final void testInvalidFileIsRejected() throws IOException {
+        File file = File.createTempFile("ColumnDataFileTest", ColumnDataFile.EXTENSION);
+        file.deleteOnExit();
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        ColumnDataFile.map(file);
+    }
+}
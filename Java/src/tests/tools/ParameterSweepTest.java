@@ -0,0 +1,87 @@
+package tests.tools;
+
+import de.dfg.oc.otc.tools.ParameterGrid;
+import de.dfg.oc.otc.tools.ParameterSweep;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParameterSweepTest {
+    private static ParameterGrid createGrid() {
+        return new ParameterGrid().add("a", 1, 2, 3).add("b", 0.5, 1.0).add("c", true, false);
+    }
+
+    @Test
+    public final void testGridHasOrderOfNestedLoops() {
+        ParameterGrid grid = createGrid();
+        List<ParameterGrid.Configuration> configurations = grid.getConfigurations();
+
+        assertEquals(12, grid.size());
+        int i = 0;
+        for (int a : new int[]{1, 2, 3}) {
+            for (double b : new double[]{0.5, 1.0}) {
+                for (boolean c : new boolean[]{true, false}) {
+                    ParameterGrid.Configuration configuration = configurations.get(i++);
+                    assertEquals(a, configuration.getInt("a"));
+                    assertEquals(b, configuration.getDouble("b"), 0);
+                    assertEquals(c, configuration.getBoolean("c"));
+                }
+            }
+        }
+        assertEquals(2, configurations.get(11).getValueIndex("a"));
+        assertEquals("a=1,b=0.5,c=false", configurations.get(1).getKey());
+    }
+
+    @Test
+    public final void testSampleIsDistinctSubset() {
+        List<ParameterGrid.Configuration> sample = createGrid().sample(5, 42);
+
+        assertEquals(5, sample.size());
+        for (int i = 1; i < sample.size(); i++) {
+            assertTrue(sample.get(i - 1).getIndex() < sample.get(i).getIndex());
+        }
+        assertEquals(sample, createGrid().sample(5, 42));
+    }
+
+    @Test
+    public final void testSweepIsResumed() throws IOException {
+        File resultsFile = File.createTempFile("ParameterSweepTest", ".txt");
+        resultsFile.deleteOnExit();
+        Files.write(resultsFile.toPath(), "a=1,b=0.5,c=true\t1.5\n".getBytes());
+
+        List<ParameterGrid.Configuration> configurations = createGrid().getConfigurations();
+        AtomicInteger evaluations = new AtomicInteger();
+        ParameterSweep<Double> sweep = new ParameterSweep<>(configurations, configuration -> {
+            int evaluation = evaluations.incrementAndGet();
+            if (evaluation == 3) {
+                throw new IllegalStateException("Evaluation fails");
+            }
+            return evaluation == 5 ? null : configuration.getInt("a") * configuration.getDouble("b");
+        }).setParallelism(4).setResultsFile(resultsFile);
+
+        Map<ParameterGrid.Configuration, Double> results = sweep.run();
+        assertEquals(11, evaluations.get());
+        assertEquals(9, results.size());
+        assertEquals(10, Files.readAllLines(resultsFile.toPath()).size());
+        assertEquals(new ArrayList<>(results.keySet()), new ArrayList<>(results.keySet()).stream()
+                .sorted(Comparator.comparingLong(ParameterGrid.Configuration::getIndex)).collect(Collectors.toList()));
+
+        // Only the failed configurations are evaluated again
+        evaluations.set(100);
+        results = sweep.run();
+        assertEquals(102, evaluations.get());
+        assertEquals(2, results.size());
+        assertEquals(12, Files.readAllLines(resultsFile.toPath()).size());
+    }
+}
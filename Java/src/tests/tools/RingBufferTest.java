@@ -0,0 +1,83 @@
+package tests.tools;
+
+import de.dfg.oc.otc.tools.DoubleRingBuffer;
+import de.dfg.oc.otc.tools.FloatRingBuffer;
+import de.dfg.oc.otc.tools.RingBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferTest {
+    @Test
+    public final void testFloatRingBufferStatistics() {
+        FloatRingBuffer buffer = new FloatRingBuffer(3);
+        assertTrue(Float.isNaN(buffer.getMin()));
+
+        buffer.add(5);
+        buffer.add(1);
+        buffer.add(3);
+        assertTrue(buffer.isFull());
+        assertEquals(1, buffer.getMin(), 0f);
+        assertEquals(5, buffer.getMax(), 0f);
+        assertEquals(9, buffer.getSum(), 0.0001);
+
+        // Drops 5
+        buffer.add(2);
+        assertEquals(3, buffer.size());
+        assertEquals(1, buffer.getFirst(), 0f);
+        assertEquals(2, buffer.getLast(), 0f);
+        assertEquals(1, buffer.getMin(), 0f);
+        assertEquals(3, buffer.getMax(), 0f);
+        assertEquals(2, buffer.getAverage(), 0.0001f);
+
+        // Drops 1
+        buffer.add(4);
+        assertEquals(2, buffer.getMin(), 0f);
+        assertEquals(4, buffer.getMax(), 0f);
+        assertEquals(3, buffer.get(0), 0f);
+        assertEquals(4, buffer.get(2), 0f);
+    }
+
+    @Test
+    public final void testDoubleRingBufferCapacityChange() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(4);
+        for (int i = 1; i <= 4; i++) {
+            buffer.add(i);
+        }
+
+        buffer.setCapacity(2);
+        assertEquals(2, buffer.size());
+        assertEquals(3, buffer.getFirst(), 0);
+        assertEquals(7, buffer.getSum(), 0.0001);
+
+        buffer.setCapacity(3);
+        assertFalse(buffer.isFull());
+        buffer.add(10);
+        assertEquals(3, buffer.getMin(), 0);
+        assertEquals(10, buffer.getMax(), 0);
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertTrue(Double.isNaN(buffer.getAverage()));
+    }
+
+    @Test
+    public final void testObjectRingBuffer() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+
+        assertEquals(2, buffer.size());
+        assertEquals("b", buffer.getFirst());
+        assertEquals("c", buffer.getLast());
+
+        StringBuilder order = new StringBuilder();
+        for (String element : buffer) {
+            order.append(element);
+        }
+        assertEquals("bc", order.toString());
+    }
+}
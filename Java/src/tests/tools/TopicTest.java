@@ -0,0 +1,106 @@
+package tests.tools;
+
+import de.dfg.oc.otc.tools.StepBatch;
+import de.dfg.oc.otc.tools.Subscriber;
+import de.dfg.oc.otc.tools.Topic;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TopicTest {
+    @Test
+    public final void testSubscribeAndPublish() {
+        Topic<String, Integer> topic = new Topic<>();
+        List<String> received = new ArrayList<>();
+        Subscriber<String, Integer> first = (source, value) -> received.add("first " + source + value);
+        Subscriber<Object, Number> second = (source, value) -> received.add("second " + source + value);
+
+        topic.subscribe(first);
+        topic.subscribe(second);
+        // Registered only once
+        topic.subscribe(first);
+        assertEquals(2, topic.countSubscribers());
+
+        // Most recently registered first, like Observable
+        topic.publish("a", 1);
+        assertEquals(2, received.size());
+        assertEquals("second a1", received.get(0));
+        assertEquals("first a1", received.get(1));
+
+        topic.unsubscribe(first);
+        topic.publish("b", 2);
+        assertEquals(3, received.size());
+        assertEquals("second b2", received.get(2));
+
+        topic.unsubscribeAll();
+        topic.publish("c", 3);
+        assertEquals(0, topic.countSubscribers());
+        assertEquals(3, received.size());
+    }
+
+    @Test
+    public final void testUnsubscribeWhilePublishing() {
+        Topic<String, Integer> topic = new Topic<>();
+        List<Integer> received = new ArrayList<>();
+        Subscriber<String, Integer> second = (source, value) -> received.add(value);
+        topic.subscribe(second);
+        topic.subscribe((source, value) -> topic.unsubscribe(second));
+
+        // The subscribers at the time of the call are notified
+        topic.publish("a", 1);
+        topic.publish("a", 2);
+        assertEquals(1, received.size());
+        assertEquals(1, (int) received.get(0));
+    }
+
+    @Test
+    public final void testStepBatchDeliversLatestEvent() {
+        StepBatch batch = new StepBatch();
+        Topic<String, Integer> topicA = new Topic<>();
+        Topic<String, Integer> topicB = new Topic<>();
+        List<String> received = new ArrayList<>();
+        Subscriber<String, Integer> deferred = batch.defer((source, value) -> received.add(source + value));
+        topicA.subscribe(deferred);
+        topicB.subscribe(deferred);
+
+        topicA.publish("a", 1);
+        topicB.publish("b", 2);
+        topicA.publish("a", 3);
+        assertEquals(0, received.size());
+        assertEquals(1, batch.size());
+
+        batch.flush();
+        assertEquals(1, received.size());
+        assertEquals("a3", received.get(0));
+        assertEquals(0, batch.size());
+
+        // Nothing published, nothing delivered
+        batch.flush();
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public final void testStepBatchOrder() {
+        StepBatch batch = new StepBatch();
+        Topic<String, Integer> topic = new Topic<>();
+        List<String> received = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final int id = i;
+            topic.subscribe(batch.defer((source, value) -> received.add(id + ":" + value)));
+        }
+
+        topic.publish("a", 1);
+        topic.publish("a", 2);
+        assertEquals(40, batch.size());
+
+        // Order of the first notification during the step
+        batch.flush();
+        assertEquals(40, received.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals((39 - i) + ":2", received.get(i));
+        }
+    }
+}